@@ -0,0 +1,87 @@
+/*
+ * Licensed under the Creative Commons Attribution-ShareAlike 4.0 International
+ *
+ * https://creativecommons.org/licenses/by-sa/4.0/
+ */
+package net.snortum.utils.benchmarks;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.snortum.utils.JarClassLoader;
+import net.snortum.utils.Reflector;
+
+/**
+ * <p>Loads {@code HelloWorld} from a jar, through a fresh {@link URLClassLoader} each time, as
+ * Reflector used to, through a fresh {@link JarClassLoader}, and through the shared loader
+ * Reflector now gets from its {@code LoaderRegistry}.  The fresh loaders have to define the
+ * class again every time; the {@link JarClassLoader} reuses the index of the jar it has
+ * already read.</p>
+ *
+ * @author Knute Snortum
+ * @version 2026.10.17
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClassLoaderBenchmark {
+
+	private String jar;
+	private ClassLoader parent;
+
+	/** Holds the shared loader open, as a long-lived Reflector in an application would */
+	private Reflector pin;
+
+	@Setup
+	public void setup() throws IOException {
+		jar = Targets.helloWorldJar();
+		parent = Targets.isolatedParent();
+		pin = new Reflector();
+		pin.loadClass(Targets.HELLO_WORLD, parent, jar);
+	}
+
+	@TearDown
+	public void tearDown() {
+		pin.close();
+	}
+
+	@Benchmark
+	public Class<?> freshUrlClassLoader() throws IOException, ClassNotFoundException {
+		try (URLClassLoader loader = new URLClassLoader(new URL[] { new URL(jar) }, parent)) {
+			return Class.forName(Targets.HELLO_WORLD, true, loader);
+		}
+	}
+
+	@Benchmark
+	public Class<?> freshJarClassLoader() throws IOException, ClassNotFoundException {
+		try (JarClassLoader loader = new JarClassLoader(new URL[] { new URL(jar) }, parent)) {
+			return Class.forName(Targets.HELLO_WORLD, true, loader);
+		}
+	}
+
+	@Benchmark
+	public Class<?> reusedLoader() {
+		try (Reflector r = new Reflector()) {
+			r.loadClass(Targets.HELLO_WORLD, parent, jar);
+			return r.getClazz();
+		}
+	}
+
+}
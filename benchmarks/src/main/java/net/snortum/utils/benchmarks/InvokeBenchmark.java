@@ -0,0 +1,182 @@
+/*
+ * Licensed under the Creative Commons Attribution-ShareAlike 4.0 International
+ *
+ * https://creativecommons.org/licenses/by-sa/4.0/
+ */
+package net.snortum.utils.benchmarks;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntBinaryOperator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.snortum.hello.HelloWorld;
+import net.snortum.utils.BoundCall;
+import net.snortum.utils.Chain;
+import net.snortum.utils.DynamicCall;
+import net.snortum.utils.Engine;
+import net.snortum.utils.Reflector;
+import net.snortum.utils.ReflectorPlay;
+
+/**
+ * <p>Calls {@link ReflectorPlay#add(int, int)} and {@link HelloWorld#printIt()} through every
+ * path Reflector offers, next to a direct call.  Everything is loaded in the setup, so only
+ * the invocation is measured.  Run with {@code -prof gc} to see what each path
+ * allocates.</p>
+ *
+ * @author Knute Snortum
+ * @version 2026.10.17
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InvokeBenchmark {
+
+	/** An interface of ours, implemented by {@code Reflector.as} with ReflectorPlay's methods */
+	public interface Adder {
+		int add(int a, int b);
+	}
+
+	/** Arguments kept in fields, so the JIT cannot fold the calls into constants */
+	private int a = 2;
+	private int b = 3;
+
+	private HelloWorld hello;
+	private Method addMethod;
+	private Reflector reflection;
+	private Reflector methodHandle;
+	private BoundCall bound;
+	private IntBinaryOperator compiled;
+	private Adder generated;
+	private Adder proxy;
+	private Chain chain;
+	private IntBinaryOperator chainCompiled;
+	private DynamicCall dynamic;
+	private Reflector helloReflection;
+	private BoundCall helloBound;
+
+	@Setup
+	public void setup() throws ReflectiveOperationException {
+		Targets.silenceSystemOut();
+		hello = new HelloWorld();
+		addMethod = ReflectorPlay.class.getMethod("add", int.class, int.class);
+
+		reflection = new Reflector();
+		reflection.loadClass(Targets.REFLECTOR_PLAY);
+		reflection.loadMethod("add", int.class, int.class);
+
+		methodHandle = new Reflector(Engine.METHOD_HANDLE);
+		methodHandle.loadClass(Targets.REFLECTOR_PLAY);
+		methodHandle.loadMethod("add", int.class, int.class);
+		bound = methodHandle.bind();
+		compiled = methodHandle.compile(IntBinaryOperator.class);
+		dynamic = methodHandle.dynamic("add");
+		generated = methodHandle.as(Adder.class);
+		chain = methodHandle.chain("add(add($0, $1), $1)", int.class, int.class);
+		chainCompiled = chain.as(IntBinaryOperator.class);
+		proxy = (Adder) Proxy.newProxyInstance(Adder.class.getClassLoader(),
+				new Class<?>[] { Adder.class }, (target, method, args) -> addMethod.invoke(null, args));
+
+		helloReflection = new Reflector();
+		helloReflection.loadClass(Targets.HELLO_WORLD);
+		helloReflection.loadConstructor();
+		helloReflection.loadNewInstance();
+		helloReflection.loadMethod("printIt");
+		helloBound = helloReflection.bind();
+	}
+
+	@Benchmark
+	public int addDirect() {
+		return ReflectorPlay.add(a, b);
+	}
+
+	@Benchmark
+	public Object addMethodInvoke() throws ReflectiveOperationException {
+		return addMethod.invoke(null, a, b);
+	}
+
+	@Benchmark
+	public Object addReflectorInvoke() {
+		return reflection.invoke(a, b);
+	}
+
+	@Benchmark
+	public Object addMethodHandleInvoke() {
+		return methodHandle.invoke(a, b);
+	}
+
+	@Benchmark
+	public int addFixedArityInvokeInt() {
+		return methodHandle.invokeInt(a, b);
+	}
+
+	@Benchmark
+	public int addBoundCallInvokeInt() {
+		return bound.invokeInt(a, b);
+	}
+
+	@Benchmark
+	public int addCompiled() {
+		return compiled.applyAsInt(a, b);
+	}
+
+	@Benchmark
+	public int addGeneratedInterface() {
+		return generated.add(a, b);
+	}
+
+	@Benchmark
+	public int addProxyInterface() {
+		return proxy.add(a, b);
+	}
+
+	@Benchmark
+	public int addTwiceStepwise() {
+		return methodHandle.invokeInt(methodHandle.invokeInt(a, b), b);
+	}
+
+	@Benchmark
+	public Object addTwiceChainInvoke() {
+		return chain.invoke(a, b);
+	}
+
+	@Benchmark
+	public int addTwiceChainCompiled() {
+		return chainCompiled.applyAsInt(a, b);
+	}
+
+	@Benchmark
+	public Object addInvokeByName() {
+		return dynamic.invoke(a, b);
+	}
+
+	@Benchmark
+	public void helloWorldDirect() {
+		hello.printIt();
+	}
+
+	@Benchmark
+	public Object helloWorldReflectorInvoke() {
+		return helloReflection.invoke();
+	}
+
+	@Benchmark
+	public Object helloWorldBoundCallInvoke0() {
+		return helloBound.invoke0();
+	}
+
+}
@@ -0,0 +1,112 @@
+/*
+ * Licensed under the Creative Commons Attribution-ShareAlike 4.0 International
+ *
+ * https://creativecommons.org/licenses/by-sa/4.0/
+ */
+package net.snortum.utils.benchmarks;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.snortum.utils.Engine;
+import net.snortum.utils.Reflector;
+import net.snortum.utils.ReflectorCache;
+
+/**
+ * <p>Looks up classes, constructors and methods, through Reflector and its
+ * {@link ReflectorCache}, and uncached through {@code Class.forName}, {@code getMethod} and
+ * {@code getDeclaredConstructor} as Reflector used to.  Each Reflector benchmark uses a fresh
+ * Reflector, as code that creates one per request does.</p>
+ *
+ * @author Knute Snortum
+ * @version 2026.10.17
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LookupBenchmark {
+
+	private Class<?> helloWorld;
+	private Class<?> reflectorPlay;
+	private ClassLoader loader;
+
+	@Setup
+	public void setup() throws ClassNotFoundException {
+		loader = Reflector.class.getClassLoader();
+		helloWorld = Class.forName(Targets.HELLO_WORLD, true, loader);
+		reflectorPlay = Class.forName(Targets.REFLECTOR_PLAY, true, loader);
+	}
+
+	@Benchmark
+	public Class<?> loadClassUncached() throws ClassNotFoundException {
+		return Class.forName(Targets.HELLO_WORLD, true, loader);
+	}
+
+	@Benchmark
+	public Class<?> loadClassCached() {
+		Reflector r = new Reflector();
+		r.loadClass(Targets.HELLO_WORLD);
+		return r.getClazz();
+	}
+
+	@Benchmark
+	public Method loadMethodUncached() throws NoSuchMethodException {
+		return reflectorPlay.getMethod("add", int.class, int.class);
+	}
+
+	@Benchmark
+	public Method loadMethodCached() throws NoSuchMethodException {
+		return ReflectorCache.getMethod(reflectorPlay, "add", int.class, int.class);
+	}
+
+	@Benchmark
+	public Object loadClassAndMethodCached() {
+		Reflector r = new Reflector();
+		r.loadClass(Targets.REFLECTOR_PLAY);
+		r.loadMethod("add", int.class, int.class);
+		return r.bind();
+	}
+
+	@Benchmark
+	public Object loadClassAndMethodCachedMethodHandle() {
+		Reflector r = new Reflector(Engine.METHOD_HANDLE);
+		r.loadClass(Targets.REFLECTOR_PLAY);
+		r.loadMethod("add", int.class, int.class);
+		return r.bind();
+	}
+
+	@Benchmark
+	public Constructor<?> loadConstructorUncached() throws NoSuchMethodException {
+		return helloWorld.getDeclaredConstructor();
+	}
+
+	@Benchmark
+	public Constructor<?> loadConstructorCached() throws NoSuchMethodException {
+		return ReflectorCache.getConstructor(helloWorld);
+	}
+
+	@Benchmark
+	public Object loadNewInstance() {
+		Reflector r = new Reflector();
+		r.loadClass(Targets.HELLO_WORLD);
+		r.loadConstructor();
+		r.loadNewInstance();
+		return r.getNewInstance();
+	}
+
+}
@@ -0,0 +1,103 @@
+/*
+ * Licensed under the Creative Commons Attribution-ShareAlike 4.0 International
+ *
+ * https://creativecommons.org/licenses/by-sa/4.0/
+ */
+package net.snortum.utils.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.snortum.utils.BoundCall;
+import net.snortum.utils.Engine;
+import net.snortum.utils.Reflector;
+
+/**
+ * <p>Runs the paths that are shared between threads, a {@link BoundCall} and the lookups
+ * through the process-wide cache, on one thread, four threads and as many threads as there
+ * are processors.  Throughput that does not grow with the threads points at
+ * contention.</p>
+ *
+ * @author Knute Snortum
+ * @version 2026.10.17
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScalingBenchmark {
+
+	private BoundCall add;
+
+	@Setup
+	public void setup() {
+		Reflector r = new Reflector(Engine.METHOD_HANDLE);
+		r.loadClass(Targets.REFLECTOR_PLAY);
+		r.loadMethod("add", int.class, int.class);
+		add = r.bind();
+	}
+
+	@Benchmark
+	@Threads(1)
+	public int boundCall1Thread(Arguments args) {
+		return add.invokeInt(args.a, args.b);
+	}
+
+	@Benchmark
+	@Threads(4)
+	public int boundCall4Threads(Arguments args) {
+		return add.invokeInt(args.a, args.b);
+	}
+
+	@Benchmark
+	@Threads(Threads.MAX)
+	public int boundCallMaxThreads(Arguments args) {
+		return add.invokeInt(args.a, args.b);
+	}
+
+	@Benchmark
+	@Threads(1)
+	public Object cachedLookup1Thread() {
+		return lookup();
+	}
+
+	@Benchmark
+	@Threads(4)
+	public Object cachedLookup4Threads() {
+		return lookup();
+	}
+
+	@Benchmark
+	@Threads(Threads.MAX)
+	public Object cachedLookupMaxThreads() {
+		return lookup();
+	}
+
+	private static Object lookup() {
+		Reflector r = new Reflector();
+		r.loadClass(Targets.REFLECTOR_PLAY);
+		r.loadMethod("add", int.class, int.class);
+		return r.bind();
+	}
+
+	/** Per-thread arguments, so the JIT cannot fold the calls into constants */
+	@State(Scope.Thread)
+	public static class Arguments {
+		int a = 2;
+		int b = 3;
+	}
+
+}
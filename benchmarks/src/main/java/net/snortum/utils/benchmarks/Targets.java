@@ -0,0 +1,83 @@
+/*
+ * Licensed under the Creative Commons Attribution-ShareAlike 4.0 International
+ *
+ * https://creativecommons.org/licenses/by-sa/4.0/
+ */
+package net.snortum.utils.benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import net.snortum.hello.HelloWorld;
+
+/**
+ * The classes the benchmarks call, {@link HelloWorld} and
+ * {@link net.snortum.utils.ReflectorPlay#add(int, int)}, and what they need to run quietly.
+ *
+ * @author Knute Snortum
+ * @version 2026.10.17
+ */
+final class Targets {
+
+	static final String HELLO_WORLD = "net.snortum.hello.HelloWorld";
+	static final String REFLECTOR_PLAY = "net.snortum.utils.ReflectorPlay";
+
+	private Targets() {
+	}
+
+	/**
+	 * Write a jar holding only {@link HelloWorld}, so that a class loader built from it
+	 * defines the class itself instead of finding it on the class path.
+	 *
+	 * @return the URL string of the jar, to pass to {@code Reflector.loadClass}
+	 * @throws IOException if the jar cannot be written
+	 */
+	static String helloWorldJar() throws IOException {
+		String entry = HELLO_WORLD.replace('.', '/') + ".class";
+		Path jar = Files.createTempFile("hello-world", ".jar");
+		jar.toFile().deleteOnExit();
+
+		try (InputStream in = HelloWorld.class.getClassLoader().getResourceAsStream(entry);
+				JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar))) {
+			out.putNextEntry(new JarEntry(entry));
+			byte[] buffer = new byte[8192];
+			for (int n = in.read(buffer); n > 0; n = in.read(buffer)) {
+				out.write(buffer, 0, n);
+			}
+			out.closeEntry();
+		}
+
+		return jar.toUri().toString();
+	}
+
+	/**
+	 * @return a loader that cannot see the class path, to be the parent of the loaders built
+	 *         from {@link #helloWorldJar()}
+	 */
+	static ClassLoader isolatedParent() {
+		return ClassLoader.getSystemClassLoader().getParent();
+	}
+
+	/**
+	 * Send {@code System.out} nowhere, so that calling {@link HelloWorld#printIt()} measures
+	 * the call and not the console.
+	 */
+	static void silenceSystemOut() {
+		System.setOut(new PrintStream(new OutputStream() {
+			@Override
+			public void write(int b) {
+			}
+
+			@Override
+			public void write(byte[] b, int off, int len) {
+			}
+		}));
+	}
+
+}
@@ -0,0 +1,402 @@
+/*
+ * Licensed under the Creative Commons Attribution-ShareAlike 4.0 International
+ *
+ * https://creativecommons.org/licenses/by-sa/4.0/
+ */
+package net.snortum.utils;
+
+import java.lang.reflect.Method;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>Invokes a {@link BoundCall} off the caller's thread and returns a
+ * {@link CompletableFuture}, for plugin methods that block on I/O.  By default each call runs
+ * on its own virtual thread when the JVM has them (Java 21 and later), and otherwise on a
+ * shared pool of daemon threads:</p>
+ * <pre>
+ *     BoundCall call = r.bind();
+ *     AsyncCall.setConcurrencyLimit(call.getMethod(), 8);
+ *     CompletableFuture&lt;Integer&gt; month = call.async()
+ *             .withTimeout(500, TimeUnit.MILLISECONDS)
+ *             .invoke();</pre>
+ *
+ * <p>A call that runs past its timeout completes exceptionally with a
+ * {@link TimeoutException}.  Cancelling the future, or a timeout, interrupts the thread running
+ * the method, so a method blocked in an interruptible call stops early.  An exception thrown by
+ * the method completes the future exceptionally with that exception.</p>
+ *
+ * <p>A concurrency limit caps how many calls to the method run at once.  Calls over the limit
+ * wait in a queue without holding a thread, and start in order as running calls finish.  The
+ * limit belongs to the method, not to an invoker, so it is set with the static
+ * {@link #setConcurrencyLimit(Method, int)}: every asynchronous invoker of the method shares
+ * it, including ones got from another {@link Reflector} or before the limit was set.</p>
+ *
+ * <p>Like {@link BoundCall}, an {@code AsyncCall} is immutable and may be shared between
+ * threads.</p>
+ *
+ * @author Knute Snortum
+ * @version 2026.10.17
+ */
+public final class AsyncCall {
+
+	/** Whether the JVM has virtual threads; set by {@link #defaultExecutor()} */
+	private static boolean virtualThreads;
+
+	private static final Executor DEFAULT_EXECUTOR = defaultExecutor();
+	private static final ScheduledThreadPoolExecutor TIMER = timer();
+
+	/** Concurrency limits by method, per declaring class, so they go away with the class */
+	private static final ClassValue<ConcurrentMap<Method, Limiter>> LIMITERS =
+			new ClassValue<ConcurrentMap<Method, Limiter>>() {
+				@Override
+				protected ConcurrentMap<Method, Limiter> computeValue(Class<?> type) {
+					return new ConcurrentHashMap<>();
+				}
+			};
+
+	private final BoundCall call;
+	private final Executor executor;
+	private final long timeoutNanos;
+
+	AsyncCall(BoundCall call) {
+		this(call, DEFAULT_EXECUTOR, 0);
+	}
+
+	private AsyncCall(BoundCall call, Executor executor, long timeoutNanos) {
+		this.call = call;
+		this.executor = executor;
+		this.timeoutNanos = timeoutNanos;
+	}
+
+	/**
+	 * Get an invoker like this one that runs calls on this executor.
+	 *
+	 * @param executor the executor, or {@code null} for the default executor
+	 * @return the new invoker
+	 */
+	public AsyncCall withExecutor(Executor executor) {
+		return new AsyncCall(call, executor == null ? DEFAULT_EXECUTOR : executor, timeoutNanos);
+	}
+
+	/**
+	 * Get an invoker like this one that gives every call this timeout.  The time is counted
+	 * from {@link #invoke(Object...)}, and so includes any time spent waiting for the
+	 * concurrency limit.
+	 *
+	 * @param timeout the timeout, or zero for none
+	 * @param unit the unit of the timeout
+	 * @return the new invoker
+	 * @throws IllegalArgumentException if the timeout is negative
+	 */
+	public AsyncCall withTimeout(long timeout, TimeUnit unit) {
+		return new AsyncCall(call, executor, toNanos(timeout, unit));
+	}
+
+	/**
+	 * Run at most this many asynchronous calls to a method at once, from every invoker of the
+	 * method in the JVM.  If the limit is lowered, running calls finish, and no more start
+	 * until fewer than the new limit are running.
+	 *
+	 * @param method the method
+	 * @param permits the most calls to the method to run at once
+	 * @throws IllegalArgumentException if the method is {@code null} or {@code permits} is
+	 *         less than one
+	 */
+	public static void setConcurrencyLimit(Method method, int permits) {
+		if (method == null) {
+			throw new IllegalArgumentException("Method cannot be null");
+		}
+
+		if (permits < 1) {
+			throw new IllegalArgumentException("Concurrency limit must be at least 1: " + permits);
+		}
+
+		LIMITERS.get(method.getDeclaringClass())
+				.computeIfAbsent(method, key -> new Limiter())
+				.resize(permits);
+	}
+
+	/**
+	 * @param method the method
+	 * @return the concurrency limit of the method, or zero for none
+	 */
+	public static int getConcurrencyLimit(Method method) {
+		Limiter limiter = limiterFor(method);
+		return limiter == null ? 0 : limiter.permits;
+	}
+
+	/**
+	 * Invoke the method asynchronously, with this invoker's timeout.
+	 *
+	 * @param <T> the type returned by the method
+	 * @param params zero or more parameters for the invoked method
+	 * @return a future completed with the result of the method, or {@code null} if it is void
+	 */
+	public <T> CompletableFuture<T> invoke(Object... params) {
+		return submit(timeoutNanos, params);
+	}
+
+	/**
+	 * Invoke the method asynchronously, with this timeout instead of the invoker's.
+	 *
+	 * @param <T> the type returned by the method
+	 * @param timeout the timeout, or zero for none
+	 * @param unit the unit of the timeout
+	 * @param params zero or more parameters for the invoked method
+	 * @return a future completed with the result of the method, or {@code null} if it is void
+	 * @throws IllegalArgumentException if the timeout is negative
+	 */
+	public <T> CompletableFuture<T> invokeWithin(long timeout, TimeUnit unit, Object... params) {
+		return submit(toNanos(timeout, unit), params);
+	}
+
+	/** @return the invoked call */
+	public BoundCall getCall() {
+		return call;
+	}
+
+	/** @return the executor calls run on */
+	public Executor getExecutor() {
+		return executor;
+	}
+
+	/** @return the timeout in nanoseconds, or zero for none */
+	public long getTimeoutNanos() {
+		return timeoutNanos;
+	}
+
+	/** @return the concurrency limit of the method, or zero for none */
+	public int getConcurrencyLimit() {
+		return getConcurrencyLimit(call.getMethod());
+	}
+
+	/** @return {@code true} if the default executor runs each call on a virtual thread */
+	public static boolean isVirtualThreadDefault() {
+		return virtualThreads;
+	}
+
+	/** @return the concurrency limit of the method, or {@code null} if none has been set */
+	private static Limiter limiterFor(Method method) {
+		return LIMITERS.get(method.getDeclaringClass()).get(method);
+	}
+
+	private <T> CompletableFuture<T> submit(long timeoutNanos, Object[] params) {
+		Limiter limiter = limiterFor(call.getMethod());
+		Task<T> task = new Task<>(params, timeoutNanos, limiter);
+
+		if (timeoutNanos > 0) {
+			ScheduledFuture<?> timer =
+					TIMER.schedule(task::timeOut, timeoutNanos, TimeUnit.NANOSECONDS);
+			task.whenComplete((result, e) -> timer.cancel(false));
+		}
+
+		if (limiter == null) {
+			task.start();
+		} else {
+			limiter.queue.add(task);
+			limiter.dispatch();
+		}
+
+		return task;
+	}
+
+	private static long toNanos(long timeout, TimeUnit unit) {
+		if (timeout < 0) {
+			throw new IllegalArgumentException("Timeout must not be negative: " + timeout);
+		}
+
+		return unit.toNanos(timeout);
+	}
+
+	/**
+	 * Use {@code Executors.newVirtualThreadPerTaskExecutor()} when it exists.  It is looked up
+	 * reflectively so the library still builds and runs on Java 8.
+	 */
+	private static Executor defaultExecutor() {
+		try {
+			Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+			Executor executor = (Executor) factory.invoke(null);
+			virtualThreads = true;
+			return executor;
+		} catch (ReflectiveOperationException | RuntimeException e) {
+			return Executors.newCachedThreadPool(daemonThreads("reflector-async-"));
+		}
+	}
+
+	private static ScheduledThreadPoolExecutor timer() {
+		ScheduledThreadPoolExecutor timer =
+				new ScheduledThreadPoolExecutor(1, daemonThreads("reflector-timeout-"));
+		timer.setRemoveOnCancelPolicy(true);
+		return timer;
+	}
+
+	private static ThreadFactory daemonThreads(String prefix) {
+		AtomicInteger count = new AtomicInteger();
+		return runnable -> {
+			Thread thread = new Thread(runnable, prefix + count.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		};
+	}
+
+	/** One asynchronous call: the future itself, and the work that completes it */
+	private final class Task<T> extends CompletableFuture<T> implements Runnable {
+		private final Object[] params;
+		private final long timeoutNanos;
+		private final Limiter limiter;
+
+		/** The thread running the method, guarded by {@code this} */
+		private Thread runner;
+
+		/** Set once the method has returned or thrown, guarded by {@code this} */
+		private boolean finished;
+
+		Task(Object[] params, long timeoutNanos, Limiter limiter) {
+			this.params = params;
+			this.timeoutNanos = timeoutNanos;
+			this.limiter = limiter;
+		}
+
+		/** Hand this task to the executor; it must already hold a permit if there is a limit */
+		void start() {
+			try {
+				executor.execute(this);
+			} catch (RejectedExecutionException e) {
+				completeExceptionally(e);
+				finish();
+			}
+		}
+
+		@Override
+		@SuppressWarnings("unchecked") /* We assume the caller knows what type is returned */
+		public void run() {
+			try {
+				if (isDone() || !enter()) {
+					return;
+				}
+
+				try {
+					complete((T) call.invokeOrThrow(params));
+				} catch (Throwable e) {
+					completeExceptionally(e);
+				} finally {
+					leave();
+				}
+			} finally {
+				finish();
+			}
+		}
+
+		private synchronized boolean enter() {
+			if (finished) {
+				return false;
+			}
+
+			runner = Thread.currentThread();
+			return true;
+		}
+
+		private synchronized void leave() {
+			runner = null;
+			finished = true;
+
+			// Clear an interrupt from a late cancel or timeout, so it cannot leak into the
+			// executor's next task on this thread
+			Thread.interrupted();
+		}
+
+		/** Give back the permit, if there is a limiter, and let the next task start */
+		void finish() {
+			if (limiter != null) {
+				limiter.permitsAvailable.release();
+				limiter.dispatch();
+			}
+		}
+
+		void timeOut() {
+			if (completeExceptionally(new TimeoutException(call.getMethod().getName()
+					+ " did not finish in " + timeoutNanos + " ns"))) {
+				interrupt();
+			}
+		}
+
+		@Override
+		public boolean cancel(boolean mayInterruptIfRunning) {
+			boolean cancelled = super.cancel(mayInterruptIfRunning);
+			if (cancelled) {
+				interrupt();
+			}
+			return cancelled;
+		}
+
+		private synchronized void interrupt() {
+			if (runner != null) {
+				runner.interrupt();
+			}
+		}
+	}
+
+	/** A concurrency limit, with the tasks waiting for it */
+	private static final class Limiter {
+		/** The limit, changed only by {@link #resize(int)} */
+		volatile int permits;
+		final Permits permitsAvailable = new Permits();
+		final Queue<Task<?>> queue = new ConcurrentLinkedQueue<>();
+
+		/** Change the limit; calls already running are not stopped */
+		void resize(int permits) {
+			synchronized (this) {
+				int change = permits - this.permits;
+				this.permits = permits;
+
+				if (change > 0) {
+					permitsAvailable.release(change);
+				} else {
+					permitsAvailable.reduce(-change);
+				}
+			}
+			dispatch();
+		}
+
+		/** Start waiting tasks while permits are free; tasks already done are dropped */
+		void dispatch() {
+			while (!queue.isEmpty() && permitsAvailable.tryAcquire()) {
+				Task<?> task = queue.poll();
+
+				if (task == null || task.isDone()) {
+					permitsAvailable.release();
+				} else {
+					task.start();
+				}
+			}
+		}
+	}
+
+	/** A semaphore whose permits can be taken away, so a limit can be lowered */
+	private static final class Permits extends Semaphore {
+		private static final long serialVersionUID = 1L;
+
+		Permits() {
+			super(0);
+		}
+
+		void reduce(int reduction) {
+			reducePermits(reduction);
+		}
+	}
+
+}
@@ -0,0 +1,486 @@
+/*
+ * Licensed under the Creative Commons Attribution-ShareAlike 4.0 International
+ *
+ * https://creativecommons.org/licenses/by-sa/4.0/
+ */
+package net.snortum.utils;
+
+import java.lang.invoke.MethodHandle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * <p>Invokes one {@link BoundCall} over many argument tuples, or on many receivers.  The
+ * method handles are resolved once for the whole batch, argument tuples are passed to the
+ * method without being copied, and the same argument array is reused for every receiver.
+ * Results are returned in primitive arrays by the {@code invokeInt...}, {@code invokeLong...}
+ * and {@code invokeDouble...} methods.</p>
+ *
+ * <p>Array batches run on the calling thread unless {@link #parallel()} or
+ * {@link #parallel(ForkJoinPool, int)} is used, in which case batches larger than the
+ * threshold are split across a fork-join pool.  {@code Iterable} batches always run on the
+ * calling thread, and {@code Stream} batches follow the parallelism of the stream.</p>
+ *
+ * <p>As with {@link BoundCall#invoke(Object...)}, an element whose invocation fails is
+ * reported and its result is {@code null} or zero.  A batch invoker is immutable and can be
+ * shared between threads.</p>
+ *
+ * @author Knute Snortum
+ * @version 2026.10.17
+ * @see Reflector#batch()
+ */
+public final class Batch {
+
+	/** Batch size above which {@link #parallel()} splits the work */
+	public static final int DEFAULT_THRESHOLD = 1024;
+
+	private final BoundCall call;
+	private final ForkJoinPool pool;
+	private final int threshold;
+
+	Batch(BoundCall call, ForkJoinPool pool, int threshold) {
+		this.call = call;
+		this.pool = pool;
+		this.threshold = threshold;
+	}
+
+	/**
+	 * Get a batch invoker that splits array batches larger than {@link #DEFAULT_THRESHOLD}
+	 * across the common fork-join pool.
+	 *
+	 * @return the parallel batch invoker
+	 */
+	public Batch parallel() {
+		return parallel(ForkJoinPool.commonPool(), DEFAULT_THRESHOLD);
+	}
+
+	/**
+	 * Get a batch invoker that splits array batches across this pool until each piece has no
+	 * more than this many elements.
+	 *
+	 * @param pool the fork-join pool to run on
+	 * @param threshold the largest number of elements invoked by one task; at least 1
+	 * @return the parallel batch invoker
+	 */
+	public Batch parallel(ForkJoinPool pool, int threshold) {
+		if (pool == null) {
+			throw new IllegalArgumentException("Pool cannot be null");
+		}
+
+		if (threshold < 1) {
+			throw new IllegalArgumentException("Threshold must be at least 1");
+		}
+
+		return new Batch(call, pool, threshold);
+	}
+
+	/** @return a batch invoker that runs on the calling thread */
+	public Batch sequential() {
+		return new Batch(call, null, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Invoke the method once for each argument tuple, on the bound instance, and return the
+	 * results.
+	 *
+	 * @param tuples the argument tuples; each must have one element per method parameter
+	 * @return the results, in the order of the tuples
+	 */
+	public Object[] invokeAll(Object[][] tuples) {
+		MethodHandle handle = handle(Handles.OBJECT);
+		Object receiver = call.getInstance();
+		Object[] results = new Object[tuples.length];
+
+		forRange(tuples.length, (from, to) -> {
+			for (int i = from; i < to; i++) {
+				try {
+					results[i] = (Object) handle.invokeExact(receiver, tuples[i]);
+				} catch (Throwable e) {
+					call.invokeFailed(e);
+				}
+			}
+		});
+
+		return results;
+	}
+
+	/**
+	 * Invoke the method once for each argument tuple, on the bound instance, and return the
+	 * results as {@code int}.
+	 *
+	 * @param tuples the argument tuples; each must have one element per method parameter
+	 * @return the results, in the order of the tuples
+	 * @throws IllegalArgumentException if the method's result cannot be converted to
+	 *         {@code int}
+	 */
+	public int[] invokeIntAll(Object[][] tuples) {
+		MethodHandle handle = handle(Handles.INT);
+		Object receiver = call.getInstance();
+		int[] results = new int[tuples.length];
+
+		forRange(tuples.length, (from, to) -> {
+			for (int i = from; i < to; i++) {
+				try {
+					results[i] = (int) handle.invokeExact(receiver, tuples[i]);
+				} catch (Throwable e) {
+					call.invokeFailed(e);
+				}
+			}
+		});
+
+		return results;
+	}
+
+	/**
+	 * Invoke the method once for each argument tuple, on the bound instance, and return the
+	 * results as {@code long}.
+	 *
+	 * @param tuples the argument tuples; each must have one element per method parameter
+	 * @return the results, in the order of the tuples
+	 * @throws IllegalArgumentException if the method's result cannot be converted to
+	 *         {@code long}
+	 */
+	public long[] invokeLongAll(Object[][] tuples) {
+		MethodHandle handle = handle(Handles.LONG);
+		Object receiver = call.getInstance();
+		long[] results = new long[tuples.length];
+
+		forRange(tuples.length, (from, to) -> {
+			for (int i = from; i < to; i++) {
+				try {
+					results[i] = (long) handle.invokeExact(receiver, tuples[i]);
+				} catch (Throwable e) {
+					call.invokeFailed(e);
+				}
+			}
+		});
+
+		return results;
+	}
+
+	/**
+	 * Invoke the method once for each argument tuple, on the bound instance, and return the
+	 * results as {@code double}.
+	 *
+	 * @param tuples the argument tuples; each must have one element per method parameter
+	 * @return the results, in the order of the tuples
+	 * @throws IllegalArgumentException if the method's result cannot be converted to
+	 *         {@code double}
+	 */
+	public double[] invokeDoubleAll(Object[][] tuples) {
+		MethodHandle handle = handle(Handles.DOUBLE);
+		Object receiver = call.getInstance();
+		double[] results = new double[tuples.length];
+
+		forRange(tuples.length, (from, to) -> {
+			for (int i = from; i < to; i++) {
+				try {
+					results[i] = (double) handle.invokeExact(receiver, tuples[i]);
+				} catch (Throwable e) {
+					call.invokeFailed(e);
+				}
+			}
+		});
+
+		return results;
+	}
+
+	/**
+	 * Invoke the method on each receiver with the same arguments, and return the results.
+	 *
+	 * @param receivers the instances to invoke the method on
+	 * @param args the arguments, the same for every receiver
+	 * @return the results, in the order of the receivers
+	 */
+	public Object[] invokeOnEach(Object[] receivers, Object... args) {
+		MethodHandle handle = handle(Handles.OBJECT);
+		Object[] results = new Object[receivers.length];
+
+		forRange(receivers.length, (from, to) -> {
+			for (int i = from; i < to; i++) {
+				try {
+					results[i] = (Object) handle.invokeExact(receivers[i], args);
+				} catch (Throwable e) {
+					call.invokeFailed(e);
+				}
+			}
+		});
+
+		return results;
+	}
+
+	/**
+	 * Invoke the method on each receiver with the same arguments, and return the results as {@code int}.
+	 *
+	 * @param receivers the instances to invoke the method on
+	 * @param args the arguments, the same for every receiver
+	 * @return the results, in the order of the receivers
+	 * @throws IllegalArgumentException if the method's result cannot be converted to
+	 *         {@code int}
+	 */
+	public int[] invokeIntOnEach(Object[] receivers, Object... args) {
+		MethodHandle handle = handle(Handles.INT);
+		int[] results = new int[receivers.length];
+
+		forRange(receivers.length, (from, to) -> {
+			for (int i = from; i < to; i++) {
+				try {
+					results[i] = (int) handle.invokeExact(receivers[i], args);
+				} catch (Throwable e) {
+					call.invokeFailed(e);
+				}
+			}
+		});
+
+		return results;
+	}
+
+	/**
+	 * Invoke the method on each receiver with the same arguments, and return the results as {@code long}.
+	 *
+	 * @param receivers the instances to invoke the method on
+	 * @param args the arguments, the same for every receiver
+	 * @return the results, in the order of the receivers
+	 * @throws IllegalArgumentException if the method's result cannot be converted to
+	 *         {@code long}
+	 */
+	public long[] invokeLongOnEach(Object[] receivers, Object... args) {
+		MethodHandle handle = handle(Handles.LONG);
+		long[] results = new long[receivers.length];
+
+		forRange(receivers.length, (from, to) -> {
+			for (int i = from; i < to; i++) {
+				try {
+					results[i] = (long) handle.invokeExact(receivers[i], args);
+				} catch (Throwable e) {
+					call.invokeFailed(e);
+				}
+			}
+		});
+
+		return results;
+	}
+
+	/**
+	 * Invoke the method on each receiver with the same arguments, and return the results as {@code double}.
+	 *
+	 * @param receivers the instances to invoke the method on
+	 * @param args the arguments, the same for every receiver
+	 * @return the results, in the order of the receivers
+	 * @throws IllegalArgumentException if the method's result cannot be converted to
+	 *         {@code double}
+	 */
+	public double[] invokeDoubleOnEach(Object[] receivers, Object... args) {
+		MethodHandle handle = handle(Handles.DOUBLE);
+		double[] results = new double[receivers.length];
+
+		forRange(receivers.length, (from, to) -> {
+			for (int i = from; i < to; i++) {
+				try {
+					results[i] = (double) handle.invokeExact(receivers[i], args);
+				} catch (Throwable e) {
+					call.invokeFailed(e);
+				}
+			}
+		});
+
+		return results;
+	}
+
+	/**
+	 * Invoke the method once for each argument tuple, on the bound instance, on the calling
+	 * thread.
+	 *
+	 * @param tuples the argument tuples; each must have one element per method parameter
+	 * @return the results, in the order of the tuples
+	 */
+	public List<Object> invokeAll(Iterable<Object[]> tuples) {
+		MethodHandle handle = handle(Handles.OBJECT);
+		Object receiver = call.getInstance();
+		List<Object> results = new ArrayList<>();
+
+		for (Object[] tuple : tuples) {
+			results.add(invoke(handle, receiver, tuple));
+		}
+
+		return results;
+	}
+
+	/**
+	 * Invoke the method on each receiver with the same arguments, on the calling thread.
+	 *
+	 * @param receivers the instances to invoke the method on
+	 * @param args the arguments, the same for every receiver
+	 * @return the results, in the order of the receivers
+	 */
+	public List<Object> invokeOnEach(Iterable<?> receivers, Object... args) {
+		MethodHandle handle = handle(Handles.OBJECT);
+		List<Object> results = new ArrayList<>();
+
+		for (Object receiver : receivers) {
+			results.add(invoke(handle, receiver, args));
+		}
+
+		return results;
+	}
+
+	/**
+	 * Lazily invoke the method for each argument tuple of a stream, on the bound instance,
+	 * giving a stream of the results.  The stream is parallel if the tuples are.
+	 *
+	 * @param tuples the argument tuples; each must have one element per method parameter
+	 * @return the results
+	 */
+	public Stream<Object> invokeAll(Stream<Object[]> tuples) {
+		MethodHandle handle = handle(Handles.OBJECT);
+		Object receiver = call.getInstance();
+		return tuples.map(tuple -> invoke(handle, receiver, tuple));
+	}
+
+	/**
+	 * Lazily invoke the method for each argument tuple of a stream, on the bound instance,
+	 * giving a stream of the results as {@code int}.  The stream is parallel if the tuples are.
+	 *
+	 * @param tuples the argument tuples; each must have one element per method parameter
+	 * @return the results
+	 * @throws IllegalArgumentException if the method's result cannot be converted to
+	 *         {@code int}
+	 */
+	public IntStream invokeIntAll(Stream<Object[]> tuples) {
+		MethodHandle handle = handle(Handles.INT);
+		Object receiver = call.getInstance();
+		return tuples.mapToInt(tuple -> {
+			try {
+				return (int) handle.invokeExact(receiver, tuple);
+			} catch (Throwable e) {
+				call.invokeFailed(e);
+				return 0;
+			}
+		});
+	}
+
+	/**
+	 * Lazily invoke the method for each argument tuple of a stream, on the bound instance,
+	 * giving a stream of the results as {@code long}.  The stream is parallel if the tuples are.
+	 *
+	 * @param tuples the argument tuples; each must have one element per method parameter
+	 * @return the results
+	 * @throws IllegalArgumentException if the method's result cannot be converted to
+	 *         {@code long}
+	 */
+	public LongStream invokeLongAll(Stream<Object[]> tuples) {
+		MethodHandle handle = handle(Handles.LONG);
+		Object receiver = call.getInstance();
+		return tuples.mapToLong(tuple -> {
+			try {
+				return (long) handle.invokeExact(receiver, tuple);
+			} catch (Throwable e) {
+				call.invokeFailed(e);
+				return 0L;
+			}
+		});
+	}
+
+	/**
+	 * Lazily invoke the method for each argument tuple of a stream, on the bound instance,
+	 * giving a stream of the results as {@code double}.  The stream is parallel if the tuples are.
+	 *
+	 * @param tuples the argument tuples; each must have one element per method parameter
+	 * @return the results
+	 * @throws IllegalArgumentException if the method's result cannot be converted to
+	 *         {@code double}
+	 */
+	public DoubleStream invokeDoubleAll(Stream<Object[]> tuples) {
+		MethodHandle handle = handle(Handles.DOUBLE);
+		Object receiver = call.getInstance();
+		return tuples.mapToDouble(tuple -> {
+			try {
+				return (double) handle.invokeExact(receiver, tuple);
+			} catch (Throwable e) {
+				call.invokeFailed(e);
+				return 0.0;
+			}
+		});
+	}
+
+	/**
+	 * Lazily invoke the method on each receiver of a stream, with the same arguments, giving a
+	 * stream of the results.  The stream is parallel if the receivers are.
+	 *
+	 * @param receivers the instances to invoke the method on
+	 * @param args the arguments, the same for every receiver
+	 * @return the results
+	 */
+	public Stream<Object> invokeOnEach(Stream<?> receivers, Object... args) {
+		MethodHandle handle = handle(Handles.OBJECT);
+		return receivers.map(receiver -> invoke(handle, receiver, args));
+	}
+
+	private Object invoke(MethodHandle handle, Object receiver, Object[] args) {
+		try {
+			return handle.invokeExact(receiver, args);
+		} catch (Throwable e) {
+			call.invokeFailed(e);
+			return null;
+		}
+	}
+
+	private MethodHandle handle(int kind) {
+		try {
+			MethodHandle handle = Handles.spread(call.getMethod(), kind);
+			return ReflectorMetrics.instrument(handle, call.stats());
+		} catch (IllegalAccessException e) {
+			throw new IllegalStateException("Method is not accessible", e);
+		}
+	}
+
+	private void forRange(int size, Range range) {
+		if (pool == null || size <= threshold) {
+			range.run(0, size);
+		} else {
+			pool.invoke(new RangeTask(range, 0, size, threshold));
+		}
+	}
+
+	/** A piece of a batch: the elements from one index up to another */
+	@FunctionalInterface
+	private interface Range {
+		void run(int from, int to);
+	}
+
+	/** Splits a range in half until it is no larger than the threshold */
+	private static final class RangeTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final Range range;
+		private final int from;
+		private final int to;
+		private final int threshold;
+
+		RangeTask(Range range, int from, int to, int threshold) {
+			this.range = range;
+			this.from = from;
+			this.to = to;
+			this.threshold = threshold;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from <= threshold) {
+				range.run(from, to);
+				return;
+			}
+
+			int middle = (from + to) >>> 1;
+			invokeAll(new RangeTask(range, from, middle, threshold),
+					new RangeTask(range, middle, to, threshold));
+		}
+	}
+
+}
@@ -0,0 +1,435 @@
+/*
+ * Licensed under the Creative Commons Attribution-ShareAlike 4.0 International
+ *
+ * https://creativecommons.org/licenses/by-sa/4.0/
+ */
+package net.snortum.utils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * <p>Copies every matching property from objects of one class to objects of another, or to and
+ * from a {@code Map}.  A property is a public getter ({@code getX()}, or {@code isX()} for a
+ * {@code boolean}) or public field to read, and a public setter ({@code setX(...)}) or
+ * non-final public field to write.  Properties match by name when the source type can be
+ * assigned to the target type, with boxing and primitive widening:</p>
+ * <pre>
+ *     BeanMapper&lt;Customer, CustomerDto&gt; mapper =
+ *             BeanMapper.of(Customer.class, CustomerDto.class);
+ *     CustomerDto dto = mapper.map(customer);
+ *     Map&lt;String, Object&gt; row = BeanMapper.toMap(Customer.class).map(customer);</pre>
+ *
+ * <p>The properties are found once, when the mapper is created, and each pair of accessors is
+ * linked into one method handle.  Copying an object then runs through an array of handles,
+ * without looking anything up and, between two classes, without boxing.  Mappers are cached
+ * per pair of classes, are immutable and may be shared between threads.  A mapper is cached
+ * with the class whose class loader is a child of the other's, so that it never keeps a
+ * plugin's class loader alive; a mapper between classes of unrelated class loaders is not
+ * cached.</p>
+ *
+ * @param <S> the source type
+ * @param <T> the target type
+ * @author Knute Snortum
+ * @version 2026.10.17
+ */
+public final class BeanMapper<S, T> {
+
+	private static final MethodType READER_TYPE = MethodType.methodType(Object.class, Object.class);
+	private static final MethodType WRITER_TYPE =
+			MethodType.methodType(void.class, Object.class, Object.class);
+	private static final MethodType FACTORY_TYPE = MethodType.methodType(Object.class);
+
+	/** Readable and writable properties, per class */
+	private static final ClassValue<Properties> PROPERTIES = new ClassValue<Properties>() {
+		@Override
+		protected Properties computeValue(Class<?> type) {
+			return new Properties(type);
+		}
+	};
+
+	/** Mappers from each class, keyed by target class, or by {@code Map} for {@link #toMap} */
+	private static final ClassValue<ConcurrentMap<Class<?>, BeanMapper<?, ?>>> MAPPERS =
+			new ClassValue<ConcurrentMap<Class<?>, BeanMapper<?, ?>>>() {
+				@Override
+				protected ConcurrentMap<Class<?>, BeanMapper<?, ?>> computeValue(Class<?> type) {
+					return new ConcurrentHashMap<>();
+				}
+			};
+
+	/**
+	 * Mappers to each class, keyed by source class, for sources whose class loader is a parent
+	 * of the target's
+	 */
+	private static final ClassValue<ConcurrentMap<Class<?>, BeanMapper<?, ?>>> MAPPERS_TO =
+			new ClassValue<ConcurrentMap<Class<?>, BeanMapper<?, ?>>>() {
+				@Override
+				protected ConcurrentMap<Class<?>, BeanMapper<?, ?>> computeValue(Class<?> type) {
+					return new ConcurrentHashMap<>();
+				}
+			};
+
+	/** Mappers from a {@code Map}, per target class */
+	private static final ClassValue<BeanMapper<?, ?>> FROM_MAP =
+			new ClassValue<BeanMapper<?, ?>>() {
+				@Override
+				protected BeanMapper<?, ?> computeValue(Class<?> type) {
+					return new BeanMapper<>(Map.class, type, Mode.FROM_MAP);
+				}
+			};
+
+	private enum Mode { BEANS, TO_MAP, FROM_MAP }
+
+	private final Class<?> sourceType;
+	private final Class<?> targetType;
+	private final Mode mode;
+	private final String[] names;
+
+	/**
+	 * One handle per property.  Between beans, (target, source) copying the property; to a
+	 * map, (source) returning the value; from a map, (target, value) setting it.
+	 */
+	private final MethodHandle[] handles;
+
+	/** Whether each property, from a map, is primitive and so cannot be set to {@code null} */
+	private final boolean[] primitive;
+
+	/** The target's public no-argument constructor, or {@code null} if it has none */
+	private final MethodHandle factory;
+
+	private BeanMapper(Class<?> sourceType, Class<?> targetType, Mode mode) {
+		this.sourceType = sourceType;
+		this.targetType = targetType;
+		this.mode = mode;
+
+		List<String> found = new ArrayList<>();
+		List<MethodHandle> linked = new ArrayList<>();
+		List<Class<?>> types = new ArrayList<>();
+
+		if (mode == Mode.TO_MAP) {
+			Properties source = PROPERTIES.get(sourceType);
+			for (Map.Entry<String, MethodHandle> reader : source.readers.entrySet()) {
+				found.add(reader.getKey());
+				linked.add(reader.getValue().asType(READER_TYPE));
+			}
+		} else if (mode == Mode.FROM_MAP) {
+			Properties target = PROPERTIES.get(targetType);
+			for (Map.Entry<String, MethodHandle> writer : target.writers.entrySet()) {
+				found.add(writer.getKey());
+				linked.add(writer.getValue().asType(WRITER_TYPE));
+				types.add(writer.getValue().type().parameterType(1));
+			}
+		} else {
+			Properties source = PROPERTIES.get(sourceType);
+			Properties target = PROPERTIES.get(targetType);
+			for (Map.Entry<String, MethodHandle> reader : source.readers.entrySet()) {
+				MethodHandle writer = target.writers.get(reader.getKey());
+				if (writer != null) {
+					MethodHandle copier = link(reader.getValue(), writer);
+					if (copier != null) {
+						found.add(reader.getKey());
+						linked.add(copier);
+					}
+				}
+			}
+		}
+
+		this.names = found.toArray(new String[found.size()]);
+		this.handles = linked.toArray(new MethodHandle[linked.size()]);
+		this.primitive = new boolean[types.size()];
+		for (int i = 0; i < primitive.length; i++) {
+			primitive[i] = types.get(i).isPrimitive();
+		}
+		this.factory = mode == Mode.TO_MAP ? null : factoryOf(targetType);
+	}
+
+	/**
+	 * Get the mapper between these classes.
+	 *
+	 * @param <S> the source type
+	 * @param <T> the target type
+	 * @param sourceType the class to read properties from
+	 * @param targetType the class to write properties to
+	 * @return the mapper
+	 */
+	@SuppressWarnings("unchecked") /* Mappers are cached by their source and target types */
+	public static <S, T> BeanMapper<S, T> of(Class<S> sourceType, Class<T> targetType) {
+		if (Map.class.isAssignableFrom(targetType)) {
+			return (BeanMapper<S, T>) toMap(sourceType);
+		}
+
+		if (Map.class.isAssignableFrom(sourceType)) {
+			return (BeanMapper<S, T>) fromMap(targetType);
+		}
+
+		return (BeanMapper<S, T>) mapper(sourceType, targetType, Mode.BEANS);
+	}
+
+	/**
+	 * Get the mapper from this class to a {@code Map} of property names to values.
+	 *
+	 * @param <S> the source type
+	 * @param sourceType the class to read properties from
+	 * @return the mapper, whose {@link #map(Object)} returns a {@link LinkedHashMap}
+	 */
+	@SuppressWarnings("unchecked") /* Mappers are cached by their source and target types */
+	public static <S> BeanMapper<S, Map<String, Object>> toMap(Class<S> sourceType) {
+		return (BeanMapper<S, Map<String, Object>>) mapper(sourceType, Map.class, Mode.TO_MAP);
+	}
+
+	/**
+	 * Get the mapper from a {@code Map} of property names to values to this class.  Names
+	 * missing from the map are left alone, as are {@code null} values for primitive
+	 * properties.
+	 *
+	 * @param <T> the target type
+	 * @param targetType the class to write properties to
+	 * @return the mapper
+	 */
+	@SuppressWarnings("unchecked") /* Mappers are cached by their source and target types */
+	public static <T> BeanMapper<Map<String, ?>, T> fromMap(Class<T> targetType) {
+		return (BeanMapper<Map<String, ?>, T>) FROM_MAP.get(targetType);
+	}
+
+	private static BeanMapper<?, ?> mapper(Class<?> sourceType, Class<?> targetType, Mode mode) {
+		Class<?> home = ReflectorCache.home(sourceType, targetType);
+		if (home == null) {
+			return new BeanMapper<>(sourceType, targetType, mode);
+		}
+
+		ConcurrentMap<Class<?>, BeanMapper<?, ?>> mappers =
+				home == sourceType ? MAPPERS.get(sourceType) : MAPPERS_TO.get(targetType);
+		Class<?> key = home == sourceType ? targetType : sourceType;
+		BeanMapper<?, ?> mapper = mappers.get(key);
+
+		if (mapper == null) {
+			mapper = new BeanMapper<>(sourceType, targetType, mode);
+			mappers.putIfAbsent(key, mapper);
+		}
+
+		return mapper;
+	}
+
+	/**
+	 * Create a new target object with its public no-argument constructor, and copy the
+	 * properties of the source to it.
+	 *
+	 * @param source the object to copy from
+	 * @return the new object
+	 * @throws IllegalStateException if the target class has no public no-argument constructor,
+	 *         or a property could not be copied
+	 */
+	@SuppressWarnings("unchecked") /* The factory creates the target type */
+	public T map(S source) {
+		T target;
+
+		if (mode == Mode.TO_MAP) {
+			target = (T) new LinkedHashMap<String, Object>(handles.length * 2);
+		} else if (factory == null) {
+			throw new IllegalStateException(targetType.getName()
+					+ " has no public no-argument constructor");
+		} else {
+			try {
+				target = (T) (Object) factory.invokeExact();
+			} catch (Throwable e) {
+				throw failed("create " + targetType.getName(), e);
+			}
+		}
+
+		copy(source, target);
+		return target;
+	}
+
+	/**
+	 * Copy the properties of the source to the target.
+	 *
+	 * @param source the object to copy from
+	 * @param target the object to copy to
+	 * @throws IllegalStateException if a property could not be copied
+	 */
+	@SuppressWarnings("unchecked") /* In the map modes, S or T is a Map */
+	public void copy(S source, T target) {
+		int i = 0;
+
+		try {
+			if (mode == Mode.BEANS) {
+				for (; i < handles.length; i++) {
+					handles[i].invokeExact((Object) target, (Object) source);
+				}
+			} else if (mode == Mode.TO_MAP) {
+				Map<String, Object> map = (Map<String, Object>) target;
+				for (; i < handles.length; i++) {
+					map.put(names[i], (Object) handles[i].invokeExact((Object) source));
+				}
+			} else {
+				Map<String, ?> map = (Map<String, ?>) source;
+				for (; i < handles.length; i++) {
+					Object value = map.get(names[i]);
+					if (value != null || !primitive[i] && map.containsKey(names[i])) {
+						handles[i].invokeExact((Object) target, value);
+					}
+				}
+			}
+		} catch (Throwable e) {
+			throw failed("copy " + names[i], e);
+		}
+	}
+
+	/** @return the names of the properties copied, in the order they are copied */
+	public List<String> getPropertyNames() {
+		return Collections.unmodifiableList(Arrays.asList(names));
+	}
+
+	/** @return the class properties are read from, {@code Map} if it is a map */
+	public Class<?> getSourceType() {
+		return sourceType;
+	}
+
+	/** @return the class properties are written to, {@code Map} if it is a map */
+	public Class<?> getTargetType() {
+		return targetType;
+	}
+
+	private static RuntimeException failed(String what, Throwable e) {
+		if (e instanceof Error) {
+			throw (Error) e;
+		}
+
+		return new IllegalStateException("Could not " + what, e);
+	}
+
+	/**
+	 * Link a reader and a writer into one handle of type (target, source) that copies the
+	 * property, or return {@code null} if the reader's type cannot be assigned to the writer's.
+	 */
+	private static MethodHandle link(MethodHandle reader, MethodHandle writer) {
+		Class<?> from = reader.type().returnType();
+		Class<?> to = writer.type().parameterType(1);
+
+		if (!isAssignable(from, to)) {
+			return null;
+		}
+
+		MethodHandle typedWriter =
+				writer.asType(MethodType.methodType(void.class, Object.class, from));
+		return MethodHandles.filterArguments(typedWriter, 1, reader).asType(WRITER_TYPE);
+	}
+
+	/** Assignment with widening and boxing, but not unboxing, which would fail on {@code null} */
+	private static boolean isAssignable(Class<?> from, Class<?> to) {
+		if (from.isPrimitive() && !to.isPrimitive()) {
+			return to.isAssignableFrom(MethodType.methodType(from).wrap().returnType());
+		}
+
+		return Overloads.isSubtype(from, to);
+	}
+
+	private static MethodHandle factoryOf(Class<?> type) {
+		if (Modifier.isAbstract(type.getModifiers())) {
+			return null;
+		}
+
+		try {
+			Constructor<?> constructor = ReflectorCache.getConstructor(type);
+			if (!Modifier.isPublic(constructor.getModifiers())) {
+				return null;
+			}
+
+			return Handles.direct(constructor).asType(FACTORY_TYPE);
+		} catch (NoSuchMethodException | IllegalAccessException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * The readable and writable properties of a class, as direct handles taking the receiver
+	 * as {@code Object}.  Accessor methods take precedence over fields of the same name.
+	 */
+	private static final class Properties {
+		final Map<String, MethodHandle> readers = new LinkedHashMap<>();
+		final Map<String, MethodHandle> writers = new LinkedHashMap<>();
+
+		Properties(Class<?> type) {
+			for (Method method : type.getMethods()) {
+				if (Modifier.isStatic(method.getModifiers()) || method.isBridge()
+						|| method.getDeclaringClass() == Object.class) {
+					continue;
+				}
+
+				String name = method.getName();
+				int count = method.getParameterCount();
+				Class<?> returnType = method.getReturnType();
+
+				if (count == 0 && returnType != void.class && isProperty(name, "get")) {
+					add(readers, decapitalize(name.substring(3)), method);
+				} else if (count == 0 && returnType == boolean.class && isProperty(name, "is")) {
+					add(readers, decapitalize(name.substring(2)), method);
+				} else if (count == 1 && isProperty(name, "set")) {
+					add(writers, decapitalize(name.substring(3)), method);
+				}
+			}
+
+			for (Field field : type.getFields()) {
+				int modifiers = field.getModifiers();
+				if (Modifier.isStatic(modifiers)) {
+					continue;
+				}
+
+				try {
+					if (!readers.containsKey(field.getName())) {
+						readers.put(field.getName(), receiverAsObject(Handles.directGetter(field)));
+					}
+					if (!Modifier.isFinal(modifiers) && !writers.containsKey(field.getName())) {
+						writers.put(field.getName(), receiverAsObject(Handles.directSetter(field)));
+					}
+				} catch (IllegalAccessException e) {
+					// Not accessible to Reflector, so not a property
+				}
+			}
+		}
+
+		private static void add(Map<String, MethodHandle> accessors, String name, Method method) {
+			if (accessors.containsKey(name)) {
+				return;
+			}
+
+			try {
+				accessors.put(name, receiverAsObject(Handles.direct(method)));
+			} catch (IllegalAccessException e) {
+				// Not accessible to Reflector, so not a property
+			}
+		}
+
+		private static MethodHandle receiverAsObject(MethodHandle handle) {
+			return handle.asType(handle.type().changeParameterType(0, Object.class));
+		}
+
+		private static boolean isProperty(String name, String prefix) {
+			return name.length() > prefix.length() && name.startsWith(prefix)
+					&& Character.isUpperCase(name.charAt(prefix.length()));
+		}
+
+		/** Decapitalize a property name as {@code java.beans.Introspector} does */
+		private static String decapitalize(String name) {
+			if (name.length() > 1 && Character.isUpperCase(name.charAt(1))) {
+				return name;
+			}
+
+			return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+		}
+	}
+
+}
@@ -0,0 +1,840 @@
+/*
+ * Licensed under the Creative Commons Attribution-ShareAlike 4.0 International
+ *
+ * https://creativecommons.org/licenses/by-sa/4.0/
+ */
+package net.snortum.utils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * <p>An immutable call to one method, frozen from the state of a {@link Reflector} by
+ * {@link Reflector#bind()}.  The class loader, class, instance and method of a bound call
+ * never change, so one bound call can be shared by any number of threads, including virtual
+ * threads, and invoked concurrently without locking:</p>
+ * <pre>
+ *     Reflector r = new Reflector(Engine.METHOD_HANDLE);
+ *     r.loadClass("net.snortum.utils.ReflectorPlay");
+ *     r.loadMethod("add", int.class, int.class);
+ *     BoundCall add = r.bind();
+ *     // on any thread
+ *     int sum = add.invokeInt(2, 3);</pre>
+ *
+ * <p>Bound calls are resolved once, typically at startup.  The method handles a call needs are
+ * resolved the first time they are used, so a call with {@link Engine#REFLECTION} that only
+ * uses {@link #invoke(Object...)} never resolves any.  Use {@link #withInstance(Object)} to
+ * call the same method on a different instance.  A call bound while
+ * {@link ReflectorMetrics} is enabled records the count and latency of its invocations.</p>
+ *
+ * <p>A failed invocation is reported by the call's {@link FailureMode}, which it takes from the
+ * {@link Reflector} that bound it.  {@link #tryInvoke(Object...)} returns the failure as a
+ * {@link Result} instead.</p>
+ *
+ * @author Knute Snortum
+ * @version 2026.10.17
+ */
+public final class BoundCall {
+
+	private final Engine engine;
+	private final ClassLoader loader;
+	private final Class<?> clazz;
+	private final Object instance;
+	private final Method method;
+	private final int paramCount;
+
+	/** Where invocations are recorded, or {@code null} if metrics were off when bound */
+	private final ReflectorMetrics.MethodStats stats;
+
+	/** How failed invocations are reported */
+	private final FailurePolicy failures;
+
+	/** The spread invoker, used by {@link #invoke(Object...)} with {@link Engine#METHOD_HANDLE} */
+	private final Invokers spread;
+
+	/** The fixed-arity invokers, used by {@code invoke0()} to {@code invokeBoolean(...)} */
+	private final Invokers fixed;
+
+	/**
+	 * Create a bound call.  Its handles are resolved when they are first used.
+	 *
+	 * @param engine the engine used by {@link #invoke(Object...)}
+	 * @param clazz the class reference
+	 * @param instance the receiver, or {@code null} for static methods
+	 * @param method the method to call
+	 * @param failures how failed invocations are reported
+	 */
+	BoundCall(Engine engine, Class<?> clazz, Object instance, Method method,
+			FailurePolicy failures) {
+		this.engine = engine;
+		this.failures = failures;
+		this.loader = clazz.getClassLoader();
+		this.clazz = clazz;
+		this.instance = instance;
+		this.method = method;
+		this.paramCount = method.getParameterCount();
+		this.stats = ReflectorMetrics.statsFor(method);
+		this.spread = new Invokers(method, stats, true);
+		this.fixed = new Invokers(method, stats, false);
+	}
+
+	/** Copy a bound call, with its handles, to report failures another way */
+	private BoundCall(BoundCall from, FailurePolicy failures) {
+		this.engine = from.engine;
+		this.failures = failures;
+		this.loader = from.loader;
+		this.clazz = from.clazz;
+		this.instance = from.instance;
+		this.method = from.method;
+		this.paramCount = from.paramCount;
+		this.stats = from.stats;
+		this.spread = from.spread;
+		this.fixed = from.fixed;
+	}
+
+	/**
+	 * Create a bound call to the same method, using the same engine and class loader, on
+	 * another instance.
+	 *
+	 * @param receiver the instance to call the method on, or {@code null} for static methods
+	 * @return a new bound call
+	 */
+	public BoundCall withInstance(Object receiver) {
+		return new BoundCall(engine, clazz, receiver, method, failures);
+	}
+
+	/**
+	 * Create a bound call like this one that reports failed invocations in this mode.
+	 *
+	 * @param mode the failure mode
+	 * @return a new bound call
+	 */
+	public BoundCall withFailureMode(FailureMode mode) {
+		return new BoundCall(this, failures.withMode(mode));
+	}
+
+	/**
+	 * Create a bound call like this one whose {@link ReflectorException}s are created with or
+	 * without stack traces.  See {@link Reflector#setStacklessFailures(boolean)}.
+	 *
+	 * @param stackless {@code true} to create failures without stack traces
+	 * @return a new bound call
+	 */
+	public BoundCall withStacklessFailures(boolean stackless) {
+		return new BoundCall(this, failures.withStackless(stackless));
+	}
+
+	/**
+	 * Remember the results of this call by their arguments, for a pure method.  See
+	 * {@link MemoizedCall}.
+	 *
+	 * @param policy how many results to remember, and for how long
+	 * @return a memoized call that reports failures as this call does
+	 */
+	public MemoizedCall memoize(MemoPolicy policy) {
+		return new MemoizedCall(this, failures, policy);
+	}
+
+	/**
+	 * Take the arguments of this call as strings, converting each to its parameter's type with
+	 * a converter from the registry chosen once, now.  See {@link StringCall}.
+	 *
+	 * @param registry the converters to choose from
+	 * @return a string call that reports failures as this call does
+	 * @throws IllegalArgumentException if a parameter type has no converter
+	 */
+	public StringCall fromStrings(ConverterRegistry registry) {
+		return new StringCall(this, failures, registry);
+	}
+
+	/** @return a copy of this call reporting failures by this policy */
+	BoundCall withFailures(FailurePolicy policy) {
+		return policy == failures ? this : new BoundCall(this, policy);
+	}
+
+	/**
+	 * Invokes the method and returns the result. The result will be cast to the type of
+	 * variable the caller is setting.
+	 *
+	 * @param <T> the type of the result of invoking the method
+	 * @param params zero or more parameters for the invoked method
+	 * @return the result of invoking the method, or {@code null} if the context is void or
+	 *         an error is encountered
+	 * @throws IllegalStateException if the engine is {@link Engine#METHOD_HANDLE} and the
+	 *         method is not accessible
+	 * @throws ReflectorException if the invocation fails and the failure mode is
+	 *         {@link FailureMode#THROW}; the same goes for every invoke method
+	 */
+	@SuppressWarnings("unchecked") /* We assume the caller knows what type is returned */
+	public <T> T invoke(Object... params) {
+		if (engine == Engine.METHOD_HANDLE) {
+			MethodHandle handle = checked(spread, -1, Handles.OBJECT);
+			try {
+				return (T) (Object) handle.invokeExact(instance, params);
+			} catch (Throwable e) {
+				invokeFailed(e);
+				return null;
+			}
+		}
+
+		long start = stats == null ? 0 : System.nanoTime();
+		try {
+			T result = (T) method.invoke(instance, params);
+			recorded(start, null);
+			return result;
+		} catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
+			recorded(start, e instanceof InvocationTargetException ? e.getCause() : e);
+			invokeFailed(e);
+			return null;
+		}
+	}
+
+	/**
+	 * Invokes the method with the engine, like {@link #invoke(Object...)}, but lets any
+	 * exception propagate to the caller instead of reporting it.  An exception thrown by the
+	 * method itself is not wrapped in an {@link InvocationTargetException}.
+	 *
+	 * @param params zero or more parameters for the invoked method
+	 * @return the result of invoking the method, or {@code null} if the context is void
+	 * @throws Throwable whatever the invocation or the method throws
+	 */
+	Object invokeOrThrow(Object... params) throws Throwable {
+		if (engine == Engine.METHOD_HANDLE) {
+			return checked(spread, -1, Handles.OBJECT).invokeExact(instance, params);
+		}
+
+		long start = stats == null ? 0 : System.nanoTime();
+		try {
+			Object result = method.invoke(instance, params);
+			recorded(start, null);
+			return result;
+		} catch (InvocationTargetException e) {
+			recorded(start, e.getCause());
+			throw e.getCause();
+		} catch (IllegalAccessException | IllegalArgumentException e) {
+			recorded(start, e);
+			throw e;
+		}
+	}
+
+	/**
+	 * Invokes the method with the engine, like {@link #invoke(Object...)}, and returns what it
+	 * returned or the failure.  Nothing is printed or thrown, whatever the failure mode.
+	 *
+	 * @param <T> the type of the result of invoking the method
+	 * @param params zero or more parameters for the invoked method
+	 * @return the result of invoking the method, whose value is {@code null} if the method is
+	 *         void, or the failure
+	 */
+	@SuppressWarnings("unchecked") /* We assume the caller knows what type is returned */
+	public <T> Result<T> tryInvoke(Object... params) {
+		try {
+			return Result.success((T) invokeOrThrow(params));
+		} catch (Throwable e) {
+			return Result.failure(failures.failure(e, ReflectorException.Kind.INVOCATION_FAILED));
+		}
+	}
+
+	/**
+	 * <p>Invokes the method, which takes no parameters, and returns the result
+	 * cast to the type of variable the caller is setting.  See {@link #invoke(Object...)}.</p>
+	 * 
+	 * <p>The fixed-arity methods {@code invoke0()} to {@code invoke3(...)}, and the primitive
+	 * variants {@code invokeInt(...)}, {@code invokeLong(...)}, {@code invokeDouble(...)} and
+	 * {@code invokeBoolean(...)}, always call through a method handle, whatever the engine.
+	 * They do not allocate an argument array, and the primitive variants do not box the
+	 * result.  Primitive arguments are still boxed by the caller; to avoid that too, see
+	 * {@link #compile(Class)}.</p>
+	 * 
+	 * @param <T> the type of the result of invoking the method
+	 * @return the result of invoking the method, or {@code null} if the context is void or
+	 *         an error is encountered
+	 * @throws IllegalStateException if the method is not accessible
+	 * @throws IllegalArgumentException if the bound method does not take zero parameters
+	 */
+	@SuppressWarnings("unchecked") /* We assume the caller knows what type is returned */
+	public <T> T invoke0() {
+		MethodHandle handle = checked(fixed, 0, Handles.OBJECT);
+		try {
+			return (T) (Object) handle.invokeExact(instance);
+		} catch (Throwable e) {
+			invokeFailed(e);
+			return null;
+		}
+	}
+
+	/**
+	 * Invokes the method, which takes one parameter, and returns the result
+	 * cast to the type of variable the caller is setting.  See {@link #invoke(Object...)}.
+	 * 
+	 * @param <T> the type of the result of invoking the method
+	 * @param arg0 argument 1 of the invoked method
+	 * @return the result of invoking the method, or {@code null} if the context is void or
+	 *         an error is encountered
+	 * @throws IllegalStateException if the method is not accessible
+	 * @throws IllegalArgumentException if the bound method does not take one parameter
+	 */
+	@SuppressWarnings("unchecked") /* We assume the caller knows what type is returned */
+	public <T> T invoke1(Object arg0) {
+		MethodHandle handle = checked(fixed, 1, Handles.OBJECT);
+		try {
+			return (T) (Object) handle.invokeExact(instance, arg0);
+		} catch (Throwable e) {
+			invokeFailed(e);
+			return null;
+		}
+	}
+
+	/**
+	 * Invokes the method, which takes two parameters, and returns the result
+	 * cast to the type of variable the caller is setting.  See {@link #invoke(Object...)}.
+	 * 
+	 * @param <T> the type of the result of invoking the method
+	 * @param arg0 argument 1 of the invoked method
+	 * @param arg1 argument 2 of the invoked method
+	 * @return the result of invoking the method, or {@code null} if the context is void or
+	 *         an error is encountered
+	 * @throws IllegalStateException if the method is not accessible
+	 * @throws IllegalArgumentException if the bound method does not take two parameters
+	 */
+	@SuppressWarnings("unchecked") /* We assume the caller knows what type is returned */
+	public <T> T invoke2(Object arg0, Object arg1) {
+		MethodHandle handle = checked(fixed, 2, Handles.OBJECT);
+		try {
+			return (T) (Object) handle.invokeExact(instance, arg0, arg1);
+		} catch (Throwable e) {
+			invokeFailed(e);
+			return null;
+		}
+	}
+
+	/**
+	 * Invokes the method, which takes three parameters, and returns the result
+	 * cast to the type of variable the caller is setting.  See {@link #invoke(Object...)}.
+	 * 
+	 * @param <T> the type of the result of invoking the method
+	 * @param arg0 argument 1 of the invoked method
+	 * @param arg1 argument 2 of the invoked method
+	 * @param arg2 argument 3 of the invoked method
+	 * @return the result of invoking the method, or {@code null} if the context is void or
+	 *         an error is encountered
+	 * @throws IllegalStateException if the method is not accessible
+	 * @throws IllegalArgumentException if the bound method does not take three parameters
+	 */
+	@SuppressWarnings("unchecked") /* We assume the caller knows what type is returned */
+	public <T> T invoke3(Object arg0, Object arg1, Object arg2) {
+		MethodHandle handle = checked(fixed, 3, Handles.OBJECT);
+		try {
+			return (T) (Object) handle.invokeExact(instance, arg0, arg1, arg2);
+		} catch (Throwable e) {
+			invokeFailed(e);
+			return null;
+		}
+	}
+
+	/**
+	 * Invokes the method, which takes no parameters, and returns the result as
+	 * {@code int}.  See {@link #invoke0()}.
+	 * 
+	 * @return the result of invoking the method, or {@code 0} if an error is encountered
+	 * @throws IllegalStateException if the method is not accessible
+	 * @throws IllegalArgumentException if the bound method does not take zero parameters
+	 *         or its result cannot be converted to {@code int}
+	 */
+	public int invokeInt() {
+		MethodHandle handle = checked(fixed, 0, Handles.INT);
+		try {
+			return (int) handle.invokeExact(instance);
+		} catch (Throwable e) {
+			invokeFailed(e);
+			return 0;
+		}
+	}
+
+	/**
+	 * Invokes the method, which takes one parameter, and returns the result as
+	 * {@code int}.  See {@link #invoke0()}.
+	 * 
+	 * @param arg0 argument 1 of the invoked method
+	 * @return the result of invoking the method, or {@code 0} if an error is encountered
+	 * @throws IllegalStateException if the method is not accessible
+	 * @throws IllegalArgumentException if the bound method does not take one parameter
+	 *         or its result cannot be converted to {@code int}
+	 */
+	public int invokeInt(Object arg0) {
+		MethodHandle handle = checked(fixed, 1, Handles.INT);
+		try {
+			return (int) handle.invokeExact(instance, arg0);
+		} catch (Throwable e) {
+			invokeFailed(e);
+			return 0;
+		}
+	}
+
+	/**
+	 * Invokes the method, which takes two parameters, and returns the result as
+	 * {@code int}.  See {@link #invoke0()}.
+	 * 
+	 * @param arg0 argument 1 of the invoked method
+	 * @param arg1 argument 2 of the invoked method
+	 * @return the result of invoking the method, or {@code 0} if an error is encountered
+	 * @throws IllegalStateException if the method is not accessible
+	 * @throws IllegalArgumentException if the bound method does not take two parameters
+	 *         or its result cannot be converted to {@code int}
+	 */
+	public int invokeInt(Object arg0, Object arg1) {
+		MethodHandle handle = checked(fixed, 2, Handles.INT);
+		try {
+			return (int) handle.invokeExact(instance, arg0, arg1);
+		} catch (Throwable e) {
+			invokeFailed(e);
+			return 0;
+		}
+	}
+
+	/**
+	 * Invokes the method, which takes three parameters, and returns the result as
+	 * {@code int}.  See {@link #invoke0()}.
+	 * 
+	 * @param arg0 argument 1 of the invoked method
+	 * @param arg1 argument 2 of the invoked method
+	 * @param arg2 argument 3 of the invoked method
+	 * @return the result of invoking the method, or {@code 0} if an error is encountered
+	 * @throws IllegalStateException if the method is not accessible
+	 * @throws IllegalArgumentException if the bound method does not take three parameters
+	 *         or its result cannot be converted to {@code int}
+	 */
+	public int invokeInt(Object arg0, Object arg1, Object arg2) {
+		MethodHandle handle = checked(fixed, 3, Handles.INT);
+		try {
+			return (int) handle.invokeExact(instance, arg0, arg1, arg2);
+		} catch (Throwable e) {
+			invokeFailed(e);
+			return 0;
+		}
+	}
+
+	/**
+	 * Invokes the method, which takes no parameters, and returns the result as
+	 * {@code long}.  See {@link #invoke0()}.
+	 * 
+	 * @return the result of invoking the method, or {@code 0} if an error is encountered
+	 * @throws IllegalStateException if the method is not accessible
+	 * @throws IllegalArgumentException if the bound method does not take zero parameters
+	 *         or its result cannot be converted to {@code long}
+	 */
+	public long invokeLong() {
+		MethodHandle handle = checked(fixed, 0, Handles.LONG);
+		try {
+			return (long) handle.invokeExact(instance);
+		} catch (Throwable e) {
+			invokeFailed(e);
+			return 0L;
+		}
+	}
+
+	/**
+	 * Invokes the method, which takes one parameter, and returns the result as
+	 * {@code long}.  See {@link #invoke0()}.
+	 * 
+	 * @param arg0 argument 1 of the invoked method
+	 * @return the result of invoking the method, or {@code 0} if an error is encountered
+	 * @throws IllegalStateException if the method is not accessible
+	 * @throws IllegalArgumentException if the bound method does not take one parameter
+	 *         or its result cannot be converted to {@code long}
+	 */
+	public long invokeLong(Object arg0) {
+		MethodHandle handle = checked(fixed, 1, Handles.LONG);
+		try {
+			return (long) handle.invokeExact(instance, arg0);
+		} catch (Throwable e) {
+			invokeFailed(e);
+			return 0L;
+		}
+	}
+
+	/**
+	 * Invokes the method, which takes two parameters, and returns the result as
+	 * {@code long}.  See {@link #invoke0()}.
+	 * 
+	 * @param arg0 argument 1 of the invoked method
+	 * @param arg1 argument 2 of the invoked method
+	 * @return the result of invoking the method, or {@code 0} if an error is encountered
+	 * @throws IllegalStateException if the method is not accessible
+	 * @throws IllegalArgumentException if the bound method does not take two parameters
+	 *         or its result cannot be converted to {@code long}
+	 */
+	public long invokeLong(Object arg0, Object arg1) {
+		MethodHandle handle = checked(fixed, 2, Handles.LONG);
+		try {
+			return (long) handle.invokeExact(instance, arg0, arg1);
+		} catch (Throwable e) {
+			invokeFailed(e);
+			return 0L;
+		}
+	}
+
+	/**
+	 * Invokes the method, which takes three parameters, and returns the result as
+	 * {@code long}.  See {@link #invoke0()}.
+	 * 
+	 * @param arg0 argument 1 of the invoked method
+	 * @param arg1 argument 2 of the invoked method
+	 * @param arg2 argument 3 of the invoked method
+	 * @return the result of invoking the method, or {@code 0} if an error is encountered
+	 * @throws IllegalStateException if the method is not accessible
+	 * @throws IllegalArgumentException if the bound method does not take three parameters
+	 *         or its result cannot be converted to {@code long}
+	 */
+	public long invokeLong(Object arg0, Object arg1, Object arg2) {
+		MethodHandle handle = checked(fixed, 3, Handles.LONG);
+		try {
+			return (long) handle.invokeExact(instance, arg0, arg1, arg2);
+		} catch (Throwable e) {
+			invokeFailed(e);
+			return 0L;
+		}
+	}
+
+	/**
+	 * Invokes the method, which takes no parameters, and returns the result as
+	 * {@code double}.  See {@link #invoke0()}.
+	 * 
+	 * @return the result of invoking the method, or {@code 0.0} if an error is encountered
+	 * @throws IllegalStateException if the method is not accessible
+	 * @throws IllegalArgumentException if the bound method does not take zero parameters
+	 *         or its result cannot be converted to {@code double}
+	 */
+	public double invokeDouble() {
+		MethodHandle handle = checked(fixed, 0, Handles.DOUBLE);
+		try {
+			return (double) handle.invokeExact(instance);
+		} catch (Throwable e) {
+			invokeFailed(e);
+			return 0.0;
+		}
+	}
+
+	/**
+	 * Invokes the method, which takes one parameter, and returns the result as
+	 * {@code double}.  See {@link #invoke0()}.
+	 * 
+	 * @param arg0 argument 1 of the invoked method
+	 * @return the result of invoking the method, or {@code 0.0} if an error is encountered
+	 * @throws IllegalStateException if the method is not accessible
+	 * @throws IllegalArgumentException if the bound method does not take one parameter
+	 *         or its result cannot be converted to {@code double}
+	 */
+	public double invokeDouble(Object arg0) {
+		MethodHandle handle = checked(fixed, 1, Handles.DOUBLE);
+		try {
+			return (double) handle.invokeExact(instance, arg0);
+		} catch (Throwable e) {
+			invokeFailed(e);
+			return 0.0;
+		}
+	}
+
+	/**
+	 * Invokes the method, which takes two parameters, and returns the result as
+	 * {@code double}.  See {@link #invoke0()}.
+	 * 
+	 * @param arg0 argument 1 of the invoked method
+	 * @param arg1 argument 2 of the invoked method
+	 * @return the result of invoking the method, or {@code 0.0} if an error is encountered
+	 * @throws IllegalStateException if the method is not accessible
+	 * @throws IllegalArgumentException if the bound method does not take two parameters
+	 *         or its result cannot be converted to {@code double}
+	 */
+	public double invokeDouble(Object arg0, Object arg1) {
+		MethodHandle handle = checked(fixed, 2, Handles.DOUBLE);
+		try {
+			return (double) handle.invokeExact(instance, arg0, arg1);
+		} catch (Throwable e) {
+			invokeFailed(e);
+			return 0.0;
+		}
+	}
+
+	/**
+	 * Invokes the method, which takes three parameters, and returns the result as
+	 * {@code double}.  See {@link #invoke0()}.
+	 * 
+	 * @param arg0 argument 1 of the invoked method
+	 * @param arg1 argument 2 of the invoked method
+	 * @param arg2 argument 3 of the invoked method
+	 * @return the result of invoking the method, or {@code 0.0} if an error is encountered
+	 * @throws IllegalStateException if the method is not accessible
+	 * @throws IllegalArgumentException if the bound method does not take three parameters
+	 *         or its result cannot be converted to {@code double}
+	 */
+	public double invokeDouble(Object arg0, Object arg1, Object arg2) {
+		MethodHandle handle = checked(fixed, 3, Handles.DOUBLE);
+		try {
+			return (double) handle.invokeExact(instance, arg0, arg1, arg2);
+		} catch (Throwable e) {
+			invokeFailed(e);
+			return 0.0;
+		}
+	}
+
+	/**
+	 * Invokes the method, which takes no parameters, and returns the result as
+	 * {@code boolean}.  See {@link #invoke0()}.
+	 * 
+	 * @return the result of invoking the method, or {@code false} if an error is encountered
+	 * @throws IllegalStateException if the method is not accessible
+	 * @throws IllegalArgumentException if the bound method does not take zero parameters
+	 *         or its result cannot be converted to {@code boolean}
+	 */
+	public boolean invokeBoolean() {
+		MethodHandle handle = checked(fixed, 0, Handles.BOOLEAN);
+		try {
+			return (boolean) handle.invokeExact(instance);
+		} catch (Throwable e) {
+			invokeFailed(e);
+			return false;
+		}
+	}
+
+	/**
+	 * Invokes the method, which takes one parameter, and returns the result as
+	 * {@code boolean}.  See {@link #invoke0()}.
+	 * 
+	 * @param arg0 argument 1 of the invoked method
+	 * @return the result of invoking the method, or {@code false} if an error is encountered
+	 * @throws IllegalStateException if the method is not accessible
+	 * @throws IllegalArgumentException if the bound method does not take one parameter
+	 *         or its result cannot be converted to {@code boolean}
+	 */
+	public boolean invokeBoolean(Object arg0) {
+		MethodHandle handle = checked(fixed, 1, Handles.BOOLEAN);
+		try {
+			return (boolean) handle.invokeExact(instance, arg0);
+		} catch (Throwable e) {
+			invokeFailed(e);
+			return false;
+		}
+	}
+
+	/**
+	 * Invokes the method, which takes two parameters, and returns the result as
+	 * {@code boolean}.  See {@link #invoke0()}.
+	 * 
+	 * @param arg0 argument 1 of the invoked method
+	 * @param arg1 argument 2 of the invoked method
+	 * @return the result of invoking the method, or {@code false} if an error is encountered
+	 * @throws IllegalStateException if the method is not accessible
+	 * @throws IllegalArgumentException if the bound method does not take two parameters
+	 *         or its result cannot be converted to {@code boolean}
+	 */
+	public boolean invokeBoolean(Object arg0, Object arg1) {
+		MethodHandle handle = checked(fixed, 2, Handles.BOOLEAN);
+		try {
+			return (boolean) handle.invokeExact(instance, arg0, arg1);
+		} catch (Throwable e) {
+			invokeFailed(e);
+			return false;
+		}
+	}
+
+	/**
+	 * Invokes the method, which takes three parameters, and returns the result as
+	 * {@code boolean}.  See {@link #invoke0()}.
+	 * 
+	 * @param arg0 argument 1 of the invoked method
+	 * @param arg1 argument 2 of the invoked method
+	 * @param arg2 argument 3 of the invoked method
+	 * @return the result of invoking the method, or {@code false} if an error is encountered
+	 * @throws IllegalStateException if the method is not accessible
+	 * @throws IllegalArgumentException if the bound method does not take three parameters
+	 *         or its result cannot be converted to {@code boolean}
+	 */
+	public boolean invokeBoolean(Object arg0, Object arg1, Object arg2) {
+		MethodHandle handle = checked(fixed, 3, Handles.BOOLEAN);
+		try {
+			return (boolean) handle.invokeExact(instance, arg0, arg1, arg2);
+		} catch (Throwable e) {
+			invokeFailed(e);
+			return false;
+		}
+	}
+
+	/**
+	 * Compile the method into an implementation of this functional interface.
+	 * See {@link Reflector#compile(Class)}.
+	 *
+	 * @param <F> the functional interface type
+	 * @param functionalInterface the functional interface to implement
+	 * @return an implementation of the functional interface that calls the method
+	 * @throws IllegalArgumentException if the interface is not a functional interface or its
+	 *         method does not match the bound method
+	 */
+	public <F> F compile(Class<F> functionalInterface) {
+		return LambdaCompiler.compile(functionalInterface, method, instance);
+	}
+
+	/**
+	 * Get a batch invoker for this call, to invoke it over many argument tuples or receivers.
+	 * The batch runs on the calling thread; see {@link Batch#parallel()}.
+	 *
+	 * @return the batch invoker
+	 * @throws IllegalStateException if the method is not accessible
+	 */
+	public Batch batch() {
+		checked(spread, -1, Handles.OBJECT);
+		return new Batch(this, null, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Get an asynchronous invoker for this call, running on the default executor: virtual
+	 * threads when the JVM has them, otherwise a pool of daemon threads.
+	 *
+	 * @return the asynchronous invoker
+	 * @see AsyncCall
+	 */
+	public AsyncCall async() {
+		return new AsyncCall(this);
+	}
+
+	/** @return the engine used by {@link #invoke(Object...)} */
+	public Engine getEngine() {
+		return engine;
+	}
+
+	/** @return the class loader of the class reference, or {@code null} for the bootstrap loader */
+	public ClassLoader getLoader() {
+		return loader;
+	}
+
+	/** @return the class reference */
+	public Class<?> getClazz() {
+		return clazz;
+	}
+
+	/** @return the instance reference or {@code null} if method is static */
+	public Object getInstance() {
+		return instance;
+	}
+
+	/** @return the method reference */
+	public Method getMethod() {
+		return method;
+	}
+
+	/** @return how failed invocations are reported */
+	public FailureMode getFailureMode() {
+		return failures.mode;
+	}
+
+	/** @return {@code true} if failures are created without stack traces */
+	public boolean isStacklessFailures() {
+		return failures.stackless;
+	}
+
+	/** @return where invocations are recorded, or {@code null} if they are not */
+	ReflectorMetrics.MethodStats stats() {
+		return stats;
+	}
+
+	private MethodHandle checked(Invokers invokers, int arity, int kind) {
+		MethodHandle handle = invokers.get(kind);
+		if (invokers.accessError != null) {
+			throw new IllegalStateException("Method is not accessible", invokers.accessError);
+		}
+
+		if (arity >= 0 && arity != paramCount) {
+			throw new IllegalArgumentException(method + " does not take " + arity + " parameter(s)");
+		}
+
+		if (handle == null) {
+			throw new IllegalArgumentException(method + " does not return "
+					+ Handles.RETURN_KINDS[kind].getName());
+		}
+
+		return handle;
+	}
+
+	/** Record a reflective invocation, if this call records them */
+	private void recorded(long start, Throwable failure) {
+		if (stats != null) {
+			stats.record(start, failure);
+		}
+	}
+
+	/**
+	 * Report a failed invocation in the same way as the invoke methods.
+	 *
+	 * @param e the exception raised by the invocation
+	 * @throws ReflectorException if the failure mode is {@link FailureMode#THROW}
+	 */
+	void invokeFailed(Throwable e) {
+		if (failures.mode == FailureMode.PRINT && instance == null
+				&& !Modifier.isStatic(method.getModifiers())) {
+			System.err.println("Instance was null but this is not a static method");
+		}
+		failures.handle(e, ReflectorException.Kind.INVOCATION_FAILED);
+	}
+
+	/**
+	 * The spread invoker or the fixed-arity invokers of a call, resolved the first time one is
+	 * needed and shared by the copies of the call
+	 */
+	private static final class Invokers {
+		private final Method method;
+		private final ReflectorMetrics.MethodStats stats;
+		private final boolean spread;
+
+		/** The invokers by return kind, {@code null} until resolved */
+		private volatile MethodHandle[] handles;
+
+		/** The access error raised resolving the invokers, or {@code null} if there was none */
+		private IllegalAccessException accessError;
+
+		Invokers(Method method, ReflectorMetrics.MethodStats stats, boolean spread) {
+			this.method = method;
+			this.stats = stats;
+			this.spread = spread;
+		}
+
+		/**
+		 * @return the invoker returning this kind, or {@code null} if the result cannot be
+		 *         converted or the method is not accessible
+		 */
+		MethodHandle get(int kind) {
+			MethodHandle[] resolved = handles;
+			if (resolved == null) {
+				resolved = resolve();
+			}
+			return resolved[kind];
+		}
+
+		private synchronized MethodHandle[] resolve() {
+			if (handles != null) {
+				return handles;
+			}
+
+			MethodHandle[] resolved = new MethodHandle[Handles.RETURN_KINDS.length];
+			try {
+				if (spread) {
+					resolved[Handles.OBJECT] =
+							ReflectorMetrics.instrument(Handles.invoker(method), stats);
+				} else {
+					for (int kind = 0; kind < resolved.length; kind++) {
+						resolved[kind] =
+								ReflectorMetrics.instrument(Handles.fixedOrNull(method, kind), stats);
+					}
+				}
+			} catch (IllegalAccessException e) {
+				accessError = e;
+				resolved = new MethodHandle[resolved.length];
+			}
+
+			handles = resolved;
+			return resolved;
+		}
+	}
+
+}
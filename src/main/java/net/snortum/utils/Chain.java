@@ -0,0 +1,806 @@
+/*
+ * Licensed under the Creative Commons Attribution-ShareAlike 4.0 International
+ *
+ * https://creativecommons.org/licenses/by-sa/4.0/
+ */
+package net.snortum.utils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.WrongMethodTypeException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * <p>A pipeline of constructor and method calls, compiled once into a single method handle.
+ * Instead of a {@code loadConstructor()}, {@code loadNewInstance()}, {@code loadMethod()} and
+ * {@code invoke()} round trip for each step, with every intermediate result boxed, the steps
+ * are written as an expression and called as one:</p>
+ * <pre>
+ *     r.loadClass("org.joda.time.DateTime", jarPath);
+ *     Chain dayBefore = r.chain("new(new().minus($0)).getDayOfWeek()", long.class);
+ *     int day = dayBefore.invoke(ONE_DAY_IN_MILLIS);</pre>
+ *
+ * <p>An expression is made of these parts:</p>
+ * <ul>
+ *     <li>{@code new(args)} calls a public constructor of the class</li>
+ *     <li>{@code name(args)} calls a public static method of the class</li>
+ *     <li>{@code expr.name(args)} calls a public instance method on the result of
+ *         {@code expr}, found in its declared type</li>
+ *     <li>{@code $0}, {@code $1}... are the parameters of the chain, whose types are given
+ *         when it is compiled</li>
+ *     <li>{@code this} is the instance loaded by the {@link Reflector}</li>
+ *     <li>literals: {@code 12} is an {@code int}, {@code 12L} a {@code long}, {@code 1.5} a
+ *         {@code double}, {@code true} and {@code false} are {@code boolean}s, and
+ *         {@code "text"} is a {@code String}</li>
+ * </ul>
+ *
+ * <p>The same chain can be built fluently, where {@link #result()} stands for the result of
+ * the steps so far.  Each step runs the steps before it once, however many times it uses
+ * their result:</p>
+ * <pre>
+ *     Chain dayBefore = Chain.on(r.getClazz(), long.class)
+ *             .construct()
+ *             .call("minus", Chain.param(0))
+ *             .construct(Chain.result())
+ *             .call("getDayOfWeek")
+ *             .build();</pre>
+ *
+ * <p>Each step is resolved when the chain is compiled, choosing the constructor or method
+ * that javac would choose for arguments of those types, without variable arity.  The steps
+ * are then composed, so that
+ * intermediate results are passed in their own types, primitives unboxed, and
+ * {@link #getHandle()} or {@link #as(Class)} runs the whole chain as one call the JIT compiler
+ * can inline.  A chain is immutable and thread-safe.</p>
+ *
+ * @author Knute Snortum
+ * @version 2026.10.17
+ */
+public final class Chain {
+
+	/** Stands for the result of the steps so far in {@link Builder} arguments */
+	private static final Object RESULT = new Object() {
+		@Override
+		public String toString() {
+			return "result()";
+		}
+	};
+
+	private final String expression;
+	private final Class<?>[] paramTypes;
+
+	/** The composed chain, taking the parameters in their own types */
+	private final MethodHandle handle;
+
+	/** The chain taking its parameters as an {@code Object[]} and returning an {@code Object} */
+	private final MethodHandle spreadHandle;
+
+	/** How failed invocations are reported */
+	private final FailurePolicy failures;
+
+	private Chain(String expression, Class<?>[] paramTypes, MethodHandle handle,
+			FailurePolicy failures) {
+		this.expression = expression;
+		this.paramTypes = paramTypes;
+		this.handle = handle;
+		this.spreadHandle = handle.asType(handle.type().generic())
+				.asSpreader(Object[].class, paramTypes.length);
+		this.failures = failures;
+	}
+
+	/**
+	 * Compile a chain expression on this class.
+	 *
+	 * @param clazz the class whose constructors and static methods the expression calls
+	 * @param expression the chain, such as {@code new().minus($0).getDayOfWeek()}
+	 * @param paramTypes the types of the parameters {@code $0}, {@code $1}...
+	 * @return the compiled chain
+	 * @throws IllegalArgumentException if the expression cannot be parsed, or a step matches no
+	 *         public constructor or method, more than one, or one that cannot be called
+	 */
+	public static Chain compile(Class<?> clazz, String expression, Class<?>... paramTypes) {
+		return compile(clazz, null, expression, paramTypes, FailurePolicy.DEFAULT);
+	}
+
+	/** Compile an expression, with {@code this} standing for the instance, if there is one */
+	static Chain compile(Class<?> clazz, Object instance, String expression,
+			Class<?>[] paramTypes, FailurePolicy failures) {
+		Node root = new Parser(expression).parse();
+		return compile(new Scope(clazz, instance, paramTypes), root, failures);
+	}
+
+	private static Chain compile(Scope scope, Node root, FailurePolicy failures) {
+		return new Chain(root.toString(), scope.paramTypes.clone(), root.compile(scope),
+				failures);
+	}
+
+	/**
+	 * Start building a chain on this class.
+	 *
+	 * @param clazz the class whose constructors and static methods the chain calls
+	 * @param paramTypes the types of the chain's parameters, see {@link #param(int)}
+	 * @return a builder with no steps
+	 */
+	public static Builder on(Class<?> clazz, Class<?>... paramTypes) {
+		return new Builder(clazz, paramTypes.clone());
+	}
+
+	/**
+	 * @param index the index of a parameter of the chain, from 0
+	 * @return an argument for {@link Builder} steps that passes the parameter, like {@code $0}
+	 */
+	public static Object param(int index) {
+		if (index < 0) {
+			throw new IllegalArgumentException("Negative parameter index: " + index);
+		}
+		return new Param(index);
+	}
+
+	/**
+	 * @return an argument for {@link Builder} steps that passes the result of the steps
+	 *         before it
+	 */
+	public static Object result() {
+		return RESULT;
+	}
+
+	/**
+	 * Invokes the chain and returns the result, cast to the type of variable the caller is
+	 * setting.  The parameters are unboxed and passed to the composed chain, and only its
+	 * result is boxed.
+	 *
+	 * @param <T> the type of the result of the chain
+	 * @param params a parameter for each of the chain's parameter types
+	 * @return the result of the chain, or {@code null} if it is void or an error is
+	 *         encountered
+	 * @throws ReflectorException if the invocation fails and the failure mode is
+	 *         {@link FailureMode#THROW}
+	 */
+	@SuppressWarnings("unchecked") /* We assume the caller knows what type is returned */
+	public <T> T invoke(Object... params) {
+		try {
+			return (T) (Object) spreadHandle.invokeExact(params);
+		} catch (Throwable e) {
+			failures.handle(e, ReflectorException.Kind.INVOCATION_FAILED);
+			return null;
+		}
+	}
+
+	/**
+	 * Invokes the chain, returning its result or failure without reporting it.
+	 *
+	 * @param <T> the type of the result of the chain
+	 * @param params a parameter for each of the chain's parameter types
+	 * @return the result of the chain, or the failure
+	 */
+	@SuppressWarnings("unchecked") /* We assume the caller knows what type is returned */
+	public <T> Result<T> tryInvoke(Object... params) {
+		try {
+			return Result.success((T) (Object) spreadHandle.invokeExact(params));
+		} catch (Throwable e) {
+			return Result.failure(failures.failure(e, ReflectorException.Kind.INVOCATION_FAILED));
+		}
+	}
+
+	/**
+	 * Implement this functional interface with the chain, in a generated class that calls it
+	 * through a constant method handle, so that a call costs about the same as making the
+	 * calls of the chain directly.  The interface method must take the chain's parameters,
+	 * or types they can be converted from, and return its result or a type it can be
+	 * converted to:
+	 * <pre>
+	 *     LongToIntFunction dayBefore = chain.as(LongToIntFunction.class);
+	 *     int day = dayBefore.applyAsInt(ONE_DAY_IN_MILLIS);</pre>
+	 *
+	 * @param <F> the functional interface type
+	 * @param functionalInterface a public functional interface
+	 * @return an implementation of the interface that runs the chain
+	 * @throws IllegalArgumentException if the interface is not a public functional interface
+	 *         or its method cannot be adapted to the chain
+	 */
+	public <F> F as(Class<F> functionalInterface) {
+		return InterfaceGenerator.implement(functionalInterface, handle);
+	}
+
+	/**
+	 * Create a chain like this one that reports failed invocations in this mode.
+	 *
+	 * @param mode the failure mode
+	 * @return a new chain
+	 */
+	public Chain withFailureMode(FailureMode mode) {
+		return new Chain(expression, paramTypes, handle, failures.withMode(mode));
+	}
+
+	/**
+	 * @return the composed chain, taking the chain's parameter types and returning its result
+	 *         type, for {@code invokeExact} or further composition
+	 */
+	public MethodHandle getHandle() {
+		return handle;
+	}
+
+	/** @return the types of the chain's parameters, {@code $0}, {@code $1}... */
+	public Class<?>[] getParameterTypes() {
+		return paramTypes.clone();
+	}
+
+	/** @return the type of the chain's result, which is primitive or void as the last step's */
+	public Class<?> getReturnType() {
+		return handle.type().returnType();
+	}
+
+	/** @return the chain as an expression */
+	@Override
+	public String toString() {
+		return expression;
+	}
+
+	/**
+	 * <p>Builds a chain one step at a time.  The arguments of a step are
+	 * {@link Chain#param(int)}, {@link Chain#result()} or constants; a constant
+	 * {@code Integer}, {@code Long}, {@code Double} or {@code Boolean} is passed as the
+	 * primitive, like a literal in an expression.</p>
+	 */
+	public static final class Builder {
+		private final Class<?> clazz;
+		private final Class<?>[] paramTypes;
+		private Node current;
+
+		private Builder(Class<?> clazz, Class<?>[] paramTypes) {
+			this.clazz = clazz;
+			this.paramTypes = paramTypes;
+		}
+
+		/**
+		 * Call a constructor of the class, whose new instance becomes the result.
+		 *
+		 * @param args the constructor arguments
+		 * @return this builder
+		 */
+		public Builder construct(Object... args) {
+			current = step(new Invoke(null, null, nodes(args)));
+			return this;
+		}
+
+		/**
+		 * Call a method on the result of the steps so far, or a static method of the class if
+		 * this is the first step.  What it returns becomes the result.
+		 *
+		 * @param methodName the name of the method
+		 * @param args the method arguments
+		 * @return this builder
+		 */
+		public Builder call(String methodName, Object... args) {
+			current = step(new Invoke(current == null ? null : new Previous(current), methodName,
+					nodes(args)));
+			return this;
+		}
+
+		/**
+		 * @return the compiled chain, with the failure mode {@link FailureMode#PRINT}
+		 * @throws IllegalStateException if there are no steps
+		 * @throws IllegalArgumentException if a step matches no public constructor or method,
+		 *         more than one, or one that cannot be called
+		 */
+		public Chain build() {
+			if (current == null) {
+				throw new IllegalStateException("The chain has no steps");
+			}
+			return Chain.compile(new Scope(clazz, null, paramTypes), current,
+					FailurePolicy.DEFAULT);
+		}
+
+		/** The call, after the steps so far if there are any */
+		private Node step(Invoke call) {
+			return current == null ? call : new Step(current, call);
+		}
+
+		private Node[] nodes(Object[] args) {
+			Node[] nodes = new Node[args.length];
+			for (int i = 0; i < args.length; i++) {
+				if (args[i] == RESULT) {
+					if (current == null) {
+						throw new IllegalStateException("There is no result before the first step");
+					}
+					nodes[i] = new Previous(current);
+				} else if (args[i] instanceof Param) {
+					nodes[i] = (Param) args[i];
+				} else {
+					nodes[i] = Constant.of(args[i]);
+				}
+			}
+			return nodes;
+		}
+	}
+
+	/** What an expression is compiled against */
+	private static final class Scope {
+		final Class<?> clazz;
+		final Object instance;
+
+		/** The parameters of compiled nodes: the result of the steps before, if any, then $n */
+		final Class<?>[] paramTypes;
+
+		/** The index of {@code $0} in the parameters */
+		final int first;
+
+		Scope(Class<?> clazz, Object instance, Class<?>[] paramTypes) {
+			this(clazz, instance, paramTypes, 0);
+		}
+
+		private Scope(Class<?> clazz, Object instance, Class<?>[] paramTypes, int first) {
+			this.clazz = clazz;
+			this.instance = instance;
+			this.paramTypes = paramTypes;
+			this.first = first;
+		}
+
+		/** @return this scope, with the result of the steps before taken as the first parameter */
+		Scope withPrevious(Class<?> type) {
+			Class<?>[] types = new Class<?>[paramTypes.length + 1];
+			types[0] = type;
+			System.arraycopy(paramTypes, 0, types, 1, paramTypes.length);
+			return new Scope(clazz, instance, types, first + 1);
+		}
+
+		/** A handle returning the parameter at this position, ignoring the others */
+		MethodHandle parameter(int position, Node node) {
+			if (position >= paramTypes.length) {
+				throw new IllegalArgumentException(node + " is not a parameter; the chain has "
+						+ (paramTypes.length - first));
+			}
+
+			MethodHandle identity = MethodHandles.identity(paramTypes[position]);
+			identity = MethodHandles.dropArguments(identity, 1,
+					Arrays.copyOfRange(paramTypes, position + 1, paramTypes.length));
+			return MethodHandles.dropArguments(identity, 0,
+					Arrays.copyOfRange(paramTypes, 0, position));
+		}
+
+		/** A handle returning this value, ignoring the chain's parameters */
+		MethodHandle constant(Class<?> type, Object value) {
+			return MethodHandles.dropArguments(MethodHandles.constant(type, value), 0, paramTypes);
+		}
+	}
+
+	/** A part of an expression, compiled to a handle taking the chain's parameters */
+	private abstract static class Node {
+		abstract MethodHandle compile(Scope scope);
+	}
+
+	private static final class Param extends Node {
+		final int index;
+
+		Param(int index) {
+			this.index = index;
+		}
+
+		@Override
+		MethodHandle compile(Scope scope) {
+			return scope.parameter(scope.first + index, this);
+		}
+
+		@Override
+		public String toString() {
+			return "$" + index;
+		}
+	}
+
+	private static final class This extends Node {
+		@Override
+		MethodHandle compile(Scope scope) {
+			if (scope.instance == null) {
+				throw new IllegalArgumentException("There is no instance for 'this'");
+			}
+			return scope.constant(scope.clazz, scope.instance);
+		}
+
+		@Override
+		public String toString() {
+			return "this";
+		}
+	}
+
+	/**
+	 * A builder step after the first: the steps before it are run once, and their result is
+	 * passed to the call as the first parameter of its scope, however many times it is used
+	 */
+	private static final class Step extends Node {
+		final Node before;
+		final Invoke call;
+
+		/** Whether the call uses the result of the steps before exactly once */
+		final boolean usedOnce;
+
+		Step(Node before, Invoke call) {
+			this.before = before;
+			this.call = call;
+
+			List<Previous> uses = new ArrayList<>();
+			if (call.receiver instanceof Previous) {
+				uses.add((Previous) call.receiver);
+			}
+			for (Node arg : call.args) {
+				if (arg instanceof Previous) {
+					uses.add((Previous) arg);
+				}
+			}
+
+			usedOnce = uses.size() == 1;
+			if (usedOnce) {
+				uses.get(0).inline = true;
+			}
+		}
+
+		@Override
+		MethodHandle compile(Scope scope) {
+			MethodHandle first = before.compile(scope);
+			Class<?> type = first.type().returnType();
+			if (type == void.class) {
+				return MethodHandles.foldArguments(call.compile(scope), first);
+			}
+			return MethodHandles.foldArguments(call.compile(scope.withPrevious(type)), first);
+		}
+
+		/**
+		 * @return the call, with the steps before in place of their result if it is used
+		 *         once; otherwise the steps before, then the call using {@code result()}
+		 */
+		@Override
+		public String toString() {
+			return usedOnce ? call.toString() : before + "; " + call;
+		}
+	}
+
+	/** The result of the steps before, in a {@link Step} */
+	private static final class Previous extends Node {
+		final Node before;
+
+		/** Whether this is the only use, so it can be written as the steps before */
+		boolean inline;
+
+		Previous(Node before) {
+			this.before = before;
+		}
+
+		@Override
+		MethodHandle compile(Scope scope) {
+			if (scope.first == 0) {
+				throw new IllegalArgumentException(before + " returns nothing to pass");
+			}
+			return scope.parameter(0, this);
+		}
+
+		@Override
+		public String toString() {
+			return inline ? before.toString() : RESULT.toString();
+		}
+	}
+
+	private static final class Constant extends Node {
+		final Object value;
+		final Class<?> type;
+
+		private Constant(Object value, Class<?> type) {
+			this.value = value;
+			this.type = type;
+		}
+
+		static Constant of(Object value) {
+			if (value == null) {
+				throw new IllegalArgumentException("A constant may not be null; use a parameter");
+			}
+
+			Class<?> type = value.getClass();
+			if (type == Integer.class || type == Long.class || type == Double.class
+					|| type == Boolean.class) {
+				type = MethodType.methodType(type).unwrap().returnType();
+			}
+			return new Constant(value, type);
+		}
+
+		@Override
+		MethodHandle compile(Scope scope) {
+			return scope.constant(type, value);
+		}
+
+		@Override
+		public String toString() {
+			if (value instanceof String) {
+				return '"' + ((String) value).replace("\\", "\\\\").replace("\"", "\\\"") + '"';
+			}
+			return type == long.class ? value + "L" : String.valueOf(value);
+		}
+	}
+
+	/** A constructor or method call */
+	private static final class Invoke extends Node {
+		/** What the method is called on, or {@code null} for constructors and static methods */
+		final Node receiver;
+
+		/** The method name, or {@code null} for a constructor */
+		final String name;
+		final Node[] args;
+
+		Invoke(Node receiver, String name, Node[] args) {
+			this.receiver = receiver;
+			this.name = name;
+			this.args = args;
+		}
+
+		@Override
+		MethodHandle compile(Scope scope) {
+			List<MethodHandle> children = new ArrayList<>(args.length + 1);
+			Class<?> owner = scope.clazz;
+
+			if (receiver != null) {
+				MethodHandle compiled = receiver.compile(scope);
+				owner = compiled.type().returnType();
+				if (owner.isPrimitive()) {
+					throw new IllegalArgumentException("Cannot call " + name + "() on "
+							+ receiver + ", which is a " + owner);
+				}
+				children.add(compiled);
+			}
+
+			Class<?>[] argTypes = new Class<?>[args.length];
+			for (int i = 0; i < args.length; i++) {
+				MethodHandle compiled = args[i].compile(scope);
+				argTypes[i] = compiled.type().returnType();
+				if (argTypes[i] == void.class) {
+					throw new IllegalArgumentException(args[i] + " returns nothing to pass");
+				}
+				children.add(compiled);
+			}
+
+			MethodHandle target;
+			try {
+				target = resolve(owner, argTypes);
+			} catch (ReflectiveOperationException e) {
+				throw new IllegalArgumentException("Cannot call " + this + ": " + e, e);
+			}
+
+			// Pass each argument in its own type, converted only as the call needs
+			Class<?>[] types = new Class<?>[children.size()];
+			for (int i = 0; i < types.length; i++) {
+				types[i] = children.get(i).type().returnType();
+			}
+			try {
+				target = target.asType(MethodType.methodType(target.type().returnType(), types));
+			} catch (WrongMethodTypeException e) {
+				throw new IllegalArgumentException("Cannot call " + this + ": " + e, e);
+			}
+
+			// Each child takes all of the chain's parameters, so the parameters are repeated
+			// for each and then merged
+			for (int i = types.length - 1; i >= 0; i--) {
+				target = MethodHandles.collectArguments(target, i, children.get(i));
+			}
+
+			int count = scope.paramTypes.length;
+			int[] reorder = new int[count * types.length];
+			for (int i = 0; i < reorder.length; i++) {
+				reorder[i] = i % count;
+			}
+
+			return MethodHandles.permuteArguments(target,
+					MethodType.methodType(target.type().returnType(), scope.paramTypes), reorder);
+		}
+
+		/** Choose the constructor or method, as javac would, and get its direct handle */
+		private MethodHandle resolve(Class<?> owner, Class<?>[] argTypes)
+				throws ReflectiveOperationException {
+			ClassModel model = ClassModel.of(owner);
+			String call = toString();
+			if (name == null) {
+				List<Constructor<?>> candidates = new ArrayList<>();
+				for (Constructor<?> constructor : model.getConstructors(argTypes.length)) {
+					if (Modifier.isPublic(constructor.getModifiers())) {
+						candidates.add(constructor);
+					}
+				}
+
+				Constructor<?> match = Overloads.choose(candidates, argTypes, call);
+				return Handles.direct(ReflectorCache.getConstructor(owner,
+						match.getParameterTypes()));
+			}
+
+			List<Method> candidates = new ArrayList<>();
+			for (Method method : model.getMethods(name, argTypes.length)) {
+				if (Modifier.isStatic(method.getModifiers()) == (receiver == null)) {
+					candidates.add(method);
+				}
+			}
+
+			Method match = Overloads.choose(candidates, argTypes, call);
+			return Handles.direct(ReflectorCache.getMethod(owner, name,
+					match.getParameterTypes()));
+		}
+
+		@Override
+		public String toString() {
+			StringBuilder text = new StringBuilder();
+			if (receiver != null) {
+				text.append(receiver).append('.');
+			}
+			text.append(name == null ? "new" : name).append('(');
+			for (int i = 0; i < args.length; i++) {
+				text.append(i == 0 ? "" : ", ").append(args[i]);
+			}
+			return text.append(')').toString();
+		}
+	}
+
+	/** Parses an expression into nodes, see the class comment for the syntax */
+	private static final class Parser {
+		private final String text;
+		private int pos;
+
+		Parser(String text) {
+			this.text = text;
+		}
+
+		Node parse() {
+			Node node = expression();
+			skipSpace();
+			if (pos < text.length()) {
+				throw error("Unexpected '" + text.charAt(pos) + "'");
+			}
+			return node;
+		}
+
+		private Node expression() {
+			Node node = primary();
+			while (accept('.')) {
+				String name = identifier();
+				node = new Invoke(node, name, arguments());
+			}
+			return node;
+		}
+
+		private Node primary() {
+			skipSpace();
+			if (pos >= text.length()) {
+				throw error("Unexpected end");
+			}
+
+			char c = text.charAt(pos);
+			if (c == '$') {
+				pos++;
+				int start = pos;
+				while (pos < text.length() && Character.isDigit(text.charAt(pos))) {
+					pos++;
+				}
+				if (start == pos) {
+					throw error("Expected a parameter index");
+				}
+				return new Param(Integer.parseInt(text.substring(start, pos)));
+			} else if (c == '"') {
+				return string();
+			} else if (c == '-' || Character.isDigit(c)) {
+				return number();
+			} else if (!Character.isJavaIdentifierStart(c)) {
+				throw error("Unexpected '" + c + "'");
+			}
+
+			String name = identifier();
+			switch (name) {
+			case "this":
+				return new This();
+			case "true":
+			case "false":
+				return Constant.of(Boolean.valueOf(name));
+			case "new":
+				return new Invoke(null, null, arguments());
+			default:
+				return new Invoke(null, name, arguments());
+			}
+		}
+
+		private Node[] arguments() {
+			expect('(');
+			List<Node> args = new ArrayList<>();
+			if (!accept(')')) {
+				do {
+					args.add(expression());
+				} while (accept(','));
+				expect(')');
+			}
+			return args.toArray(new Node[args.size()]);
+		}
+
+		private String identifier() {
+			skipSpace();
+			int start = pos;
+			if (pos < text.length() && Character.isJavaIdentifierStart(text.charAt(pos))) {
+				pos++;
+				while (pos < text.length() && Character.isJavaIdentifierPart(text.charAt(pos))) {
+					pos++;
+				}
+			}
+			if (start == pos) {
+				throw error("Expected a name");
+			}
+			return text.substring(start, pos);
+		}
+
+		private Node number() {
+			int start = pos;
+			if (text.charAt(pos) == '-') {
+				pos++;
+			}
+			while (pos < text.length() && Character.isDigit(text.charAt(pos))) {
+				pos++;
+			}
+
+			boolean decimal = pos + 1 < text.length() && text.charAt(pos) == '.'
+					&& Character.isDigit(text.charAt(pos + 1));
+			if (decimal) {
+				pos++;
+				while (pos < text.length() && Character.isDigit(text.charAt(pos))) {
+					pos++;
+				}
+			}
+
+			String digits = text.substring(start, pos);
+			try {
+				if (decimal) {
+					return Constant.of(Double.valueOf(digits));
+				} else if (pos < text.length() && Character.toUpperCase(text.charAt(pos)) == 'L') {
+					pos++;
+					return Constant.of(Long.valueOf(digits));
+				}
+				return Constant.of(Integer.valueOf(digits));
+			} catch (NumberFormatException e) {
+				pos = start;
+				throw error("Not a number: " + digits);
+			}
+		}
+
+		private Node string() {
+			StringBuilder value = new StringBuilder();
+			pos++;
+			while (pos < text.length() && text.charAt(pos) != '"') {
+				char c = text.charAt(pos++);
+				if (c == '\\' && pos < text.length()) {
+					c = text.charAt(pos++);
+				}
+				value.append(c);
+			}
+			expect('"');
+			return Constant.of(value.toString());
+		}
+
+		private boolean accept(char c) {
+			skipSpace();
+			if (pos < text.length() && text.charAt(pos) == c) {
+				pos++;
+				return true;
+			}
+			return false;
+		}
+
+		private void expect(char c) {
+			if (!accept(c)) {
+				throw error("Expected '" + c + "'");
+			}
+		}
+
+		private void skipSpace() {
+			while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) {
+				pos++;
+			}
+		}
+
+		private IllegalArgumentException error(String message) {
+			return new IllegalArgumentException(message + " at " + pos + " in " + text);
+		}
+	}
+
+}
@@ -0,0 +1,286 @@
+/*
+ * Licensed under the Creative Commons Attribution-ShareAlike 4.0 International
+ *
+ * https://creativecommons.org/licenses/by-sa/4.0/
+ */
+package net.snortum.utils;
+
+import java.io.IOException;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads the parts of a class file that {@link JarIndex} needs, straight from its bytes, without
+ * defining or loading the class.  Only the constant pool entries that are actually used are
+ * decoded.
+ *
+ * @author Knute Snortum
+ * @version 2026.10.17
+ */
+final class ClassFileReader {
+
+	private static final int MAGIC = 0xCAFEBABE;
+
+	private static final int UTF8 = 1;
+	private static final int INTEGER = 3;
+	private static final int FLOAT = 4;
+	private static final int LONG = 5;
+	private static final int DOUBLE = 6;
+	private static final int CLASS = 7;
+	private static final int STRING = 8;
+	private static final int FIELD_REF = 9;
+	private static final int METHOD_REF = 10;
+	private static final int INTERFACE_METHOD_REF = 11;
+	private static final int NAME_AND_TYPE = 12;
+	private static final int METHOD_HANDLE = 15;
+	private static final int METHOD_TYPE = 16;
+	private static final int DYNAMIC = 17;
+	private static final int INVOKE_DYNAMIC = 18;
+	private static final int MODULE = 19;
+	private static final int PACKAGE = 20;
+
+	private final byte[] bytes;
+	private final String source;
+	private int position;
+
+	/** Offset of each constant pool entry, just after its tag */
+	private int[] offsets;
+
+	/** Class name, in binary (dotted) form */
+	String name;
+
+	/** Super class name, or {@code null} for {@code java.lang.Object} and modules */
+	String superName;
+
+	/** Access flags of the class */
+	int access;
+
+	/** Directly implemented interface names */
+	final List<String> interfaces = new ArrayList<>();
+
+	/** Names of the declared public methods, without constructors and initializers */
+	final List<String> publicMethods = new ArrayList<>();
+
+	/** Class-level annotation type names, visible and invisible at run time */
+	final List<String> annotations = new ArrayList<>();
+
+	private ClassFileReader(byte[] bytes, String source) {
+		this.bytes = bytes;
+		this.source = source;
+	}
+
+	/**
+	 * Read a class file.
+	 *
+	 * @param bytes the class file bytes
+	 * @param source a description of where the bytes came from, for error messages
+	 * @return the reader, holding the parsed information
+	 * @throws IOException if the bytes are not a valid class file
+	 */
+	static ClassFileReader read(byte[] bytes, String source) throws IOException {
+		ClassFileReader reader = new ClassFileReader(bytes, source);
+
+		try {
+			reader.parse();
+		} catch (ArrayIndexOutOfBoundsException e) {
+			throw new IOException(source + " is truncated", e);
+		}
+
+		return reader;
+	}
+
+	private void parse() throws IOException {
+		if (u4() != MAGIC) {
+			throw new IOException(source + " is not a class file");
+		}
+
+		position += 4;
+		readConstantPool();
+
+		access = u2();
+		name = className(u2());
+		int superIndex = u2();
+		superName = superIndex == 0 ? null : className(superIndex);
+
+		int interfaceCount = u2();
+		for (int i = 0; i < interfaceCount; i++) {
+			interfaces.add(className(u2()));
+		}
+
+		int fieldCount = u2();
+		for (int i = 0; i < fieldCount; i++) {
+			position += 6;
+			skipAttributes();
+		}
+
+		int methodCount = u2();
+		for (int i = 0; i < methodCount; i++) {
+			int flags = u2();
+			String methodName = utf8(u2());
+			position += 2;
+			skipAttributes();
+
+			if (Modifier.isPublic(flags) && methodName.charAt(0) != '<') {
+				publicMethods.add(methodName);
+			}
+		}
+
+		int attributeCount = u2();
+		for (int i = 0; i < attributeCount; i++) {
+			String attribute = utf8(u2());
+			int length = u4();
+			int end = position + length;
+
+			if ("RuntimeVisibleAnnotations".equals(attribute)
+					|| "RuntimeInvisibleAnnotations".equals(attribute)) {
+				int count = u2();
+				for (int j = 0; j < count; j++) {
+					annotations.add(descriptorName(utf8(u2())));
+					skipElementValuePairs();
+				}
+			}
+
+			position = end;
+		}
+	}
+
+	private void readConstantPool() throws IOException {
+		int count = u2();
+		offsets = new int[count];
+
+		for (int i = 1; i < count; i++) {
+			int tag = bytes[position++];
+			offsets[i] = position;
+
+			switch (tag) {
+			case UTF8:
+				position += 2 + u2At(position);
+				break;
+			case CLASS:
+			case STRING:
+			case METHOD_TYPE:
+			case MODULE:
+			case PACKAGE:
+				position += 2;
+				break;
+			case METHOD_HANDLE:
+				position += 3;
+				break;
+			case INTEGER:
+			case FLOAT:
+			case FIELD_REF:
+			case METHOD_REF:
+			case INTERFACE_METHOD_REF:
+			case NAME_AND_TYPE:
+			case DYNAMIC:
+			case INVOKE_DYNAMIC:
+				position += 4;
+				break;
+			case LONG:
+			case DOUBLE:
+				position += 8;
+				i++;
+				break;
+			default:
+				throw new IOException(source + " has unknown constant pool tag " + tag);
+			}
+		}
+	}
+
+	private void skipAttributes() {
+		int count = u2();
+		for (int i = 0; i < count; i++) {
+			position += 2;
+			int length = u4();
+			position += length;
+		}
+	}
+
+	private void skipElementValuePairs() {
+		int pairs = u2();
+		for (int i = 0; i < pairs; i++) {
+			position += 2;
+			skipElementValue();
+		}
+	}
+
+	private void skipElementValue() {
+		int tag = bytes[position++];
+
+		switch (tag) {
+		case 'e':
+			position += 4;
+			break;
+		case '@':
+			position += 2;
+			skipElementValuePairs();
+			break;
+		case '[':
+			int values = u2();
+			for (int i = 0; i < values; i++) {
+				skipElementValue();
+			}
+			break;
+		default:
+			position += 2;
+			break;
+		}
+	}
+
+	private String className(int index) {
+		return utf8(u2At(offsets[index])).replace('/', '.');
+	}
+
+	/** Turn a field descriptor such as {@code Ljava/lang/Deprecated;} into a class name */
+	private static String descriptorName(String descriptor) {
+		if (descriptor.startsWith("L") && descriptor.endsWith(";")) {
+			return descriptor.substring(1, descriptor.length() - 1).replace('/', '.');
+		}
+
+		return descriptor;
+	}
+
+	/** Decode a modified UTF-8 constant pool entry */
+	private String utf8(int index) {
+		int start = offsets[index];
+		int length = u2At(start);
+		int i = start + 2;
+		int end = i + length;
+		char[] chars = new char[length];
+		int count = 0;
+
+		while (i < end) {
+			int c = bytes[i++] & 0xFF;
+
+			if (c < 0x80) {
+				chars[count++] = (char) c;
+			} else if ((c & 0xE0) == 0xC0) {
+				chars[count++] = (char) (((c & 0x1F) << 6) | (bytes[i++] & 0x3F));
+			} else {
+				chars[count++] = (char) (((c & 0x0F) << 12) | ((bytes[i++] & 0x3F) << 6)
+						| (bytes[i++] & 0x3F));
+			}
+		}
+
+		return new String(chars, 0, count);
+	}
+
+	private int u2() {
+		int value = u2At(position);
+		position += 2;
+		return value;
+	}
+
+	private int u2At(int at) {
+		return ((bytes[at] & 0xFF) << 8) | (bytes[at + 1] & 0xFF);
+	}
+
+	private int u4() {
+		int value = ((bytes[position] & 0xFF) << 24) | ((bytes[position + 1] & 0xFF) << 16)
+				| ((bytes[position + 2] & 0xFF) << 8) | (bytes[position + 3] & 0xFF);
+		position += 4;
+		return value;
+	}
+
+}
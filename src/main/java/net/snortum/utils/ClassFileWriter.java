@@ -0,0 +1,337 @@
+/*
+ * Licensed under the Creative Commons Attribution-ShareAlike 4.0 International
+ *
+ * https://creativecommons.org/licenses/by-sa/4.0/
+ */
+package net.snortum.utils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes the small class files {@link InterfaceGenerator} needs: a constant pool, fields, and
+ * methods whose code has no branches or exception handlers, so that no stack map frames are
+ * needed.  The class file version is that of Java 8.
+ *
+ * @author Knute Snortum
+ * @version 2026.10.17
+ */
+final class ClassFileWriter {
+
+	private static final int MAGIC = 0xCAFEBABE;
+	private static final int VERSION = 52;
+
+	private static final int UTF8 = 1;
+	private static final int INTEGER = 3;
+	private static final int CLASS = 7;
+	private static final int FIELD_REF = 9;
+	private static final int METHOD_REF = 10;
+	private static final int INTERFACE_METHOD_REF = 11;
+	private static final int NAME_AND_TYPE = 12;
+
+	static final int ACC_PUBLIC = 0x0001;
+	static final int ACC_PRIVATE = 0x0002;
+	static final int ACC_STATIC = 0x0008;
+	static final int ACC_FINAL = 0x0010;
+	static final int ACC_SUPER = 0x0020;
+
+	static final int ICONST_0 = 0x03;
+	static final int BIPUSH = 0x10;
+	static final int SIPUSH = 0x11;
+	static final int LDC = 0x12;
+	static final int LDC_W = 0x13;
+	static final int ILOAD = 0x15;
+	static final int LLOAD = 0x16;
+	static final int FLOAD = 0x17;
+	static final int DLOAD = 0x18;
+	static final int ALOAD = 0x19;
+	static final int AALOAD = 0x32;
+	static final int ASTORE = 0x3a;
+	static final int IRETURN = 0xac;
+	static final int LRETURN = 0xad;
+	static final int FRETURN = 0xae;
+	static final int DRETURN = 0xaf;
+	static final int ARETURN = 0xb0;
+	static final int RETURN = 0xb1;
+	static final int GETSTATIC = 0xb2;
+	static final int PUTSTATIC = 0xb3;
+	static final int GETFIELD = 0xb4;
+	static final int PUTFIELD = 0xb5;
+	static final int INVOKEVIRTUAL = 0xb6;
+	static final int INVOKESPECIAL = 0xb7;
+	static final int INVOKEINTERFACE = 0xb9;
+	static final int CHECKCAST = 0xc0;
+
+	private final ByteArrayOutputStream poolBytes = new ByteArrayOutputStream();
+	private final DataOutputStream pool = new DataOutputStream(poolBytes);
+	private final Map<String, Integer> poolIndexes = new HashMap<>();
+	private int poolCount = 1;
+
+	private final List<byte[]> fields = new ArrayList<>();
+	private final List<Code> methods = new ArrayList<>();
+	private final int codeName = utf8("Code");
+
+	/**
+	 * @param value a string
+	 * @return the index of its {@code CONSTANT_Utf8} entry
+	 */
+	int utf8(String value) {
+		return constant("U" + value, out -> {
+			out.writeByte(UTF8);
+			out.writeUTF(value);
+		});
+	}
+
+	/**
+	 * @param internalName a class name with {@code /} separators, or an array descriptor
+	 * @return the index of its {@code CONSTANT_Class} entry
+	 */
+	int classRef(String internalName) {
+		int name = utf8(internalName);
+		return constant("C" + internalName, out -> {
+			out.writeByte(CLASS);
+			out.writeShort(name);
+		});
+	}
+
+	/**
+	 * @param value an integer
+	 * @return the index of its {@code CONSTANT_Integer} entry
+	 */
+	int integer(int value) {
+		return constant("I" + value, out -> {
+			out.writeByte(INTEGER);
+			out.writeInt(value);
+		});
+	}
+
+	int fieldRef(String owner, String name, String descriptor) {
+		return memberRef(FIELD_REF, owner, name, descriptor);
+	}
+
+	int methodRef(String owner, String name, String descriptor) {
+		return memberRef(METHOD_REF, owner, name, descriptor);
+	}
+
+	int interfaceMethodRef(String owner, String name, String descriptor) {
+		return memberRef(INTERFACE_METHOD_REF, owner, name, descriptor);
+	}
+
+	private int memberRef(int tag, String owner, String name, String descriptor) {
+		int ownerIndex = classRef(owner);
+		int nameIndex = utf8(name);
+		int descriptorIndex = utf8(descriptor);
+		int nameAndType = constant("N" + name + ' ' + descriptor, out -> {
+			out.writeByte(NAME_AND_TYPE);
+			out.writeShort(nameIndex);
+			out.writeShort(descriptorIndex);
+		});
+
+		return constant(tag + owner + '.' + name + ' ' + descriptor, out -> {
+			out.writeByte(tag);
+			out.writeShort(ownerIndex);
+			out.writeShort(nameAndType);
+		});
+	}
+
+	private int constant(String key, PoolEntry entry) {
+		Integer index = poolIndexes.get(key);
+		if (index != null) {
+			return index;
+		}
+
+		try {
+			entry.write(pool);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+
+		poolIndexes.put(key, poolCount);
+		return poolCount++;
+	}
+
+	/**
+	 * Add a field without attributes.
+	 *
+	 * @param access the access flags
+	 * @param name the field name
+	 * @param descriptor the field descriptor
+	 */
+	void field(int access, String name, String descriptor) {
+		fields.add(new byte[] { (byte) (access >> 8), (byte) access,
+				(byte) (utf8(name) >> 8), (byte) utf8(name),
+				(byte) (utf8(descriptor) >> 8), (byte) utf8(descriptor) });
+	}
+
+	/**
+	 * Add a method, whose code is then written to the result.
+	 *
+	 * @param access the access flags
+	 * @param name the method name
+	 * @param descriptor the method descriptor
+	 * @return the code of the method
+	 */
+	Code method(int access, String name, String descriptor) {
+		Code code = new Code(access, utf8(name), utf8(descriptor));
+		methods.add(code);
+		return code;
+	}
+
+	/**
+	 * Write the class file.
+	 *
+	 * @param access the access flags of the class
+	 * @param thisClass the internal name of the class
+	 * @param superClass the internal name of its super class
+	 * @param interfaces the internal names of the interfaces it implements
+	 * @return the class file bytes
+	 */
+	byte[] toByteArray(int access, String thisClass, String superClass, String... interfaces) {
+		int thisIndex = classRef(thisClass);
+		int superIndex = classRef(superClass);
+		int[] interfaceIndexes = new int[interfaces.length];
+		for (int i = 0; i < interfaces.length; i++) {
+			interfaceIndexes[i] = classRef(interfaces[i]);
+		}
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(poolBytes.size() + 256);
+		try (DataOutputStream out = new DataOutputStream(bytes)) {
+			out.writeInt(MAGIC);
+			out.writeShort(0);
+			out.writeShort(VERSION);
+			out.writeShort(poolCount);
+			poolBytes.writeTo(out);
+
+			out.writeShort(access);
+			out.writeShort(thisIndex);
+			out.writeShort(superIndex);
+			out.writeShort(interfaceIndexes.length);
+			for (int index : interfaceIndexes) {
+				out.writeShort(index);
+			}
+
+			out.writeShort(fields.size());
+			for (byte[] field : fields) {
+				out.write(field);
+				out.writeShort(0);
+			}
+
+			out.writeShort(methods.size());
+			for (Code method : methods) {
+				method.writeTo(out, codeName);
+			}
+
+			out.writeShort(0);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+
+		return bytes.toByteArray();
+	}
+
+	private interface PoolEntry {
+		void write(DataOutputStream out) throws IOException;
+	}
+
+	/** The code of one method, written instruction by instruction */
+	final class Code {
+		private final int access;
+		private final int name;
+		private final int descriptor;
+		private final ByteArrayOutputStream code = new ByteArrayOutputStream();
+		private int maxStack;
+		private int maxLocals;
+
+		private Code(int access, int name, int descriptor) {
+			this.access = access;
+			this.name = name;
+			this.descriptor = descriptor;
+		}
+
+		/** Write an instruction without operands */
+		Code op(int opcode) {
+			code.write(opcode);
+			return this;
+		}
+
+		/** Write an instruction with a constant pool index, such as a field or method ref */
+		Code op(int opcode, int index) {
+			code.write(opcode);
+			code.write(index >> 8);
+			code.write(index);
+			return this;
+		}
+
+		/** Write an {@code invokeinterface} with its argument slot count, receiver included */
+		Code invokeInterface(int index, int argumentSlots) {
+			op(INVOKEINTERFACE, index);
+			code.write(argumentSlots);
+			code.write(0);
+			return this;
+		}
+
+		/** Write a local variable load or store */
+		Code local(int opcode, int slot) {
+			code.write(opcode);
+			code.write(slot);
+			return this;
+		}
+
+		/** Push an {@code int} constant */
+		Code push(int value) {
+			if (value >= -1 && value <= 5) {
+				return op(ICONST_0 + value);
+			} else if (value >= Byte.MIN_VALUE && value <= Byte.MAX_VALUE) {
+				code.write(BIPUSH);
+				code.write(value);
+			} else if (value >= Short.MIN_VALUE && value <= Short.MAX_VALUE) {
+				code.write(SIPUSH);
+				code.write(value >> 8);
+				code.write(value);
+			} else {
+				return ldc(integer(value));
+			}
+			return this;
+		}
+
+		/** Push a constant pool entry */
+		Code ldc(int index) {
+			if (index < 256) {
+				code.write(LDC);
+				code.write(index);
+				return this;
+			}
+			return op(LDC_W, index);
+		}
+
+		/** Set the maximum stack depth and local variable slots */
+		Code max(int stack, int locals) {
+			this.maxStack = stack;
+			this.maxLocals = locals;
+			return this;
+		}
+
+		private void writeTo(DataOutputStream out, int codeName) throws IOException {
+			out.writeShort(access);
+			out.writeShort(name);
+			out.writeShort(descriptor);
+			out.writeShort(1);
+
+			out.writeShort(codeName);
+			out.writeInt(12 + code.size());
+			out.writeShort(maxStack);
+			out.writeShort(maxLocals);
+			out.writeInt(code.size());
+			code.writeTo(out);
+			out.writeShort(0);
+			out.writeShort(0);
+		}
+	}
+
+}
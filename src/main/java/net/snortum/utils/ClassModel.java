@@ -0,0 +1,491 @@
+/*
+ * Licensed under the Creative Commons Attribution-ShareAlike 4.0 International
+ *
+ * https://creativecommons.org/licenses/by-sa/4.0/
+ */
+package net.snortum.utils;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * <p>An index of the members of one class, for listing and filtering them without calling
+ * {@link Class#getMethods()}, which copies every method each time.  The model is built once
+ * per class and shared:</p>
+ * <pre>
+ *     ClassModel model = ClassModel.of(HelloWorld.class);
+ *     List&lt;Method&gt; overloads = model.getMethods("printIt");
+ *     List&lt;Method&gt; binary = model.getMethodsWithArity(2);
+ *     List&lt;Method&gt; getters = model.getMethodsMatching("get*");
+ *     List&lt;Method&gt; factories = model.getStaticFactories();</pre>
+ *
+ * <p>The public methods are held in one array sorted by name, then number of parameters,
+ * then parameter types, with the distinct names in a parallel sorted array and the start of
+ * each name's methods in an {@code int} array, so a query by name is a binary search.  Other
+ * orders, such as by number of parameters, are arrays of {@code int} indexes into the
+ * methods.  Queries return unmodifiable views of these arrays, so they allocate one small
+ * object and copy nothing.  Where a subclass narrows the return type of a method, only the
+ * method with the narrowest return type is kept, as {@link Class#getMethod(String, Class...)}
+ * would choose it.</p>
+ *
+ * <p>Constructors are held the same way, sorted by number of parameters.  Unlike methods, the
+ * constructors of every access are held, as by {@link Class#getDeclaredConstructors()}.</p>
+ *
+ * <p>{@link ReflectorCache} resolves methods and constructors through the model of their
+ * class.  A model is immutable and thread-safe, and goes away with its class.</p>
+ *
+ * @author Knute Snortum
+ * @version 2026.10.17
+ */
+public final class ClassModel {
+
+	private static final ClassValue<ClassModel> MODELS = new ClassValue<ClassModel>() {
+		@Override
+		protected ClassModel computeValue(Class<?> type) {
+			return new ClassModel(type);
+		}
+	};
+
+	private static final Comparator<Executable> BY_SIGNATURE = Comparator
+			.comparing(Executable::getName)
+			.thenComparingInt(Executable::getParameterCount)
+			.thenComparing(ClassModel::parameterNames);
+
+	private static final Class<?>[] NO_PARAMS = {};
+
+	private final Class<?> type;
+
+	/** Public methods, sorted by name, number of parameters and parameter types */
+	private final Method[] methods;
+	private final Class<?>[][] methodParams;
+	private final int[] methodArities;
+
+	/** The distinct method names, sorted, and the index of the first method with each */
+	private final String[] names;
+	private final int[] nameStarts;
+
+	/** Method indexes sorted by number of parameters, and where those with each number start */
+	private final int[] byArity;
+	private final int[] arityStarts;
+
+	private final int[] getters;
+	private final int[] factories;
+
+	/** Declared constructors, sorted by number of parameters and parameter types */
+	private final Constructor<?>[] constructors;
+	private final Class<?>[][] constructorParams;
+	private final int[] constructorArityStarts;
+
+	private ClassModel(Class<?> type) {
+		this.type = type;
+
+		methods = narrowest(type.getMethods());
+		methodParams = new Class<?>[methods.length][];
+		methodArities = new int[methods.length];
+
+		List<String> distinct = new ArrayList<>();
+		int[] starts = new int[methods.length + 1];
+		List<Integer> getterList = new ArrayList<>();
+		List<Integer> factoryList = new ArrayList<>();
+		int maxArity = 0;
+
+		for (int i = 0; i < methods.length; i++) {
+			Method method = methods[i];
+			methodParams[i] = method.getParameterTypes();
+			methodArities[i] = methodParams[i].length;
+			maxArity = Math.max(maxArity, methodArities[i]);
+
+			if (i == 0 || !method.getName().equals(methods[i - 1].getName())) {
+				starts[distinct.size()] = i;
+				distinct.add(method.getName());
+			}
+			if (isGetter(method)) {
+				getterList.add(i);
+			}
+			if (Modifier.isStatic(method.getModifiers())
+					&& type.isAssignableFrom(method.getReturnType())) {
+				factoryList.add(i);
+			}
+		}
+
+		names = distinct.toArray(new String[distinct.size()]);
+		starts[names.length] = methods.length;
+		nameStarts = Arrays.copyOf(starts, names.length + 1);
+		arityStarts = new int[maxArity + 2];
+		byArity = countingSort(methodArities, arityStarts);
+		getters = toArray(getterList);
+		factories = toArray(factoryList);
+
+		constructors = type.getDeclaredConstructors();
+		Arrays.sort(constructors, BY_SIGNATURE);
+		constructorParams = new Class<?>[constructors.length][];
+		int[] constructorArities = new int[constructors.length];
+		int maxConstructorArity = 0;
+
+		for (int i = 0; i < constructors.length; i++) {
+			constructorParams[i] = constructors[i].getParameterTypes();
+			constructorArities[i] = constructorParams[i].length;
+			maxConstructorArity = Math.max(maxConstructorArity, constructorArities[i]);
+		}
+
+		constructorArityStarts = new int[maxConstructorArity + 2];
+		countingSort(constructorArities, constructorArityStarts);
+	}
+
+	/**
+	 * @param type a class or interface
+	 * @return the model of its members, built the first time it is asked for
+	 */
+	public static ClassModel of(Class<?> type) {
+		return MODELS.get(type);
+	}
+
+	/** @return the class this is the model of */
+	public Class<?> getType() {
+		return type;
+	}
+
+	/**
+	 * Find the public method with this name and these parameter types, as
+	 * {@link Class#getMethod(String, Class...)} does.
+	 *
+	 * @param name the method name
+	 * @param paramTypes the parameter types
+	 * @return the method, or {@code null} if there is none
+	 */
+	public Method findMethod(String name, Class<?>... paramTypes) {
+		if (paramTypes == null) {
+			paramTypes = NO_PARAMS;
+		}
+
+		int n = Arrays.binarySearch(names, name);
+		if (n < 0) {
+			return null;
+		}
+
+		int from = nameStarts[n];
+		int to = nameStarts[n + 1];
+		for (int i = lowerBound(methodArities, from, to, paramTypes.length);
+				i < to && methodArities[i] == paramTypes.length; i++) {
+			if (Arrays.equals(methodParams[i], paramTypes)) {
+				return methods[i];
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Find the constructor, of any access, with these parameter types, as
+	 * {@link Class#getDeclaredConstructor(Class...)} does.
+	 *
+	 * @param paramTypes the parameter types
+	 * @return the constructor, or {@code null} if there is none
+	 */
+	public Constructor<?> findConstructor(Class<?>... paramTypes) {
+		if (paramTypes == null) {
+			paramTypes = NO_PARAMS;
+		}
+
+		int arity = paramTypes.length;
+		if (arity + 1 >= constructorArityStarts.length) {
+			return null;
+		}
+
+		for (int i = constructorArityStarts[arity]; i < constructorArityStarts[arity + 1]; i++) {
+			if (Arrays.equals(constructorParams[i], paramTypes)) {
+				return constructors[i];
+			}
+		}
+		return null;
+	}
+
+	/** @return every public method, sorted by name, number of parameters and parameter types */
+	public List<Method> getMethods() {
+		return new Members<>(methods, null, 0, methods.length);
+	}
+
+	/** @return the distinct names of the public methods, sorted */
+	public List<String> getMethodNames() {
+		return Collections.unmodifiableList(Arrays.asList(names));
+	}
+
+	/**
+	 * @param name a method name
+	 * @return the public methods with this name, sorted by number of parameters
+	 */
+	public List<Method> getMethods(String name) {
+		int n = Arrays.binarySearch(names, name);
+		if (n < 0) {
+			return Collections.emptyList();
+		}
+		return new Members<>(methods, null, nameStarts[n], nameStarts[n + 1]);
+	}
+
+	/**
+	 * @param name a method name
+	 * @param arity a number of parameters
+	 * @return the public methods with this name and number of parameters
+	 */
+	public List<Method> getMethods(String name, int arity) {
+		int n = Arrays.binarySearch(names, name);
+		if (n < 0) {
+			return Collections.emptyList();
+		}
+
+		int to = nameStarts[n + 1];
+		int from = lowerBound(methodArities, nameStarts[n], to, arity);
+		int end = lowerBound(methodArities, from, to, arity + 1);
+		return new Members<>(methods, null, from, end);
+	}
+
+	/**
+	 * @param arity a number of parameters
+	 * @return the public methods with this number of parameters, sorted by name
+	 */
+	public List<Method> getMethodsWithArity(int arity) {
+		if (arity < 0 || arity + 1 >= arityStarts.length) {
+			return Collections.emptyList();
+		}
+		return new Members<>(methods, byArity, arityStarts[arity], arityStarts[arity + 1]);
+	}
+
+	/**
+	 * Find the public methods whose names match a pattern, where {@code *} matches any
+	 * characters and {@code ?} matches one.  A pattern with a single {@code *} at the end,
+	 * such as {@code get*}, is a binary search.
+	 *
+	 * @param pattern the name pattern
+	 * @return the matching methods, sorted by name
+	 */
+	public List<Method> getMethodsMatching(String pattern) {
+		int star = pattern.indexOf('*');
+		if (star == pattern.length() - 1 && pattern.indexOf('?') < 0) {
+			String prefix = pattern.substring(0, star);
+			int from = insertionPoint(prefix);
+			int to = from;
+			while (to < names.length && names[to].startsWith(prefix)) {
+				to++;
+			}
+			return new Members<>(methods, null, nameStarts[from], nameStarts[to]);
+		}
+		if (star < 0 && pattern.indexOf('?') < 0) {
+			return getMethods(pattern);
+		}
+
+		int count = 0;
+		int[] matched = new int[methods.length];
+		for (int n = 0; n < names.length; n++) {
+			if (matches(pattern, 0, names[n], 0)) {
+				for (int i = nameStarts[n]; i < nameStarts[n + 1]; i++) {
+					matched[count++] = i;
+				}
+			}
+		}
+		return new Members<>(methods, matched, 0, count);
+	}
+
+	/**
+	 * @return the public instance methods, other than those of {@code Object}, named
+	 *         {@code getX} that take no parameters and return a value, or {@code isX} that
+	 *         return {@code boolean}
+	 */
+	public List<Method> getGetters() {
+		return new Members<>(methods, getters, 0, getters.length);
+	}
+
+	/**
+	 * @return the public static methods that return an instance of the class, such as
+	 *         {@code DateTime.now()}
+	 */
+	public List<Method> getStaticFactories() {
+		return new Members<>(methods, factories, 0, factories.length);
+	}
+
+	/** @return every constructor, of any access, sorted by number of parameters */
+	public List<Constructor<?>> getConstructors() {
+		return new Members<>(constructors, null, 0, constructors.length);
+	}
+
+	/**
+	 * @param arity a number of parameters
+	 * @return the constructors, of any access, with this number of parameters
+	 */
+	public List<Constructor<?>> getConstructors(int arity) {
+		if (arity < 0 || arity + 1 >= constructorArityStarts.length) {
+			return Collections.emptyList();
+		}
+		return new Members<>(constructors, null, constructorArityStarts[arity],
+				constructorArityStarts[arity + 1]);
+	}
+
+	@Override
+	public String toString() {
+		return "ClassModel[" + type.getName() + ", " + methods.length + " methods, "
+				+ constructors.length + " constructors]";
+	}
+
+	/**
+	 * Sort the methods by signature, keeping only the one with the narrowest return type of
+	 * those with the same name and parameter types, and preferring a class's method to an
+	 * interface's.
+	 */
+	private static Method[] narrowest(Method[] all) {
+		Arrays.sort(all, BY_SIGNATURE);
+		int count = 0;
+
+		for (Method method : all) {
+			if (count > 0 && BY_SIGNATURE.compare(all[count - 1], method) == 0) {
+				Method kept = all[count - 1];
+				if (isNarrower(method, kept)) {
+					all[count - 1] = method;
+				}
+			} else {
+				all[count++] = method;
+			}
+		}
+		return Arrays.copyOf(all, count);
+	}
+
+	private static boolean isNarrower(Method method, Method than) {
+		Class<?> returns = method.getReturnType();
+		Class<?> thanReturns = than.getReturnType();
+		if (returns != thanReturns) {
+			return thanReturns.isAssignableFrom(returns);
+		}
+		return than.getDeclaringClass().isInterface() && !method.getDeclaringClass().isInterface();
+	}
+
+	private static String parameterNames(Executable executable) {
+		StringBuilder names = new StringBuilder();
+		for (Class<?> param : executable.getParameterTypes()) {
+			names.append(param.getName()).append(',');
+		}
+		return names.toString();
+	}
+
+	private static boolean isGetter(Method method) {
+		if (Modifier.isStatic(method.getModifiers()) || method.getParameterCount() != 0
+				|| method.getDeclaringClass() == Object.class) {
+			return false;
+		}
+
+		String name = method.getName();
+		Class<?> returnType = method.getReturnType();
+		return (returnType != void.class && isProperty(name, "get"))
+				|| (returnType == boolean.class && isProperty(name, "is"));
+	}
+
+	private static boolean isProperty(String name, String prefix) {
+		return name.length() > prefix.length() && name.startsWith(prefix)
+				&& Character.isUpperCase(name.charAt(prefix.length()));
+	}
+
+	/**
+	 * Sort indexes by their arities, stably.
+	 *
+	 * @param arities the arity of each index
+	 * @param starts set to where the indexes of each arity start, with one more at the end
+	 * @return the sorted indexes
+	 */
+	private static int[] countingSort(int[] arities, int[] starts) {
+		for (int arity : arities) {
+			starts[arity + 1]++;
+		}
+		for (int i = 1; i < starts.length; i++) {
+			starts[i] += starts[i - 1];
+		}
+
+		int[] next = Arrays.copyOf(starts, starts.length);
+		int[] sorted = new int[arities.length];
+		for (int i = 0; i < arities.length; i++) {
+			sorted[next[arities[i]]++] = i;
+		}
+		return sorted;
+	}
+
+	/** @return the first index from {@code from} whose value is at least the key */
+	private static int lowerBound(int[] values, int from, int to, int key) {
+		while (from < to) {
+			int mid = (from + to) >>> 1;
+			if (values[mid] < key) {
+				from = mid + 1;
+			} else {
+				to = mid;
+			}
+		}
+		return from;
+	}
+
+	/** @return the index of the first name not less than this one */
+	private int insertionPoint(String name) {
+		int n = Arrays.binarySearch(names, name);
+		return n >= 0 ? n : -n - 1;
+	}
+
+	private static boolean matches(String pattern, int p, String name, int n) {
+		while (p < pattern.length()) {
+			char c = pattern.charAt(p);
+			if (c == '*') {
+				for (int rest = n; rest <= name.length(); rest++) {
+					if (matches(pattern, p + 1, name, rest)) {
+						return true;
+					}
+				}
+				return false;
+			}
+			if (n >= name.length() || (c != '?' && c != name.charAt(n))) {
+				return false;
+			}
+			p++;
+			n++;
+		}
+		return n == name.length();
+	}
+
+	private static int[] toArray(List<Integer> list) {
+		int[] array = new int[list.size()];
+		for (int i = 0; i < array.length; i++) {
+			array[i] = list.get(i);
+		}
+		return array;
+	}
+
+	/** An unmodifiable view of a range of members, or of members by index */
+	private static final class Members<M> extends AbstractList<M> implements RandomAccess {
+		private final Object[] members;
+		private final int[] indexes;
+		private final int from;
+		private final int size;
+
+		Members(Object[] members, int[] indexes, int from, int to) {
+			this.members = members;
+			this.indexes = indexes;
+			this.from = from;
+			this.size = to - from;
+		}
+
+		@Override
+		@SuppressWarnings("unchecked") /* The members are all of type M */
+		public M get(int index) {
+			if (index < 0 || index >= size) {
+				throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+			}
+			return (M) members[indexes == null ? from + index : indexes[from + index]];
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
+	}
+
+}
@@ -0,0 +1,272 @@
+/*
+ * Licensed under the Creative Commons Attribution-ShareAlike 4.0 International
+ *
+ * https://creativecommons.org/licenses/by-sa/4.0/
+ */
+package net.snortum.utils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * <p>Converters from strings to the parameter types of methods, for invoking methods with
+ * arguments from config files or the command line.  See
+ * {@link Reflector#invokeFromStrings(String...)}.  The converter for a type is found once, by
+ * the first of these rules that applies:</p>
+ * <ol>
+ * <li>a converter registered for the type with {@link #register(Class, Function)};</li>
+ * <li>{@code String}, {@code CharSequence} and {@code Object} take the string as it is;</li>
+ * <li>primitives and their wrappers are parsed, after trimming white space; a
+ * {@code boolean} must be {@code true} or {@code false}, in any case, and a {@code char}
+ * one character;</li>
+ * <li>an enum constant is found by its name, or else by its name ignoring case;</li>
+ * <li>a public static {@code valueOf}, {@code parse}, {@code of} or {@code fromString} method
+ * of the type, taking a {@code String} or {@code CharSequence}, is called, as for
+ * {@code LocalDate.parse} or {@code UUID.fromString};</li>
+ * <li>a public constructor taking a {@code String} is called, as for {@code BigDecimal};</li>
+ * <li>an array is split at commas, and each element converted.</li>
+ * </ol>
+ *
+ * <p>Register converters before compiling calls with the registry, since calls keep the
+ * converters they were compiled with.  A registry is thread-safe.</p>
+ *
+ * @author Knute Snortum
+ * @version 2026.10.17
+ */
+public final class ConverterRegistry {
+
+	private static final ConverterRegistry DEFAULT = new ConverterRegistry();
+
+	/** The names of the static factory methods searched for, in order */
+	private static final String[] FACTORY_NAMES = { "valueOf", "parse", "of", "fromString" };
+
+	private static final Map<Class<?>, Function<String, ?>> BUILT_IN = new HashMap<>();
+
+	static {
+		Function<String, String> identity = text -> text;
+		BUILT_IN.put(String.class, identity);
+		BUILT_IN.put(CharSequence.class, identity);
+		BUILT_IN.put(Object.class, identity);
+
+		builtIn(int.class, Integer.class, text -> Integer.valueOf(text.trim()));
+		builtIn(long.class, Long.class, text -> Long.valueOf(text.trim()));
+		builtIn(short.class, Short.class, text -> Short.valueOf(text.trim()));
+		builtIn(byte.class, Byte.class, text -> Byte.valueOf(text.trim()));
+		builtIn(double.class, Double.class, text -> Double.valueOf(text.trim()));
+		builtIn(float.class, Float.class, text -> Float.valueOf(text.trim()));
+		builtIn(boolean.class, Boolean.class, ConverterRegistry::toBoolean);
+		builtIn(char.class, Character.class, ConverterRegistry::toCharacter);
+	}
+
+	/** Converters registered by the caller */
+	private final ConcurrentMap<Class<?>, Function<String, ?>> registered =
+			new ConcurrentHashMap<>();
+
+	/**
+	 * Converters found for types so far, by any rule.  A converter is kept with its type, not
+	 * in the registry, so that the default registry does not keep plugin class loaders alive.
+	 * It is replaced when a converter is registered.
+	 */
+	private volatile ClassValue<Function<String, ?>> found = newFound();
+
+	/**
+	 * @return the registry used by every {@link Reflector} that has not been given another
+	 */
+	public static ConverterRegistry getDefault() {
+		return DEFAULT;
+	}
+
+	/**
+	 * Convert strings to this type with this converter, instead of by the built-in rules.
+	 *
+	 * @param <T> the type
+	 * @param type the type converted to
+	 * @param converter converts a string, which is never {@code null}, to the type; it throws
+	 *        an unchecked exception if the string cannot be converted
+	 * @return this registry
+	 */
+	public <T> ConverterRegistry register(Class<T> type, Function<String, ? extends T> converter) {
+		if (type == null || converter == null) {
+			throw new IllegalArgumentException("The type and converter may not be null");
+		}
+
+		registered.put(type, converter);
+		found = newFound();
+		return this;
+	}
+
+	/**
+	 * Find the converter for a type, by the rules in the class comment.
+	 *
+	 * @param type the type to convert strings to
+	 * @return the converter, which takes a string that is not {@code null}
+	 * @throws IllegalArgumentException if no rule applies to the type
+	 */
+	public Function<String, ?> converterFor(Class<?> type) {
+		return found.get(type);
+	}
+
+	/**
+	 * Convert a string to a type.  Calls that convert repeatedly should get the converter once
+	 * with {@link #converterFor(Class)} instead.
+	 *
+	 * @param text the string, or {@code null}
+	 * @param type the type to convert it to
+	 * @return the converted value, or {@code null} if the string is {@code null}
+	 * @throws IllegalArgumentException if there is no converter for the type, the string
+	 *         cannot be converted, or it is {@code null} and the type is primitive
+	 */
+	public Object convert(String text, Class<?> type) {
+		if (text == null) {
+			if (type.isPrimitive()) {
+				throw new IllegalArgumentException("Cannot convert null to " + type);
+			}
+			return null;
+		}
+		return converterFor(type).apply(text);
+	}
+
+	private ClassValue<Function<String, ?>> newFound() {
+		return new ClassValue<Function<String, ?>>() {
+			@Override
+			protected Function<String, ?> computeValue(Class<?> type) {
+				return find(type);
+			}
+		};
+	}
+
+	private Function<String, ?> find(Class<?> type) {
+		Function<String, ?> converter = registered.get(type);
+		if (converter == null) {
+			converter = BUILT_IN.get(type);
+		}
+		if (converter == null && type.isEnum()) {
+			converter = enumConverter(type);
+		}
+		if (converter == null && type.isArray()) {
+			Class<?> elementType = type.getComponentType();
+			converter = arrayConverter(elementType, converterFor(elementType));
+		}
+		if (converter == null) {
+			converter = factoryConverter(type);
+		}
+		if (converter == null) {
+			throw new IllegalArgumentException("No converter from String to " + type.getName());
+		}
+		return converter;
+	}
+
+	private static Function<String, ?> enumConverter(Class<?> type) {
+		Map<String, Object> byName = new HashMap<>();
+		Map<String, Object> byUpperName = new HashMap<>();
+
+		for (Object constant : type.getEnumConstants()) {
+			String name = ((Enum<?>) constant).name();
+			byName.put(name, constant);
+			byUpperName.putIfAbsent(name.toUpperCase(Locale.ROOT), constant);
+		}
+
+		return text -> {
+			String name = text.trim();
+			Object constant = byName.get(name);
+			if (constant == null) {
+				constant = byUpperName.get(name.toUpperCase(Locale.ROOT));
+			}
+			if (constant == null) {
+				throw new IllegalArgumentException("No " + type.getName() + " constant " + text);
+			}
+			return constant;
+		};
+	}
+
+	private static Function<String, ?> arrayConverter(Class<?> elementType,
+			Function<String, ?> element) {
+		return text -> {
+			if (text.trim().isEmpty()) {
+				return Array.newInstance(elementType, 0);
+			}
+
+			String[] parts = text.split(",", -1);
+			Object array = Array.newInstance(elementType, parts.length);
+			for (int i = 0; i < parts.length; i++) {
+				Array.set(array, i, element.apply(parts[i]));
+			}
+			return array;
+		};
+	}
+
+	/** A converter calling a static factory method or a constructor, or {@code null} */
+	private static Function<String, ?> factoryConverter(Class<?> type) {
+		ClassModel model = ClassModel.of(type);
+		MethodType converterType = MethodType.methodType(Object.class, String.class);
+
+		try {
+			for (String name : FACTORY_NAMES) {
+				for (Method method : model.getMethods(name, 1)) {
+					Class<?> param = method.getParameterTypes()[0];
+					if (Modifier.isStatic(method.getModifiers())
+							&& (param == String.class || param == CharSequence.class)
+							&& type.isAssignableFrom(method.getReturnType())) {
+						return handleConverter(Handles.direct(method).asType(converterType));
+					}
+				}
+			}
+
+			Constructor<?> constructor = model.findConstructor(String.class);
+			if (constructor != null && Modifier.isPublic(constructor.getModifiers())
+					&& !Modifier.isAbstract(type.getModifiers())) {
+				return handleConverter(Handles.direct(constructor).asType(converterType));
+			}
+		} catch (IllegalAccessException e) {
+			// Not accessible to Reflector, so no converter
+		}
+
+		return null;
+	}
+
+	private static Function<String, ?> handleConverter(MethodHandle handle) {
+		return text -> {
+			try {
+				return (Object) handle.invokeExact(text);
+			} catch (RuntimeException | Error e) {
+				throw e;
+			} catch (Throwable e) {
+				throw new IllegalArgumentException("Cannot convert " + text + ": " + e, e);
+			}
+		};
+	}
+
+	private static void builtIn(Class<?> primitive, Class<?> wrapper,
+			Function<String, ?> converter) {
+		BUILT_IN.put(primitive, converter);
+		BUILT_IN.put(wrapper, converter);
+	}
+
+	private static Boolean toBoolean(String text) {
+		String trimmed = text.trim();
+		if ("true".equalsIgnoreCase(trimmed)) {
+			return Boolean.TRUE;
+		} else if ("false".equalsIgnoreCase(trimmed)) {
+			return Boolean.FALSE;
+		}
+		throw new IllegalArgumentException("Not a boolean: " + text);
+	}
+
+	private static Character toCharacter(String text) {
+		if (text.length() != 1) {
+			throw new IllegalArgumentException("Not a single character: " + text);
+		}
+		return text.charAt(0);
+	}
+
+}
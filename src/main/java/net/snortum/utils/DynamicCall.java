@@ -0,0 +1,264 @@
+/*
+ * Licensed under the Creative Commons Attribution-ShareAlike 4.0 International
+ *
+ * https://creativecommons.org/licenses/by-sa/4.0/
+ */
+package net.snortum.utils;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * <p>A call to a method chosen by name and by the classes of the arguments, the way javac
+ * chooses among overloads.  Callers do not have to spell out the parameter types, and
+ * arguments are unboxed and widened as needed, so {@code minus(long)} can be called with an
+ * {@code Integer}:</p>
+ * <pre>
+ *     DynamicCall minus = r.dynamic("minus");
+ *     DateTime earlier = minus.invoke(86_400_000);</pre>
+ *
+ * <p>Each dynamic call is one call site with a polymorphic inline cache: the first few
+ * combinations of argument classes it sees are remembered, with the method chosen for each,
+ * and checked by identity before anything else.  Repeated calls with the same kinds of
+ * arguments then cost about the same as a {@link BoundCall}.  A call site that sees more
+ * combinations than that falls back to a hash lookup.  How each combination is resolved is
+ * described in {@link Reflector#invokeByName(String, Object...)}.</p>
+ *
+ * <p>A combination of argument classes that no method is applicable to is remembered too, as
+ * one of the failures counted by {@link ReflectorCache#getFailuresCached()}, so repeating a bad
+ * call does not search the methods again.  It is reported by the call's
+ * {@link FailureMode}, which it takes from the {@link Reflector} that created it.</p>
+ *
+ * <p>A dynamic call may be shared between threads.</p>
+ *
+ * @author Knute Snortum
+ * @version 2026.10.17
+ */
+public final class DynamicCall {
+
+	/** Combinations of argument classes kept in the inline cache before it goes megamorphic */
+	static final int POLYMORPHIC_LIMIT = 4;
+
+	private static final Entry[] EMPTY = new Entry[0];
+
+	private final Engine engine;
+	private final Class<?> clazz;
+	private final Object instance;
+	private final String methodName;
+	private final FailurePolicy failures;
+
+	/** The inline cache, replaced as a whole when an entry is added */
+	private volatile Entry[] entries = EMPTY;
+
+	/** Entries beyond {@link #POLYMORPHIC_LIMIT}, or {@code null} until there are some */
+	private volatile ConcurrentMap<ArgClasses, Entry> megamorphic;
+
+	/**
+	 * Create a dynamic call.
+	 *
+	 * @param engine the engine used to invoke the chosen methods
+	 * @param clazz the class whose public methods are chosen from
+	 * @param instance the receiver, or {@code null} for static methods
+	 * @param methodName the method name
+	 * @param failures how failed lookups and invocations are reported
+	 */
+	DynamicCall(Engine engine, Class<?> clazz, Object instance, String methodName,
+			FailurePolicy failures) {
+		this.engine = engine;
+		this.clazz = clazz;
+		this.instance = instance;
+		this.methodName = methodName;
+		this.failures = failures;
+	}
+
+	/**
+	 * Invokes the method chosen for these arguments and returns the result, cast to the type
+	 * of variable the caller is setting.
+	 *
+	 * @param <T> the type of the result of invoking the method
+	 * @param args zero or more arguments for the invoked method
+	 * @return the result of invoking the method, or {@code null} if the context is void or
+	 *         an error is encountered, including when no method or more than one is
+	 *         applicable
+	 * @throws ReflectorException if the call fails and the failure mode is
+	 *         {@link FailureMode#THROW}
+	 */
+	public <T> T invoke(Object... args) {
+		Object[] params = args == null ? new Object[] { null } : args;
+		Entry entry = lookup(params);
+
+		if (entry == null) {
+			try {
+				entry = add(params);
+			} catch (NoSuchMethodException | SecurityException e) {
+				failures.handle(e, ReflectorException.Kind.MEMBER_NOT_FOUND);
+				return null;
+			}
+		}
+
+		return entry.call.invoke(entry.varargs ? entry.collect(params) : params);
+	}
+
+	/**
+	 * Choose the method that would be invoked with arguments of these classes.
+	 *
+	 * @param argClasses the classes of the arguments, {@code null} for a {@code null} argument
+	 * @return the method
+	 * @throws NoSuchMethodException if no method is applicable, or more than one is most
+	 *         specific
+	 */
+	public Method resolve(Class<?>... argClasses) throws NoSuchMethodException {
+		return Overloads.choose(clazz, methodName, argClasses).method;
+	}
+
+	/**
+	 * Create a dynamic call to the same method name, with an empty cache, on another
+	 * instance.
+	 *
+	 * @param receiver the instance to call the method on, or {@code null} for static methods
+	 * @return a new dynamic call
+	 */
+	public DynamicCall withInstance(Object receiver) {
+		return new DynamicCall(engine, clazz, receiver, methodName, failures);
+	}
+
+	/** @return the method name */
+	public String getMethodName() {
+		return methodName;
+	}
+
+	/** @return the class reference */
+	public Class<?> getClazz() {
+		return clazz;
+	}
+
+	/** @return the instance reference, or {@code null} for static methods */
+	public Object getInstance() {
+		return instance;
+	}
+
+	/** @return how failed lookups and invocations are reported */
+	public FailureMode getFailureMode() {
+		return failures.mode;
+	}
+
+	/** @return the number of argument class combinations cached by this call site */
+	public int getCachedCount() {
+		ConcurrentMap<ArgClasses, Entry> map = megamorphic;
+		return entries.length + (map == null ? 0 : map.size());
+	}
+
+	private Entry lookup(Object[] args) {
+		for (Entry entry : entries) {
+			if (entry.matches(args)) {
+				return entry;
+			}
+		}
+
+		ConcurrentMap<ArgClasses, Entry> map = megamorphic;
+		return map == null ? null : map.get(new ArgClasses(classesOf(args)));
+	}
+
+	private synchronized Entry add(Object[] args) throws NoSuchMethodException {
+		Entry found = lookup(args);
+		if (found != null) {
+			return found;
+		}
+
+		Class<?>[] argClasses = classesOf(args);
+		Overloads.Choice choice = Overloads.choose(clazz, methodName, argClasses);
+		BoundCall call = new BoundCall(engine, clazz, instance, choice.method, failures);
+		Entry entry = new Entry(argClasses, call, choice.varargs);
+
+		Entry[] current = entries;
+		if (current.length < POLYMORPHIC_LIMIT) {
+			Entry[] grown = Arrays.copyOf(current, current.length + 1);
+			grown[current.length] = entry;
+			entries = grown;
+		} else {
+			if (megamorphic == null) {
+				megamorphic = new ConcurrentHashMap<>();
+			}
+			megamorphic.put(new ArgClasses(argClasses), entry);
+		}
+
+		return entry;
+	}
+
+	private static Class<?>[] classesOf(Object[] args) {
+		Class<?>[] classes = new Class<?>[args.length];
+		for (int i = 0; i < args.length; i++) {
+			classes[i] = args[i] == null ? null : args[i].getClass();
+		}
+
+		return classes;
+	}
+
+	/** One combination of argument classes and the call chosen for it */
+	private static final class Entry {
+		private final Class<?>[] argClasses;
+		final BoundCall call;
+		final boolean varargs;
+
+		Entry(Class<?>[] argClasses, BoundCall call, boolean varargs) {
+			this.argClasses = argClasses;
+			this.call = call;
+			this.varargs = varargs;
+		}
+
+		boolean matches(Object[] args) {
+			if (args.length != argClasses.length) {
+				return false;
+			}
+
+			for (int i = 0; i < args.length; i++) {
+				Object arg = args[i];
+				if ((arg == null ? null : arg.getClass()) != argClasses[i]) {
+					return false;
+				}
+			}
+
+			return true;
+		}
+
+		/** Collect the trailing arguments into the variable arity parameter's array */
+		Object[] collect(Object[] args) {
+			Class<?>[] params = call.getMethod().getParameterTypes();
+			int fixed = params.length - 1;
+			Object array = Array.newInstance(params[fixed].getComponentType(), args.length - fixed);
+
+			for (int i = fixed; i < args.length; i++) {
+				Array.set(array, i - fixed, args[i]);
+			}
+
+			Object[] collected = Arrays.copyOf(args, params.length);
+			collected[fixed] = array;
+			return collected;
+		}
+	}
+
+	/** Argument classes as a hash key */
+	private static final class ArgClasses {
+		private final Class<?>[] classes;
+		private final int hash;
+
+		ArgClasses(Class<?>[] classes) {
+			this.classes = classes;
+			this.hash = Arrays.hashCode(classes);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof ArgClasses && Arrays.equals(classes, ((ArgClasses) obj).classes);
+		}
+	}
+
+}
@@ -0,0 +1,36 @@
+/*
+ * Licensed under the Creative Commons Attribution-ShareAlike 4.0 International
+ *
+ * https://creativecommons.org/licenses/by-sa/4.0/
+ */
+package net.snortum.utils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+
+/**
+ * The ways a {@link Reflector} can invoke its loaded method and constructor.  The engine is
+ * chosen when the Reflector is created, so two Reflectors using different engines can be
+ * compared side by side.
+ *
+ * @author Knute Snortum
+ * @version 2026.10.16
+ * @see Reflector#Reflector(Engine)
+ */
+public enum Engine {
+
+	/**
+	 * Invoke through {@link Method#invoke(Object, Object...)} and
+	 * {@link Constructor#newInstance(Object...)}.  This is the default.
+	 */
+	REFLECTION,
+
+	/**
+	 * Resolve the loaded method or constructor to a {@link MethodHandle} once, when it is
+	 * loaded, and invoke through the handle.  Access is checked only at resolution time and
+	 * exceptions thrown by the target are not wrapped.
+	 */
+	METHOD_HANDLE
+
+}
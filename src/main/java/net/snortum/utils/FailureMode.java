@@ -0,0 +1,35 @@
+/*
+ * Licensed under the Creative Commons Attribution-ShareAlike 4.0 International
+ *
+ * https://creativecommons.org/licenses/by-sa/4.0/
+ */
+package net.snortum.utils;
+
+/**
+ * <p>What {@link Reflector}, and the calls and field accesses it hands out, do when a lookup
+ * or an invocation fails.  In every mode a failed invocation returns {@code null}, zero or
+ * {@code false} unless it throws, and a failed load leaves the loaded member unset.</p>
+ *
+ * @author Knute Snortum
+ * @version 2026.10.17
+ * @see Reflector#setFailureMode(FailureMode)
+ */
+public enum FailureMode {
+
+	/**
+	 * Print the stack trace of the failure to {@code System.err}.  This is the default, and
+	 * what Reflector has always done.  Printing is synchronized and slow, so a burst of
+	 * failures in this mode can stall every thread that writes to {@code System.err}.
+	 */
+	PRINT,
+
+	/**
+	 * Print nothing.  The failure is kept as a {@link ReflectorException} for
+	 * {@link Reflector#getLastFailure()}.
+	 */
+	QUIET,
+
+	/** Throw the failure as a {@link ReflectorException}. */
+	THROW
+
+}
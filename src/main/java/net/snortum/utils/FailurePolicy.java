@@ -0,0 +1,95 @@
+/*
+ * Licensed under the Creative Commons Attribution-ShareAlike 4.0 International
+ *
+ * https://creativecommons.org/licenses/by-sa/4.0/
+ */
+package net.snortum.utils;
+
+import java.util.function.Consumer;
+
+/**
+ * <p>How a {@link Reflector}, {@link BoundCall}, {@link DynamicCall} or {@link FieldAccess}
+ * reports a failure: its {@link FailureMode}, whether the {@link ReflectorException}s it
+ * creates have stack traces, and who else is told.  A policy is immutable.</p>
+ *
+ * @author Knute Snortum
+ * @version 2026.10.17
+ */
+final class FailurePolicy {
+
+	/** Print stack traces, as Reflector always has */
+	static final FailurePolicy DEFAULT = new FailurePolicy(FailureMode.PRINT, false, null);
+
+	final FailureMode mode;
+	final boolean stackless;
+
+	/** Told about every failure, or {@code null} */
+	private final Consumer<ReflectorException> listener;
+
+	FailurePolicy(FailureMode mode, boolean stackless, Consumer<ReflectorException> listener) {
+		if (mode == null) {
+			throw new IllegalArgumentException("Failure mode cannot be null");
+		}
+
+		this.mode = mode;
+		this.stackless = stackless;
+		this.listener = listener;
+	}
+
+	FailurePolicy withMode(FailureMode mode) {
+		return new FailurePolicy(mode, stackless, listener);
+	}
+
+	FailurePolicy withStackless(boolean stackless) {
+		return new FailurePolicy(mode, stackless, listener);
+	}
+
+	/** @return this policy without its listener, for objects handed to callers */
+	FailurePolicy detached() {
+		return listener == null ? this : new FailurePolicy(mode, stackless, null);
+	}
+
+	/**
+	 * Report a failure.  The {@link ReflectorException} is only created when someone needs
+	 * it, so a quiet policy without a listener costs nothing.
+	 *
+	 * @param e the exception raised
+	 * @param otherwise the kind of failure, unless the type of exception says otherwise
+	 * @throws ReflectorException if the mode is {@link FailureMode#THROW}
+	 */
+	void handle(Throwable e, ReflectorException.Kind otherwise) {
+		if (mode == FailureMode.PRINT) {
+			e.printStackTrace();
+		}
+
+		if (listener == null && mode != FailureMode.THROW) {
+			return;
+		}
+
+		ReflectorException failure = ReflectorException.of(e, otherwise, stackless);
+		if (listener != null) {
+			listener.accept(failure);
+		}
+
+		if (mode == FailureMode.THROW) {
+			throw failure;
+		}
+	}
+
+	/**
+	 * Report a failure to the listener only, for results that carry their own failure.
+	 *
+	 * @param e the exception raised
+	 * @param otherwise the kind of failure, unless the type of exception says otherwise
+	 * @return the failure
+	 */
+	ReflectorException failure(Throwable e, ReflectorException.Kind otherwise) {
+		ReflectorException failure = ReflectorException.of(e, otherwise, stackless);
+		if (listener != null) {
+			listener.accept(failure);
+		}
+
+		return failure;
+	}
+
+}
@@ -0,0 +1,307 @@
+/*
+ * Licensed under the Creative Commons Attribution-ShareAlike 4.0 International
+ *
+ * https://creativecommons.org/licenses/by-sa/4.0/
+ */
+package net.snortum.utils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+
+/**
+ * <p>Reads and writes one field through method handles, resolved once, instead of through
+ * {@link Field#get(Object)} and {@link Field#set(Object, Object)}, which check access and box
+ * the value on every call.  The typed methods, such as {@link #getInt(Object)} and
+ * {@link #setInt(Object, int)}, do not box at all:</p>
+ * <pre>
+ *     r.loadField("count");
+ *     FieldAccess count = r.bindField();
+ *     count.setInt(counter, count.getInt(counter) + 1);</pre>
+ *
+ * <p>The receiver is passed to every call, and is ignored for static fields.  A field access
+ * is immutable and may be shared between threads.  It has the memory semantics of a plain
+ * field access, or of a volatile one if the field is volatile.</p>
+ *
+ * <p>A failed read or write is reported by the {@link FailureMode} of the {@link Reflector}
+ * that created the field access.</p>
+ *
+ * @author Knute Snortum
+ * @version 2026.10.17
+ */
+public final class FieldAccess {
+
+	private final Field field;
+
+	/** How failed reads and writes are reported */
+	private final FailurePolicy failures;
+
+	/** The access error raised resolving the getters, or {@code null} if there was none */
+	private final IllegalAccessException accessError;
+
+	/** The error raised resolving the setters, or {@code null} if the field can be written */
+	private final IllegalAccessException writeError;
+
+	/** Getters and setters by kind, or {@code null} if the value cannot be converted */
+	private final MethodHandle[] getters = new MethodHandle[Handles.RETURN_KINDS.length];
+	private final MethodHandle[] setters = new MethodHandle[Handles.RETURN_KINDS.length];
+
+	/**
+	 * Create a field access, resolving all of its handles.
+	 *
+	 * @param field the field to read and write
+	 * @param failures how failed reads and writes are reported
+	 */
+	FieldAccess(Field field, FailurePolicy failures) {
+		this.field = field;
+		this.failures = failures;
+
+		IllegalAccessException error = null;
+		try {
+			for (int kind = 0; kind < getters.length; kind++) {
+				getters[kind] = Handles.getterOrNull(field, kind);
+			}
+		} catch (IllegalAccessException e) {
+			error = e;
+		}
+		this.accessError = error;
+
+		error = null;
+		try {
+			for (int kind = 0; kind < setters.length; kind++) {
+				setters[kind] = Handles.setterOrNull(field, kind);
+			}
+		} catch (IllegalAccessException e) {
+			error = e;
+		}
+		this.writeError = error;
+	}
+
+	/**
+	 * Get the value of the field, cast to the type of variable the caller is setting.
+	 *
+	 * @param <T> the type of the field
+	 * @param target the object to read the field of, or {@code null} for a static field
+	 * @return the value, boxed if the field is primitive, or {@code null} if an error is
+	 *         encountered
+	 * @throws IllegalStateException if the field is not accessible
+	 */
+	@SuppressWarnings("unchecked") /* We assume the caller knows what type is returned */
+	public <T> T get(Object target) {
+		MethodHandle handle = getter(Handles.OBJECT);
+		try {
+			return (T) (Object) handle.invokeExact(target);
+		} catch (Throwable e) {
+			accessFailed(target, e);
+			return null;
+		}
+	}
+
+	/**
+	 * Get the value of the field as {@code int}, without boxing.
+	 *
+	 * @param target the object to read the field of, or {@code null} for a static field
+	 * @return the value, or {@code 0} if an error is encountered
+	 * @throws IllegalStateException if the field is not accessible
+	 * @throws IllegalArgumentException if the field's type cannot be converted to
+	 *         {@code int}
+	 */
+	public int getInt(Object target) {
+		MethodHandle handle = getter(Handles.INT);
+		try {
+			return (int) handle.invokeExact(target);
+		} catch (Throwable e) {
+			accessFailed(target, e);
+			return 0;
+		}
+	}
+
+	/**
+	 * Get the value of the field as {@code long}, without boxing.
+	 *
+	 * @param target the object to read the field of, or {@code null} for a static field
+	 * @return the value, or {@code 0L} if an error is encountered
+	 * @throws IllegalStateException if the field is not accessible
+	 * @throws IllegalArgumentException if the field's type cannot be converted to
+	 *         {@code long}
+	 */
+	public long getLong(Object target) {
+		MethodHandle handle = getter(Handles.LONG);
+		try {
+			return (long) handle.invokeExact(target);
+		} catch (Throwable e) {
+			accessFailed(target, e);
+			return 0L;
+		}
+	}
+
+	/**
+	 * Get the value of the field as {@code double}, without boxing.
+	 *
+	 * @param target the object to read the field of, or {@code null} for a static field
+	 * @return the value, or {@code 0.0} if an error is encountered
+	 * @throws IllegalStateException if the field is not accessible
+	 * @throws IllegalArgumentException if the field's type cannot be converted to
+	 *         {@code double}
+	 */
+	public double getDouble(Object target) {
+		MethodHandle handle = getter(Handles.DOUBLE);
+		try {
+			return (double) handle.invokeExact(target);
+		} catch (Throwable e) {
+			accessFailed(target, e);
+			return 0.0;
+		}
+	}
+
+	/**
+	 * Get the value of the field as {@code boolean}, without boxing.
+	 *
+	 * @param target the object to read the field of, or {@code null} for a static field
+	 * @return the value, or {@code false} if an error is encountered
+	 * @throws IllegalStateException if the field is not accessible
+	 * @throws IllegalArgumentException if the field's type cannot be converted to
+	 *         {@code boolean}
+	 */
+	public boolean getBoolean(Object target) {
+		MethodHandle handle = getter(Handles.BOOLEAN);
+		try {
+			return (boolean) handle.invokeExact(target);
+		} catch (Throwable e) {
+			accessFailed(target, e);
+			return false;
+		}
+	}
+
+	/**
+	 * Set the value of the field.  A primitive field is unboxed, and widened if needed.
+	 *
+	 * @param target the object to write the field of, or {@code null} for a static field
+	 * @param value the new value
+	 * @throws IllegalStateException if the field is final or not accessible
+	 */
+	public void set(Object target, Object value) {
+		MethodHandle handle = setter(Handles.OBJECT);
+		try {
+			handle.invokeExact(target, value);
+		} catch (Throwable e) {
+			accessFailed(target, e);
+		}
+	}
+
+	/**
+	 * Set the value of the field from a {@code int}, without boxing.
+	 *
+	 * @param target the object to write the field of, or {@code null} for a static field
+	 * @param value the new value
+	 * @throws IllegalStateException if the field is final or not accessible
+	 * @throws IllegalArgumentException if a {@code int} cannot be stored in the field
+	 */
+	public void setInt(Object target, int value) {
+		MethodHandle handle = setter(Handles.INT);
+		try {
+			handle.invokeExact(target, value);
+		} catch (Throwable e) {
+			accessFailed(target, e);
+		}
+	}
+
+	/**
+	 * Set the value of the field from a {@code long}, without boxing.
+	 *
+	 * @param target the object to write the field of, or {@code null} for a static field
+	 * @param value the new value
+	 * @throws IllegalStateException if the field is final or not accessible
+	 * @throws IllegalArgumentException if a {@code long} cannot be stored in the field
+	 */
+	public void setLong(Object target, long value) {
+		MethodHandle handle = setter(Handles.LONG);
+		try {
+			handle.invokeExact(target, value);
+		} catch (Throwable e) {
+			accessFailed(target, e);
+		}
+	}
+
+	/**
+	 * Set the value of the field from a {@code double}, without boxing.
+	 *
+	 * @param target the object to write the field of, or {@code null} for a static field
+	 * @param value the new value
+	 * @throws IllegalStateException if the field is final or not accessible
+	 * @throws IllegalArgumentException if a {@code double} cannot be stored in the field
+	 */
+	public void setDouble(Object target, double value) {
+		MethodHandle handle = setter(Handles.DOUBLE);
+		try {
+			handle.invokeExact(target, value);
+		} catch (Throwable e) {
+			accessFailed(target, e);
+		}
+	}
+
+	/**
+	 * Set the value of the field from a {@code boolean}, without boxing.
+	 *
+	 * @param target the object to write the field of, or {@code null} for a static field
+	 * @param value the new value
+	 * @throws IllegalStateException if the field is final or not accessible
+	 * @throws IllegalArgumentException if a {@code boolean} cannot be stored in the field
+	 */
+	public void setBoolean(Object target, boolean value) {
+		MethodHandle handle = setter(Handles.BOOLEAN);
+		try {
+			handle.invokeExact(target, value);
+		} catch (Throwable e) {
+			accessFailed(target, e);
+		}
+	}
+
+	/** @return the field */
+	public Field getField() {
+		return field;
+	}
+
+	/** @return how failed reads and writes are reported */
+	public FailureMode getFailureMode() {
+		return failures.mode;
+	}
+
+	/** @return {@code true} if the field can be written: it is accessible and not final */
+	public boolean isWritable() {
+		return writeError == null;
+	}
+
+	private MethodHandle getter(int kind) {
+		if (accessError != null) {
+			throw new IllegalStateException("Field is not accessible", accessError);
+		}
+
+		return checked(getters[kind], kind, " is not ");
+	}
+
+	private MethodHandle setter(int kind) {
+		if (writeError != null) {
+			throw new IllegalStateException("Field is final or not accessible", writeError);
+		}
+
+		return checked(setters[kind], kind, " cannot be set from ");
+	}
+
+	private MethodHandle checked(MethodHandle handle, int kind, String problem) {
+		if (handle == null) {
+			throw new IllegalArgumentException(field + problem + Handles.RETURN_KINDS[kind].getName());
+		}
+
+		return handle;
+	}
+
+	private void accessFailed(Object target, Throwable e) {
+		if (failures.mode == FailureMode.PRINT && target == null
+				&& !Modifier.isStatic(field.getModifiers())) {
+			System.err.println("Instance was null but this is not a static field");
+		}
+		failures.handle(e, ReflectorException.Kind.FIELD_ACCESS_FAILED);
+	}
+
+}
@@ -0,0 +1,115 @@
+/*
+ * Licensed under the Creative Commons Attribution-ShareAlike 4.0 International
+ *
+ * https://creativecommons.org/licenses/by-sa/4.0/
+ */
+package net.snortum.utils;
+
+/**
+ * <p>A count-min sketch of how often keys have been seen recently, used by
+ * {@link MemoizedCall} to decide whether a new result is worth more than the one it would
+ * evict.  Each key has four 4-bit counters, one in each of four rows; its frequency is the
+ * smallest of them, so it may be overestimated by collisions but never underestimated.</p>
+ *
+ * <p>After ten times as many increments as the sketch has counters per row, every counter is
+ * halved, so that keys that were popular long ago do not stay popular forever.  The sketch is
+ * not thread-safe.</p>
+ *
+ * @author Knute Snortum
+ * @version 2026.10.17
+ */
+final class FrequencySketch {
+
+	private static final long[] SEEDS = { 0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L,
+			0x9ae16a3b2f90404fL, 0xcbf29ce484222325L };
+	private static final long HALF = 0x7777777777777777L;
+	private static final int MAX_COUNT = 15;
+
+	/** Sixteen counters in each long, four for each row */
+	private long[] table;
+	private int mask;
+	private int additions;
+	private int sampleSize;
+
+	/**
+	 * @param capacity about how many keys there are to tell apart
+	 */
+	FrequencySketch(long capacity) {
+		ensureCapacity(capacity);
+	}
+
+	/**
+	 * Grow the sketch for this many keys, forgetting what has been counted if it grows.
+	 *
+	 * @param capacity about how many keys there are to tell apart
+	 */
+	void ensureCapacity(long capacity) {
+		int size = (int) Math.min(Math.max(capacity, 16), 1 << 26);
+		size = Integer.highestOneBit(size - 1) << 1;
+		if (table != null && table.length >= size) {
+			return;
+		}
+
+		table = new long[size];
+		mask = size - 1;
+		additions = 0;
+		sampleSize = 10 * size;
+	}
+
+	/** Count this key once more */
+	void increment(int hash) {
+		int spread = spread(hash);
+		boolean added = false;
+
+		for (int row = 0; row < 4; row++) {
+			int index = index(spread, row);
+			int shift = offset(spread, row) << 2;
+			if (((table[index] >>> shift) & MAX_COUNT) < MAX_COUNT) {
+				table[index] += 1L << shift;
+				added = true;
+			}
+		}
+
+		if (added && ++additions >= sampleSize) {
+			age();
+		}
+	}
+
+	/** @return about how often the key has been seen recently, from 0 to 15 */
+	int frequency(int hash) {
+		int spread = spread(hash);
+		int frequency = MAX_COUNT;
+
+		for (int row = 0; row < 4; row++) {
+			int count = (int) (table[index(spread, row)] >>> (offset(spread, row) << 2)) & MAX_COUNT;
+			frequency = Math.min(frequency, count);
+		}
+		return frequency;
+	}
+
+	/** Halve every counter */
+	private void age() {
+		for (int i = 0; i < table.length; i++) {
+			table[i] = (table[i] >>> 1) & HALF;
+		}
+		additions >>>= 1;
+	}
+
+	private static int spread(int hash) {
+		hash *= 0x31848bab;
+		return hash ^ (hash >>> 14);
+	}
+
+	/** @return the long holding the key's counter in this row */
+	private int index(int spread, int row) {
+		long hash = (spread + SEEDS[row]) * SEEDS[row];
+		hash += hash >>> 32;
+		return (int) hash & mask;
+	}
+
+	/** @return which of the sixteen counters in the long is the key's in this row */
+	private static int offset(int spread, int row) {
+		return (row << 2) + ((spread >>> (row << 3)) & 3);
+	}
+
+}
@@ -0,0 +1,394 @@
+/*
+ * Licensed under the Creative Commons Attribution-ShareAlike 4.0 International
+ *
+ * https://creativecommons.org/licenses/by-sa/4.0/
+ */
+package net.snortum.utils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.WrongMethodTypeException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Builds and caches the {@link MethodHandle}s used by {@link Engine#METHOD_HANDLE}, and the
+ * field getters and setters used by {@link FieldAccess}.  Handles
+ * are cached per class, like the members in {@link ReflectorCache}, so resolving the same
+ * method again from a new {@link Reflector} is a map lookup.
+ *
+ * @author Knute Snortum
+ * @version 2026.10.16
+ */
+final class Handles {
+
+	/** Type of a method invoker: (receiver, arguments) returning the result */
+	static final MethodType INVOKER_TYPE =
+			MethodType.methodType(Object.class, Object.class, Object[].class);
+
+	/** Type of a constructor factory: (arguments) returning the new instance */
+	static final MethodType FACTORY_TYPE = MethodType.methodType(Object.class, Object[].class);
+
+	/** Return type of each kind of fixed-arity invoker, indexed by kind */
+	static final Class<?>[] RETURN_KINDS =
+			{ Object.class, int.class, long.class, double.class, boolean.class };
+
+	/** Fixed-arity invoker kinds, used as indexes into {@link #RETURN_KINDS} */
+	static final int OBJECT = 0, INT = 1, LONG = 2, DOUBLE = 3, BOOLEAN = 4;
+
+	private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+	/** Cached in place of a handle whose result or value cannot be converted to its kind */
+	private static final MethodHandle UNCONVERTIBLE = MethodHandles.identity(Object.class);
+
+	private static final ClassValue<ConcurrentMap<Member, MethodHandle>> SPREAD =
+			new ClassValue<ConcurrentMap<Member, MethodHandle>>() {
+				@Override
+				protected ConcurrentMap<Member, MethodHandle> computeValue(Class<?> type) {
+					return new ConcurrentHashMap<>();
+				}
+			};
+
+	private static final ClassValue<ConcurrentMap<Member, MethodHandle[]>> FIXED =
+			new ClassValue<ConcurrentMap<Member, MethodHandle[]>>() {
+				@Override
+				protected ConcurrentMap<Member, MethodHandle[]> computeValue(Class<?> type) {
+					return new ConcurrentHashMap<>();
+				}
+			};
+
+	private static final ClassValue<ConcurrentMap<Member, MethodHandle[]>> ACCESSORS =
+			new ClassValue<ConcurrentMap<Member, MethodHandle[]>>() {
+				@Override
+				protected ConcurrentMap<Member, MethodHandle[]> computeValue(Class<?> type) {
+					return new ConcurrentHashMap<>();
+				}
+			};
+
+	private Handles() {
+	}
+
+	/**
+	 * Get the direct handle for this method, with varargs collection turned off.
+	 *
+	 * @param method the method
+	 * @return a handle with the method's own type; instance methods take the receiver first
+	 * @throws IllegalAccessException if the method is not accessible to {@link Reflector}
+	 */
+	static MethodHandle direct(Method method) throws IllegalAccessException {
+		return LOOKUP.unreflect(method).asFixedArity();
+	}
+
+	/**
+	 * Get the direct handle for this constructor, with varargs collection turned off.
+	 *
+	 * @param constructor the constructor
+	 * @return a handle with the constructor's parameters returning the new instance
+	 * @throws IllegalAccessException if the constructor is not accessible to {@link Reflector}
+	 */
+	static MethodHandle direct(Constructor<?> constructor) throws IllegalAccessException {
+		return LOOKUP.unreflectConstructor(constructor).asFixedArity();
+	}
+
+	/**
+	 * Get the direct getter for this instance field.
+	 *
+	 * @param field the field
+	 * @return a handle taking the receiver and returning the field's own type
+	 * @throws IllegalAccessException if the field is not accessible to {@link Reflector}
+	 */
+	static MethodHandle directGetter(Field field) throws IllegalAccessException {
+		return LOOKUP.unreflectGetter(field);
+	}
+
+	/**
+	 * Get the direct setter for this instance field.
+	 *
+	 * @param field the field
+	 * @return a handle taking the receiver and a value of the field's own type
+	 * @throws IllegalAccessException if the field is final or not accessible to
+	 *         {@link Reflector}
+	 */
+	static MethodHandle directSetter(Field field) throws IllegalAccessException {
+		return LOOKUP.unreflectSetter(field);
+	}
+
+	/**
+	 * Get a handle of {@link #INVOKER_TYPE} for this method.  For static methods the receiver
+	 * argument is ignored.
+	 *
+	 * @param method the method
+	 * @return the invoker handle
+	 * @throws IllegalAccessException if the method is not accessible to {@link Reflector}
+	 */
+	static MethodHandle invoker(Method method) throws IllegalAccessException {
+		ConcurrentMap<Member, MethodHandle> handles = SPREAD.get(method.getDeclaringClass());
+		MethodHandle handle = handles.get(method);
+
+		if (handle == null) {
+			handle = spread(direct(method), method.getParameterCount(),
+					Modifier.isStatic(method.getModifiers()));
+			handles.putIfAbsent(method, handle);
+		}
+
+		return handle;
+	}
+
+	/**
+	 * Get a handle of {@link #FACTORY_TYPE} for this constructor.
+	 *
+	 * @param constructor the constructor
+	 * @return the factory handle
+	 * @throws IllegalAccessException if the constructor is not accessible to {@link Reflector}
+	 */
+	static MethodHandle factory(Constructor<?> constructor) throws IllegalAccessException {
+		ConcurrentMap<Member, MethodHandle> handles = SPREAD.get(constructor.getDeclaringClass());
+		MethodHandle handle = handles.get(constructor);
+
+		if (handle == null) {
+			int count = constructor.getParameterCount();
+			handle = direct(constructor)
+					.asType(MethodType.genericMethodType(count))
+					.asSpreader(Object[].class, count);
+			handles.putIfAbsent(constructor, handle);
+		}
+
+		return handle;
+	}
+
+	/**
+	 * Get a fixed-arity invoker for this method: a handle taking the receiver and then each
+	 * argument as an {@code Object}, and returning the result as this kind.  For static
+	 * methods the receiver argument is ignored.  Calling it with {@code invokeExact} does not
+	 * allocate an argument array, and a primitive kind does not box the result.
+	 *
+	 * @param method the method
+	 * @param kind one of {@link #OBJECT}, {@link #INT}, {@link #LONG}, {@link #DOUBLE} or
+	 *        {@link #BOOLEAN}
+	 * @return the fixed-arity invoker handle
+	 * @throws IllegalAccessException if the method is not accessible to {@link Reflector}
+	 * @throws IllegalArgumentException if the method's return type cannot be converted to
+	 *         this kind
+	 */
+	static MethodHandle fixed(Method method, int kind) throws IllegalAccessException {
+		MethodHandle handle = fixedOrNull(method, kind);
+
+		if (handle == null) {
+			throw new IllegalArgumentException(method + " does not return "
+					+ RETURN_KINDS[kind].getName());
+		}
+
+		return handle;
+	}
+
+	/**
+	 * Get a fixed-arity invoker for this method, like {@link #fixed(Method, int)}, or
+	 * {@code null} if its return type cannot be converted to this kind.  That answer is
+	 * cached too, so asking again is as cheap as for a handle.
+	 *
+	 * @param method the method
+	 * @param kind one of {@link #OBJECT}, {@link #INT}, {@link #LONG}, {@link #DOUBLE} or
+	 *        {@link #BOOLEAN}
+	 * @return the fixed-arity invoker handle, or {@code null}
+	 * @throws IllegalAccessException if the method is not accessible to {@link Reflector}
+	 */
+	static MethodHandle fixedOrNull(Method method, int kind) throws IllegalAccessException {
+		ConcurrentMap<Member, MethodHandle[]> handles = FIXED.get(method.getDeclaringClass());
+		MethodHandle[] kinds = handles.get(method);
+
+		if (kinds == null) {
+			handles.putIfAbsent(method, new MethodHandle[RETURN_KINDS.length * 2]);
+			kinds = handles.get(method);
+		}
+
+		MethodHandle handle = kinds[kind];
+		if (handle == null) {
+			int count = method.getParameterCount();
+			boolean isStatic = Modifier.isStatic(method.getModifiers());
+			MethodType type = MethodType.genericMethodType(isStatic ? count : count + 1)
+					.changeReturnType(RETURN_KINDS[kind]);
+
+			try {
+				handle = direct(method).asType(type);
+				if (isStatic) {
+					handle = MethodHandles.dropArguments(handle, 0, Object.class);
+				}
+			} catch (WrongMethodTypeException e) {
+				handle = UNCONVERTIBLE;
+			}
+
+			kinds[kind] = handle;
+		}
+
+		return handle == UNCONVERTIBLE ? null : handle;
+	}
+
+	/**
+	 * Get a spread invoker for this method that returns the result as this kind: a handle
+	 * taking the receiver and an {@code Object[]} of arguments.  For static methods the
+	 * receiver argument is ignored.
+	 *
+	 * @param method the method
+	 * @param kind one of {@link #OBJECT}, {@link #INT}, {@link #LONG}, {@link #DOUBLE} or
+	 *        {@link #BOOLEAN}
+	 * @return the spread invoker handle
+	 * @throws IllegalAccessException if the method is not accessible to {@link Reflector}
+	 * @throws IllegalArgumentException if the method's return type cannot be converted to
+	 *         this kind
+	 */
+	static MethodHandle spread(Method method, int kind) throws IllegalAccessException {
+		MethodHandle fixed = fixed(method, kind);
+		MethodHandle[] kinds = FIXED.get(method.getDeclaringClass()).get(method);
+		MethodHandle handle = kinds[RETURN_KINDS.length + kind];
+
+		if (handle == null) {
+			handle = fixed.asSpreader(Object[].class, method.getParameterCount());
+			kinds[RETURN_KINDS.length + kind] = handle;
+		}
+
+		return handle;
+	}
+
+	/**
+	 * Get a getter for this field: a handle taking the receiver and returning the value as
+	 * this kind.  For static fields the receiver argument is ignored.
+	 *
+	 * @param field the field
+	 * @param kind one of {@link #OBJECT}, {@link #INT}, {@link #LONG}, {@link #DOUBLE} or
+	 *        {@link #BOOLEAN}
+	 * @return the getter handle
+	 * @throws IllegalAccessException if the field is not accessible to {@link Reflector}
+	 * @throws IllegalArgumentException if the field's type cannot be converted to this kind
+	 */
+	static MethodHandle getter(Field field, int kind) throws IllegalAccessException {
+		MethodHandle handle = getterOrNull(field, kind);
+
+		if (handle == null) {
+			throw new IllegalArgumentException(field + " is not " + RETURN_KINDS[kind].getName());
+		}
+
+		return handle;
+	}
+
+	/**
+	 * Get a getter for this field, like {@link #getter(Field, int)}, or {@code null} if the
+	 * field's type cannot be converted to this kind.
+	 *
+	 * @param field the field
+	 * @param kind one of {@link #OBJECT}, {@link #INT}, {@link #LONG}, {@link #DOUBLE} or
+	 *        {@link #BOOLEAN}
+	 * @return the getter handle, or {@code null}
+	 * @throws IllegalAccessException if the field is not accessible to {@link Reflector}
+	 */
+	static MethodHandle getterOrNull(Field field, int kind) throws IllegalAccessException {
+		MethodHandle[] kinds = accessors(field);
+		MethodHandle handle = kinds[kind];
+
+		if (handle == null) {
+			try {
+				handle = LOOKUP.unreflectGetter(field).asType(Modifier.isStatic(field.getModifiers())
+						? MethodType.methodType(RETURN_KINDS[kind])
+						: MethodType.methodType(RETURN_KINDS[kind], Object.class));
+				if (Modifier.isStatic(field.getModifiers())) {
+					handle = MethodHandles.dropArguments(handle, 0, Object.class);
+				}
+			} catch (WrongMethodTypeException e) {
+				handle = UNCONVERTIBLE;
+			}
+
+			kinds[kind] = handle;
+		}
+
+		return handle == UNCONVERTIBLE ? null : handle;
+	}
+
+	/**
+	 * Get a setter for this field: a handle taking the receiver and a value of this kind.
+	 * For static fields the receiver argument is ignored.
+	 *
+	 * @param field the field
+	 * @param kind one of {@link #OBJECT}, {@link #INT}, {@link #LONG}, {@link #DOUBLE} or
+	 *        {@link #BOOLEAN}
+	 * @return the setter handle
+	 * @throws IllegalAccessException if the field is final or not accessible to
+	 *         {@link Reflector}
+	 * @throws IllegalArgumentException if a value of this kind cannot be converted to the
+	 *         field's type
+	 */
+	static MethodHandle setter(Field field, int kind) throws IllegalAccessException {
+		MethodHandle handle = setterOrNull(field, kind);
+
+		if (handle == null) {
+			throw new IllegalArgumentException(RETURN_KINDS[kind].getName()
+					+ " cannot be stored in " + field);
+		}
+
+		return handle;
+	}
+
+	/**
+	 * Get a setter for this field, like {@link #setter(Field, int)}, or {@code null} if a
+	 * value of this kind cannot be converted to the field's type.
+	 *
+	 * @param field the field
+	 * @param kind one of {@link #OBJECT}, {@link #INT}, {@link #LONG}, {@link #DOUBLE} or
+	 *        {@link #BOOLEAN}
+	 * @return the setter handle, or {@code null}
+	 * @throws IllegalAccessException if the field is final or not accessible to
+	 *         {@link Reflector}
+	 */
+	static MethodHandle setterOrNull(Field field, int kind) throws IllegalAccessException {
+		MethodHandle[] kinds = accessors(field);
+		MethodHandle handle = kinds[RETURN_KINDS.length + kind];
+
+		if (handle == null) {
+			try {
+				handle = LOOKUP.unreflectSetter(field).asType(Modifier.isStatic(field.getModifiers())
+						? MethodType.methodType(void.class, RETURN_KINDS[kind])
+						: MethodType.methodType(void.class, Object.class, RETURN_KINDS[kind]));
+				if (Modifier.isStatic(field.getModifiers())) {
+					handle = MethodHandles.dropArguments(handle, 0, Object.class);
+				}
+			} catch (WrongMethodTypeException e) {
+				handle = UNCONVERTIBLE;
+			}
+
+			kinds[RETURN_KINDS.length + kind] = handle;
+		}
+
+		return handle == UNCONVERTIBLE ? null : handle;
+	}
+
+	/** Getters by kind, then setters by kind, for this field */
+	private static MethodHandle[] accessors(Field field) {
+		ConcurrentMap<Member, MethodHandle[]> handles = ACCESSORS.get(field.getDeclaringClass());
+		MethodHandle[] kinds = handles.get(field);
+
+		if (kinds == null) {
+			handles.putIfAbsent(field, new MethodHandle[RETURN_KINDS.length * 2]);
+			kinds = handles.get(field);
+		}
+
+		return kinds;
+	}
+
+	private static MethodHandle spread(MethodHandle direct, int paramCount, boolean isStatic) {
+		if (isStatic) {
+			MethodHandle handle = direct
+					.asType(MethodType.genericMethodType(paramCount))
+					.asSpreader(Object[].class, paramCount);
+			return MethodHandles.dropArguments(handle, 0, Object.class);
+		}
+
+		return direct
+				.asType(MethodType.genericMethodType(paramCount + 1))
+				.asSpreader(Object[].class, paramCount);
+	}
+
+}
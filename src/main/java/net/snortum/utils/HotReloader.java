@@ -0,0 +1,474 @@
+/*
+ * Licensed under the Creative Commons Attribution-ShareAlike 4.0 International
+ *
+ * https://creativecommons.org/licenses/by-sa/4.0/
+ */
+package net.snortum.utils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.net.MalformedURLException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>Loads classes from jar files and loads them again, in a fresh class loader, when the jars
+ * are replaced, without stopping the calls made into them:</p>
+ * <pre>
+ *     HotReloader plugins = new HotReloader(LoaderKind.JAR, null, "file:///opt/plugins/greeter.jar");
+ *     ReloadableCall greet = plugins.bind("com.example.Greeter", "greet", String.class);
+ *     plugins.watch(500);
+ *     // on any thread, before and after the jar is replaced
+ *     String greeting = greet.invoke("world");</pre>
+ *
+ * <p>Each class loader, with the calls resolved in it, is a generation.  A reload builds the
+ * next generation in the background, resolves every bound call in it, and only then swaps it
+ * in with a single volatile write.  Invocations already running finish in the old generation
+ * and later ones go to the new one; the old class loader is closed when its last invocation
+ * returns.  Invocations take no locks: each bound call keeps the generation it was last
+ * resolved in, and each invocation counts itself into it, and out again, on a striped counter,
+ * so that threads invoking at once do not contend for one counter.  If the new jars cannot be
+ * loaded, or a bound method is missing from them, the reload fails, the current generation
+ * stays, and the failure is kept for {@link #getLastFailure()}.</p>
+ *
+ * <p>An instance method is called on an instance created, in each generation, by the class's
+ * no-argument constructor.  Parameter and return types should come from the parent class
+ * loader, since a class from the jars is a different class in each generation.  Jars should be
+ * replaced by moving a new file into place, so that a reload never reads half a jar.</p>
+ *
+ * <p>Bound calls report failed invocations in the {@link FailureMode} the reloader had when
+ * they were bound; see {@link #setFailureMode(FailureMode)}.</p>
+ *
+ * @author Knute Snortum
+ * @version 2026.10.17
+ */
+public final class HotReloader implements Closeable {
+
+	private final LoaderKind kind;
+	private final ClassLoader parent;
+	private final Engine engine;
+	private final URL[] urls;
+	private final Path[] jars;
+
+	/** Every call bound, resolved again in each generation */
+	private final List<ReloadableCall> calls = new CopyOnWriteArrayList<>();
+
+	/** Held while binding and reloading, never while invoking */
+	private final Object reloadLock = new Object();
+
+	private volatile Generation current;
+	private volatile ReflectorException lastFailure;
+	private volatile FailurePolicy failures = FailurePolicy.DEFAULT;
+	private volatile boolean closed;
+
+	private WatchService watcher;
+
+	/**
+	 * Load classes from these jar paths with a {@link URLClassLoader}, whose parent is
+	 * {@link Reflector}'s class loader, invoking through {@link Engine#METHOD_HANDLE}.
+	 *
+	 * @param paths one or more {@code file:} URLs of jar files
+	 * @throws IOException if a path is not a jar file URL, or cannot be read
+	 */
+	public HotReloader(String... paths) throws IOException {
+		this(LoaderKind.URL, null, paths);
+	}
+
+	/**
+	 * Load classes from these jar paths with this kind of class loader, invoking through
+	 * {@link Engine#METHOD_HANDLE}.
+	 *
+	 * @param kind the kind of class loader to build for each generation
+	 * @param parent the parent class loader, or {@code null} for {@link Reflector}'s
+	 * @param paths one or more {@code file:} URLs of jar files
+	 * @throws IOException if a path is not a jar file URL, or cannot be read
+	 */
+	public HotReloader(LoaderKind kind, ClassLoader parent, String... paths) throws IOException {
+		if (kind == null) {
+			throw new IllegalArgumentException("Loader kind cannot be null");
+		}
+		if (paths == null || paths.length == 0) {
+			throw new IllegalArgumentException("Must pass at least one path");
+		}
+
+		this.kind = kind;
+		this.parent = parent == null ? Reflector.class.getClassLoader() : parent;
+		this.engine = Engine.METHOD_HANDLE;
+		this.urls = new URL[paths.length];
+		this.jars = new Path[paths.length];
+
+		for (int i = 0; i < paths.length; i++) {
+			try {
+				urls[i] = new URL(paths[i]);
+				jars[i] = Paths.get(urls[i].toURI()).toAbsolutePath().normalize();
+			} catch (MalformedURLException | URISyntaxException | IllegalArgumentException e) {
+				throw new IOException("Not a jar file URL: " + paths[i], e);
+			}
+		}
+
+		current = new Generation(1, newLoader(), stamps());
+	}
+
+	/**
+	 * Bind a method of a class in the jars, resolving it in the current generation now and in
+	 * every generation after.
+	 *
+	 * @param className the fully qualified class name
+	 * @param methodName the method name
+	 * @param paramTypes zero or more parameter types, from the parent class loader
+	 * @return the call
+	 * @throws ReflectorException if the class, the method or the no-argument constructor of
+	 *         an instance method cannot be resolved
+	 */
+	public ReloadableCall bind(String className, String methodName, Class<?>... paramTypes) {
+		ReloadableCall call = new ReloadableCall(this, className, methodName, paramTypes.clone(),
+				failures);
+
+		synchronized (reloadLock) {
+			checkOpen();
+			try {
+				current.resolve(call, engine);
+			} catch (ReflectiveOperationException | LinkageError e) {
+				throw ReflectorException.of(e, ReflectorException.Kind.MEMBER_NOT_FOUND, false);
+			}
+			call.rebind(current);
+			calls.add(call);
+		}
+
+		return call;
+	}
+
+	/**
+	 * Watch the jars, and reload once one of them has changed and they have all been quiet for
+	 * this long.  Watching runs on a daemon thread until this reloader is closed.
+	 *
+	 * @param quietMillis how long to wait after the last change before reloading
+	 * @throws IOException if the directories of the jars cannot be watched
+	 */
+	public void watch(long quietMillis) throws IOException {
+		synchronized (reloadLock) {
+			checkOpen();
+			if (watcher != null) {
+				return;
+			}
+
+			WatchService service = FileSystems.getDefault().newWatchService();
+			Set<Path> directories = new HashSet<>();
+			for (Path jar : jars) {
+				Path directory = jar.getParent();
+				if (directories.add(directory)) {
+					directory.register(service, StandardWatchEventKinds.ENTRY_CREATE,
+							StandardWatchEventKinds.ENTRY_MODIFY);
+				}
+			}
+
+			watcher = service;
+			Thread thread = new Thread(() -> watchLoop(service, quietMillis),
+					"HotReloader" + Arrays.toString(urls));
+			thread.setDaemon(true);
+			thread.start();
+		}
+	}
+
+	private void watchLoop(WatchService service, long quietMillis) {
+		Set<Path> watched = new HashSet<>(Arrays.asList(jars));
+
+		try {
+			while (!closed) {
+				WatchKey key = service.take();
+				boolean changed = false;
+
+				for (WatchEvent<?> event : key.pollEvents()) {
+					if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+						changed = true;
+					} else {
+						Path directory = (Path) key.watchable();
+						changed |= watched.contains(directory.resolve((Path) event.context()));
+					}
+				}
+				key.reset();
+
+				if (changed) {
+					// Wait for the copy or the build writing the jars to finish
+					for (key = service.poll(quietMillis, TimeUnit.MILLISECONDS); key != null;
+							key = service.poll(quietMillis, TimeUnit.MILLISECONDS)) {
+						key.pollEvents();
+						key.reset();
+					}
+
+					if (!Arrays.equals(stamps(), current.stamps)) {
+						reload();
+					}
+				}
+			}
+		} catch (ClosedWatchServiceException | InterruptedException e) {
+			// Closed
+		}
+	}
+
+	/**
+	 * Load the jars again now, in a fresh class loader, resolve every bound call in it, and
+	 * swap it in.  Invocations are not stopped.
+	 *
+	 * @return {@code true} if the new generation was swapped in; {@code false} if it failed,
+	 *         leaving the current one, or this reloader is closed
+	 */
+	public boolean reload() {
+		synchronized (reloadLock) {
+			if (closed) {
+				return false;
+			}
+
+			Generation next;
+			try {
+				next = new Generation(current.number + 1, newLoader(), stamps());
+			} catch (IOException e) {
+				lastFailure = ReflectorException.of(e, ReflectorException.Kind.BAD_PATH, false);
+				return false;
+			}
+
+			try {
+				for (ReloadableCall call : calls) {
+					next.resolve(call, engine);
+				}
+			} catch (ReflectiveOperationException | LinkageError | RuntimeException e) {
+				lastFailure = ReflectorException.of(e, ReflectorException.Kind.MEMBER_NOT_FOUND,
+						false);
+				next.retire();
+				return false;
+			}
+
+			for (ReloadableCall call : calls) {
+				call.rebind(next);
+			}
+
+			Generation previous = current;
+			current = next;
+			lastFailure = null;
+			previous.retire();
+			return true;
+		}
+	}
+
+	private ClassLoader newLoader() throws IOException {
+		long start = System.nanoTime();
+		ClassLoader loader = kind == LoaderKind.JAR ? new JarClassLoader(urls, parent)
+				: new URLClassLoader(urls, parent);
+		ReflectorMetrics.loaderCreated(loader, urls, start);
+		return loader;
+	}
+
+	/** @return the size and modification time of each jar, as they are now */
+	private long[] stamps() {
+		long[] stamps = new long[jars.length * 2];
+
+		for (int i = 0; i < jars.length; i++) {
+			try {
+				stamps[2 * i] = Files.size(jars[i]);
+				stamps[2 * i + 1] = Files.getLastModifiedTime(jars[i]).toMillis();
+			} catch (IOException e) {
+				stamps[2 * i] = -1;
+			}
+		}
+
+		return stamps;
+	}
+
+	/** @return the current generation, counted in; it must be counted out */
+	Generation acquire() {
+		for (;;) {
+			Generation generation = current;
+			if (generation.enter()) {
+				return generation;
+			}
+
+			// Swapped out since it was read; the next read finds its successor
+			if (closed && generation == current) {
+				throw new IllegalStateException("Hot reloader is closed");
+			}
+		}
+	}
+
+	private void checkOpen() {
+		if (closed) {
+			throw new IllegalStateException("Hot reloader is closed");
+		}
+	}
+
+	/** @return the number of the current generation, starting at 1 */
+	public int getGeneration() {
+		return current.number;
+	}
+
+	/**
+	 * @return the class loader of the current generation.  It is closed once a reload has
+	 *         replaced it and its invocations have finished.
+	 */
+	public ClassLoader getLoader() {
+		return current.loader;
+	}
+
+	/**
+	 * Report the failed invocations of calls bound after this in this mode.  The default is
+	 * {@link FailureMode#PRINT}.
+	 *
+	 * @param mode the failure mode
+	 */
+	public void setFailureMode(FailureMode mode) {
+		failures = failures.withMode(mode);
+	}
+
+	/** @return the failure mode of calls bound from now on */
+	public FailureMode getFailureMode() {
+		return failures.mode;
+	}
+
+	/**
+	 * @return the failure of the last reload, or of closing a class loader or the watcher
+	 *         since; {@code null} if there was none
+	 */
+	public ReflectorException getLastFailure() {
+		return lastFailure;
+	}
+
+	/**
+	 * Stop watching, and close the current class loader once its invocations have finished.
+	 * Calls bound to this reloader cannot be invoked after it is closed.
+	 */
+	@Override
+	public void close() {
+		synchronized (reloadLock) {
+			if (closed) {
+				return;
+			}
+			closed = true;
+
+			if (watcher != null) {
+				try {
+					watcher.close();
+				} catch (IOException e) {
+					lastFailure = ReflectorException.of(e, ReflectorException.Kind.CLOSE_FAILED,
+							false);
+				}
+			}
+
+			current.retire();
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "HotReloader" + Arrays.toString(urls) + " generation " + current.number;
+	}
+
+	/** A class loader and the calls resolved in it */
+	final class Generation {
+		final int number;
+		final ClassLoader loader;
+		final long[] stamps;
+
+		/** Invocations counted in and out; those running are the difference */
+		private final LongAdder entered = new LongAdder();
+		private final LongAdder exited = new LongAdder();
+
+		/** Set once this is no longer the current generation, and new invocations stay out */
+		private volatile boolean retired;
+
+		/** Set once the class loader is closed, so that it is closed only once */
+		private final AtomicBoolean drained = new AtomicBoolean();
+
+		private final ConcurrentMap<ReloadableCall, BoundCall> calls = new ConcurrentHashMap<>();
+
+		Generation(int number, ClassLoader loader, long[] stamps) {
+			this.number = number;
+			this.loader = loader;
+			this.stamps = stamps;
+		}
+
+		void resolve(ReloadableCall call, Engine engine) throws ReflectiveOperationException {
+			Class<?> clazz = ReflectorCache.loadClass(call.className, true, loader);
+			Method method = ReflectorCache.getMethod(clazz, call.methodName, call.paramTypes);
+			Object instance = null;
+
+			if (!Modifier.isStatic(method.getModifiers())) {
+				// A fresh copy, not the one ReflectorCache shares, so that making it accessible
+				// does not make it accessible to every other Reflector
+				Constructor<?> constructor = clazz.getDeclaredConstructor();
+				constructor.setAccessible(true);
+				instance = constructor.newInstance();
+			}
+
+			calls.put(call, new BoundCall(engine, clazz, instance, method, call.failures));
+		}
+
+		/** @return the call resolved in this generation */
+		BoundCall call(ReloadableCall call) {
+			return calls.get(call);
+		}
+
+		/** @return {@code true} if counted in; {@code false} if this generation is retired */
+		boolean enter() {
+			entered.increment();
+			if (!retired) {
+				return true;
+			}
+
+			exit();
+			return false;
+		}
+
+		/** Count out, closing the class loader if this generation is retired and drained */
+		void exit() {
+			exited.increment();
+			if (retired) {
+				closeIfDrained();
+			}
+		}
+
+		/** Let no more invocations in, and close the class loader once those running finish */
+		void retire() {
+			retired = true;
+			closeIfDrained();
+		}
+
+		private void closeIfDrained() {
+			// Sum the exits first: an invocation whose exit is counted has its entry counted
+			// too, so the difference is never zero while one is running
+			long out = exited.sum();
+			if (entered.sum() != out || !drained.compareAndSet(false, true)) {
+				return;
+			}
+
+			try {
+				((Closeable) loader).close();
+			} catch (IOException e) {
+				lastFailure = ReflectorException.of(e, ReflectorException.Kind.CLOSE_FAILED, false);
+			}
+			ReflectorMetrics.loaderClosed(loader);
+		}
+	}
+
+}
@@ -0,0 +1,456 @@
+/*
+ * Licensed under the Creative Commons Attribution-ShareAlike 4.0 International
+ *
+ * https://creativecommons.org/licenses/by-sa/4.0/
+ */
+package net.snortum.utils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.WrongMethodTypeException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * <p>Implements a caller's interface with the public methods of a loaded class, by generating
+ * a class.  Each interface method is mapped to the method of the class with the same name and
+ * compatible parameter and return types; types the caller cannot see can be written as
+ * {@code Object} in the interface.</p>
+ *
+ * <p>The generated class holds a method handle for each interface method in a
+ * {@code static final} field, which the JIT treats as a constant, so it can inline through the
+ * handle to the target method.  Each call is one {@code invokeExact}: no argument array, no
+ * boxing beyond what the interface's types need, and no {@link Method#invoke}.  This is what
+ * {@link java.lang.reflect.Proxy} with an {@link java.lang.reflect.InvocationHandler} cannot
+ * do.</p>
+ *
+ * <p>Each generated class is defined by a class loader of its own, whose parent is the
+ * interface's class loader, so it is unloaded with the target class.  Generated classes are
+ * cached by target class and interface.</p>
+ *
+ * @author Knute Snortum
+ * @version 2026.10.17
+ */
+final class InterfaceGenerator {
+
+	private static final String PACKAGE = "net/snortum/utils/generated/";
+	private static final String OBJECT = "java/lang/Object";
+	private static final String METHOD_HANDLE = "java/lang/invoke/MethodHandle";
+	private static final String TARGET = "target";
+
+	private static final AtomicInteger COUNT = new AtomicInteger();
+
+	/** Generated classes by target class, then interface */
+	private static final ClassValue<ConcurrentMap<Class<?>, Factory>> FACTORIES =
+			new ClassValue<ConcurrentMap<Class<?>, Factory>>() {
+				@Override
+				protected ConcurrentMap<Class<?>, Factory> computeValue(Class<?> type) {
+					return new ConcurrentHashMap<>();
+				}
+			};
+
+	private InterfaceGenerator() {
+	}
+
+	/**
+	 * Implement the interface with the methods of this class.
+	 *
+	 * @param <T> the interface type
+	 * @param type the interface
+	 * @param target the class whose methods implement it
+	 * @param instance the receiver of instance methods, or {@code null} if every interface
+	 *        method maps to a static method
+	 * @return an implementation of the interface
+	 * @throws IllegalArgumentException if the type is not a public interface, an interface
+	 *         method has no match or more than one, or an instance method is matched and the
+	 *         instance is {@code null}
+	 */
+	static <T> T implement(Class<T> type, Class<?> target, Object instance) {
+		ConcurrentMap<Class<?>, Factory> factories = FACTORIES.get(target);
+		Factory factory = factories.get(type);
+
+		if (factory == null) {
+			factory = generate(type, target);
+			Factory raced = factories.putIfAbsent(type, factory);
+			factory = raced == null ? factory : raced;
+		}
+
+		if (instance == null && factory.needsInstance) {
+			throw new IllegalArgumentException(type.getName() + " maps to instance methods of "
+					+ target.getName() + ", which need an instance");
+		}
+
+		try {
+			return type.cast(factory.constructor.invoke(instance));
+		} catch (RuntimeException | Error e) {
+			throw e;
+		} catch (Throwable e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/** Generate and define the implementation class */
+	private static Factory generate(Class<?> type, Class<?> target) {
+		if (!type.isInterface() || !Modifier.isPublic(type.getModifiers())) {
+			throw new IllegalArgumentException(type.getName() + " is not a public interface");
+		}
+
+		Map<String, Method> methods = new LinkedHashMap<>();
+		for (Method method : type.getMethods()) {
+			if (Modifier.isAbstract(method.getModifiers())) {
+				methods.putIfAbsent(method.getName() + descriptor(method), method);
+			}
+		}
+
+		List<MethodHandle> handles = new ArrayList<>(methods.size());
+		boolean needsInstance = false;
+
+		for (Method method : methods.values()) {
+			Method match = match(method, target);
+			needsInstance |= !Modifier.isStatic(match.getModifiers());
+			handles.add(handle(match, method));
+		}
+
+		return new Factory(define(type, methods.values(), handles), needsInstance);
+	}
+
+	/**
+	 * Implement the functional interface with this method handle, which is converted to the
+	 * type of the interface method, and of each of its bridges.
+	 *
+	 * @param <F> the functional interface type
+	 * @param functionalInterface a public functional interface
+	 * @param handle the handle to call
+	 * @return an implementation of the interface
+	 * @throws IllegalArgumentException if the type is not a public functional interface, or
+	 *         the handle cannot be converted to the type of its method
+	 */
+	static <F> F implement(Class<F> functionalInterface, MethodHandle handle) {
+		LambdaCompiler.findSam(functionalInterface);
+		if (!Modifier.isPublic(functionalInterface.getModifiers())) {
+			throw new IllegalArgumentException(functionalInterface.getName()
+					+ " is not a public interface");
+		}
+
+		List<Method> methods = new ArrayList<>();
+		List<MethodHandle> handles = new ArrayList<>();
+		Map<String, Method> seen = new LinkedHashMap<>();
+
+		for (Method method : functionalInterface.getMethods()) {
+			if (Modifier.isAbstract(method.getModifiers())
+					&& seen.putIfAbsent(method.getName() + descriptor(method), method) == null) {
+				MethodType type = MethodType.methodType(method.getReturnType(),
+						method.getParameterTypes());
+				try {
+					handles.add(MethodHandles.dropArguments(handle.asType(type), 0, Object.class));
+				} catch (WrongMethodTypeException e) {
+					if (LambdaCompiler.findSam(functionalInterface).equals(method)) {
+						throw new IllegalArgumentException(functionalInterface.getName() + "."
+								+ method.getName() + " cannot be adapted to " + handle.type(), e);
+					}
+					continue;
+				}
+				methods.add(method);
+			}
+		}
+
+		try {
+			return functionalInterface.cast(define(functionalInterface, methods, handles)
+					.invoke((Object) null));
+		} catch (RuntimeException | Error e) {
+			throw e;
+		} catch (Throwable e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Write and define a class implementing these methods of the interface with these
+	 * handles, each taking the target first.
+	 *
+	 * @return the constructor of the class, taking the target
+	 */
+	private static MethodHandle define(Class<?> type, Iterable<Method> methods,
+			List<MethodHandle> handles) {
+		String name = PACKAGE + type.getSimpleName() + "$Impl" + COUNT.incrementAndGet();
+		byte[] bytes = write(name, type, methods);
+		GeneratedLoader loader = new GeneratedLoader(type.getClassLoader(),
+				handles.toArray(new MethodHandle[handles.size()]));
+		Class<?> generated = loader.define(name.replace('/', '.'), bytes);
+
+		try {
+			return MethodHandles.publicLookup().findConstructor(generated,
+					MethodType.methodType(void.class, Object.class));
+		} catch (ReflectiveOperationException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/** The method of the target that this interface method maps to */
+	private static Method match(Method method, Class<?> target) {
+		Method best = null;
+		int bestScore = -1;
+		boolean ambiguous = false;
+
+		for (Method candidate : ClassModel.of(target).getMethods(method.getName(),
+				method.getParameterCount())) {
+			int score = score(method, candidate);
+			if (score > bestScore) {
+				best = candidate;
+				bestScore = score;
+				ambiguous = false;
+			} else if (score == bestScore && score >= 0) {
+				ambiguous = true;
+			}
+		}
+
+		if (best == null || bestScore < 0) {
+			throw new IllegalArgumentException(target.getName() + " has no method matching "
+					+ method);
+		} else if (ambiguous) {
+			throw new IllegalArgumentException(target.getName()
+					+ " has more than one method matching " + method);
+		}
+
+		return best;
+	}
+
+	/**
+	 * @return the number of types that match exactly, or -1 if a type cannot be converted
+	 */
+	private static int score(Method method, Method candidate) {
+		Class<?>[] from = method.getParameterTypes();
+		Class<?>[] to = candidate.getParameterTypes();
+		int score = 0;
+
+		for (int i = 0; i < from.length; i++) {
+			if (from[i] == to[i]) {
+				score++;
+			} else if (!convertible(from[i], to[i])) {
+				return -1;
+			}
+		}
+
+		Class<?> returned = method.getReturnType();
+		if (returned == candidate.getReturnType()) {
+			score++;
+		} else if (returned != void.class && !convertible(candidate.getReturnType(), returned)) {
+			return -1;
+		}
+
+		return score;
+	}
+
+	/**
+	 * @return {@code true} if a value of one type can be cast, widened, boxed or unboxed to the
+	 *         other, as {@link MethodHandle#asType(MethodType)} would
+	 */
+	private static boolean convertible(Class<?> from, Class<?> to) {
+		if (from == void.class || to == void.class) {
+			return false;
+		} else if (from.isPrimitive() || to.isPrimitive()) {
+			try {
+				MethodHandles.identity(to).asType(MethodType.methodType(to, from));
+				return true;
+			} catch (WrongMethodTypeException e) {
+				return false;
+			}
+		}
+
+		// asType would cast between any reference types; only allow casts that can succeed
+		return from.isAssignableFrom(to) || to.isAssignableFrom(from) || from.isInterface()
+				|| to.isInterface();
+	}
+
+	/** The handle of the target method, typed as the generated method calls it */
+	private static MethodHandle handle(Method target, Method method) {
+		MethodHandle direct;
+		try {
+			direct = Handles.direct(target);
+		} catch (IllegalAccessException e) {
+			try {
+				// A public method inherited from a class that is not public.  Make a fresh
+				// copy accessible, not the one ClassModel shares with every other Reflector.
+				Method copy = target.getDeclaringClass().getDeclaredMethod(target.getName(),
+						target.getParameterTypes());
+				copy.setAccessible(true);
+				direct = Handles.direct(copy);
+			} catch (ReflectiveOperationException | RuntimeException again) {
+				throw new IllegalArgumentException(target + " is not accessible", e);
+			}
+		}
+
+		if (Modifier.isStatic(target.getModifiers())) {
+			direct = MethodHandles.dropArguments(direct, 0, Object.class);
+		}
+
+		MethodType type = MethodType.methodType(method.getReturnType(), method.getParameterTypes())
+				.insertParameterTypes(0, Object.class);
+		return direct.asType(type);
+	}
+
+	/** Write the implementation class */
+	private static byte[] write(String name, Class<?> type, Iterable<Method> methods) {
+		ClassFileWriter writer = new ClassFileWriter();
+		int target = writer.fieldRef(name, TARGET, "Ljava/lang/Object;");
+
+		writer.field(ClassFileWriter.ACC_PRIVATE | ClassFileWriter.ACC_FINAL, TARGET,
+				"Ljava/lang/Object;");
+		writer.method(ClassFileWriter.ACC_PUBLIC, "<init>", "(Ljava/lang/Object;)V")
+				.local(ClassFileWriter.ALOAD, 0)
+				.op(ClassFileWriter.INVOKESPECIAL, writer.methodRef(OBJECT, "<init>", "()V"))
+				.local(ClassFileWriter.ALOAD, 0)
+				.local(ClassFileWriter.ALOAD, 1)
+				.op(ClassFileWriter.PUTFIELD, target)
+				.op(ClassFileWriter.RETURN)
+				.max(2, 2);
+
+		// static { MethodHandle[] h = (MethodHandle[]) ((Supplier) Impl.class.getClassLoader()).get(); ... }
+		ClassFileWriter.Code init = writer.method(ClassFileWriter.ACC_STATIC, "<clinit>", "()V")
+				.ldc(writer.classRef(name))
+				.op(ClassFileWriter.INVOKEVIRTUAL, writer.methodRef("java/lang/Class",
+						"getClassLoader", "()Ljava/lang/ClassLoader;"))
+				.op(ClassFileWriter.CHECKCAST, writer.classRef("java/util/function/Supplier"))
+				.invokeInterface(writer.interfaceMethodRef("java/util/function/Supplier", "get",
+						"()Ljava/lang/Object;"), 1)
+				.op(ClassFileWriter.CHECKCAST, writer.classRef("[L" + METHOD_HANDLE + ";"))
+				.local(ClassFileWriter.ASTORE, 0);
+
+		int index = 0;
+		for (Method method : methods) {
+			String field = "h" + index;
+			int handle = writer.fieldRef(name, field, "L" + METHOD_HANDLE + ";");
+			writer.field(ClassFileWriter.ACC_PRIVATE | ClassFileWriter.ACC_STATIC
+					| ClassFileWriter.ACC_FINAL, field, "L" + METHOD_HANDLE + ";");
+
+			init.local(ClassFileWriter.ALOAD, 0)
+					.push(index)
+					.op(ClassFileWriter.AALOAD)
+					.op(ClassFileWriter.PUTSTATIC, handle);
+
+			writeMethod(writer, method, handle, target);
+			index++;
+		}
+
+		init.op(ClassFileWriter.RETURN).max(3, 1);
+
+		return writer.toByteArray(ClassFileWriter.ACC_PUBLIC | ClassFileWriter.ACC_FINAL
+				| ClassFileWriter.ACC_SUPER, name, OBJECT, type.getName().replace('.', '/'));
+	}
+
+	/** return (R) h.invokeExact(target, params...) */
+	private static void writeMethod(ClassFileWriter writer, Method method, int handle,
+			int target) {
+		String descriptor = descriptor(method);
+		String invokeDescriptor = "(Ljava/lang/Object;" + descriptor.substring(1);
+		ClassFileWriter.Code code = writer.method(ClassFileWriter.ACC_PUBLIC, method.getName(),
+				descriptor)
+				.op(ClassFileWriter.GETSTATIC, handle)
+				.local(ClassFileWriter.ALOAD, 0)
+				.op(ClassFileWriter.GETFIELD, target);
+
+		int slot = 1;
+		for (Class<?> param : method.getParameterTypes()) {
+			code.local(loadOpcode(param), slot);
+			slot += slots(param);
+		}
+
+		code.op(ClassFileWriter.INVOKEVIRTUAL, writer.methodRef(METHOD_HANDLE, "invokeExact",
+				invokeDescriptor))
+				.op(returnOpcode(method.getReturnType()))
+				.max(Math.max(2 + slot - 1, slots(method.getReturnType())), slot);
+	}
+
+	private static int loadOpcode(Class<?> type) {
+		if (type == long.class) {
+			return ClassFileWriter.LLOAD;
+		} else if (type == float.class) {
+			return ClassFileWriter.FLOAD;
+		} else if (type == double.class) {
+			return ClassFileWriter.DLOAD;
+		} else if (type.isPrimitive()) {
+			return ClassFileWriter.ILOAD;
+		}
+		return ClassFileWriter.ALOAD;
+	}
+
+	private static int returnOpcode(Class<?> type) {
+		if (type == void.class) {
+			return ClassFileWriter.RETURN;
+		} else if (type == long.class) {
+			return ClassFileWriter.LRETURN;
+		} else if (type == float.class) {
+			return ClassFileWriter.FRETURN;
+		} else if (type == double.class) {
+			return ClassFileWriter.DRETURN;
+		} else if (type.isPrimitive()) {
+			return ClassFileWriter.IRETURN;
+		}
+		return ClassFileWriter.ARETURN;
+	}
+
+	private static int slots(Class<?> type) {
+		return type == long.class || type == double.class ? 2 : type == void.class ? 0 : 1;
+	}
+
+	/** @return the JVM descriptor of the method, such as {@code (ILjava/lang/String;)V} */
+	private static String descriptor(Method method) {
+		StringBuilder descriptor = new StringBuilder("(");
+		for (Class<?> param : method.getParameterTypes()) {
+			descriptor.append(descriptor(param));
+		}
+		return descriptor.append(')').append(descriptor(method.getReturnType())).toString();
+	}
+
+	private static String descriptor(Class<?> type) {
+		return MethodType.methodType(type).toMethodDescriptorString().substring(2);
+	}
+
+	/** The constructor of a generated class, which takes the target */
+	private static final class Factory {
+		final MethodHandle constructor;
+
+		/** {@code false} if every interface method maps to a static method */
+		final boolean needsInstance;
+
+		Factory(MethodHandle constructor, boolean needsInstance) {
+			this.constructor = constructor;
+			this.needsInstance = needsInstance;
+		}
+	}
+
+	/**
+	 * Defines one generated class, and hands its method handles to the class's static
+	 * initializer, once, through {@link Supplier#get()}.  Only JDK types are needed to do that,
+	 * so the generated class does not have to see {@link Reflector}'s classes.
+	 */
+	private static final class GeneratedLoader extends ClassLoader implements Supplier<Object> {
+		private MethodHandle[] handles;
+
+		GeneratedLoader(ClassLoader parent, MethodHandle[] handles) {
+			super(parent);
+			this.handles = handles;
+		}
+
+		Class<?> define(String name, byte[] bytes) {
+			return defineClass(name, bytes, 0, bytes.length);
+		}
+
+		@Override
+		public synchronized Object get() {
+			MethodHandle[] taken = handles;
+			handles = null;
+			return taken;
+		}
+	}
+
+}
@@ -0,0 +1,345 @@
+/*
+ * Licensed under the Creative Commons Attribution-ShareAlike 4.0 International
+ *
+ * https://creativecommons.org/licenses/by-sa/4.0/
+ */
+package net.snortum.utils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.CodeSource;
+import java.security.ProtectionDomain;
+import java.security.cert.Certificate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.Inflater;
+
+/**
+ * <p>A class loader for jar files that reads class bytes straight from a memory-mapped view
+ * of each jar, instead of through {@link java.util.jar.JarFile} streams as a
+ * {@link URLClassLoader} does.  It is registered as parallel-capable, so threads loading
+ * different classes do not wait for each other, and the index of each jar's entries is read
+ * once and shared by every open JarClassLoader that loads from the jar.  When the last of them
+ * is closed the index is dropped, so the jar can be unmapped.</p>
+ * <pre>
+ *     Reflector r = new Reflector();
+ *     r.setLoaderKind(LoaderKind.JAR);
+ *     r.loadClass("org.joda.time.DateTime", "file:///C:/path/to/joda-time-2.9.9.jar");</pre>
+ *
+ * <p>Only local jar files are supported, and only what class loading needs: manifests are
+ * not read, so packages are not sealed and have no version, and entries are not verified
+ * against signatures.  A jar that is replaced on disk is indexed again by the next loader
+ * created for it; replace jars by moving a new file into place rather than rewriting them,
+ * since loaders that are still open keep reading the file they mapped.</p>
+ *
+ * @author Knute Snortum
+ * @version 2026.10.17
+ */
+public final class JarClassLoader extends ClassLoader implements Closeable {
+
+	static {
+		ClassLoader.registerAsParallelCapable();
+	}
+
+	private static final String CLASS_SUFFIX = ".class";
+
+	/**
+	 * The directory of each jar open, shared by the loaders using it, by normalized path;
+	 * guarded by itself
+	 */
+	private static final Map<Path, Directory> DIRECTORIES = new HashMap<>();
+
+	private final URL[] urls;
+	private final Directory[] directories;
+	private final ZipDirectory[] jars;
+	private final ProtectionDomain[] domains;
+
+	/** Inflaters for reuse by loading threads, so that each class does not need a new one */
+	private final Queue<Inflater> inflaters = new ConcurrentLinkedQueue<>();
+	private final Set<String> packages = Collections.newSetFromMap(new ConcurrentHashMap<>());
+
+	private final LongAdder registryCount;
+	private final LongAdder defined = new LongAdder();
+	private volatile boolean closed;
+
+	/**
+	 * Create a class loader for these jar files.
+	 *
+	 * @param urls {@code file:} URLs of jar files
+	 * @param parent the parent class loader, or {@code null} for the bootstrap class loader
+	 * @throws IOException if a URL is not a {@code file:} URL, or its jar cannot be read
+	 */
+	public JarClassLoader(URL[] urls, ClassLoader parent) throws IOException {
+		this(urls, parent, null);
+	}
+
+	/**
+	 * @param registryCount also counts the classes defined, or {@code null}
+	 */
+	JarClassLoader(URL[] urls, ClassLoader parent, LongAdder registryCount) throws IOException {
+		super(parent);
+		this.urls = urls.clone();
+		this.directories = new Directory[urls.length];
+		this.jars = new ZipDirectory[urls.length];
+		this.domains = new ProtectionDomain[urls.length];
+		this.registryCount = registryCount;
+
+		try {
+			for (int i = 0; i < urls.length; i++) {
+				directories[i] = acquire(toPath(urls[i]));
+				jars[i] = directories[i].zip;
+				domains[i] = new ProtectionDomain(new CodeSource(urls[i], (Certificate[]) null),
+						null, this, null);
+			}
+		} catch (IOException | RuntimeException e) {
+			releaseDirectories();
+			throw e;
+		}
+	}
+
+	private static Path toPath(URL url) throws IOException {
+		if (!"file".equals(url.getProtocol())) {
+			throw new IOException("Not a file URL: " + url);
+		}
+
+		try {
+			return Paths.get(url.toURI()).toAbsolutePath().normalize();
+		} catch (URISyntaxException | IllegalArgumentException e) {
+			throw new IOException("Not a valid file URL: " + url, e);
+		}
+	}
+
+	/**
+	 * The directory of this jar, read again if the jar has changed since it was read, counting
+	 * one more loader using it
+	 */
+	private static Directory acquire(Path jar) throws IOException {
+		long size = Files.size(jar);
+		long modified = Files.getLastModifiedTime(jar).toMillis();
+
+		Directory directory = share(jar, size, modified, null);
+		if (directory == null) {
+			// Read the jar outside the lock, so that loaders for different jars are created in
+			// parallel; if another thread reads the same jar first, its directory is used
+			directory = share(jar, size, modified, ZipDirectory.open(jar));
+		}
+		return directory;
+	}
+
+	/**
+	 * Count one more loader using the directory of this jar, read at this size and time.  If
+	 * there is no such directory, the one just read becomes it.
+	 *
+	 * @param read the directory just read, or {@code null} if it has not been read
+	 * @return the shared directory, or {@code null} if there is none and none was read
+	 */
+	private static Directory share(Path jar, long size, long modified, ZipDirectory read) {
+		synchronized (DIRECTORIES) {
+			Directory directory = DIRECTORIES.get(jar);
+
+			if (directory == null || directory.size != size || directory.modified != modified) {
+				if (read == null) {
+					return null;
+				}
+				directory = new Directory(jar, read, size, modified);
+				DIRECTORIES.put(jar, directory);
+			}
+
+			directory.loaders++;
+			return directory;
+		}
+	}
+
+	/** Count one loader fewer using each directory, dropping those no loader uses */
+	private void releaseDirectories() {
+		synchronized (DIRECTORIES) {
+			for (Directory directory : directories) {
+				if (directory != null && --directory.loaders == 0) {
+					DIRECTORIES.remove(directory.jar, directory);
+				}
+			}
+		}
+	}
+
+	@Override
+	protected Class<?> findClass(String name) throws ClassNotFoundException {
+		if (closed) {
+			throw new ClassNotFoundException(name + " (class loader is closed)");
+		}
+
+		String entry = name.replace('.', '/').concat(CLASS_SUFFIX);
+		for (int i = 0; i < jars.length; i++) {
+			int index = jars[i].indexOf(entry);
+			if (index >= 0) {
+				return define(name, i, index);
+			}
+		}
+
+		throw new ClassNotFoundException(name);
+	}
+
+	private Class<?> define(String name, int jar, int index) throws ClassNotFoundException {
+		Inflater inflater = inflaters.poll();
+		if (inflater == null) {
+			inflater = new Inflater(true);
+		}
+
+		byte[] bytes;
+		try {
+			bytes = jars[jar].read(index, inflater);
+		} catch (IOException e) {
+			throw new ClassNotFoundException(name, e);
+		} finally {
+			reuse(inflater);
+		}
+
+		int dot = name.lastIndexOf('.');
+		if (dot > 0) {
+			definePackageOnce(name.substring(0, dot));
+		}
+
+		Class<?> clazz = defineClass(name, bytes, 0, bytes.length, domains[jar]);
+		defined.increment();
+		if (registryCount != null) {
+			registryCount.increment();
+		}
+
+		return clazz;
+	}
+
+	/** Give an inflater back for reuse, or end it if this loader is closed */
+	private void reuse(Inflater inflater) {
+		if (closed) {
+			inflater.end();
+			return;
+		}
+
+		inflaters.offer(inflater);
+
+		// close() may have ended the inflaters between the check and the offer
+		if (closed) {
+			endInflaters();
+		}
+	}
+
+	private void endInflaters() {
+		for (Inflater inflater = inflaters.poll(); inflater != null; inflater = inflaters.poll()) {
+			inflater.end();
+		}
+	}
+
+	private void definePackageOnce(String packageName) {
+		if (!packages.add(packageName)) {
+			return;
+		}
+
+		try {
+			definePackage(packageName, null, null, null, null, null, null, null);
+		} catch (IllegalArgumentException e) {
+			// Defined already, by the parent or another thread
+		}
+	}
+
+	@Override
+	protected URL findResource(String name) {
+		for (int i = 0; i < jars.length; i++) {
+			if (jars[i].indexOf(name) >= 0) {
+				return entryUrl(i, name);
+			}
+		}
+
+		return null;
+	}
+
+	@Override
+	protected Enumeration<URL> findResources(String name) {
+		List<URL> found = new ArrayList<>();
+
+		for (int i = 0; i < jars.length; i++) {
+			if (jars[i].indexOf(name) >= 0) {
+				URL url = entryUrl(i, name);
+				if (url != null) {
+					found.add(url);
+				}
+			}
+		}
+
+		return Collections.enumeration(found);
+	}
+
+	private URL entryUrl(int jar, String name) {
+		try {
+			return new URL("jar:" + urls[jar].toExternalForm() + "!/" + name);
+		} catch (MalformedURLException e) {
+			return null;
+		}
+	}
+
+	/** @return the URLs of the jar files this loader loads from */
+	public URL[] getURLs() {
+		return urls.clone();
+	}
+
+	/** @return the number of classes this loader has defined */
+	public long getClassesDefined() {
+		return defined.sum();
+	}
+
+	/**
+	 * Stop loading classes.  Classes already loaded keep working.  A jar file no other open
+	 * loader uses is unmapped once the garbage collector frees its mapping.
+	 */
+	@Override
+	public void close() {
+		synchronized (this) {
+			if (closed) {
+				return;
+			}
+			closed = true;
+		}
+
+		releaseDirectories();
+		endInflaters();
+	}
+
+	@Override
+	public String toString() {
+		return "JarClassLoader" + Arrays.toString(urls);
+	}
+
+	/** The directory of a jar, with the size and time it was read at */
+	private static final class Directory {
+		final Path jar;
+		final ZipDirectory zip;
+		final long size;
+		final long modified;
+
+		/** The number of open loaders using the directory, guarded by {@link #DIRECTORIES} */
+		int loaders;
+
+		Directory(Path jar, ZipDirectory zip, long size, long modified) {
+			this.jar = jar;
+			this.zip = zip;
+			this.size = size;
+			this.modified = modified;
+		}
+	}
+
+}
@@ -0,0 +1,386 @@
+/*
+ * Licensed under the Creative Commons Attribution-ShareAlike 4.0 International
+ *
+ * https://creativecommons.org/licenses/by-sa/4.0/
+ */
+package net.snortum.utils;
+
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.zip.Inflater;
+
+/**
+ * <p>An index of the classes in a jar file, built without loading any of them.  The jar is
+ * memory-mapped, its central directory is read directly, and every class file's constant pool
+ * is parsed for its name, super class, interfaces, public methods and class annotations.  The
+ * index can then answer questions such as "which classes have a public method
+ * {@code getMonthOfYear}" before {@link Reflector#loadClass(String, String...)} is called:</p>
+ * <pre>
+ *     JarIndex index = JarIndex.open("file:///C:/path/to/joda-time-2.9.9.jar");
+ *     List&lt;String&gt; names = index.getClassesWithPublicMethod("getMonthOfYear");</pre>
+ *
+ * <p>Class names are held once, and each query is a hash lookup over sorted {@code int}
+ * arrays.  The index is immutable and safe to query from many threads.</p>
+ *
+ * @author Knute Snortum
+ * @version 2026.10.17
+ */
+public final class JarIndex {
+
+	private static final String CLASS_SUFFIX = ".class";
+	private static final int[] NONE = new int[0];
+
+	private final Path path;
+
+	/** Type names: the classes in the jar first, then types they refer to from elsewhere */
+	private final String[] types;
+
+	/** Number of classes in the jar; their ids are {@code 0} to {@code classCount - 1} */
+	private final int classCount;
+
+	/** Access flags of the classes in the jar */
+	private final int[] access;
+
+	/** Direct subtypes of each type: {@code children[childStart[id] .. childStart[id + 1]]} */
+	private final int[] childStart;
+	private final int[] children;
+
+	private final Map<String, Integer> typeIds;
+	private final Map<String, int[]> byMethod;
+	private final Map<String, int[]> byAnnotation;
+	private final ConcurrentMap<String, int[]> subtypes = new ConcurrentHashMap<>();
+
+	private JarIndex(Builder builder) {
+		this.path = builder.path;
+		this.types = builder.types.toArray(new String[builder.types.size()]);
+		this.classCount = builder.classCount;
+		this.access = builder.access;
+		this.typeIds = builder.typeIds;
+		this.byMethod = freeze(builder.byMethod);
+		this.byAnnotation = freeze(builder.byAnnotation);
+
+		childStart = new int[types.length + 1];
+		for (int[] edge : builder.edges) {
+			childStart[edge[0] + 1]++;
+		}
+		for (int i = 0; i < types.length; i++) {
+			childStart[i + 1] += childStart[i];
+		}
+
+		children = new int[builder.edges.size()];
+		int[] next = Arrays.copyOf(childStart, types.length);
+		for (int[] edge : builder.edges) {
+			children[next[edge[0]]++] = edge[1];
+		}
+	}
+
+	/**
+	 * Index a jar file given as a path or as a {@code file:} URL string, such as the paths
+	 * passed to {@link Reflector#loadClassLoader(String...)}.
+	 *
+	 * @param pathOrUrl a file system path or a {@code file:} URL string
+	 * @return the index
+	 * @throws IOException if the jar cannot be read or contains an invalid class file
+	 */
+	public static JarIndex open(String pathOrUrl) throws IOException {
+		return open(toPath(pathOrUrl));
+	}
+
+	/**
+	 * Index a jar file.
+	 *
+	 * @param jar the path of the jar file
+	 * @return the index
+	 * @throws IOException if the jar cannot be read or contains an invalid class file
+	 */
+	public static JarIndex open(Path jar) throws IOException {
+		ZipDirectory directory = ZipDirectory.open(jar);
+		Builder builder = new Builder(jar);
+		List<ClassFileReader> classes = new ArrayList<>();
+		Inflater inflater = new Inflater(true);
+
+		try {
+			for (int i = 0; i < directory.size(); i++) {
+				String name = directory.getName(i);
+				if (name.endsWith(CLASS_SUFFIX) && !name.startsWith("META-INF/")
+						&& !name.endsWith("module-info.class")) {
+					classes.add(ClassFileReader.read(directory.read(i, inflater), jar + "!/" + name));
+				}
+			}
+		} finally {
+			inflater.end();
+		}
+
+		builder.build(classes);
+		return new JarIndex(builder);
+	}
+
+	/**
+	 * Turn a path or {@code file:} URL string into a path.
+	 *
+	 * @param pathOrUrl a file system path or a {@code file:} URL string
+	 * @return the path
+	 * @throws IOException if the string is a URL that is not a {@code file:} URL
+	 */
+	static Path toPath(String pathOrUrl) throws IOException {
+		URL url;
+		try {
+			url = new URL(pathOrUrl);
+		} catch (MalformedURLException e) {
+			return Paths.get(pathOrUrl);
+		}
+
+		if (!"file".equals(url.getProtocol())) {
+			throw new IOException("Not a file URL: " + pathOrUrl);
+		}
+
+		try {
+			return Paths.get(url.toURI());
+		} catch (URISyntaxException | IllegalArgumentException e) {
+			throw new IOException("Not a valid file URL: " + pathOrUrl, e);
+		}
+	}
+
+	/** @return the path of the indexed jar file */
+	public Path getPath() {
+		return path;
+	}
+
+	/** @return the names of all classes in the jar, in binary (dotted) form */
+	public List<String> getClassNames() {
+		return new Names(types, 0, classCount);
+	}
+
+	/**
+	 * @param className a fully qualified class name
+	 * @return {@code true} if the jar contains this class
+	 */
+	public boolean contains(String className) {
+		Integer id = typeIds.get(className);
+		return id != null && id < classCount;
+	}
+
+	/**
+	 * @param className a fully qualified class name
+	 * @return the class's access flags, as in {@link java.lang.reflect.Modifier}, or -1 if the
+	 *         jar does not contain the class
+	 */
+	public int getModifiers(String className) {
+		Integer id = typeIds.get(className);
+		return id != null && id < classCount ? access[id] : -1;
+	}
+
+	/**
+	 * Find the classes that declare a public method with this name.  Inherited methods are
+	 * not included.
+	 *
+	 * @param methodName the method name
+	 * @return the names of the classes, sorted by their order in the jar
+	 */
+	public List<String> getClassesWithPublicMethod(String methodName) {
+		return names(byMethod.get(methodName));
+	}
+
+	/**
+	 * Find the classes with a class-level annotation of this type, whether or not it is
+	 * retained at run time.
+	 *
+	 * @param annotationName the fully qualified annotation type name
+	 * @return the names of the classes, sorted by their order in the jar
+	 */
+	public List<String> getClassesWithAnnotation(String annotationName) {
+		return names(byAnnotation.get(annotationName));
+	}
+
+	/**
+	 * Find the classes in the jar that extend or implement this type, directly or through
+	 * other classes in the jar.  The type itself may be inside or outside the jar.
+	 *
+	 * @param typeName the fully qualified name of a class or interface
+	 * @return the names of the subtypes, sorted by their order in the jar
+	 */
+	public List<String> getSubtypesOf(String typeName) {
+		int[] found = subtypes.get(typeName);
+
+		if (found == null) {
+			Integer id = typeIds.get(typeName);
+			found = id == null ? NONE : collectSubtypes(id);
+			subtypes.putIfAbsent(typeName, found);
+		}
+
+		return names(found);
+	}
+
+	private int[] collectSubtypes(int root) {
+		boolean[] seen = new boolean[types.length];
+		int[] queue = new int[types.length];
+		int head = 0;
+		int tail = 0;
+		queue[tail++] = root;
+		seen[root] = true;
+
+		while (head < tail) {
+			int id = queue[head++];
+			for (int i = childStart[id]; i < childStart[id + 1]; i++) {
+				if (!seen[children[i]]) {
+					seen[children[i]] = true;
+					queue[tail++] = children[i];
+				}
+			}
+		}
+
+		int[] found = Arrays.copyOfRange(queue, 1, tail);
+		Arrays.sort(found);
+		return found;
+	}
+
+	private List<String> names(int[] ids) {
+		return ids == null || ids.length == 0 ? Collections.<String>emptyList() : new Ids(ids);
+	}
+
+	private static Map<String, int[]> freeze(Map<String, List<Integer>> lists) {
+		Map<String, int[]> frozen = new HashMap<>(lists.size() * 2);
+
+		for (Map.Entry<String, List<Integer>> entry : lists.entrySet()) {
+			List<Integer> ids = entry.getValue();
+			int[] array = new int[ids.size()];
+			int count = 0;
+
+			for (int i = 0; i < ids.size(); i++) {
+				int id = ids.get(i);
+				if (count == 0 || array[count - 1] != id) {
+					array[count++] = id;
+				}
+			}
+
+			frozen.put(entry.getKey(), Arrays.copyOf(array, count));
+		}
+
+		return frozen;
+	}
+
+	/** A read-only list of type names, backed by the index's name table */
+	private static final class Names extends AbstractList<String> {
+		private final String[] names;
+		private final int from;
+		private final int to;
+
+		Names(String[] names, int from, int to) {
+			this.names = names;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		public String get(int index) {
+			if (index < 0 || index >= to - from) {
+				throw new IndexOutOfBoundsException("Index: " + index);
+			}
+			return names[from + index];
+		}
+
+		@Override
+		public int size() {
+			return to - from;
+		}
+	}
+
+	/** A read-only list of type names, backed by an array of ids */
+	private final class Ids extends AbstractList<String> {
+		private final int[] ids;
+
+		Ids(int[] ids) {
+			this.ids = ids;
+		}
+
+		@Override
+		public String get(int index) {
+			return types[ids[index]];
+		}
+
+		@Override
+		public int size() {
+			return ids.length;
+		}
+	}
+
+	/** Collects everything read from the class files before the index is frozen */
+	private static final class Builder {
+		final Path path;
+		final List<String> types = new ArrayList<>();
+		final Map<String, Integer> typeIds = new HashMap<>();
+		final Map<String, List<Integer>> byMethod = new HashMap<>();
+		final Map<String, List<Integer>> byAnnotation = new HashMap<>();
+		final List<int[]> edges = new ArrayList<>();
+		int classCount;
+		int[] access;
+
+		Builder(Path path) {
+			this.path = path;
+		}
+
+		void build(List<ClassFileReader> classes) {
+			classCount = classes.size();
+			access = new int[classCount];
+
+			for (ClassFileReader reader : classes) {
+				idOf(reader.name);
+			}
+
+			for (int id = 0; id < classCount; id++) {
+				ClassFileReader reader = classes.get(id);
+				access[id] = reader.access;
+
+				if (reader.superName != null) {
+					edges.add(new int[] { idOf(reader.superName), id });
+				}
+				for (String name : reader.interfaces) {
+					edges.add(new int[] { idOf(name), id });
+				}
+				for (String name : reader.publicMethods) {
+					add(byMethod, name, id);
+				}
+				for (String name : reader.annotations) {
+					add(byAnnotation, name, id);
+				}
+			}
+		}
+
+		private int idOf(String name) {
+			Integer id = typeIds.get(name);
+
+			if (id == null) {
+				id = types.size();
+				types.add(name);
+				typeIds.put(name, id);
+			}
+
+			return id;
+		}
+
+		private static void add(Map<String, List<Integer>> map, String key, int id) {
+			List<Integer> ids = map.get(key);
+
+			if (ids == null) {
+				ids = new ArrayList<>(4);
+				map.put(key, ids);
+			}
+
+			ids.add(id);
+		}
+	}
+
+}
@@ -0,0 +1,323 @@
+/*
+ * Licensed under the Creative Commons Attribution-ShareAlike 4.0 International
+ *
+ * https://creativecommons.org/licenses/by-sa/4.0/
+ */
+package net.snortum.utils;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaConversionException;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandleInfo;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>Turns a loaded method or constructor into an implementation of a caller-supplied
+ * functional interface, such as {@link java.util.function.ToIntFunction},
+ * {@link java.util.function.IntBinaryOperator} or {@link java.util.function.Supplier}.</p>
+ *
+ * <p>When the target class and the interface are visible from {@link Reflector}'s own class
+ * loader, the implementation is spun by {@link LambdaMetafactory}, exactly as for a method
+ * reference in source code, so the JIT can inline through it.  A class from a
+ * {@link java.net.URLClassLoader} built by {@link Reflector#loadClassLoader(String...)} is not
+ * visible from there, and a lambda class cannot link against it; in that case
+ * {@link InterfaceGenerator} defines a class, in a class loader of its own, that holds the
+ * method handle in a {@code static final} field, which the JIT can also inline through.</p>
+ *
+ * @author Knute Snortum
+ * @version 2026.10.17
+ */
+final class LambdaCompiler {
+
+	private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+	private LambdaCompiler() {
+	}
+
+	/**
+	 * Implement the functional interface with this method.  An instance method is bound to
+	 * the receiver if one is passed and the interface method takes exactly the method's
+	 * parameters; otherwise the receiver must be the first argument of the interface method.
+	 *
+	 * @param <F> the functional interface type
+	 * @param functionalInterface the functional interface to implement
+	 * @param method the method to call
+	 * @param receiver the receiver to bind, or {@code null}
+	 * @return an implementation of the functional interface
+	 * @throws IllegalArgumentException if the interface is not a functional interface, or its
+	 *         method cannot be adapted to the loaded method
+	 */
+	static <F> F compile(Class<F> functionalInterface, Method method, Object receiver) {
+		Method sam = findSam(functionalInterface);
+		boolean isStatic = Modifier.isStatic(method.getModifiers());
+		int methodParams = method.getParameterCount();
+		boolean bind;
+
+		if (sam.getParameterCount() == methodParams && (isStatic || receiver != null)) {
+			bind = !isStatic;
+		} else if (!isStatic && sam.getParameterCount() == methodParams + 1) {
+			bind = false;
+		} else {
+			throw new IllegalArgumentException(functionalInterface.getName() + "." + sam.getName()
+					+ " does not take the parameters of " + method);
+		}
+
+		MethodHandle direct;
+		try {
+			direct = Handles.direct(method);
+		} catch (IllegalAccessException e) {
+			throw new IllegalArgumentException(e);
+		}
+
+		return spin(functionalInterface, sam, direct, bind ? receiver : null);
+	}
+
+	/**
+	 * Implement the functional interface with this constructor, as for a constructor
+	 * reference such as {@code Foo::new}.  The interface method must take the constructor's
+	 * parameters and return a type the new instance can be assigned to.
+	 *
+	 * @param <F> the functional interface type
+	 * @param functionalInterface the functional interface to implement
+	 * @param constructor the constructor to call
+	 * @return an implementation of the functional interface
+	 * @throws IllegalArgumentException if the interface is not a functional interface, or its
+	 *         method cannot be adapted to the constructor
+	 */
+	static <F> F compile(Class<F> functionalInterface, Constructor<?> constructor) {
+		Method sam = findSam(functionalInterface);
+
+		if (sam.getParameterCount() != constructor.getParameterCount()
+				|| !sam.getReturnType().isAssignableFrom(constructor.getDeclaringClass())) {
+			throw new IllegalArgumentException(functionalInterface.getName() + "." + sam.getName()
+					+ " cannot create instances with " + constructor);
+		}
+
+		MethodHandle direct;
+		try {
+			direct = Handles.direct(constructor);
+		} catch (IllegalAccessException e) {
+			throw new IllegalArgumentException(e);
+		}
+
+		return spin(functionalInterface, sam, direct, null);
+	}
+
+	/**
+	 * Implement the functional interface with this direct handle, optionally binding a
+	 * receiver as its first argument.
+	 *
+	 * @param <F> the functional interface type
+	 * @param functionalInterface the functional interface to implement
+	 * @param sam the single abstract method of the interface
+	 * @param direct the direct handle to call
+	 * @param receiver the receiver to bind, or {@code null}
+	 * @return an implementation of the functional interface
+	 */
+	static <F> F spin(Class<F> functionalInterface, Method sam, MethodHandle direct,
+			Object receiver) {
+		MethodType samType = MethodType.methodType(sam.getReturnType(), sam.getParameterTypes());
+		MethodType implType = direct.type();
+		int captured = receiver == null ? 0 : 1;
+
+		if (Modifier.isPublic(functionalInterface.getModifiers()) && isVisible(functionalInterface)
+				&& isVisible(direct)) {
+			MethodType instantiated = instantiate(samType, implType.dropParameterTypes(0, captured));
+			MethodType invokedType = MethodType.methodType(functionalInterface,
+					implType.parameterList().subList(0, captured));
+
+			MethodType[] bridges = bridges(functionalInterface, sam);
+
+			try {
+				CallSite site = bridges.length == 0
+						? LambdaMetafactory.metafactory(LOOKUP, sam.getName(), invokedType, samType,
+								direct, instantiated)
+						: LambdaMetafactory.altMetafactory(LOOKUP, sam.getName(), invokedType,
+								altArguments(samType, direct, instantiated, bridges));
+				Object lambda = captured == 0
+						? site.getTarget().invoke()
+						: site.getTarget().invoke(receiver);
+				return functionalInterface.cast(lambda);
+			} catch (LambdaConversionException e) {
+				throw new IllegalArgumentException(e);
+			} catch (RuntimeException | Error e) {
+				throw e;
+			} catch (Throwable e) {
+				throw new IllegalStateException(e);
+			}
+		}
+
+		MethodHandle target = captured == 0 ? direct : direct.bindTo(receiver);
+		return InterfaceGenerator.implement(functionalInterface, target);
+	}
+
+	/**
+	 * Find the single abstract method of this interface.  Methods that only differ from it by
+	 * generic erasure are ignored; they become bridges.
+	 *
+	 * @param functionalInterface the interface
+	 * @return the single abstract method
+	 * @throws IllegalArgumentException if this is not a functional interface
+	 */
+	static Method findSam(Class<?> functionalInterface) {
+		if (!functionalInterface.isInterface()) {
+			throw new IllegalArgumentException(functionalInterface.getName() + " is not an interface");
+		}
+
+		Method sam = null;
+		for (Method candidate : abstractMethods(functionalInterface)) {
+			if (sam == null || isMoreSpecific(candidate, sam)) {
+				sam = candidate;
+			} else if (!sam.getName().equals(candidate.getName()) || !isMoreSpecific(sam, candidate)) {
+				throw new IllegalArgumentException(functionalInterface.getName()
+						+ " is not a functional interface");
+			}
+		}
+
+		if (sam == null) {
+			throw new IllegalArgumentException(functionalInterface.getName()
+					+ " has no abstract method");
+		}
+
+		return sam;
+	}
+
+	private static List<Method> abstractMethods(Class<?> functionalInterface) {
+		List<Method> methods = new ArrayList<>();
+
+		for (Method method : functionalInterface.getMethods()) {
+			if (Modifier.isAbstract(method.getModifiers()) && !isObjectMethod(method)) {
+				methods.add(method);
+			}
+		}
+
+		return methods;
+	}
+
+	private static MethodType[] bridges(Class<?> functionalInterface, Method sam) {
+		List<MethodType> bridges = new ArrayList<>();
+
+		for (Method method : abstractMethods(functionalInterface)) {
+			MethodType type = MethodType.methodType(method.getReturnType(), method.getParameterTypes());
+			if (!type.equals(MethodType.methodType(sam.getReturnType(), sam.getParameterTypes()))
+					&& !bridges.contains(type)) {
+				bridges.add(type);
+			}
+		}
+
+		return bridges.toArray(new MethodType[bridges.size()]);
+	}
+
+	private static Object[] altArguments(MethodType samType, MethodHandle direct,
+			MethodType instantiated, MethodType[] bridges) {
+		Object[] args = new Object[5 + bridges.length];
+		args[0] = samType;
+		args[1] = direct;
+		args[2] = instantiated;
+		args[3] = LambdaMetafactory.FLAG_BRIDGES;
+		args[4] = bridges.length;
+		System.arraycopy(bridges, 0, args, 5, bridges.length);
+		return args;
+	}
+
+	private static boolean isMoreSpecific(Method a, Method b) {
+		if (!a.getName().equals(b.getName()) || a.getParameterCount() != b.getParameterCount()) {
+			return false;
+		}
+
+		Class<?>[] aTypes = a.getParameterTypes();
+		Class<?>[] bTypes = b.getParameterTypes();
+		for (int i = 0; i < aTypes.length; i++) {
+			if (!bTypes[i].isAssignableFrom(aTypes[i])) {
+				return false;
+			}
+		}
+
+		return b.getReturnType().isAssignableFrom(a.getReturnType());
+	}
+
+	private static boolean isObjectMethod(Method method) {
+		try {
+			Object.class.getMethod(method.getName(), method.getParameterTypes());
+			return true;
+		} catch (NoSuchMethodException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Specialize the interface method type to the implementation's parameter types where the
+	 * interface is more general, so that {@link LambdaMetafactory} inserts the casts.
+	 */
+	private static MethodType instantiate(MethodType samType, MethodType implType) {
+		MethodType instantiated = samType;
+
+		for (int i = 0; i < samType.parameterCount(); i++) {
+			Class<?> samParam = samType.parameterType(i);
+			Class<?> implParam = implType.parameterType(i);
+
+			if (samParam.isPrimitive()) {
+				continue;
+			}
+
+			Class<?> specialized = implParam.isPrimitive() ? MethodType.methodType(implParam).wrap()
+					.returnType() : implParam;
+			if (samParam != specialized && samParam.isAssignableFrom(specialized)) {
+				instantiated = instantiated.changeParameterType(i, specialized);
+			}
+		}
+
+		return instantiated;
+	}
+
+	/**
+	 * @param direct a direct method handle
+	 * @return {@code true} if the class declaring the target of the handle and every type
+	 *         in its signature are visible from {@link Reflector}'s class loader
+	 */
+	static boolean isVisible(MethodHandle direct) {
+		MethodHandleInfo info = LOOKUP.revealDirect(direct);
+
+		if (!isVisible(info.getDeclaringClass()) || !isVisible(direct.type().returnType())) {
+			return false;
+		}
+
+		for (Class<?> param : direct.type().parameterArray()) {
+			if (!isVisible(param)) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * @param type a class
+	 * @return {@code true} if the class, or its component type, can be found by name from
+	 *         {@link Reflector}'s class loader
+	 */
+	static boolean isVisible(Class<?> type) {
+		while (type.isArray()) {
+			type = type.getComponentType();
+		}
+
+		if (type.isPrimitive()) {
+			return true;
+		}
+
+		ClassLoader loader = LambdaCompiler.class.getClassLoader();
+		try {
+			return Class.forName(type.getName(), false, loader) == type;
+		} catch (ClassNotFoundException | LinkageError e) {
+			return false;
+		}
+	}
+
+}
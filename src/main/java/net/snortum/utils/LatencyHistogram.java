@@ -0,0 +1,204 @@
+/*
+ * Licensed under the Creative Commons Attribution-ShareAlike 4.0 International
+ *
+ * https://creativecommons.org/licenses/by-sa/4.0/
+ */
+package net.snortum.utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * <p>A histogram of durations in nanoseconds, cheap enough to record on every invocation.</p>
+ *
+ * <p>Durations are counted in buckets on a log scale: each power of two is split into four
+ * buckets, so a percentile is accurate to within 25%.  Durations from one nanosecond to about
+ * eighteen minutes have their own buckets; longer ones go in the last bucket.</p>
+ *
+ * <p>Recording never locks.  The buckets are kept in stripes, and each thread counts into the
+ * stripe picked by its id, so threads recording at high rates rarely increment the same
+ * counter.  Reading sums the stripes, so a snapshot taken while threads are recording may be
+ * slightly out of date, but never torn within a bucket.</p>
+ *
+ * @author Knute Snortum
+ * @version 2026.10.17
+ */
+public final class LatencyHistogram {
+
+	/** Buckets per power of two, as a shift */
+	private static final int SUB_BITS = 2;
+	private static final int SUB_BUCKETS = 1 << SUB_BITS;
+
+	/** The largest power of two with its own buckets */
+	private static final int MAX_POWER = 40;
+
+	/** Number of buckets per stripe */
+	static final int BUCKETS = (MAX_POWER - SUB_BITS + 2) * SUB_BUCKETS;
+
+	private static final int MAX_STRIPES = 4;
+
+	private final AtomicLongArray[] stripes;
+	private final AtomicLong max = new AtomicLong();
+
+	/** Create an empty histogram. */
+	public LatencyHistogram() {
+		int count = 1;
+		int processors = Runtime.getRuntime().availableProcessors();
+		while (count < processors && count < MAX_STRIPES) {
+			count *= 2;
+		}
+
+		stripes = new AtomicLongArray[count];
+		for (int i = 0; i < count; i++) {
+			stripes[i] = new AtomicLongArray(BUCKETS);
+		}
+	}
+
+	/**
+	 * Count one duration.
+	 *
+	 * @param nanos the duration in nanoseconds; negative durations count as zero
+	 */
+	public void record(long nanos) {
+		long value = Math.max(nanos, 0);
+		stripes[stripe()].getAndIncrement(bucketOf(value));
+
+		long current = max.get();
+		while (value > current && !max.compareAndSet(current, value)) {
+			current = max.get();
+		}
+	}
+
+	/** @return the number of durations recorded */
+	public long getCount() {
+		long count = 0;
+		for (AtomicLongArray stripe : stripes) {
+			for (int i = 0; i < BUCKETS; i++) {
+				count += stripe.get(i);
+			}
+		}
+
+		return count;
+	}
+
+	/** @return the longest duration recorded, or zero if there are none */
+	public long getMax() {
+		return max.get();
+	}
+
+	/** @return the mean duration, from the middle of each bucket, or zero if there are none */
+	public double getMean() {
+		long[] counts = counts();
+		long longest = getMax();
+		long count = 0;
+		double total = 0;
+
+		for (int i = 0; i < BUCKETS; i++) {
+			if (counts[i] > 0) {
+				count += counts[i];
+				total += counts[i] * (lowerBound(i) + Math.min(upperBound(i), longest)) / 2.0;
+			}
+		}
+
+		return count == 0 ? 0 : total / count;
+	}
+
+	/**
+	 * Get the duration that this fraction of the recorded durations do not exceed.
+	 *
+	 * @param fraction the fraction, such as {@code 0.99} for the 99th percentile
+	 * @return the upper bound of the bucket holding that duration, or zero if there are none
+	 * @throws IllegalArgumentException if the fraction is not between zero and one
+	 */
+	public long getPercentile(double fraction) {
+		if (!(fraction >= 0 && fraction <= 1)) {
+			throw new IllegalArgumentException("Fraction must be between 0 and 1: " + fraction);
+		}
+
+		long[] counts = counts();
+		long count = 0;
+		for (long bucket : counts) {
+			count += bucket;
+		}
+
+		if (count == 0) {
+			return 0;
+		}
+
+		long rank = Math.max(1, (long) Math.ceil(fraction * count));
+		long seen = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			seen += counts[i];
+			if (seen >= rank) {
+				return Math.min(upperBound(i), getMax());
+			}
+		}
+
+		return getMax();
+	}
+
+	/** Forget every recorded duration. */
+	public void reset() {
+		for (AtomicLongArray stripe : stripes) {
+			for (int i = 0; i < BUCKETS; i++) {
+				stripe.set(i, 0);
+			}
+		}
+
+		max.set(0);
+	}
+
+	/** @return the count in each bucket, summed over the stripes */
+	long[] counts() {
+		long[] counts = new long[BUCKETS];
+		for (AtomicLongArray stripe : stripes) {
+			for (int i = 0; i < BUCKETS; i++) {
+				counts[i] += stripe.get(i);
+			}
+		}
+
+		return counts;
+	}
+
+	/** @return the bucket a duration is counted in */
+	static int bucketOf(long nanos) {
+		if (nanos < SUB_BUCKETS) {
+			return (int) nanos;
+		}
+
+		int power = 63 - Long.numberOfLeadingZeros(nanos);
+		if (power > MAX_POWER) {
+			return BUCKETS - 1;
+		}
+
+		int sub = (int) (nanos >>> (power - SUB_BITS)) & (SUB_BUCKETS - 1);
+		return (power - SUB_BITS + 1) * SUB_BUCKETS + sub;
+	}
+
+	/** @return the shortest duration counted in a bucket */
+	static long lowerBound(int bucket) {
+		if (bucket < SUB_BUCKETS) {
+			return bucket;
+		}
+
+		int power = bucket / SUB_BUCKETS + SUB_BITS - 1;
+		long sub = bucket % SUB_BUCKETS;
+		return (1L << power) + (sub << (power - SUB_BITS));
+	}
+
+	/** @return the longest duration counted in a bucket */
+	static long upperBound(int bucket) {
+		if (bucket == BUCKETS - 1) {
+			return Long.MAX_VALUE;
+		}
+
+		return lowerBound(bucket + 1) - 1;
+	}
+
+	private int stripe() {
+		long id = Thread.currentThread().getId();
+		int hash = (int) (id ^ (id >>> 32)) * 0x9E3779B9;
+		return (hash >>> 16) & (stripes.length - 1);
+	}
+
+}
@@ -0,0 +1,32 @@
+/*
+ * Licensed under the Creative Commons Attribution-ShareAlike 4.0 International
+ *
+ * https://creativecommons.org/licenses/by-sa/4.0/
+ */
+package net.snortum.utils;
+
+import java.net.URLClassLoader;
+
+/**
+ * The kinds of class loader a {@link Reflector} or {@link LoaderRegistry} can build from jar
+ * paths.
+ *
+ * @author Knute Snortum
+ * @version 2026.10.17
+ * @see Reflector#setLoaderKind(LoaderKind)
+ */
+public enum LoaderKind {
+
+	/**
+	 * A {@link URLClassLoader}, which can load from any URL: jar files, directories or
+	 * remote locations.  This is the default.
+	 */
+	URL,
+
+	/**
+	 * A {@link JarClassLoader}, which reads class bytes from memory-mapped jar files and
+	 * loads classes in parallel.  Every path must be a {@code file:} URL of a jar file.
+	 */
+	JAR
+
+}
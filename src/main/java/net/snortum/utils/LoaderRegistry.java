@@ -0,0 +1,302 @@
+/*
+ * Licensed under the Creative Commons Attribution-ShareAlike 4.0 International
+ *
+ * https://creativecommons.org/licenses/by-sa/4.0/
+ */
+package net.snortum.utils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ClassLoadingMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>A registry of reference-counted {@link URLClassLoader}s and {@link JarClassLoader}s, so
+ * that loading classes from the same jar files again does not re-read the jars and re-define
+ * every class.</p>
+ *
+ * <p>{@link #acquire(LoaderKind, ClassLoader, URL...)} hands back the same class loader for
+ * the same kind, URLs and parent, and counts a reference to it.  {@link #release(ClassLoader)} drops the
+ * reference; when the last one is dropped the loader is closed and forgotten, so that it
+ * and its classes can be unloaded once nothing else refers to them.  {@link Reflector} uses
+ * the shared registry in {@link Reflector#loadClassLoader(ClassLoader, String...)} and
+ * releases its loader in {@link Reflector#close()}.</p>
+ *
+ * @author Knute Snortum
+ * @version 2026.10.17
+ */
+public final class LoaderRegistry {
+
+	private static final LoaderRegistry SHARED = new LoaderRegistry();
+
+	/** Loaders by parent and URLs */
+	private final Map<LoaderKey, Entry> byKey = new HashMap<>();
+
+	/** The same entries, by loader */
+	private final Map<ClassLoader, Entry> byLoader = new IdentityHashMap<>();
+
+	private final LongAdder loadersCreated = new LongAdder();
+	private final LongAdder loadersClosed = new LongAdder();
+	private final LongAdder classesDefined = new LongAdder();
+	private final LongAdder classesReleased = new LongAdder();
+
+	/** Create an empty registry.  Most callers should use {@link #shared()}. */
+	public LoaderRegistry() {
+	}
+
+	/** @return the registry used by {@link Reflector} */
+	public static LoaderRegistry shared() {
+		return SHARED;
+	}
+
+	/**
+	 * Get the {@link URLClassLoader} for these URLs and this parent, creating it if there is
+	 * no live one, and count a reference to it.  Every call must be matched by a call to
+	 * {@link #release(ClassLoader)}.
+	 *
+	 * @param parent the parent class loader, or {@code null} for the bootstrap class loader
+	 * @param urls the URLs to load classes and resources from
+	 * @return the shared class loader
+	 */
+	public ClassLoader acquire(ClassLoader parent, URL... urls) {
+		return acquire(LoaderKind.URL, parent, urls);
+	}
+
+	/**
+	 * Get the class loader of this kind for these URLs and this parent, creating it if there
+	 * is no live one, and count a reference to it.  Every call must be matched by a call to
+	 * {@link #release(ClassLoader)}.
+	 *
+	 * @param kind the kind of class loader
+	 * @param parent the parent class loader, or {@code null} for the bootstrap class loader
+	 * @param urls the URLs to load classes and resources from
+	 * @return the shared class loader
+	 * @throws UncheckedIOException if a {@link LoaderKind#JAR} loader cannot read a jar
+	 */
+	public ClassLoader acquire(LoaderKind kind, ClassLoader parent, URL... urls) {
+		if (kind == null) {
+			throw new IllegalArgumentException("Loader kind cannot be null");
+		}
+
+		LoaderKey key = new LoaderKey(kind, parent, urls);
+		long start;
+		Entry entry;
+
+		synchronized (this) {
+			entry = byKey.get(key);
+
+			if (entry != null) {
+				entry.references++;
+				return entry.loader;
+			}
+
+			start = System.nanoTime();
+			entry = new Entry(key, create(kind, parent, urls));
+			byKey.put(key, entry);
+			byLoader.put(entry.loader, entry);
+			loadersCreated.increment();
+			entry.references++;
+		}
+
+		ReflectorMetrics.loaderCreated(entry.loader, urls, start);
+		return entry.loader;
+	}
+
+	private ClassLoader create(LoaderKind kind, ClassLoader parent, URL[] urls) {
+		if (kind == LoaderKind.URL) {
+			return new CountingClassLoader(urls, parent, classesDefined);
+		}
+
+		try {
+			return new JarClassLoader(urls, parent, classesDefined);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Drop a reference to a class loader from {@link #acquire(ClassLoader, URL...)}.  When the
+	 * last reference is dropped the loader is closed.  Classes it has already defined keep
+	 * working, but it cannot load any more.  Loaders this registry did not create are ignored.
+	 * If closing fails, the loader is still forgotten, and counted as closed.
+	 *
+	 * @param loader the class loader
+	 * @return {@code true} if the class loader was closed
+	 * @throws UncheckedIOException if the class loader could not be closed
+	 */
+	public boolean release(ClassLoader loader) {
+		ClassLoader closing;
+
+		synchronized (this) {
+			Entry entry = byLoader.get(loader);
+
+			if (entry == null || --entry.references > 0) {
+				return false;
+			}
+
+			byLoader.remove(loader);
+			byKey.remove(entry.key);
+			closing = entry.loader;
+		}
+
+		try {
+			((Closeable) closing).close();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		} finally {
+			loadersClosed.increment();
+			classesReleased.add(closing instanceof JarClassLoader
+					? ((JarClassLoader) closing).getClassesDefined()
+					: ((CountingClassLoader) closing).getClassesDefined());
+			ReflectorMetrics.loaderClosed(closing);
+		}
+		return true;
+	}
+
+	/**
+	 * @param loader a class loader
+	 * @return the number of references to this loader, or zero if it is not live in this
+	 *         registry
+	 */
+	public synchronized int getReferences(ClassLoader loader) {
+		Entry entry = byLoader.get(loader);
+		return entry == null ? 0 : entry.references;
+	}
+
+	/** @return the number of class loaders in this registry that have not been closed */
+	public synchronized int getLiveLoaders() {
+		return byKey.size();
+	}
+
+	/** @return the number of class loaders this registry has created */
+	public long getLoadersCreated() {
+		return loadersCreated.sum();
+	}
+
+	/** @return the number of class loaders this registry has closed */
+	public long getLoadersClosed() {
+		return loadersClosed.sum();
+	}
+
+	/** @return the number of classes defined by loaders from this registry, live or closed */
+	public long getClassesDefined() {
+		return classesDefined.sum();
+	}
+
+	/**
+	 * @return the number of classes defined by loaders this registry has closed; their
+	 *         metaspace is reclaimed when the garbage collector unloads them
+	 */
+	public long getClassesReleased() {
+		return classesReleased.sum();
+	}
+
+	/** @return the number of classes the JVM has unloaded since it started, from any loader */
+	public static long getUnloadedClassCount() {
+		ClassLoadingMXBean bean = ManagementFactory.getClassLoadingMXBean();
+		return bean.getUnloadedClassCount();
+	}
+
+	/**
+	 * @return the bytes of metaspace in use, or -1 if the JVM does not report a
+	 *         "Metaspace" memory pool.  Compare readings taken before and after loaders
+	 *         are released and a collection has run to see how much was reclaimed.
+	 */
+	public static long getMetaspaceUsed() {
+		for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+			if ("Metaspace".equals(pool.getName())) {
+				return pool.getUsage().getUsed();
+			}
+		}
+
+		return -1;
+	}
+
+	private static final class Entry {
+		final LoaderKey key;
+		final ClassLoader loader;
+		int references;
+
+		Entry(LoaderKey key, ClassLoader loader) {
+			this.key = key;
+			this.loader = loader;
+		}
+	}
+
+	/**
+	 * Key of a class loader: its kind, its parent and its URLs.  URLs are compared by their external
+	 * form; {@link URL#equals(Object)} may resolve host names.
+	 */
+	private static final class LoaderKey {
+		private final LoaderKind kind;
+		private final ClassLoader parent;
+		private final String[] urls;
+		private final int hash;
+
+		LoaderKey(LoaderKind kind, ClassLoader parent, URL[] urls) {
+			this.kind = kind;
+			this.parent = parent;
+			this.urls = new String[urls.length];
+
+			for (int i = 0; i < urls.length; i++) {
+				this.urls[i] = urls[i].toExternalForm();
+			}
+
+			this.hash = 31 * (31 * kind.hashCode() + System.identityHashCode(parent))
+					+ Arrays.hashCode(this.urls);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof LoaderKey)) {
+				return false;
+			}
+
+			LoaderKey other = (LoaderKey) obj;
+			return kind == other.kind && parent == other.parent && Arrays.equals(urls, other.urls);
+		}
+	}
+
+	/** A {@link URLClassLoader} that counts the classes it defines */
+	private static final class CountingClassLoader extends URLClassLoader {
+
+		static {
+			ClassLoader.registerAsParallelCapable();
+		}
+
+		private final LongAdder registryCount;
+		private final LongAdder defined = new LongAdder();
+
+		CountingClassLoader(URL[] urls, ClassLoader parent, LongAdder registryCount) {
+			super(urls, parent);
+			this.registryCount = registryCount;
+		}
+
+		@Override
+		protected Class<?> findClass(String name) throws ClassNotFoundException {
+			Class<?> found = super.findClass(name);
+			defined.increment();
+			registryCount.increment();
+			return found;
+		}
+
+		long getClassesDefined() {
+			return defined.sum();
+		}
+	}
+
+}
@@ -0,0 +1,110 @@
+/*
+ * Licensed under the Creative Commons Attribution-ShareAlike 4.0 International
+ *
+ * https://creativecommons.org/licenses/by-sa/4.0/
+ */
+package net.snortum.utils;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongFunction;
+
+/**
+ * <p>How a {@link MemoizedCall} bounds its results: by the number of results or their total
+ * weight, and optionally for how long a result may be used after it was computed.  A policy
+ * is immutable:</p>
+ * <pre>
+ *     MemoPolicy policy = MemoPolicy.maximumSize(10_000).expireAfterWrite(5, TimeUnit.MINUTES);
+ *     MemoPolicy bySize = MemoPolicy.maximumWeight(64 &lt;&lt; 20, result -&gt; ((String) result).length());</pre>
+ *
+ * @author Knute Snortum
+ * @version 2026.10.17
+ */
+public final class MemoPolicy {
+
+	private final long maximum;
+	private final ToLongFunction<Object> weigher;
+	private final long expireNanos;
+
+	private MemoPolicy(long maximum, ToLongFunction<Object> weigher, long expireNanos) {
+		this.maximum = maximum;
+		this.weigher = weigher;
+		this.expireNanos = expireNanos;
+	}
+
+	/**
+	 * @param entries the most results to keep
+	 * @return a policy keeping at most this many results, which never expire
+	 * @throws IllegalArgumentException if the number is not positive
+	 */
+	public static MemoPolicy maximumSize(long entries) {
+		if (entries <= 0) {
+			throw new IllegalArgumentException("The maximum size must be positive: " + entries);
+		}
+		return new MemoPolicy(entries, null, 0);
+	}
+
+	/**
+	 * @param weight the most total weight of results to keep
+	 * @param weigher the weight of a result, zero or more; a result heavier than the maximum
+	 *        is returned but not kept
+	 * @return a policy keeping results up to this total weight, which never expire
+	 * @throws IllegalArgumentException if the weight is not positive
+	 */
+	public static MemoPolicy maximumWeight(long weight, ToLongFunction<Object> weigher) {
+		if (weight <= 0) {
+			throw new IllegalArgumentException("The maximum weight must be positive: " + weight);
+		}
+		if (weigher == null) {
+			throw new IllegalArgumentException("The weigher may not be null");
+		}
+		return new MemoPolicy(weight, weigher, 0);
+	}
+
+	/**
+	 * @param duration how long a result may be used after it was computed
+	 * @param unit the unit of the duration
+	 * @return a policy like this one whose results expire
+	 * @throws IllegalArgumentException if the duration is not positive
+	 */
+	public MemoPolicy expireAfterWrite(long duration, TimeUnit unit) {
+		if (duration <= 0) {
+			throw new IllegalArgumentException("The duration must be positive: " + duration);
+		}
+		return new MemoPolicy(maximum, weigher, unit.toNanos(duration));
+	}
+
+	/** @return the most results, or the most total weight, to keep */
+	long getMaximum() {
+		return maximum;
+	}
+
+	/** @return the weight of this result, which is 1 without a weigher */
+	long weigh(Object result) {
+		if (weigher == null) {
+			return 1;
+		}
+
+		long weight = weigher.applyAsLong(result);
+		if (weight < 0) {
+			throw new IllegalArgumentException("Negative weight " + weight + " for " + result);
+		}
+		return weight;
+	}
+
+	/** @return whether results are bounded by weight instead of count */
+	boolean isWeighed() {
+		return weigher != null;
+	}
+
+	/** @return how long results may be used, in nanoseconds, or 0 if they never expire */
+	long getExpireNanos() {
+		return expireNanos;
+	}
+
+	@Override
+	public String toString() {
+		return "MemoPolicy[" + (weigher == null ? "maximumSize=" : "maximumWeight=") + maximum
+				+ (expireNanos == 0 ? "" : ", expireAfterWrite=" + expireNanos + "ns") + "]";
+	}
+
+}
@@ -0,0 +1,501 @@
+/*
+ * Licensed under the Creative Commons Attribution-ShareAlike 4.0 International
+ *
+ * https://creativecommons.org/licenses/by-sa/4.0/
+ */
+package net.snortum.utils;
+
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * <p>A {@link BoundCall} whose results are remembered by their arguments, for pure methods,
+ * such as parsers and lookups, that are expensive and called repeatedly with the same
+ * arguments.  Arguments are compared with {@link Arrays#deepEquals(Object[], Object[])}, and
+ * array arguments are copied, at every depth, before they are remembered, so changing them
+ * later does not change what is remembered:</p>
+ * <pre>
+ *     r.loadMethod("parse", String.class);
+ *     MemoizedCall parse = r.memoize(MemoPolicy.maximumSize(10_000));
+ *     Object parsed = parse.invoke(text);
+ *     double hitRatio = parse.getHitRatio();</pre>
+ *
+ * <p>Finding a remembered result usually takes no lock.  When a new result would go over the
+ * {@link MemoPolicy} bound, a few remembered results are sampled and the one used least
+ * often recently is the victim, but only if the new result's arguments have been asked for
+ * more often than the victim's; otherwise the new result is not kept.  How often arguments
+ * are asked for is counted by a small {@link FrequencySketch}, including the misses, so a
+ * burst of arguments that are used once does not push out results that are used
+ * repeatedly.  Each thread counts its hits in a buffer of its own, and adds them to the
+ * sketch, under the lock, every {@value #HIT_BUFFER} hits or when it next stores a result, so
+ * that a hit does not write to memory other threads share.</p>
+ *
+ * <p>Callers that miss at the same time may each invoke the method; the last result is kept.
+ * Failed invocations are reported as by the bound call and are never remembered.  A memoized
+ * call is thread-safe.</p>
+ *
+ * @author Knute Snortum
+ * @version 2026.10.17
+ */
+public final class MemoizedCall {
+
+	private static final Object[] NO_ARGS = {};
+
+	/** How many remembered results are compared to choose a victim */
+	private static final int SAMPLES = 8;
+
+	/** How many hits a thread buffers before adding them to the sketch */
+	private static final int HIT_BUFFER = 32;
+
+	private final BoundCall call;
+	private final FailurePolicy failures;
+	private final MemoPolicy policy;
+	private final long maximum;
+	private final long expireNanos;
+
+	private final ConcurrentMap<Key, Entry> entries = new ConcurrentHashMap<>();
+
+	/** Guards the slots, the weight, the sequence and the sketch */
+	private final ReentrantLock lock = new ReentrantLock();
+
+	/** Every remembered result, so that victims can be sampled; each knows its slot */
+	private Entry[] slots = new Entry[16];
+	private int count;
+	private long weight;
+	private long sequence;
+	private final FrequencySketch sketch;
+
+	/** The hits each thread has not added to the sketch yet */
+	private final ThreadLocal<HitBuffer> hitBuffers = ThreadLocal.withInitial(HitBuffer::new);
+
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+	private final LongAdder rejections = new LongAdder();
+	private final LongAdder expirations = new LongAdder();
+
+	/**
+	 * @param call the call to remember the results of
+	 * @param failures how failed invocations are reported
+	 * @param policy how results are bounded
+	 */
+	MemoizedCall(BoundCall call, FailurePolicy failures, MemoPolicy policy) {
+		this.call = call;
+		this.failures = failures;
+		this.policy = policy;
+		this.maximum = policy.getMaximum();
+		this.expireNanos = policy.getExpireNanos();
+		this.sketch = new FrequencySketch(policy.isWeighed() ? 16 : maximum);
+	}
+
+	/**
+	 * Returns the result remembered for these arguments, or invokes the method as
+	 * {@link BoundCall#invoke(Object...)} does and remembers its result.
+	 *
+	 * @param <T> the type of the result of invoking the method
+	 * @param params zero or more parameters for the invoked method
+	 * @return the result of invoking the method, or {@code null} if the context is void or
+	 *         an error is encountered
+	 * @throws ReflectorException if the invocation fails and the failure mode is
+	 *         {@link FailureMode#THROW}
+	 */
+	@SuppressWarnings("unchecked") /* We assume the caller knows what type is returned */
+	public <T> T invoke(Object... params) {
+		Key key = new Key(params);
+		Entry entry = find(key);
+		if (entry != null) {
+			return (T) entry.value;
+		}
+
+		try {
+			return (T) compute(key, params);
+		} catch (Throwable e) {
+			failures.handle(e, ReflectorException.Kind.INVOCATION_FAILED);
+			return null;
+		}
+	}
+
+	/**
+	 * Returns the result remembered for these arguments, or invokes the method as
+	 * {@link BoundCall#tryInvoke(Object...)} does and remembers its result if it succeeds.
+	 *
+	 * @param <T> the type of the result of invoking the method
+	 * @param params zero or more parameters for the invoked method
+	 * @return the result of invoking the method, or the failure
+	 */
+	@SuppressWarnings("unchecked") /* We assume the caller knows what type is returned */
+	public <T> Result<T> tryInvoke(Object... params) {
+		Key key = new Key(params);
+		Entry entry = find(key);
+		if (entry != null) {
+			return Result.success((T) entry.value);
+		}
+
+		try {
+			return Result.success((T) compute(key, params));
+		} catch (Throwable e) {
+			return Result.failure(failures.failure(e, ReflectorException.Kind.INVOCATION_FAILED));
+		}
+	}
+
+	/** @return the live result for the key, counting a hit or a miss */
+	private Entry find(Key key) {
+		Entry entry = entries.get(key);
+		if (entry != null) {
+			if (expireNanos == 0 || System.nanoTime() - entry.written < expireNanos) {
+				hits.increment();
+				countHit(key.hash);
+				return entry;
+			}
+			expire(entry);
+		}
+
+		misses.increment();
+		return null;
+	}
+
+	/** Invoke the method and remember its result */
+	private Object compute(Key key, Object[] params) throws Throwable {
+		Key stored = key.copy();
+		Object value = call.invokeOrThrow(params);
+		long weight = policy.weigh(value);
+		long written = expireNanos == 0 ? 0 : System.nanoTime();
+
+		lock.lock();
+		try {
+			addHits(hitBuffers.get());
+			sketch.increment(key.hash);
+			if (weight > maximum) {
+				rejections.increment();
+				return value;
+			}
+
+			Entry fresh = new Entry(stored, value, weight, written, sequence++);
+			Entry old = entries.put(stored, fresh);
+			if (old != null) {
+				unlink(old);
+			}
+			link(fresh);
+			evictFor(fresh);
+		} finally {
+			lock.unlock();
+		}
+
+		return value;
+	}
+
+	/** Buffer a hit, adding the buffer to the sketch when it is full */
+	private void countHit(int hash) {
+		HitBuffer buffer = hitBuffers.get();
+		buffer.hashes[buffer.size++] = hash;
+
+		if (buffer.size == HIT_BUFFER) {
+			lock.lock();
+			try {
+				addHits(buffer);
+			} finally {
+				lock.unlock();
+			}
+		}
+	}
+
+	/** Add the buffered hits to the sketch; the lock must be held */
+	private void addHits(HitBuffer buffer) {
+		for (int i = 0; i < buffer.size; i++) {
+			sketch.increment(buffer.hashes[i]);
+		}
+		buffer.size = 0;
+	}
+
+	/** Evict results until the new one fits, or drop the new one if it is worth less */
+	private void evictFor(Entry fresh) {
+		int frequency = sketch.frequency(fresh.key.hash);
+		long now = expireNanos == 0 ? 0 : System.nanoTime();
+
+		while (weight > maximum) {
+			Entry victim = sample(fresh, now);
+			if (victim == null) {
+				break;
+			}
+
+			if (expireNanos != 0 && now - victim.written >= expireNanos) {
+				remove(victim);
+				expirations.increment();
+			} else if (sketch.frequency(victim.key.hash) >= frequency) {
+				remove(fresh);
+				rejections.increment();
+				break;
+			} else {
+				remove(victim);
+				evictions.increment();
+			}
+		}
+	}
+
+	/**
+	 * @return an expired result, or else the least frequently used of a few results, the
+	 *         oldest if they tie; {@code null} if there are no others
+	 */
+	private Entry sample(Entry exclude, long now) {
+		if (count <= 1) {
+			return null;
+		}
+
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		Entry victim = null;
+		int victimFrequency = Integer.MAX_VALUE;
+
+		for (int i = 0; i < SAMPLES; i++) {
+			Entry entry = slots[random.nextInt(count)];
+			if (entry == exclude) {
+				continue;
+			}
+			if (expireNanos != 0 && now - entry.written >= expireNanos) {
+				return entry;
+			}
+
+			int frequency = sketch.frequency(entry.key.hash);
+			if (frequency < victimFrequency
+					|| (frequency == victimFrequency && entry.sequence < victim.sequence)) {
+				victim = entry;
+				victimFrequency = frequency;
+			}
+		}
+
+		return victim != null ? victim : slots[exclude.slot == 0 ? 1 : 0];
+	}
+
+	private void expire(Entry entry) {
+		lock.lock();
+		try {
+			if (entry.slot >= 0) {
+				remove(entry);
+				expirations.increment();
+			}
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private void remove(Entry entry) {
+		entries.remove(entry.key, entry);
+		unlink(entry);
+	}
+
+	private void link(Entry entry) {
+		if (count == slots.length) {
+			slots = Arrays.copyOf(slots, count * 2);
+		}
+		slots[count] = entry;
+		entry.slot = count++;
+		weight += entry.weight;
+
+		if (policy.isWeighed()) {
+			sketch.ensureCapacity(count);
+		}
+	}
+
+	private void unlink(Entry entry) {
+		Entry last = slots[--count];
+		slots[entry.slot] = last;
+		last.slot = entry.slot;
+		slots[count] = null;
+		entry.slot = -1;
+		weight -= entry.weight;
+	}
+
+	/**
+	 * Forget the result for these arguments.
+	 *
+	 * @param params the parameters the method was invoked with
+	 */
+	public void invalidate(Object... params) {
+		lock.lock();
+		try {
+			Entry entry = entries.get(new Key(params));
+			if (entry != null) {
+				remove(entry);
+			}
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/** Forget every result.  The statistics are kept. */
+	public void invalidateAll() {
+		lock.lock();
+		try {
+			entries.clear();
+			for (int i = 0; i < count; i++) {
+				slots[i].slot = -1;
+				slots[i] = null;
+			}
+			count = 0;
+			weight = 0;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/** @return the call whose results are remembered */
+	public BoundCall getCall() {
+		return call;
+	}
+
+	/** @return the policy bounding the remembered results */
+	public MemoPolicy getPolicy() {
+		return policy;
+	}
+
+	/** @return the number of results remembered */
+	public int getSize() {
+		return entries.size();
+	}
+
+	/** @return the total weight of the results remembered, which is their number without a weigher */
+	public long getWeight() {
+		lock.lock();
+		try {
+			return weight;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/** @return the number of invocations answered with a remembered result */
+	public long getHits() {
+		return hits.sum();
+	}
+
+	/** @return the number of invocations that invoked the method */
+	public long getMisses() {
+		return misses.sum();
+	}
+
+	/** @return the share of invocations answered with a remembered result, or 0 if none */
+	public double getHitRatio() {
+		long hit = hits.sum();
+		long total = hit + misses.sum();
+		return total == 0 ? 0 : (double) hit / total;
+	}
+
+	/** @return the number of results evicted to make room for more frequently used ones */
+	public long getEvictions() {
+		return evictions.sum();
+	}
+
+	/** @return the number of new results not kept, because they were used less than the
+	 *         results they would have evicted or weighed more than the maximum */
+	public long getRejections() {
+		return rejections.sum();
+	}
+
+	/** @return the number of results removed because they expired */
+	public long getExpirations() {
+		return expirations.sum();
+	}
+
+	/** Reset the statistics to zero */
+	public void resetStatistics() {
+		hits.reset();
+		misses.reset();
+		evictions.reset();
+		rejections.reset();
+		expirations.reset();
+	}
+
+	@Override
+	public String toString() {
+		return "MemoizedCall[" + call + ", " + policy + ", size=" + getSize() + ", hitRatio="
+				+ getHitRatio() + "]";
+	}
+
+	/** The arguments of an invocation */
+	private static final class Key {
+		final Object[] args;
+		final int hash;
+
+		Key(Object[] args) {
+			this(args == null ? NO_ARGS : args, args == null ? 1 : Arrays.deepHashCode(args));
+		}
+
+		private Key(Object[] args, int hash) {
+			this.args = args;
+			this.hash = hash;
+		}
+
+		/** @return a key the caller cannot change by changing its argument arrays */
+		Key copy() {
+			return new Key(deepCopy(args), hash);
+		}
+
+		/** @return a copy of the array, and of every array in it, at any depth */
+		private static Object[] deepCopy(Object[] array) {
+			Object[] copy = array.clone();
+
+			for (int i = 0; i < copy.length; i++) {
+				Object element = copy[i];
+				if (element instanceof Object[]) {
+					copy[i] = deepCopy((Object[]) element);
+				} else if (element != null && element.getClass().isArray()) {
+					int length = Array.getLength(element);
+					Object primitives = Array.newInstance(element.getClass().getComponentType(),
+							length);
+					System.arraycopy(element, 0, primitives, 0, length);
+					copy[i] = primitives;
+				}
+			}
+
+			return copy;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (!(o instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) o;
+			return hash == other.hash && Arrays.deepEquals(args, other.args);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+	}
+
+	/** The hashes of the arguments of hits one thread has not added to the sketch yet */
+	private static final class HitBuffer {
+		final int[] hashes = new int[HIT_BUFFER];
+		int size;
+	}
+
+	/** A remembered result */
+	private static final class Entry {
+		final Key key;
+		final Object value;
+		final long weight;
+		final long written;
+		final long sequence;
+
+		/** The index in the slots, or -1 once removed; guarded by the lock */
+		int slot;
+
+		Entry(Key key, Object value, long weight, long written, long sequence) {
+			this.key = key;
+			this.value = value;
+			this.weight = weight;
+			this.written = written;
+			this.sequence = sequence;
+		}
+	}
+
+}
@@ -0,0 +1,77 @@
+/*
+ * Licensed under the Creative Commons Attribution-ShareAlike 4.0 International
+ *
+ * https://creativecommons.org/licenses/by-sa/4.0/
+ */
+package net.snortum.utils;
+
+/**
+ * <p>A snapshot of the metrics recorded for one method by {@link ReflectorMetrics}.  It does
+ * not change as more invocations are recorded.</p>
+ *
+ * @author Knute Snortum
+ * @version 2026.10.17
+ */
+public final class MethodMetrics {
+
+	private final String method;
+	private final long invocations;
+	private final long errors;
+	private final double meanNanos;
+	private final long medianNanos;
+	private final long p99Nanos;
+	private final long maxNanos;
+
+	MethodMetrics(String method, long errors, LatencyHistogram latency) {
+		this.method = method;
+		this.invocations = latency.getCount();
+		this.errors = errors;
+		this.meanNanos = latency.getMean();
+		this.medianNanos = latency.getPercentile(0.5);
+		this.p99Nanos = latency.getPercentile(0.99);
+		this.maxNanos = latency.getMax();
+	}
+
+	/** @return the method, as returned by {@link java.lang.reflect.Method#toString()} */
+	public String getMethod() {
+		return method;
+	}
+
+	/** @return the number of invocations recorded, including those that failed */
+	public long getInvocations() {
+		return invocations;
+	}
+
+	/** @return the number of invocations that threw */
+	public long getErrors() {
+		return errors;
+	}
+
+	/** @return the mean time an invocation took, in nanoseconds */
+	public double getMeanNanos() {
+		return meanNanos;
+	}
+
+	/** @return the median time an invocation took, in nanoseconds */
+	public long getMedianNanos() {
+		return medianNanos;
+	}
+
+	/** @return the time 99% of invocations took no longer than, in nanoseconds */
+	public long getP99Nanos() {
+		return p99Nanos;
+	}
+
+	/** @return the longest time an invocation took, in nanoseconds */
+	public long getMaxNanos() {
+		return maxNanos;
+	}
+
+	@Override
+	public String toString() {
+		return method + ": " + invocations + " invocations, " + errors + " errors, mean "
+				+ Math.round(meanNanos) + " ns, median " + medianNanos + " ns, p99 " + p99Nanos
+				+ " ns, max " + maxNanos + " ns";
+	}
+
+}
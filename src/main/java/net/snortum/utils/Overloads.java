@@ -0,0 +1,413 @@
+/*
+ * Licensed under the Creative Commons Attribution-ShareAlike 4.0 International
+ *
+ * https://creativecommons.org/licenses/by-sa/4.0/
+ */
+package net.snortum.utils;
+
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * <p>Chooses the public method of a class that javac would choose for a call with arguments of
+ * these classes, following the phases of JLS 15.12.2: methods applicable by subtyping alone
+ * first, then those applicable with unboxing and primitive widening, then variable arity
+ * methods.  The most specific method of the first phase that finds any is chosen.</p>
+ *
+ * <p>Argument classes are the run-time classes of the arguments, so a boxed argument is treated
+ * as its wrapper type, and a {@code null} argument, given as a {@code null} class, is
+ * applicable to any reference parameter.  Choices are cached, and so are failures to choose,
+ * which are thrown again without a stack trace.  Failures count towards
+ * {@link ReflectorCache#MAX_FAILURES}, and are forgotten by
+ * {@link ReflectorCache#clearFailures()}.  A choice is cached with the class searched,
+ * or with an argument class whose class loader is a child of its class loader, so that it
+ * never keeps a plugin's class loader alive; a choice for classes of unrelated class loaders
+ * is not cached.</p>
+ *
+ * <p>{@link #choose(List, Class[], String)} makes the same choice among constructors or
+ * methods for arguments of static types, which may be primitive, as {@link Chain} needs.</p>
+ *
+ * @author Knute Snortum
+ * @version 2026.10.17
+ */
+final class Overloads {
+
+	/** Primitive types that widen to others, in the order of JLS 5.1.2 */
+	private static final Class<?>[] WIDENING = { byte.class, short.class, int.class, long.class,
+			float.class, double.class };
+
+	/** Choices, per class they are cached with; see {@link ReflectorCache#home} */
+	private static final ClassValue<ConcurrentMap<Key, Choice>> CHOICES =
+			new ClassValue<ConcurrentMap<Key, Choice>>() {
+				@Override
+				protected ConcurrentMap<Key, Choice> computeValue(Class<?> type) {
+					return new ConcurrentHashMap<>();
+				}
+			};
+
+	private Overloads() {
+	}
+
+	/**
+	 * Choose the method of this class to call with arguments of these classes.
+	 *
+	 * @param clazz the class to search
+	 * @param methodName the method name
+	 * @param argClasses the run-time classes of the arguments, {@code null} for a {@code null}
+	 *        argument
+	 * @return the chosen method, and how it is called
+	 * @throws NoSuchMethodException if no method is applicable, or more than one is most specific
+	 */
+	static Choice choose(Class<?> clazz, String methodName, Class<?>[] argClasses)
+			throws NoSuchMethodException {
+		Class<?> home = ReflectorCache.home(clazz, argClasses);
+		ConcurrentMap<Key, Choice> choices = home == null ? null : CHOICES.get(home);
+		Key key = new Key(clazz, methodName, argClasses);
+		Choice choice = choices == null ? null : choices.get(key);
+
+		if (choice == null || choice.method == null
+				&& choice.generation != ReflectorCache.failureGeneration()) {
+			try {
+				choice = search(clazz, methodName, argClasses);
+			} catch (NoSuchMethodException e) {
+				choice = new Choice(e.getMessage(), ReflectorCache.failureGeneration());
+			}
+			if (choices != null && (choice.method != null || ReflectorCache.rememberFailure())) {
+				choices.put(new Key(clazz, methodName, argClasses.clone()), choice);
+			}
+		}
+
+		if (choice.method == null) {
+			throw new ReflectorCache.MissingMethodException(choice.failure);
+		}
+
+		return choice;
+	}
+
+	/**
+	 * Choose the constructor or method javac would choose among these for a call with
+	 * arguments of these static types, by the first two phases of JLS 15.12.2.  Variable arity
+	 * is not considered, so a variable arity executable is only applicable to an array.
+	 *
+	 * @param <E> {@link Method} or {@link java.lang.reflect.Constructor}
+	 * @param candidates the executables with the name called, bridges included or not
+	 * @param argTypes the static types of the arguments, which may be primitive
+	 * @param call describes the call, for the message of the exception
+	 * @return the chosen executable
+	 * @throws NoSuchMethodException if none is applicable, or more than one is most specific
+	 */
+	static <E extends Executable> E choose(List<E> candidates, Class<?>[] argTypes, String call)
+			throws NoSuchMethodException {
+		return search(withoutBridges(candidates), argTypes, 2, call);
+	}
+
+	private static Choice search(Class<?> clazz, String methodName, Class<?>[] argClasses)
+			throws NoSuchMethodException {
+		List<Method> candidates = withoutBridges(ClassModel.of(clazz).getMethods(methodName));
+		String call = clazz.getName() + "." + methodName;
+		Method method = search(candidates, argClasses, 3, call);
+		return new Choice(method, !isApplicable(method, argClasses, 2));
+	}
+
+	private static <E extends Executable> List<E> withoutBridges(List<E> candidates) {
+		List<E> kept = new ArrayList<>(candidates.size());
+		for (E candidate : candidates) {
+			if (!(candidate instanceof Method) || !((Method) candidate).isBridge()) {
+				kept.add(candidate);
+			}
+		}
+		return kept;
+	}
+
+	/** Find the most specific executable of the first phase, up to this one, that finds any */
+	private static <E extends Executable> E search(List<E> candidates, Class<?>[] argTypes,
+			int lastPhase, String call) throws NoSuchMethodException {
+		for (int phase = 1; phase <= lastPhase; phase++) {
+			List<E> applicable = new ArrayList<>();
+			for (E candidate : candidates) {
+				if (isApplicable(candidate, argTypes, phase)) {
+					applicable.add(candidate);
+				}
+			}
+
+			if (!applicable.isEmpty()) {
+				return mostSpecific(applicable, argTypes.length, phase, call, argTypes);
+			}
+		}
+
+		throw new NoSuchMethodException("No " + call + " is applicable to " + describe(argTypes));
+	}
+
+	private static boolean isApplicable(Executable method, Class<?>[] argClasses, int phase) {
+		Class<?>[] params = method.getParameterTypes();
+
+		if (phase < 3) {
+			if (params.length != argClasses.length) {
+				return false;
+			}
+
+			for (int i = 0; i < params.length; i++) {
+				if (!isConvertible(argClasses[i], params[i], phase == 2)) {
+					return false;
+				}
+			}
+
+			return true;
+		}
+
+		if (!method.isVarArgs() || argClasses.length < params.length - 1) {
+			return false;
+		}
+
+		for (int i = 0; i < argClasses.length; i++) {
+			if (!isConvertible(argClasses[i], parameterAt(params, i, true), true)) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/** The type of the parameter an argument at this position is passed to */
+	private static Class<?> parameterAt(Class<?>[] params, int index, boolean varargs) {
+		if (varargs && index >= params.length - 1) {
+			return params[params.length - 1].getComponentType();
+		}
+
+		return params[index];
+	}
+
+	/**
+	 * @param arg the class of an argument, or {@code null} for a {@code null} argument
+	 * @param param the parameter type
+	 * @param loose whether boxing and unboxing are allowed
+	 * @return {@code true} if the argument can be passed to the parameter
+	 */
+	private static boolean isConvertible(Class<?> arg, Class<?> param, boolean loose) {
+		if (arg == null) {
+			return !param.isPrimitive();
+		}
+
+		if (arg.isPrimitive() == param.isPrimitive()) {
+			return isSubtype(arg, param);
+		}
+
+		if (!loose) {
+			return false;
+		}
+
+		if (arg.isPrimitive()) {
+			return param.isAssignableFrom(MethodType.methodType(arg).wrap().returnType());
+		}
+
+		Class<?> unboxed = unbox(arg);
+		return unboxed != null && isSubtype(unboxed, param);
+	}
+
+	/**
+	 * @return {@code true} if {@code a} is a subtype of {@code b}, where for primitives a
+	 *         subtype is a type that widens to the other (JLS 4.10.1)
+	 */
+	static boolean isSubtype(Class<?> a, Class<?> b) {
+		if (a == b) {
+			return true;
+		}
+
+		if (a.isPrimitive() != b.isPrimitive()) {
+			return false;
+		}
+
+		if (!a.isPrimitive()) {
+			return b.isAssignableFrom(a);
+		}
+
+		if (a == char.class) {
+			return rank(b) >= rank(int.class);
+		}
+
+		int from = rank(a);
+		return from >= 0 && rank(b) > from;
+	}
+
+	private static int rank(Class<?> primitive) {
+		for (int i = 0; i < WIDENING.length; i++) {
+			if (WIDENING[i] == primitive) {
+				return i;
+			}
+		}
+
+		return -1;
+	}
+
+	private static Class<?> unbox(Class<?> wrapper) {
+		if (wrapper == Integer.class) {
+			return int.class;
+		} else if (wrapper == Long.class) {
+			return long.class;
+		} else if (wrapper == Double.class) {
+			return double.class;
+		} else if (wrapper == Boolean.class) {
+			return boolean.class;
+		} else if (wrapper == Character.class) {
+			return char.class;
+		} else if (wrapper == Byte.class) {
+			return byte.class;
+		} else if (wrapper == Short.class) {
+			return short.class;
+		} else if (wrapper == Float.class) {
+			return float.class;
+		}
+
+		return null;
+	}
+
+	/**
+	 * Find the one most specific method (JLS 15.12.2.5).  Methods with the same parameter
+	 * types, such as an interface method and its implementation, count as one; the one from
+	 * the most specific declaring class, preferring concrete methods, is chosen.
+	 */
+	private static <E extends Executable> E mostSpecific(List<E> applicable, int argCount,
+			int phase, String call, Class<?>[] argClasses) throws NoSuchMethodException {
+		List<E> maximal = new ArrayList<>();
+
+		for (E m1 : applicable) {
+			boolean isMaximal = true;
+
+			for (E m2 : applicable) {
+				if (m1 != m2 && isMoreSpecific(m2, m1, argCount, phase)
+						&& !isMoreSpecific(m1, m2, argCount, phase)) {
+					isMaximal = false;
+					break;
+				}
+			}
+
+			if (isMaximal) {
+				maximal.add(m1);
+			}
+		}
+
+		E best = maximal.get(0);
+		for (int i = 1; i < maximal.size(); i++) {
+			E other = maximal.get(i);
+
+			if (!Arrays.equals(best.getParameterTypes(), other.getParameterTypes())) {
+				throw new NoSuchMethodException("Call to " + call + " with " + describe(argClasses)
+						+ " is ambiguous: " + best + " and " + other);
+			}
+
+			if (isPreferred(other, best)) {
+				best = other;
+			}
+		}
+
+		return best;
+	}
+
+	private static boolean isMoreSpecific(Executable m1, Executable m2, int argCount,
+			int phase) {
+		Class<?>[] params1 = m1.getParameterTypes();
+		Class<?>[] params2 = m2.getParameterTypes();
+		boolean varargs = phase == 3;
+		int count = varargs ? Math.max(argCount, Math.max(params1.length, params2.length)) : argCount;
+
+		for (int i = 0; i < count; i++) {
+			if (!isSubtype(parameterAt(params1, i, varargs), parameterAt(params2, i, varargs))) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/** Between methods with the same parameters, prefer concrete ones from subclasses */
+	private static boolean isPreferred(Executable candidate, Executable current) {
+		boolean candidateAbstract = Modifier.isAbstract(candidate.getModifiers());
+		boolean currentAbstract = Modifier.isAbstract(current.getModifiers());
+
+		if (candidateAbstract != currentAbstract) {
+			return currentAbstract;
+		}
+
+		return current.getDeclaringClass().isAssignableFrom(candidate.getDeclaringClass());
+	}
+
+	private static String describe(Class<?>[] argClasses) {
+		StringBuilder text = new StringBuilder("(");
+		for (int i = 0; i < argClasses.length; i++) {
+			if (i > 0) {
+				text.append(',');
+			}
+			text.append(argClasses[i] == null ? "null" : Signature.typeName(argClasses[i]));
+		}
+
+		return text.append(')').toString();
+	}
+
+	/**
+	 * A chosen method, and whether it is called with its variable arity; or why none was, and
+	 * in which generation of {@link ReflectorCache} failures
+	 */
+	static final class Choice {
+		final Method method;
+		final boolean varargs;
+		final String failure;
+		final int generation;
+
+		Choice(Method method, boolean varargs) {
+			this.method = method;
+			this.varargs = varargs;
+			this.failure = null;
+			this.generation = 0;
+		}
+
+		Choice(String failure, int generation) {
+			this.method = null;
+			this.varargs = false;
+			this.failure = failure;
+			this.generation = generation;
+		}
+	}
+
+	/** Key for a choice: the class searched, the method name and the argument classes */
+	private static final class Key {
+		private final Class<?> clazz;
+		private final String name;
+		private final Class<?>[] argClasses;
+		private final int hash;
+
+		Key(Class<?> clazz, String name, Class<?>[] argClasses) {
+			this.clazz = clazz;
+			this.name = name;
+			this.argClasses = argClasses;
+			this.hash = 31 * (31 * clazz.hashCode() + name.hashCode()) + Arrays.hashCode(argClasses);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+
+			Key other = (Key) obj;
+			return hash == other.hash && clazz == other.clazz && name.equals(other.name)
+					&& Arrays.equals(argClasses, other.argClasses);
+		}
+	}
+
+}
@@ -5,12 +5,20 @@
  */
 package net.snortum.utils;
 
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.URLClassLoader;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * <p>Hides some of the complexity and error checking of Reflection.</p>
@@ -38,11 +46,51 @@ import java.net.URLClassLoader;
  *     r.loadMethod(&lt;anotherMethodName&gt;);
  *     Object bar = r.invoke();</pre>    
  * 
+ * <p>Classes, constructors and methods are looked up through the process-wide
+ * {@link ReflectorCache}, so creating many short-lived Reflector objects is cheap.</p>
+ * 
+ * <p>By default the loaded method and constructor are invoked through reflection.  Pass
+ * {@link Engine#METHOD_HANDLE} to the constructor to invoke them through method handles
+ * instead:</p>
+ * <pre>
+ *     Reflector r = new Reflector(Engine.METHOD_HANDLE);</pre>
+ * 
+ * <p>A Reflector that loads classes from jar files should be closed when it is no longer
+ * needed, so that its class loader can be released; see {@link #close()}.</p>
+ * 
+ * <p>A Reflector is not thread-safe.  To share a loaded method between threads, freeze it
+ * into an immutable {@link BoundCall} with {@link #bind()}.</p>
+ * 
+ * <p>By default a failed load or invocation prints its stack trace and leaves the member
+ * unset or returns {@code null}.  Printing is slow, and synchronized on {@code System.err},
+ * so where bad class or method names are expected, choose another {@link FailureMode}, and
+ * perhaps stackless failures, and check {@link #getLastFailure()} or use
+ * {@link #tryInvoke(Object...)}:</p>
+ * <pre>
+ *     r.setFailureMode(FailureMode.QUIET);
+ *     r.setStacklessFailures(true);
+ *     r.loadMethod(name);
+ *     if (r.getLastFailure() != null) {
+ *         return NOT_FOUND;
+ *     }</pre>
+ * 
+ * <p>Failed lookups are cached by {@link ReflectorCache}, so asking again for a name that does
+ * not exist costs a map lookup, and with stackless failures no stack trace at all.  To
+ * record invocations and lookups, see {@link ReflectorMetrics}.</p>
+ * 
  * @author Knute Snortum
  * @version 2018.11.20
  */
-// TODO How to do logging
-public class Reflector {
+public class Reflector implements AutoCloseable {
+	
+	/** The engine used to invoke the loaded method and constructor */
+	private final Engine engine;
+	
+	/** Whether loaded classes are initialized when they are loaded, or when first used */
+	private boolean initializeClasses = true;
+	
+	/** The kind of class loader built from paths */
+	private LoaderKind loaderKind = LoaderKind.URL;
 	
 	/** The class loader for this session */  
 	private ClassLoader loader;
@@ -58,10 +106,61 @@ public class Reflector {
 	
 	/** The method reference for this session */
 	private Method method;
+	
+	/** The field reference for this session, or {@code null} until one is loaded */
+	private Field field;
+	
+	/** The field access for the loaded field, or {@code null} until it is needed */
+	private FieldAccess fieldAccess;
+	
+	/** The constructor handle, or {@code null} unless the engine is {@link Engine#METHOD_HANDLE} */
+	private MethodHandle constructorHandle;
+	
+	/** The bound call for the loaded method and instance, or {@code null} until it is needed */
+	private BoundCall call;
+	
+	/** The string call for {@link #call}, or {@code null} until it is needed */
+	private StringCall stringCall;
+	
+	/** The converters {@link #invokeFromStrings(String...)} chooses from */
+	private ConverterRegistry converters = ConverterRegistry.getDefault();
+	
+	/** Dynamic calls by method name, for the loaded class and instance */
+	private final Map<String, DynamicCall> dynamicCalls = new HashMap<>();
+	
+	/** How failures are reported; its listener keeps {@link #lastFailure} */
+	private FailurePolicy failures =
+			new FailurePolicy(FailureMode.PRINT, false, failure -> lastFailure = failure);
+	
+	/** The failure of the last load or invocation, or {@code null} if it succeeded */
+	private ReflectorException lastFailure;
+	
+	/**
+	 * Create a Reflector that invokes through reflection.
+	 * 
+	 * @see Engine#REFLECTION
+	 */
+	public Reflector() {
+		this(Engine.REFLECTION);
+	}
+	
+	/**
+	 * Create a Reflector that invokes through this engine.
+	 * 
+	 * @param engine the engine used to invoke the loaded method and constructor
+	 */
+	public Reflector(Engine engine) {
+		if (engine == null) {
+			throw new IllegalArgumentException("Engine cannot be null");
+		}
+		
+		this.engine = engine;
+	}
 
 	/**
 	 * Load a class reference for this fully qualified class name.  Use a
-	 * {@link URLClassLoader} built from these paths and this parent.  This class
+	 * {@link URLClassLoader} built from these paths and this parent, or the kind of
+	 * class loader chosen with {@link #setLoaderKind(LoaderKind)}.  This class
 	 * reference is typically used to find methods in a dynamically loaded
 	 * jar file.
 	 * 
@@ -75,12 +174,16 @@ public class Reflector {
 	public void loadClass(String className, ClassLoader parent,  String... paths) {
 		init();
 		loadClassLoader(parent, paths);
-		loadClass(className, loader);
+		
+		if (lastFailure == null) {
+			loadClass(className, loader);
+		}
 	}
 	
 	/**
 	 * Load a class reference for this fully qualified class name.  Use a
-	 * {@link URLClassLoader} built from these paths.  The parent of the constructed
+	 * {@link URLClassLoader} built from these paths, or the kind of class loader chosen
+	 * with {@link #setLoaderKind(LoaderKind)}.  The parent of the constructed
 	 * class loader is {@link Reflector}'s class loader.  This class reference 
 	 * is typically used to find methods in a dynamically loaded jar file.
 	 * 
@@ -93,12 +196,16 @@ public class Reflector {
 	public void loadClass(String className, String... paths) {
 		init();
 		loadClassLoader(paths);
-		loadClass(className, loader);
+		
+		if (lastFailure == null) {
+			loadClass(className, loader);
+		}
 	}
 	
 	/**
 	 * Load a class reference for this fully qualified class name and class
-	 * loader.
+	 * loader.  The class is initialized now unless {@link #setInitializeClasses(boolean)}
+	 * turned that off.
 	 * 
 	 * @param className the fully qualified class name
 	 * @param loader the class loader parent to build the class reference from 
@@ -106,23 +213,25 @@ public class Reflector {
 	public void loadClass(String className, ClassLoader loader) {
 		init();
 		try {
-			clazz = Class.forName(className, true, loader);
+			clazz = ReflectorCache.loadClass(className, initializeClasses, loader);
 		} catch (ClassNotFoundException e) {
-			e.printStackTrace();
+			failed(e, ReflectorException.Kind.CLASS_NOT_FOUND);
 		}
 	}
 	
 	/**
-	 * Load a class reference for this fully qualified class name.
+	 * Load a class reference for this fully qualified class name.  The class is initialized
+	 * now unless {@link #setInitializeClasses(boolean)} turned that off.
 	 * 
 	 * @param className the fully qualified class name
 	 */
 	public void loadClass(String className) {
 		init();
 		try {
-			clazz = Class.forName(className);
+			clazz = ReflectorCache.loadClass(className, initializeClasses,
+					Reflector.class.getClassLoader());
 		} catch (ClassNotFoundException e) {
-			e.printStackTrace();
+			failed(e, ReflectorException.Kind.CLASS_NOT_FOUND);
 		}
 	}
 	
@@ -130,13 +239,22 @@ public class Reflector {
 		this.clazz = null;
 		this.constructor = null;
 		this.method = null;
+		this.field = null;
+		this.fieldAccess = null;
 		this.instance = null;
+		this.constructorHandle = null;
+		this.call = null;
+		this.dynamicCalls.clear();
+		this.lastFailure = null;
 	}
 	
 	/**
 	 * Sets the {@link #loader} field to a {@link URLClassLoader} reference based on the paths 
-	 * and parent class loader passed.  The paths array cannot be null or empty.  If the 
-	 * parent is null then it is set to this class's class loader.
+	 * and parent class loader passed, or to a {@link JarClassLoader} if
+	 * {@link #setLoaderKind(LoaderKind)} chose one.  The paths array cannot be null or empty.
+	 * If the parent is null then it is set to this class's class loader.  The class loader is
+	 * shared through {@link LoaderRegistry#shared()}, so the same paths and parent give the
+	 * same loader; any loader this Reflector held before is released.
 	 * 
 	 * @param parent the parent class loader, or null
 	 * @param paths one or more path(s) to build the class loader with
@@ -150,6 +268,7 @@ public class Reflector {
 			parent = Reflector.class.getClassLoader();
 		}
 		
+		lastFailure = null;
 		URL[] urls = new URL[paths.length];
 		
 		for (int i = 0; i < paths.length; i++) {
@@ -157,13 +276,44 @@ public class Reflector {
     			URL url = new URL(paths[i]);
     			urls[i] = url;
     		} catch (MalformedURLException e) {
-    			e.printStackTrace();
-    			break;
+    			failed(e, ReflectorException.Kind.BAD_PATH);
+    			return;
     		}
 		}
 
-		if (urls.length > 0) {
-			loader = new URLClassLoader(urls, parent);
+		ClassLoader acquired;
+		try {
+			acquired = LoaderRegistry.shared().acquire(loaderKind, parent, urls);
+		} catch (UncheckedIOException e) {
+			failed(e.getCause(), ReflectorException.Kind.BAD_PATH);
+			return;
+		}
+		ClassLoader previous = loader;
+		loader = acquired;
+		release(previous);
+	}
+	
+	/**
+	 * Release the class loader built by {@link #loadClassLoader(ClassLoader, String...)}, if
+	 * any, back to the {@link LoaderRegistry}.  When no other Reflector is using it, it is
+	 * closed: classes already loaded from it keep working, but no more can be loaded.  Call
+	 * this when finished with a Reflector that loaded classes from jar files.  If the class
+	 * loader cannot be closed, the failure is reported in this Reflector's {@link FailureMode}.
+	 */
+	@Override
+	public void close() {
+		ClassLoader previous = loader;
+		loader = null;
+		release(previous);
+	}
+	
+	private void release(ClassLoader previous) {
+		if (previous != null) {
+			try {
+				LoaderRegistry.shared().release(previous);
+			} catch (UncheckedIOException e) {
+				failed(e.getCause(), ReflectorException.Kind.CLOSE_FAILED);
+			}
 		}
 	}
 	
@@ -193,10 +343,17 @@ public class Reflector {
 			throw new IllegalStateException("Class has not been successfully loaded");
 		}
 		
+		lastFailure = null;
 		try {
-			constructor = clazz.getDeclaredConstructor(paramTypes);
-		} catch (NoSuchMethodException | SecurityException e) {
-			e.printStackTrace();
+			Constructor<?> found = ReflectorCache.getConstructor(clazz, paramTypes);
+			
+			if (engine == Engine.METHOD_HANDLE) {
+				constructorHandle = Handles.factory(found);
+			}
+			
+			constructor = found;
+		} catch (NoSuchMethodException | SecurityException | IllegalAccessException e) {
+			failed(e, ReflectorException.Kind.MEMBER_NOT_FOUND);
 		}
 	}
 
@@ -214,11 +371,26 @@ public class Reflector {
 					+ "or method is static");
 		}
 		
+		lastFailure = null;
+		if (engine == Engine.METHOD_HANDLE) {
+			try {
+				instance = constructorHandle.invokeExact(params);
+				call = null;
+				dynamicCalls.clear();
+			} catch (Throwable e) {
+				failed(e, ReflectorException.Kind.CONSTRUCTION_FAILED);
+			}
+			
+			return;
+		}
+		
 		try {
 			instance = constructor.newInstance(params);
+			call = null;
+			dynamicCalls.clear();
 		} catch (InstantiationException | IllegalAccessException | IllegalArgumentException
 				| InvocationTargetException e) {
-			e.printStackTrace();
+			failed(e, ReflectorException.Kind.CONSTRUCTION_FAILED);
 		}
 	}
 	
@@ -235,11 +407,91 @@ public class Reflector {
 			throw new IllegalStateException("Class has not been successfully loaded");
 		}
 		
+		lastFailure = null;
+		try {
+			Method found = ReflectorCache.getMethod(clazz, methodName, paramTypes);
+			
+			if (engine == Engine.METHOD_HANDLE) {
+				Handles.invoker(found);
+			}
+			
+			method = found;
+			call = null;
+		} catch (NoSuchMethodException | SecurityException | IllegalAccessException e) {
+			failed(e, ReflectorException.Kind.MEMBER_NOT_FOUND);
+		}
+	}
+
+	/**
+	 * Set the {@link #field} field based on the loaded class and the name of one of its public
+	 * fields, or of its super types' public fields.  One of the {@code loadClass()} methods
+	 * must be called first.  Unlike {@link Field#get(Object)}, the field is read and written
+	 * through method handles, without an access check on every call.
+	 * 
+	 * @param fieldName the field name as a String
+	 * @throws IllegalStateException if a {@code loadClass()} method has not been called first
+	 */
+	public void loadField(String fieldName) {
+		if (clazz == null) {
+			throw new IllegalStateException("Class has not been successfully loaded");
+		}
+		
+		lastFailure = null;
 		try {
-			method = clazz.getMethod(methodName, paramTypes);
-		} catch (NoSuchMethodException | SecurityException e) {
-			e.printStackTrace();
+			field = ReflectorCache.getField(clazz, fieldName);
+			fieldAccess = null;
+		} catch (NoSuchFieldException | SecurityException e) {
+			failed(e, ReflectorException.Kind.MEMBER_NOT_FOUND);
+		}
+	}
+	
+	/**
+	 * Get the value of the loaded field of the loaded instance, cast to the type of variable
+	 * the caller is setting.  {@link #loadField(String)} must be called first.  For typed
+	 * access without boxing, see {@link #bindField()}.
+	 * 
+	 * @param <T> the type of the field
+	 * @return the value, or {@code null} if an error is encountered
+	 * @throws IllegalStateException if {@link #loadField(String)} was not called first
+	 */
+	public <T> T getFieldValue() {
+		return fieldAccess().get(instance);
+	}
+	
+	/**
+	 * Set the value of the loaded field of the loaded instance.  {@link #loadField(String)}
+	 * must be called first.
+	 * 
+	 * @param value the new value
+	 * @throws IllegalStateException if {@link #loadField(String)} was not called first, or
+	 *         the field is final
+	 */
+	public void setFieldValue(Object value) {
+		fieldAccess().set(instance, value);
+	}
+	
+	/**
+	 * Get an accessor for the loaded field, with typed getters and setters that do not box.
+	 * The accessor can be shared between threads, and used with any instance.
+	 * 
+	 * @return the field access
+	 * @throws IllegalStateException if {@link #loadField(String)} was not called first
+	 */
+	public FieldAccess bindField() {
+		return new FieldAccess(fieldAccess().getField(), failures.detached());
+	}
+	
+	private FieldAccess fieldAccess() {
+		if (field == null) {
+			throw new IllegalStateException("Field has not been successfully loaded");
+		}
+		
+		lastFailure = null;
+		if (fieldAccess == null) {
+			fieldAccess = new FieldAccess(field, failures);
 		}
+		
+		return fieldAccess;
 	}
 
 	/**
@@ -254,25 +506,824 @@ public class Reflector {
 	 *         an error is encountered
 	 * @throws IllegalStateException if {@link #loadMethod(String, Class...)} was not called
 	 *         first
+	 * @throws ReflectorException if the invocation fails and the failure mode is
+	 *         {@link FailureMode#THROW}; the same goes for every invoke method
 	 */
-	@SuppressWarnings("unchecked") /* We assume the caller knows what type is returned */
 	public <T> T invoke(Object... params) {
+		return call().invoke(params);
+	}
+	
+	/**
+	 * Invokes the loaded method, like {@link #invoke(Object...)}, and returns what it returned
+	 * or the failure.  Nothing is printed or thrown, whatever the failure mode.
+	 * 
+	 * @param <T> the type of the result of invoking the method
+	 * @param params zero or more parameters for the invoked method
+	 * @return the result of invoking the method, whose value is {@code null} if the method is
+	 *         void, or the failure
+	 * @throws IllegalStateException if {@link #loadMethod(String, Class...)} was not called
+	 *         first
+	 */
+	public <T> Result<T> tryInvoke(Object... params) {
+		return call().tryInvoke(params);
+	}
+	
+	/**
+	 * <p>Invokes the loaded method with arguments given as strings, such as those from a
+	 * config file or the command line, each converted to its parameter's type:</p>
+	 * <pre>
+	 *     r.loadMethod("add", int.class, int.class);
+	 *     int sum = r.invokeFromStrings(args[0], args[1]);</pre>
+	 * 
+	 * <p>The converter for each parameter is chosen once, from the {@link ConverterRegistry}
+	 * set with {@link #setConverters(ConverterRegistry)}, the first time the loaded method is
+	 * invoked this way, so later calls only convert and invoke.  See {@link StringCall}.</p>
+	 * 
+	 * @param <T> the type of the result of invoking the method
+	 * @param args a string for each parameter
+	 * @return the result of invoking the method, or {@code null} if the context is void or
+	 *         an error is encountered, including a parameter type with no converter or a
+	 *         string that cannot be converted
+	 * @throws IllegalStateException if {@link #loadMethod(String, Class...)} was not called
+	 *         first
+	 */
+	public <T> T invokeFromStrings(String... args) {
+		BoundCall bound = call();
+		if (stringCall == null || stringCall.getCall() != bound) {
+			try {
+				stringCall = bound.fromStrings(converters);
+			} catch (IllegalArgumentException e) {
+				failed(e, ReflectorException.Kind.INVOCATION_FAILED);
+				return null;
+			}
+		}
+		
+		return stringCall.invoke(args);
+	}
+	
+	/**
+	 * <p>Invokes the public method of the loaded class with this name that javac would choose
+	 * for arguments of these run-time classes, without {@link #loadMethod(String, Class...)}.
+	 * Arguments are treated as having their run-time class, so a boxed argument is unboxed
+	 * and widened only if no method takes it as it is:</p>
+	 * <ol>
+	 * <li>methods whose parameters the arguments can be passed to by subtyping alone;</li>
+	 * <li>then methods that need unboxing or primitive widening, such as {@code minus(long)}
+	 * for an {@code Integer};</li>
+	 * <li>then variable arity methods.</li>
+	 * </ol>
+	 * <p>The most specific method of the first step that finds any is invoked, on the loaded
+	 * instance.  A {@code null} argument can be passed to any reference parameter.</p>
+	 * 
+	 * <p>The choice is cached for each combination of argument classes, so repeated calls cost
+	 * little more than {@link #invoke(Object...)}.  To keep the call site across a change of
+	 * instance, or share it between threads, use {@link #dynamic(String)}.</p>
+	 * 
+	 * @param <T> the type of the result of invoking the method
+	 * @param methodName the method name
+	 * @param args zero or more arguments for the invoked method
+	 * @return the result of invoking the method, or {@code null} if the context is void or
+	 *         an error is encountered, including when no method or more than one is
+	 *         applicable
+	 * @throws IllegalStateException if a {@code loadClass()} method has not been called first
+	 */
+	public <T> T invokeByName(String methodName, Object... args) {
+		DynamicCall dynamic = dynamicCalls.get(methodName);
+		lastFailure = null;
+		
+		if (dynamic != null) {
+			return dynamic.invoke(args);
+		}
+		
+		// Keep the call site only once a method has been found with the name, so that names
+		// that do not exist cannot fill the map
+		dynamic = dynamic(methodName, failures);
+		T result = dynamic.invoke(args);
+		if (dynamic.getCachedCount() > 0) {
+			dynamicCalls.put(methodName, dynamic);
+		}
+		return result;
+	}
+	
+	/**
+	 * Get a call site for the public methods of the loaded class with this name, bound to the
+	 * loaded instance.  See {@link #invokeByName(String, Object...)}.
+	 * 
+	 * @param methodName the method name
+	 * @return the dynamic call
+	 * @throws IllegalStateException if a {@code loadClass()} method has not been called first
+	 */
+	public DynamicCall dynamic(String methodName) {
+		return dynamic(methodName, failures.detached());
+	}
+	
+	private DynamicCall dynamic(String methodName, FailurePolicy policy) {
+		if (clazz == null) {
+			throw new IllegalStateException("Class has not been successfully loaded");
+		}
+		
+		return new DynamicCall(engine, clazz, instance, methodName, policy);
+	}
+	
+	/**
+	 * <p>Invokes the loaded method, which takes no parameters, and returns the result
+	 * cast to the type of variable the caller is setting.  See {@link #invoke(Object...)}.</p>
+	 * 
+	 * <p>The fixed-arity methods {@code invoke0()} to {@code invoke3(...)}, and the primitive
+	 * variants {@code invokeInt(...)}, {@code invokeLong(...)}, {@code invokeDouble(...)} and
+	 * {@code invokeBoolean(...)}, always call through a method handle, whatever the engine.
+	 * They do not allocate an argument array, and the primitive variants do not box the
+	 * result.  Primitive arguments are still boxed by the caller; to avoid that too, see
+	 * {@link #compile(Class)}.</p>
+	 * 
+	 * @param <T> the type of the result of invoking the method
+	 * @return the result of invoking the method, or {@code null} if the context is void or
+	 *         an error is encountered
+	 * @throws IllegalStateException if {@link #loadMethod(String, Class...)} was not called
+	 *         first
+	 * @throws IllegalArgumentException if the loaded method does not take zero parameters
+	 */
+	public <T> T invoke0() {
+		return call().invoke0();
+	}
+
+	/**
+	 * Invokes the loaded method, which takes one parameter, and returns the result
+	 * cast to the type of variable the caller is setting.  See {@link #invoke(Object...)}.
+	 * 
+	 * @param <T> the type of the result of invoking the method
+	 * @param arg0 argument 1 of the invoked method
+	 * @return the result of invoking the method, or {@code null} if the context is void or
+	 *         an error is encountered
+	 * @throws IllegalStateException if {@link #loadMethod(String, Class...)} was not called
+	 *         first
+	 * @throws IllegalArgumentException if the loaded method does not take one parameter
+	 */
+	public <T> T invoke1(Object arg0) {
+		return call().invoke1(arg0);
+	}
+
+	/**
+	 * Invokes the loaded method, which takes two parameters, and returns the result
+	 * cast to the type of variable the caller is setting.  See {@link #invoke(Object...)}.
+	 * 
+	 * @param <T> the type of the result of invoking the method
+	 * @param arg0 argument 1 of the invoked method
+	 * @param arg1 argument 2 of the invoked method
+	 * @return the result of invoking the method, or {@code null} if the context is void or
+	 *         an error is encountered
+	 * @throws IllegalStateException if {@link #loadMethod(String, Class...)} was not called
+	 *         first
+	 * @throws IllegalArgumentException if the loaded method does not take two parameters
+	 */
+	public <T> T invoke2(Object arg0, Object arg1) {
+		return call().invoke2(arg0, arg1);
+	}
+
+	/**
+	 * Invokes the loaded method, which takes three parameters, and returns the result
+	 * cast to the type of variable the caller is setting.  See {@link #invoke(Object...)}.
+	 * 
+	 * @param <T> the type of the result of invoking the method
+	 * @param arg0 argument 1 of the invoked method
+	 * @param arg1 argument 2 of the invoked method
+	 * @param arg2 argument 3 of the invoked method
+	 * @return the result of invoking the method, or {@code null} if the context is void or
+	 *         an error is encountered
+	 * @throws IllegalStateException if {@link #loadMethod(String, Class...)} was not called
+	 *         first
+	 * @throws IllegalArgumentException if the loaded method does not take three parameters
+	 */
+	public <T> T invoke3(Object arg0, Object arg1, Object arg2) {
+		return call().invoke3(arg0, arg1, arg2);
+	}
+
+	/**
+	 * Invokes the loaded method, which takes no parameters, and returns the result as
+	 * {@code int}.  See {@link #invoke0()}.
+	 * 
+	 * @return the result of invoking the method, or {@code 0} if an error is encountered
+	 * @throws IllegalStateException if {@link #loadMethod(String, Class...)} was not called
+	 *         first
+	 * @throws IllegalArgumentException if the loaded method does not take zero parameters
+	 *         or its result cannot be converted to {@code int}
+	 */
+	public int invokeInt() {
+		return call().invokeInt();
+	}
+
+	/**
+	 * Invokes the loaded method, which takes one parameter, and returns the result as
+	 * {@code int}.  See {@link #invoke0()}.
+	 * 
+	 * @param arg0 argument 1 of the invoked method
+	 * @return the result of invoking the method, or {@code 0} if an error is encountered
+	 * @throws IllegalStateException if {@link #loadMethod(String, Class...)} was not called
+	 *         first
+	 * @throws IllegalArgumentException if the loaded method does not take one parameter
+	 *         or its result cannot be converted to {@code int}
+	 */
+	public int invokeInt(Object arg0) {
+		return call().invokeInt(arg0);
+	}
+
+	/**
+	 * Invokes the loaded method, which takes two parameters, and returns the result as
+	 * {@code int}.  See {@link #invoke0()}.
+	 * 
+	 * @param arg0 argument 1 of the invoked method
+	 * @param arg1 argument 2 of the invoked method
+	 * @return the result of invoking the method, or {@code 0} if an error is encountered
+	 * @throws IllegalStateException if {@link #loadMethod(String, Class...)} was not called
+	 *         first
+	 * @throws IllegalArgumentException if the loaded method does not take two parameters
+	 *         or its result cannot be converted to {@code int}
+	 */
+	public int invokeInt(Object arg0, Object arg1) {
+		return call().invokeInt(arg0, arg1);
+	}
+
+	/**
+	 * Invokes the loaded method, which takes three parameters, and returns the result as
+	 * {@code int}.  See {@link #invoke0()}.
+	 * 
+	 * @param arg0 argument 1 of the invoked method
+	 * @param arg1 argument 2 of the invoked method
+	 * @param arg2 argument 3 of the invoked method
+	 * @return the result of invoking the method, or {@code 0} if an error is encountered
+	 * @throws IllegalStateException if {@link #loadMethod(String, Class...)} was not called
+	 *         first
+	 * @throws IllegalArgumentException if the loaded method does not take three parameters
+	 *         or its result cannot be converted to {@code int}
+	 */
+	public int invokeInt(Object arg0, Object arg1, Object arg2) {
+		return call().invokeInt(arg0, arg1, arg2);
+	}
+
+	/**
+	 * Invokes the loaded method, which takes no parameters, and returns the result as
+	 * {@code long}.  See {@link #invoke0()}.
+	 * 
+	 * @return the result of invoking the method, or {@code 0} if an error is encountered
+	 * @throws IllegalStateException if {@link #loadMethod(String, Class...)} was not called
+	 *         first
+	 * @throws IllegalArgumentException if the loaded method does not take zero parameters
+	 *         or its result cannot be converted to {@code long}
+	 */
+	public long invokeLong() {
+		return call().invokeLong();
+	}
+
+	/**
+	 * Invokes the loaded method, which takes one parameter, and returns the result as
+	 * {@code long}.  See {@link #invoke0()}.
+	 * 
+	 * @param arg0 argument 1 of the invoked method
+	 * @return the result of invoking the method, or {@code 0} if an error is encountered
+	 * @throws IllegalStateException if {@link #loadMethod(String, Class...)} was not called
+	 *         first
+	 * @throws IllegalArgumentException if the loaded method does not take one parameter
+	 *         or its result cannot be converted to {@code long}
+	 */
+	public long invokeLong(Object arg0) {
+		return call().invokeLong(arg0);
+	}
+
+	/**
+	 * Invokes the loaded method, which takes two parameters, and returns the result as
+	 * {@code long}.  See {@link #invoke0()}.
+	 * 
+	 * @param arg0 argument 1 of the invoked method
+	 * @param arg1 argument 2 of the invoked method
+	 * @return the result of invoking the method, or {@code 0} if an error is encountered
+	 * @throws IllegalStateException if {@link #loadMethod(String, Class...)} was not called
+	 *         first
+	 * @throws IllegalArgumentException if the loaded method does not take two parameters
+	 *         or its result cannot be converted to {@code long}
+	 */
+	public long invokeLong(Object arg0, Object arg1) {
+		return call().invokeLong(arg0, arg1);
+	}
+
+	/**
+	 * Invokes the loaded method, which takes three parameters, and returns the result as
+	 * {@code long}.  See {@link #invoke0()}.
+	 * 
+	 * @param arg0 argument 1 of the invoked method
+	 * @param arg1 argument 2 of the invoked method
+	 * @param arg2 argument 3 of the invoked method
+	 * @return the result of invoking the method, or {@code 0} if an error is encountered
+	 * @throws IllegalStateException if {@link #loadMethod(String, Class...)} was not called
+	 *         first
+	 * @throws IllegalArgumentException if the loaded method does not take three parameters
+	 *         or its result cannot be converted to {@code long}
+	 */
+	public long invokeLong(Object arg0, Object arg1, Object arg2) {
+		return call().invokeLong(arg0, arg1, arg2);
+	}
+
+	/**
+	 * Invokes the loaded method, which takes no parameters, and returns the result as
+	 * {@code double}.  See {@link #invoke0()}.
+	 * 
+	 * @return the result of invoking the method, or {@code 0.0} if an error is encountered
+	 * @throws IllegalStateException if {@link #loadMethod(String, Class...)} was not called
+	 *         first
+	 * @throws IllegalArgumentException if the loaded method does not take zero parameters
+	 *         or its result cannot be converted to {@code double}
+	 */
+	public double invokeDouble() {
+		return call().invokeDouble();
+	}
+
+	/**
+	 * Invokes the loaded method, which takes one parameter, and returns the result as
+	 * {@code double}.  See {@link #invoke0()}.
+	 * 
+	 * @param arg0 argument 1 of the invoked method
+	 * @return the result of invoking the method, or {@code 0.0} if an error is encountered
+	 * @throws IllegalStateException if {@link #loadMethod(String, Class...)} was not called
+	 *         first
+	 * @throws IllegalArgumentException if the loaded method does not take one parameter
+	 *         or its result cannot be converted to {@code double}
+	 */
+	public double invokeDouble(Object arg0) {
+		return call().invokeDouble(arg0);
+	}
+
+	/**
+	 * Invokes the loaded method, which takes two parameters, and returns the result as
+	 * {@code double}.  See {@link #invoke0()}.
+	 * 
+	 * @param arg0 argument 1 of the invoked method
+	 * @param arg1 argument 2 of the invoked method
+	 * @return the result of invoking the method, or {@code 0.0} if an error is encountered
+	 * @throws IllegalStateException if {@link #loadMethod(String, Class...)} was not called
+	 *         first
+	 * @throws IllegalArgumentException if the loaded method does not take two parameters
+	 *         or its result cannot be converted to {@code double}
+	 */
+	public double invokeDouble(Object arg0, Object arg1) {
+		return call().invokeDouble(arg0, arg1);
+	}
+
+	/**
+	 * Invokes the loaded method, which takes three parameters, and returns the result as
+	 * {@code double}.  See {@link #invoke0()}.
+	 * 
+	 * @param arg0 argument 1 of the invoked method
+	 * @param arg1 argument 2 of the invoked method
+	 * @param arg2 argument 3 of the invoked method
+	 * @return the result of invoking the method, or {@code 0.0} if an error is encountered
+	 * @throws IllegalStateException if {@link #loadMethod(String, Class...)} was not called
+	 *         first
+	 * @throws IllegalArgumentException if the loaded method does not take three parameters
+	 *         or its result cannot be converted to {@code double}
+	 */
+	public double invokeDouble(Object arg0, Object arg1, Object arg2) {
+		return call().invokeDouble(arg0, arg1, arg2);
+	}
+
+	/**
+	 * Invokes the loaded method, which takes no parameters, and returns the result as
+	 * {@code boolean}.  See {@link #invoke0()}.
+	 * 
+	 * @return the result of invoking the method, or {@code false} if an error is encountered
+	 * @throws IllegalStateException if {@link #loadMethod(String, Class...)} was not called
+	 *         first
+	 * @throws IllegalArgumentException if the loaded method does not take zero parameters
+	 *         or its result cannot be converted to {@code boolean}
+	 */
+	public boolean invokeBoolean() {
+		return call().invokeBoolean();
+	}
+
+	/**
+	 * Invokes the loaded method, which takes one parameter, and returns the result as
+	 * {@code boolean}.  See {@link #invoke0()}.
+	 * 
+	 * @param arg0 argument 1 of the invoked method
+	 * @return the result of invoking the method, or {@code false} if an error is encountered
+	 * @throws IllegalStateException if {@link #loadMethod(String, Class...)} was not called
+	 *         first
+	 * @throws IllegalArgumentException if the loaded method does not take one parameter
+	 *         or its result cannot be converted to {@code boolean}
+	 */
+	public boolean invokeBoolean(Object arg0) {
+		return call().invokeBoolean(arg0);
+	}
+
+	/**
+	 * Invokes the loaded method, which takes two parameters, and returns the result as
+	 * {@code boolean}.  See {@link #invoke0()}.
+	 * 
+	 * @param arg0 argument 1 of the invoked method
+	 * @param arg1 argument 2 of the invoked method
+	 * @return the result of invoking the method, or {@code false} if an error is encountered
+	 * @throws IllegalStateException if {@link #loadMethod(String, Class...)} was not called
+	 *         first
+	 * @throws IllegalArgumentException if the loaded method does not take two parameters
+	 *         or its result cannot be converted to {@code boolean}
+	 */
+	public boolean invokeBoolean(Object arg0, Object arg1) {
+		return call().invokeBoolean(arg0, arg1);
+	}
+
+	/**
+	 * Invokes the loaded method, which takes three parameters, and returns the result as
+	 * {@code boolean}.  See {@link #invoke0()}.
+	 * 
+	 * @param arg0 argument 1 of the invoked method
+	 * @param arg1 argument 2 of the invoked method
+	 * @param arg2 argument 3 of the invoked method
+	 * @return the result of invoking the method, or {@code false} if an error is encountered
+	 * @throws IllegalStateException if {@link #loadMethod(String, Class...)} was not called
+	 *         first
+	 * @throws IllegalArgumentException if the loaded method does not take three parameters
+	 *         or its result cannot be converted to {@code boolean}
+	 */
+	public boolean invokeBoolean(Object arg0, Object arg1, Object arg2) {
+		return call().invokeBoolean(arg0, arg1, arg2);
+	}
+
+	/**
+	 * <p>Freeze the loaded class, instance and method into an immutable {@link BoundCall}.
+	 * The bound call is not affected by later {@code loadXXX(...)} calls on this Reflector,
+	 * and can be shared by any number of threads.  {@link #loadMethod(String, Class...)} must
+	 * be called first, and {@link #loadNewInstance(Object...)} too if the method is not
+	 * static.</p>
+	 * 
+	 * <p>The bound call reports failures in this Reflector's {@link FailureMode}, but not to
+	 * {@link #getLastFailure()}.</p>
+	 * 
+	 * @return the bound call
+	 * @throws IllegalStateException if {@link #loadMethod(String, Class...)} was not called
+	 *         first
+	 */
+	public BoundCall bind() {
+		return call().withFailures(failures.detached());
+	}
+	
+	/**
+	 * <p>Get a batch invoker for the loaded method, to invoke it over many argument tuples,
+	 * or on many instances.  For example, to call {@code getDayOfWeek()} on many Joda Time
+	 * instances:</p>
+	 * <pre>
+	 *     r.loadMethod("getDayOfWeek");
+	 *     int[] days = r.batch().parallel().invokeIntOnEach(dates);</pre>
+	 * 
+	 * @return the batch invoker, bound to the current class, instance and method
+	 * @throws IllegalStateException if {@link #loadMethod(String, Class...)} was not called
+	 *         first
+	 * @see BoundCall#batch()
+	 */
+	public Batch batch() {
+		return call().batch();
+	}
+	
+	/**
+	 * <p>Get an asynchronous invoker for the loaded method, for methods that may block.  For
+	 * example, with a timeout of two seconds:</p>
+	 * <pre>
+	 *     CompletableFuture&lt;Object&gt; result = r.async()
+	 *             .withTimeout(2, TimeUnit.SECONDS)
+	 *             .invoke(ONE_DAY_IN_MILLIS);</pre>
+	 * 
+	 * @return the asynchronous invoker, bound to the current class, instance and method
+	 * @throws IllegalStateException if {@link #loadMethod(String, Class...)} was not called
+	 *         first
+	 * @see BoundCall#async()
+	 */
+	public AsyncCall async() {
+		return call().async();
+	}
+	
+	private BoundCall call() {
 		if (method == null) {
 			throw new IllegalStateException("Method has not been successfully loaded");
 		}
+		
+		lastFailure = null;
+		if (call == null) {
+			call = new BoundCall(engine, clazz, instance, method, failures);
+		}
+		
+		return call;
+	}
+	
+	/** Report a failed load in the failure mode, keeping it for {@link #getLastFailure()} */
+	private void failed(Throwable e, ReflectorException.Kind kind) {
+		failures.handle(e, kind);
+	}
+	
+	/**
+	 * <p>Bind the loaded method, as {@link #bind()} does, and remember its results by their
+	 * arguments.  Only use this for methods that always return an equal result for equal
+	 * arguments and have no side effects:</p>
+	 * <pre>
+	 *     r.loadMethod("parse", String.class);
+	 *     MemoizedCall parse = r.memoize(MemoPolicy.maximumSize(10_000)
+	 *             .expireAfterWrite(10, TimeUnit.MINUTES));
+	 *     Object parsed = parse.invoke(text);</pre>
+	 * 
+	 * @param policy how many results to remember, and for how long
+	 * @return the memoized call, with statistics such as {@link MemoizedCall#getHitRatio()}
+	 * @throws IllegalStateException if {@link #loadMethod(String, Class...)} was not called
+	 *         first
+	 */
+	public MemoizedCall memoize(MemoPolicy policy) {
+		return bind().memoize(policy);
+	}
+	
+	/**
+	 * <p>Compile the loaded method into an implementation of this functional interface.  The
+	 * interface method must take the loaded method's parameters, in order.  For an instance
+	 * method, the loaded instance is bound as the receiver; if no instance has been loaded,
+	 * the interface method must take the receiver as its first parameter instead.  For example:</p>
+	 * <pre>
+	 *     r.loadClass("net.snortum.utils.ReflectorPlay");
+	 *     r.loadMethod("add", int.class, int.class);
+	 *     IntBinaryOperator add = r.compile(IntBinaryOperator.class);
+	 *     int sum = add.applyAsInt(2, 3);</pre>
+	 * 
+	 * <p>Calling the result costs about the same as calling the method directly, because
+	 * it is spun like a method reference in source code.  Methods of classes loaded from a
+	 * jar by a {@link URLClassLoader} cannot be linked that way; they are called through a
+	 * constant method handle in a generated class instead, which costs about the same.</p>
+	 * 
+	 * @param <F> the functional interface type
+	 * @param functionalInterface the functional interface to implement, such as
+	 *        {@link java.util.function.ToIntFunction}
+	 * @return an implementation of the functional interface that calls the loaded method
+	 * @throws IllegalStateException if {@link #loadMethod(String, Class...)} was not called
+	 *         first
+	 * @throws IllegalArgumentException if the interface is not a functional interface or its
+	 *         method does not match the loaded method
+	 */
+	public <F> F compile(Class<F> functionalInterface) {
+		return call().compile(functionalInterface);
+	}
+	
+	/**
+	 * <p>Implement an interface of the caller's with the public methods of the loaded class.
+	 * Each interface method calls the method of the class with the same name and compatible
+	 * parameter and return types; a type from the loaded jar that the caller cannot see can be
+	 * written as {@code Object} in the interface.  Instance methods are called on the loaded
+	 * instance.  For example:</p>
+	 * <pre>
+	 *     public interface DateOps {
+	 *         int getMonthOfYear();
+	 *         Object minusDays(int days);
+	 *     }
+	 *     
+	 *     r.loadClass("org.joda.time.DateTime", jarPath);
+	 *     r.loadConstructor();
+	 *     r.loadNewInstance();
+	 *     DateOps date = r.as(DateOps.class);
+	 *     int month = date.getMonthOfYear();</pre>
+	 * 
+	 * <p>Unlike a {@link java.lang.reflect.Proxy}, the implementation is a generated class that
+	 * calls each method through a constant method handle, so a call costs about the same as
+	 * calling the method directly, without an argument array or {@link Method#invoke}.  The
+	 * class is generated once for each interface and loaded class.</p>
+	 * 
+	 * @param <T> the interface type
+	 * @param type a public interface
+	 * @return an implementation of the interface that calls the loaded class
+	 * @throws IllegalStateException if a {@code loadClass()} method has not been called first
+	 * @throws IllegalArgumentException if the type is not a public interface, a method of the
+	 *         interface matches no method of the loaded class or more than one, or it matches
+	 *         an instance method and no instance has been loaded
+	 */
+	public <T> T as(Class<T> type) {
+		if (clazz == null) {
+			throw new IllegalStateException("Class has not been successfully loaded");
+		}
+		
+		return InterfaceGenerator.implement(type, clazz, instance);
+	}
 
-		Object result;
-		try {
-			result = method.invoke(instance, params);
-		} catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
-			if (instance == null) {
-				System.err.println("Instance was null but this is not a static method");
-			}
-			e.printStackTrace();
-			return null;
+	/**
+	 * <p>Compile a chain of constructor and method calls on the loaded class into one call.
+	 * {@code run2()} of {@link ReflectorPlay}, which takes eight steps, becomes:</p>
+	 * <pre>
+	 *     r.loadClass("org.joda.time.DateTime", jarPath);
+	 *     Chain dayBefore = r.chain("new(new().minus($0)).getDayOfWeek()", long.class);
+	 *     int day = dayBefore.invoke(ONE_DAY_IN_MILLIS);</pre>
+	 *
+	 * <p>See {@link Chain} for the syntax.  {@code this} in the expression is the loaded
+	 * instance, and the chain reports failed invocations in this Reflector's
+	 * {@link FailureMode}, but not to {@link #getLastFailure()}.</p>
+	 *
+	 * @param expression the chain, such as {@code new().minus($0).getDayOfWeek()}
+	 * @param paramTypes the types of the parameters {@code $0}, {@code $1}...
+	 * @return the compiled chain
+	 * @throws IllegalStateException if a {@code loadClass()} method has not been called first
+	 * @throws IllegalArgumentException if the expression cannot be parsed, or a step matches no
+	 *         public constructor or method, more than one, or one that cannot be called
+	 */
+	public Chain chain(String expression, Class<?>... paramTypes) {
+		if (clazz == null) {
+			throw new IllegalStateException("Class has not been successfully loaded");
+		}
+
+		return Chain.compile(clazz, instance, expression, paramTypes.clone(), failures.detached());
+	}
+	
+	/**
+	 * <p>Compile the loaded constructor into an implementation of this functional interface,
+	 * as for a constructor reference such as {@code DateTime::new} in source code.  The
+	 * interface method must take the constructor's parameters, in order, and return the new
+	 * instance.  Calling the result costs about the same as {@code new}.  For example:</p>
+	 * <pre>
+	 *     r.loadConstructor(Object.class);
+	 *     Function&lt;Object, Object&gt; toDate = r.compileFactory(Function.class);
+	 *     Object yesterday = toDate.apply(minusDate);</pre>
+	 * 
+	 * <p>As with {@link #compile(Class)}, a class loaded from a jar is called through a constant
+	 * method handle in a generated class instead.</p>
+	 * 
+	 * @param <F> the functional interface type
+	 * @param functionalInterface the functional interface to implement, such as
+	 *        {@link Supplier} or {@link Function}
+	 * @return an implementation of the functional interface that calls the loaded constructor
+	 * @throws IllegalStateException if {@link #loadConstructor(Class...)} was not called first
+	 * @throws IllegalArgumentException if the interface is not a functional interface or its
+	 *         method does not match the loaded constructor
+	 */
+	public <F> F compileFactory(Class<F> functionalInterface) {
+		if (constructor == null) {
+			throw new IllegalStateException("Constructor has not been successfully loaded");
 		}
 		
-		return (T) result;
+		return LambdaCompiler.compile(functionalInterface, constructor);
+	}
+	
+	/**
+	 * Compile the loaded constructor, which takes no parameters, into a {@link Supplier} of
+	 * new instances.  See {@link #compileFactory(Class)}.
+	 * 
+	 * @param <T> the type of the new instances
+	 * @return a supplier that calls the loaded constructor
+	 * @throws IllegalStateException if {@link #loadConstructor(Class...)} was not called first
+	 * @throws IllegalArgumentException if the loaded constructor takes parameters
+	 */
+	@SuppressWarnings("unchecked") /* We assume the caller knows the type of the instances */
+	public <T> Supplier<T> newInstanceSupplier() {
+		return compileFactory(Supplier.class);
+	}
+	
+	/**
+	 * Compile the loaded constructor, which takes one parameter, into a {@link Function} from
+	 * that parameter to new instances.  See {@link #compileFactory(Class)}.
+	 * 
+	 * @param <A> the type of the constructor parameter, or its wrapper if it is primitive
+	 * @param <T> the type of the new instances
+	 * @return a function that calls the loaded constructor
+	 * @throws IllegalStateException if {@link #loadConstructor(Class...)} was not called first
+	 * @throws IllegalArgumentException if the loaded constructor does not take one parameter
+	 */
+	@SuppressWarnings("unchecked") /* We assume the caller knows the types */
+	public <A, T> Function<A, T> newInstanceFunction() {
+		return compileFactory(Function.class);
+	}
+	
+	/**
+	 * Create a pool of instances made by the loaded constructor, which takes no parameters,
+	 * for plugin objects that are expensive to create and safe to reuse.
+	 * 
+	 * @param <T> the type of the instances
+	 * @param capacity the most idle instances the pool holds
+	 * @param reset resets an instance when it is given back to the pool, or {@code null} for
+	 *        none
+	 * @return the pool
+	 * @throws IllegalStateException if {@link #loadConstructor(Class...)} was not called first
+	 * @throws IllegalArgumentException if the loaded constructor takes parameters, or the
+	 *         capacity is less than one
+	 * @see InstancePool
+	 */
+	public <T> InstancePool<T> newInstancePool(int capacity, Consumer<? super T> reset) {
+		Supplier<T> factory = newInstanceSupplier();
+		return new InstancePool<>(factory, reset, capacity);
+	}
+	
+	/**
+	 * Choose whether the {@code loadClass(...)} methods initialize the class, running its
+	 * static initializers, when it is loaded.  This is the default.  When turned off, the JVM
+	 * initializes the class when it is first used, such as when the loaded constructor or a
+	 * static method is invoked.  To initialize many classes at startup, in parallel, see
+	 * {@link Warmup}.
+	 * 
+	 * @param initializeClasses {@code true} to initialize classes when they are loaded,
+	 *        {@code false} to initialize them when they are first used
+	 */
+	public void setInitializeClasses(boolean initializeClasses) {
+		this.initializeClasses = initializeClasses;
+	}
+	
+	/** @return {@code true} if classes are initialized when they are loaded */
+	public boolean isInitializeClasses() {
+		return initializeClasses;
+	}
+	
+	/**
+	 * Choose the kind of class loader the {@code loadClass(..., paths)} and
+	 * {@code loadClassLoader(...)} methods build.  {@link LoaderKind#URL}, the default, builds
+	 * a {@link URLClassLoader}; {@link LoaderKind#JAR} builds a {@link JarClassLoader}, which
+	 * is faster when many classes are loaded from local jar files on many threads.
+	 * 
+	 * @param loaderKind the kind of class loader
+	 */
+	public void setLoaderKind(LoaderKind loaderKind) {
+		if (loaderKind == null) {
+			throw new IllegalArgumentException("Loader kind cannot be null");
+		}
+		
+		this.loaderKind = loaderKind;
+	}
+	
+	/** @return the kind of class loader built from paths */
+	public LoaderKind getLoaderKind() {
+		return loaderKind;
+	}
+	
+	/**
+	 * Set the converters {@link #invokeFromStrings(String...)} chooses from.  The default is
+	 * {@link ConverterRegistry#getDefault()}.
+	 * 
+	 * @param converters the converter registry
+	 */
+	public void setConverters(ConverterRegistry converters) {
+		if (converters == null) {
+			throw new IllegalArgumentException("Converters cannot be null");
+		}
+		
+		this.converters = converters;
+		this.stringCall = null;
+	}
+	
+	/** @return the converters {@link #invokeFromStrings(String...)} chooses from */
+	public ConverterRegistry getConverters() {
+		return converters;
+	}
+	
+	/**
+	 * Choose what a failed load or invocation does: print its stack trace, which is the
+	 * default; keep it quietly for {@link #getLastFailure()}; or throw it as a
+	 * {@link ReflectorException}.  Calls, dynamic calls and field accesses obtained after this
+	 * use the same mode.
+	 * 
+	 * @param mode the failure mode
+	 */
+	public void setFailureMode(FailureMode mode) {
+		failures = failures.withMode(mode);
+		dropCalls();
+	}
+	
+	/** @return what a failed load or invocation does */
+	public FailureMode getFailureMode() {
+		return failures.mode;
+	}
+	
+	/**
+	 * Choose whether the {@link ReflectorException}s for failures are created without stack
+	 * traces.  Walking the stack is most of the cost of an exception, and the exception that
+	 * caused the failure has a stack trace of its own, so this is worth turning on where
+	 * failures are frequent.  Off by default.
+	 * 
+	 * @param stackless {@code true} to create failures without stack traces
+	 */
+	public void setStacklessFailures(boolean stackless) {
+		failures = failures.withStackless(stackless);
+		dropCalls();
+	}
+	
+	/** @return {@code true} if failures are created without stack traces */
+	public boolean isStacklessFailures() {
+		return failures.stackless;
+	}
+	
+	/**
+	 * Get the failure of the last load, invocation or field access made through this
+	 * Reflector.  Each of them clears it before it starts, so after a successful one it is
+	 * {@code null}.  Failures are kept in every {@link FailureMode}.
+	 * 
+	 * @return the failure, or {@code null} if the last operation succeeded
+	 */
+	public ReflectorException getLastFailure() {
+		return lastFailure;
+	}
+	
+	/** Forget the calls made with the old failure policy */
+	private void dropCalls() {
+		call = null;
+		fieldAccess = null;
+		dynamicCalls.clear();
+	}
+	
+	/** @return the engine used to invoke the loaded method and constructor */
+	public Engine getEngine() {
+		return engine;
 	}
 	
 	/** @return the {@link #loader} field (the class loader reference) */
@@ -285,11 +1336,32 @@ public class Reflector {
 		return clazz;
 	}
 	
+	/**
+	 * <p>Get the index of the loaded class's members, to list or filter them, for example:</p>
+	 * <pre>
+	 *     List&lt;Method&gt; factories = r.getClassModel().getStaticFactories();</pre>
+	 * 
+	 * @return the {@link ClassModel} of the loaded class
+	 * @throws IllegalStateException if a {@code loadClass()} method has not been called first
+	 */
+	public ClassModel getClassModel() {
+		if (clazz == null) {
+			throw new IllegalStateException("Class has not been successfully loaded");
+		}
+		
+		return ClassModel.of(clazz);
+	}
+	
 	/** @return the {@link #constructor} reference or {@code null} if method is static */
 	public Constructor<?> getConstructor() {
 		return constructor;
 	}
 	
+	/** @return the {@link #field} reference, or {@code null} if no field is loaded */
+	public Field getField() {
+		return field;
+	}
+	
 	/** @return the {@link #instance} reference or {@code null} if method is static */
 	public Object getNewInstance() {
 		return instance;
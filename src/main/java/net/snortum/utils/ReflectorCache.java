@@ -0,0 +1,580 @@
+/*
+ * Licensed under the Creative Commons Attribution-ShareAlike 4.0 International
+ *
+ * https://creativecommons.org/licenses/by-sa/4.0/
+ */
+package net.snortum.utils;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>A process-wide, thread-safe cache of the metadata {@link Reflector} looks up: classes by
+ * name, methods and constructors by signature, and fields by name.  Every {@link Reflector}
+ * instance shares this cache, so creating a fresh {@link Reflector} per request no longer pays
+ * for {@code Class.forName}, {@code getMethod} or {@code getDeclaredConstructor} on every
+ * call.</p>
+ *
+ * <p>Classes are cached per class loader.  Loaders are held by weak keys and the cached classes
+ * by weak references, so a dynamically loaded jar can still be unloaded once nothing else
+ * refers to its class loader.  Finding the classes of a loader takes no lock; the keys of
+ * loaders that have been collected are removed when a new loader is added.  Members are
+ * cached per class through a {@link ClassValue}, which goes away with the class, and found in
+ * the {@link ClassModel} of the class, so the class's members are only copied out of it
+ * once.</p>
+ *
+ * <p>Failed lookups are cached too, so asking again for a class or member that does not exist
+ * costs a map lookup rather than a search of the class path or the class.  A failure answered
+ * from the cache is thrown again without a stack trace.  Up to {@value #MAX_FAILURES} failures
+ * are remembered; {@link #clearFailures()} forgets them, for example after a jar is
+ * added to a class loader.</p>
+ *
+ * <p>Hit and miss counters are kept so the cache can be checked under load.  While
+ * {@link ReflectorMetrics} is enabled, the time taken by each miss is recorded too.</p>
+ *
+ * @author Knute Snortum
+ * @version 2026.10.17
+ */
+public final class ReflectorCache {
+
+	/** Classes by name, per class loader, keyed by a {@link LoaderKey} */
+	private static final ConcurrentMap<Object, ConcurrentMap<String, ClassEntry>> CLASSES =
+			new ConcurrentHashMap<>();
+
+	/** The keys of class loaders that have been collected */
+	private static final ReferenceQueue<ClassLoader> RELEASED = new ReferenceQueue<>();
+
+	/** Classes by name for the bootstrap class loader, which is never collected */
+	private static final ConcurrentMap<String, ClassEntry> BOOTSTRAP_CLASSES =
+			new ConcurrentHashMap<>();
+
+	/** Methods and constructors by signature, per class */
+	private static final ClassValue<ConcurrentMap<MemberKey, Object>> MEMBERS =
+			new ClassValue<ConcurrentMap<MemberKey, Object>>() {
+				@Override
+				protected ConcurrentMap<MemberKey, Object> computeValue(Class<?> type) {
+					return new ConcurrentHashMap<>();
+				}
+			};
+
+	/** Name used in member keys for constructors; not a legal method name */
+	private static final String CONSTRUCTOR_NAME = "<init>";
+
+	/** Prefix of the names used in member keys for fields, so they cannot match a method */
+	private static final String FIELD_PREFIX = ".";
+
+	/** The most failed lookups remembered at once */
+	public static final int MAX_FAILURES = 10_000;
+
+	/** Failures cached since the last {@link #clearFailures()} */
+	private static final AtomicInteger FAILURES = new AtomicInteger();
+
+	/** Failures cached before the current generation are ignored */
+	private static volatile int generation;
+
+	private static final LongAdder HITS = new LongAdder();
+	private static final LongAdder MISSES = new LongAdder();
+
+	private ReflectorCache() {
+	}
+
+	/**
+	 * Find the class for this fully qualified name and class loader, loading and initializing it
+	 * the first time it is asked for.
+	 *
+	 * @param className the fully qualified class name
+	 * @param loader the class loader to load the class with, or {@code null} for the bootstrap
+	 *        class loader
+	 * @return the class reference
+	 * @throws ClassNotFoundException if the class cannot be located
+	 * @see Class#forName(String, boolean, ClassLoader)
+	 */
+	public static Class<?> loadClass(String className, ClassLoader loader)
+			throws ClassNotFoundException {
+		return loadClass(className, true, loader);
+	}
+
+	/**
+	 * Find the class for this fully qualified name and class loader, loading it the first time
+	 * it is asked for.  If it is not initialized here, it is initialized by the JVM when it is
+	 * first used, for example when one of its static methods is invoked.
+	 *
+	 * @param className the fully qualified class name
+	 * @param initialize whether the class must be initialized
+	 * @param loader the class loader to load the class with, or {@code null} for the bootstrap
+	 *        class loader
+	 * @return the class reference
+	 * @throws ClassNotFoundException if the class cannot be located
+	 * @see Class#forName(String, boolean, ClassLoader)
+	 */
+	public static Class<?> loadClass(String className, boolean initialize, ClassLoader loader)
+			throws ClassNotFoundException {
+		ConcurrentMap<String, ClassEntry> classes = classesFor(loader);
+		ClassEntry entry = classes.get(className);
+		Class<?> clazz = entry == null ? null : entry.get();
+
+		if (entry != null && entry.failure != null && entry.generation == generation) {
+			HITS.increment();
+			throw new MissingClassException(entry.failure);
+		}
+
+		if (clazz != null) {
+			HITS.increment();
+
+			if (initialize && !entry.initialized) {
+				Class.forName(className, true, loader);
+				entry.initialized = true;
+			}
+
+			return clazz;
+		}
+
+		MISSES.increment();
+		long start = System.nanoTime();
+		try {
+			clazz = Class.forName(className, initialize, loader);
+		} catch (ClassNotFoundException e) {
+			if (rememberFailure()) {
+				classes.put(className, new ClassEntry(String.valueOf(e.getMessage()), generation));
+			}
+			throw e;
+		}
+		ReflectorMetrics.classLoaded(clazz, start);
+		classes.put(className, new ClassEntry(clazz, initialize));
+		return clazz;
+	}
+
+	/**
+	 * Find the public method of this class with this name and these parameter types.
+	 *
+	 * @param clazz the class to search
+	 * @param methodName the method name
+	 * @param paramTypes zero or more parameter types for the method
+	 * @return the method reference
+	 * @throws NoSuchMethodException if a matching method is not found
+	 * @see Class#getMethod(String, Class...)
+	 * @see ClassModel#findMethod(String, Class...)
+	 */
+	public static Method getMethod(Class<?> clazz, String methodName, Class<?>... paramTypes)
+			throws NoSuchMethodException {
+		ConcurrentMap<MemberKey, Object> members = MEMBERS.get(clazz);
+		MemberKey key = new MemberKey(methodName, paramTypes);
+		Object member = members.get(key);
+
+		if (member instanceof Method) {
+			HITS.increment();
+			return (Method) member;
+		} else if (isCurrent(member)) {
+			HITS.increment();
+			throw new MissingMethodException(((Failure) member).message);
+		}
+
+		MISSES.increment();
+		long start = System.nanoTime();
+		Method method = ClassModel.of(clazz).findMethod(methodName, paramTypes);
+		if (method == null) {
+			NoSuchMethodException e = new NoSuchMethodException(describe(clazz, methodName,
+					paramTypes));
+			remember(members, key.copy(), e);
+			throw e;
+		}
+		ReflectorMetrics.memberResolved(clazz, method, start);
+		members.put(key.copy(), method);
+		return method;
+	}
+
+	/**
+	 * Find the constructor of this class, of any access, with these parameter types.
+	 *
+	 * @param clazz the class to search
+	 * @param paramTypes zero or more parameter types for the constructor
+	 * @return the constructor reference
+	 * @throws NoSuchMethodException if a matching constructor is not found
+	 * @see Class#getDeclaredConstructor(Class...)
+	 * @see ClassModel#findConstructor(Class...)
+	 */
+	@SuppressWarnings("unchecked") /* The constructor was found on clazz */
+	public static <T> Constructor<T> getConstructor(Class<T> clazz, Class<?>... paramTypes)
+			throws NoSuchMethodException {
+		ConcurrentMap<MemberKey, Object> members = MEMBERS.get(clazz);
+		MemberKey key = new MemberKey(CONSTRUCTOR_NAME, paramTypes);
+		Object member = members.get(key);
+
+		if (member instanceof Constructor) {
+			HITS.increment();
+			return (Constructor<T>) member;
+		} else if (isCurrent(member)) {
+			HITS.increment();
+			throw new MissingMethodException(((Failure) member).message);
+		}
+
+		MISSES.increment();
+		long start = System.nanoTime();
+		Constructor<T> constructor =
+				(Constructor<T>) ClassModel.of(clazz).findConstructor(paramTypes);
+		if (constructor == null) {
+			NoSuchMethodException e = new NoSuchMethodException(describe(clazz, CONSTRUCTOR_NAME,
+					paramTypes));
+			remember(members, key.copy(), e);
+			throw e;
+		}
+		ReflectorMetrics.memberResolved(clazz, constructor, start);
+		members.put(key.copy(), constructor);
+		return constructor;
+	}
+
+	/**
+	 * Find the public field of this class, or of one of its super types, with this name.
+	 *
+	 * @param clazz the class to search
+	 * @param fieldName the field name
+	 * @return the field reference
+	 * @throws NoSuchFieldException if a matching field is not found
+	 * @see Class#getField(String)
+	 */
+	public static Field getField(Class<?> clazz, String fieldName) throws NoSuchFieldException {
+		ConcurrentMap<MemberKey, Object> members = MEMBERS.get(clazz);
+		MemberKey key = new MemberKey(FIELD_PREFIX + fieldName, null);
+		Object member = members.get(key);
+
+		if (member instanceof Field) {
+			HITS.increment();
+			return (Field) member;
+		} else if (isCurrent(member)) {
+			HITS.increment();
+			throw new MissingFieldException(((Failure) member).message);
+		}
+
+		MISSES.increment();
+		long start = System.nanoTime();
+		Field field;
+		try {
+			field = clazz.getField(fieldName);
+		} catch (NoSuchFieldException e) {
+			remember(members, key, e);
+			throw e;
+		}
+		ReflectorMetrics.memberResolved(clazz, field, start);
+		members.put(key, field);
+		return field;
+	}
+
+	/** @return the number of lookups answered from the cache */
+	public static long getHits() {
+		return HITS.sum();
+	}
+
+	/** @return the number of lookups that had to go to the class or class loader */
+	public static long getMisses() {
+		return MISSES.sum();
+	}
+
+	/** Reset the hit and miss counters to zero.  The cached entries are kept. */
+	public static void resetStatistics() {
+		HITS.reset();
+		MISSES.reset();
+	}
+
+	/** Forget every failed lookup, so each is tried again the next time it is asked for. */
+	public static synchronized void clearFailures() {
+		generation++;
+		FAILURES.set(0);
+	}
+
+	/** @return the number of failed lookups remembered, at most {@value #MAX_FAILURES} */
+	public static int getFailuresCached() {
+		return FAILURES.get();
+	}
+
+	/**
+	 * @return the generation of the failures remembered now; a failure remembered in an
+	 *         earlier one has been forgotten by {@link #clearFailures()}
+	 */
+	static int failureGeneration() {
+		return generation;
+	}
+
+	/** @return {@code true} if there is room to remember one more failure, counting it */
+	static boolean rememberFailure() {
+		if (FAILURES.incrementAndGet() <= MAX_FAILURES) {
+			return true;
+		}
+
+		FAILURES.decrementAndGet();
+		return false;
+	}
+
+	private static void remember(ConcurrentMap<MemberKey, Object> members, MemberKey key,
+			Exception e) {
+		if (rememberFailure()) {
+			members.put(key, new Failure(String.valueOf(e.getMessage()), generation));
+		}
+	}
+
+	/**
+	 * Find the class to cache a value about these classes with, so that the value does not
+	 * keep a class loader alive for longer than the class itself does: one whose class loader
+	 * is the class loader, or a descendant of the class loader, of each of the others.
+	 *
+	 * @param clazz a class
+	 * @param others the other classes; {@code null} elements are skipped
+	 * @return {@code clazz} if it will do, else one of the others that will, or {@code null}
+	 *         if the classes come from unrelated class loaders
+	 */
+	static Class<?> home(Class<?> clazz, Class<?>... others) {
+		Class<?> home = clazz;
+		for (Class<?> other : others) {
+			if (other == null || isAncestor(other.getClassLoader(), home.getClassLoader())) {
+				continue;
+			}
+
+			if (!isAncestor(home.getClassLoader(), other.getClassLoader())) {
+				return null;
+			}
+			home = other;
+		}
+		return home;
+	}
+
+	/** @return {@code true} if {@code ancestor} is {@code loader} or one of its parents */
+	private static boolean isAncestor(ClassLoader ancestor, ClassLoader loader) {
+		if (ancestor == null) {
+			return true;
+		}
+
+		for (ClassLoader parent = loader; parent != null; parent = parent.getParent()) {
+			if (parent == ancestor) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/** @return the member as {@link Class#getMethod(String, Class...)} describes a missing one */
+	private static String describe(Class<?> clazz, String name, Class<?>[] paramTypes) {
+		StringBuilder text = new StringBuilder(clazz.getName()).append('.').append(name).append('(');
+		for (int i = 0; i < paramTypes.length; i++) {
+			text.append(i == 0 ? "" : ", ")
+					.append(paramTypes[i] == null ? "null" : paramTypes[i].getName());
+		}
+		return text.append(')').toString();
+	}
+
+	/** @return {@code true} if this cached member is a failure since the last clear */
+	private static boolean isCurrent(Object member) {
+		return member instanceof Failure && ((Failure) member).generation == generation;
+	}
+
+	private static ConcurrentMap<String, ClassEntry> classesFor(ClassLoader loader) {
+		if (loader == null) {
+			return BOOTSTRAP_CLASSES;
+		}
+
+		ConcurrentMap<String, ClassEntry> classes = CLASSES.get(new LoaderProbe(loader));
+		if (classes == null) {
+			expungeReleased();
+			classes = CLASSES.computeIfAbsent(new LoaderKey(loader, RELEASED),
+					key -> new ConcurrentHashMap<>());
+		}
+		return classes;
+	}
+
+	/** Remove the classes of the class loaders that have been collected */
+	private static void expungeReleased() {
+		Reference<? extends ClassLoader> released;
+		while ((released = RELEASED.poll()) != null) {
+			CLASSES.remove(released);
+		}
+	}
+
+	/**
+	 * A weakly held class, and whether it is known to be initialized; or the message of the
+	 * failure to load it
+	 */
+	private static final class ClassEntry extends WeakReference<Class<?>> {
+		volatile boolean initialized;
+		final String failure;
+		final int generation;
+
+		ClassEntry(Class<?> clazz, boolean initialized) {
+			super(clazz);
+			this.initialized = initialized;
+			this.failure = null;
+			this.generation = 0;
+		}
+
+		ClassEntry(String failure, int generation) {
+			super(null);
+			this.failure = failure;
+			this.generation = generation;
+		}
+	}
+
+	/**
+	 * A weakly held class loader, as a key of {@link #CLASSES}.  Keys are equal while they
+	 * refer to the same loader; a cleared key is only equal to itself.
+	 */
+	private static final class LoaderKey extends WeakReference<ClassLoader> {
+		private final int hash;
+
+		LoaderKey(ClassLoader loader, ReferenceQueue<ClassLoader> queue) {
+			super(loader, queue);
+			this.hash = System.identityHashCode(loader);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+
+			ClassLoader loader = get();
+			return loader != null && obj instanceof LoaderKey && ((LoaderKey) obj).get() == loader;
+		}
+	}
+
+	/** A strongly held class loader, for finding its {@link LoaderKey} without creating one */
+	private static final class LoaderProbe {
+		private final ClassLoader loader;
+
+		LoaderProbe(ClassLoader loader) {
+			this.loader = loader;
+		}
+
+		@Override
+		public int hashCode() {
+			return System.identityHashCode(loader);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof LoaderKey && ((LoaderKey) obj).get() == loader;
+		}
+	}
+
+	/** A member that could not be found, cached in place of the member */
+	private static final class Failure {
+		final String message;
+		final int generation;
+
+		Failure(String message, int generation) {
+			this.message = message;
+			this.generation = generation;
+		}
+	}
+
+	/**
+	 * A cached failure to load a class, thrown again without a stack trace.  It describes
+	 * itself as the exception it stands for.
+	 */
+	static final class MissingClassException extends ClassNotFoundException {
+		private static final long serialVersionUID = 1L;
+
+		MissingClassException(String message) {
+			super(message);
+		}
+
+		@Override
+		public synchronized Throwable fillInStackTrace() {
+			return this;
+		}
+
+		@Override
+		public String toString() {
+			return ClassNotFoundException.class.getName() + ": " + getMessage();
+		}
+	}
+
+	/** A cached failure to find a method or constructor, thrown again without a stack trace */
+	static final class MissingMethodException extends NoSuchMethodException {
+		private static final long serialVersionUID = 1L;
+
+		MissingMethodException(String message) {
+			super(message);
+		}
+
+		@Override
+		public synchronized Throwable fillInStackTrace() {
+			return this;
+		}
+
+		@Override
+		public String toString() {
+			return NoSuchMethodException.class.getName() + ": " + getMessage();
+		}
+	}
+
+	/** A cached failure to find a field, thrown again without a stack trace */
+	static final class MissingFieldException extends NoSuchFieldException {
+		private static final long serialVersionUID = 1L;
+
+		MissingFieldException(String message) {
+			super(message);
+		}
+
+		@Override
+		public synchronized Throwable fillInStackTrace() {
+			return this;
+		}
+
+		@Override
+		public String toString() {
+			return NoSuchFieldException.class.getName() + ": " + getMessage();
+		}
+	}
+
+	/**
+	 * Key for a method or constructor within one class.  The parameter type array is used as
+	 * passed for lookups and copied before it is stored, so callers cannot change a cached key.
+	 */
+	private static final class MemberKey {
+		private final String name;
+		private final Class<?>[] paramTypes;
+		private final int hash;
+
+		MemberKey(String name, Class<?>[] paramTypes) {
+			this.name = name;
+			this.paramTypes = paramTypes == null ? new Class<?>[0] : paramTypes;
+			this.hash = 31 * name.hashCode() + Arrays.hashCode(this.paramTypes);
+		}
+
+		MemberKey copy() {
+			return new MemberKey(name, paramTypes.clone());
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+
+			if (!(obj instanceof MemberKey)) {
+				return false;
+			}
+
+			MemberKey other = (MemberKey) obj;
+			return hash == other.hash && name.equals(other.name)
+					&& Arrays.equals(paramTypes, other.paramTypes);
+		}
+	}
+
+}
@@ -0,0 +1,124 @@
+/*
+ * Licensed under the Creative Commons Attribution-ShareAlike 4.0 International
+ *
+ * https://creativecommons.org/licenses/by-sa/4.0/
+ */
+package net.snortum.utils;
+
+import java.lang.reflect.InvocationTargetException;
+import java.net.MalformedURLException;
+
+/**
+ * <p>A failed lookup or invocation, as reported by {@link Reflector#getLastFailure()},
+ * {@link Result#getFailure()} and {@link FailureMode#THROW}.  The cause is the exception that
+ * was raised; for an exception thrown by an invoked method, that is the method's own
+ * exception, not an {@link InvocationTargetException}.</p>
+ *
+ * <p>When stackless failures are turned on, with
+ * {@link Reflector#setStacklessFailures(boolean)}, these exceptions are created without a
+ * stack trace of their own.  That saves a walk of the stack for each one; the cause still has
+ * the trace of where the failure happened, unless it was answered from the cache of failed
+ * lookups in {@link ReflectorCache}.</p>
+ *
+ * @author Knute Snortum
+ * @version 2026.10.17
+ */
+public class ReflectorException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	/** What kind of failure this is */
+	public enum Kind {
+		/** No class with the name could be found */
+		CLASS_NOT_FOUND,
+
+		/** No method, constructor or field with the name and parameter types could be found */
+		MEMBER_NOT_FOUND,
+
+		/** The member was found but may not be used */
+		NOT_ACCESSIBLE,
+
+		/** A path could not be made into a URL for a class loader */
+		BAD_PATH,
+
+		/** The constructor could not be called, or threw */
+		CONSTRUCTION_FAILED,
+
+		/** The method could not be called, or threw */
+		INVOCATION_FAILED,
+
+		/** The field could not be read or written */
+		FIELD_ACCESS_FAILED,
+
+		/** A class loader could not be closed */
+		CLOSE_FAILED
+	}
+
+	private final Kind kind;
+
+	/**
+	 * Create a failure with a stack trace.
+	 *
+	 * @param kind what kind of failure this is
+	 * @param message the detail message
+	 * @param cause the exception that was raised
+	 */
+	public ReflectorException(Kind kind, String message, Throwable cause) {
+		this(kind, message, cause, false);
+	}
+
+	/**
+	 * Create a failure.
+	 *
+	 * @param kind what kind of failure this is
+	 * @param message the detail message
+	 * @param cause the exception that was raised
+	 * @param stackless {@code true} to create it without a stack trace
+	 */
+	protected ReflectorException(Kind kind, String message, Throwable cause, boolean stackless) {
+		super(message, cause, true, !stackless);
+		this.kind = kind;
+	}
+
+	/**
+	 * Wrap an exception raised by a lookup or an invocation.  Its kind is taken from the
+	 * type of exception where that says what went wrong.
+	 *
+	 * @param e the exception
+	 * @param otherwise the kind of failure for any other type of exception
+	 * @param stackless {@code true} to create it without a stack trace
+	 * @return the failure
+	 */
+	static ReflectorException of(Throwable e, Kind otherwise, boolean stackless) {
+		if (e instanceof ReflectorException) {
+			return (ReflectorException) e;
+		}
+
+		Throwable cause = e;
+		if (e instanceof InvocationTargetException && e.getCause() != null) {
+			cause = e.getCause();
+		}
+
+		return new ReflectorException(kindOf(e, otherwise), cause.toString(), cause, stackless);
+	}
+
+	private static Kind kindOf(Throwable e, Kind otherwise) {
+		if (e instanceof ClassNotFoundException) {
+			return Kind.CLASS_NOT_FOUND;
+		} else if (e instanceof NoSuchMethodException || e instanceof NoSuchFieldException) {
+			return Kind.MEMBER_NOT_FOUND;
+		} else if (e instanceof IllegalAccessException || e instanceof SecurityException) {
+			return Kind.NOT_ACCESSIBLE;
+		} else if (e instanceof MalformedURLException) {
+			return Kind.BAD_PATH;
+		}
+
+		return otherwise;
+	}
+
+	/** @return what kind of failure this is */
+	public Kind getKind() {
+		return kind;
+	}
+
+}
@@ -0,0 +1,93 @@
+/*
+ * Licensed under the Creative Commons Attribution-ShareAlike 4.0 International
+ *
+ * https://creativecommons.org/licenses/by-sa/4.0/
+ */
+package net.snortum.utils;
+
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.net.URL;
+
+/**
+ * <p>Told about invocations while {@link ReflectorMetrics} is enabled, and about lookups and
+ * class loaders always, for sending them to a logging or monitoring system or recording them
+ * as a {@link ResolutionStore} does.  Every method does nothing by default, so a listener
+ * only overrides the events it wants.</p>
+ *
+ * <p>Listeners are added with {@link ReflectorMetrics#addListener(ReflectorListener)}, or
+ * found with {@link java.util.ServiceLoader} when {@link ReflectorMetrics} is first used,
+ * by naming the implementation in
+ * {@code META-INF/services/net.snortum.utils.ReflectorListener}.</p>
+ *
+ * <p>Events are delivered on the thread that caused them, so a listener must be thread-safe
+ * and should return quickly; {@link #invoked(Method, long, Throwable)} is on the path of every
+ * recorded invocation.  An exception thrown by a listener is caught and ignored.</p>
+ *
+ * @author Knute Snortum
+ * @version 2026.10.17
+ */
+public interface ReflectorListener {
+
+	/**
+	 * A method was invoked through a {@link BoundCall}.
+	 *
+	 * @param method the method
+	 * @param nanos how long the invocation took
+	 * @param failure what the invocation threw, or {@code null} if it returned
+	 */
+	default void invoked(Method method, long nanos, Throwable failure) {
+	}
+
+	/**
+	 * A class was loaded by {@link ReflectorCache}, because it was not cached.
+	 *
+	 * @param clazz the class
+	 * @param nanos how long loading took
+	 */
+	default void classLoaded(Class<?> clazz, long nanos) {
+	}
+
+	/**
+	 * A method, constructor or field was looked up by {@link ReflectorCache}, because it was
+	 * not cached.
+	 *
+	 * @param clazz the class searched, which for an inherited method or field is a subclass
+	 *        of the member's declaring class
+	 * @param member the member
+	 * @param nanos how long the lookup took
+	 */
+	default void memberResolved(Class<?> clazz, Member member, long nanos) {
+	}
+
+	/**
+	 * A class loader was created by a {@link LoaderRegistry}.
+	 *
+	 * @param loader the class loader
+	 * @param urls the URLs it loads from
+	 * @param nanos how long creating it took
+	 */
+	default void loaderCreated(ClassLoader loader, URL[] urls, long nanos) {
+	}
+
+	/**
+	 * A class loader was closed by a {@link LoaderRegistry}, because its last reference was
+	 * released.
+	 *
+	 * @param loader the class loader
+	 */
+	default void loaderClosed(ClassLoader loader) {
+	}
+
+	/**
+	 * Something done in the background failed, with no caller to throw the failure to, such
+	 * as registering the MBean when metrics are turned on at startup, or loading a listener
+	 * named in {@code META-INF/services}.
+	 *
+	 * @param operation what failed, such as {@code "registerMBean"}
+	 * @param failure the failure
+	 */
+	default void failed(String operation, Throwable failure) {
+	}
+
+}
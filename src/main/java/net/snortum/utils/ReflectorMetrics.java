@@ -0,0 +1,689 @@
+/*
+ * Licensed under the Creative Commons Attribution-ShareAlike 4.0 International
+ *
+ * https://creativecommons.org/licenses/by-sa/4.0/
+ */
+package net.snortum.utils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.management.ManagementFactory;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * <p>Process-wide metrics for {@link Reflector} and the classes around it: invocation counts,
+ * error counts and latency histograms for each method invoked through a {@link BoundCall},
+ * and timings of the lookups {@link ReflectorCache} makes and the class loaders
+ * {@link LoaderRegistry} creates.</p>
+ *
+ * <p>Metrics are off by default, and cost nothing until they are turned on with
+ * {@link #setEnabled(boolean)} or by starting the JVM with
+ * {@code -Dnet.snortum.utils.metrics=true}, which also registers the MBean.  Invocations are
+ * recorded by the calls bound while metrics are enabled; calls bound before then, including
+ * the one a {@link Reflector} has already bound, are not timed.  Turning metrics off stops
+ * the recording, but calls bound while they were on still read the clock.</p>
+ *
+ * <p>Recording is lock-free: counts go to {@link LongAdder}s and latencies to striped
+ * {@link LatencyHistogram}s, so threads invoking the same method do not contend.  With
+ * metrics on, an invocation costs two reads of {@link System#nanoTime()} and a few atomic
+ * increments more; {@code MetricsBenchmark} in the benchmarks measures it.</p>
+ *
+ * <p>The metrics can be read here, through JMX once {@link #registerMBean()} has been called,
+ * or as events by a {@link ReflectorListener}.</p>
+ *
+ * @author Knute Snortum
+ * @version 2026.10.17
+ */
+public final class ReflectorMetrics {
+
+	/** The name the MBean is registered under */
+	public static final String OBJECT_NAME = "net.snortum.utils:type=ReflectorMetrics";
+
+	/** The system property that turns metrics on at startup */
+	public static final String ENABLED_PROPERTY = "net.snortum.utils.metrics";
+
+	private static final ReflectorListener[] NO_LISTENERS = new ReflectorListener[0];
+
+	private static volatile boolean enabled;
+
+	/** Replaced as a whole when a listener is added or removed */
+	private static volatile ReflectorListener[] listeners = NO_LISTENERS;
+
+	/** Stats by method, per declaring class, so they go away with the class */
+	private static final ClassValue<ConcurrentMap<Method, MethodStats>> STATS =
+			new ClassValue<ConcurrentMap<Method, MethodStats>>() {
+				@Override
+				protected ConcurrentMap<Method, MethodStats> computeValue(Class<?> type) {
+					return new ConcurrentHashMap<>();
+				}
+			};
+
+	/** Every method's stats, for listing them */
+	private static final Queue<WeakReference<MethodStats>> ALL_STATS =
+			new ConcurrentLinkedQueue<>();
+
+	private static final LatencyHistogram CLASS_LOOKUPS = new LatencyHistogram();
+	private static final LatencyHistogram MEMBER_LOOKUPS = new LatencyHistogram();
+	private static final LatencyHistogram LOADER_CREATIONS = new LatencyHistogram();
+
+	private static final MethodHandle NANO_TIME;
+	private static final MethodHandle EXIT_OBJECT;
+	private static final MethodHandle EXIT_INT;
+	private static final MethodHandle EXIT_LONG;
+	private static final MethodHandle EXIT_DOUBLE;
+	private static final MethodHandle EXIT_BOOLEAN;
+	private static final MethodHandle EXIT_VOID;
+	private static final MethodHandle FAILED;
+
+	static {
+		MethodHandles.Lookup lookup = MethodHandles.lookup();
+		try {
+			NANO_TIME = lookup.findStatic(System.class, "nanoTime", MethodType.methodType(long.class));
+			EXIT_OBJECT = exit(lookup, Object.class);
+			EXIT_INT = exit(lookup, int.class);
+			EXIT_LONG = exit(lookup, long.class);
+			EXIT_DOUBLE = exit(lookup, double.class);
+			EXIT_BOOLEAN = exit(lookup, boolean.class);
+			EXIT_VOID = lookup.findStatic(ReflectorMetrics.class, "exit",
+					MethodType.methodType(void.class, MethodStats.class, long.class));
+			FAILED = lookup.findStatic(ReflectorMetrics.class, "failed",
+					MethodType.methodType(Object.class, MethodStats.class, Throwable.class,
+							long.class));
+		} catch (ReflectiveOperationException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+
+		findListeners();
+
+		if (Boolean.getBoolean(ENABLED_PROPERTY)) {
+			enabled = true;
+			registerMBean();
+		}
+	}
+
+	private ReflectorMetrics() {
+	}
+
+	/** @return {@code true} if metrics are being recorded */
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Turn the recording of metrics on or off.  Only calls bound while metrics are on record
+	 * invocations.
+	 *
+	 * @param enabled whether to record metrics
+	 */
+	public static void setEnabled(boolean enabled) {
+		ReflectorMetrics.enabled = enabled;
+	}
+
+	/**
+	 * Add a listener, to be told about invocations while metrics are enabled, and about
+	 * lookups and class loaders always.
+	 *
+	 * @param listener the listener
+	 */
+	public static synchronized void addListener(ReflectorListener listener) {
+		if (listener == null) {
+			throw new IllegalArgumentException("Listener cannot be null");
+		}
+
+		ReflectorListener[] grown = Arrays.copyOf(listeners, listeners.length + 1);
+		grown[listeners.length] = listener;
+		listeners = grown;
+	}
+
+	/**
+	 * Remove a listener.
+	 *
+	 * @param listener the listener
+	 * @return {@code true} if the listener had been added
+	 */
+	public static synchronized boolean removeListener(ReflectorListener listener) {
+		List<ReflectorListener> remaining = new ArrayList<>(Arrays.asList(listeners));
+		boolean removed = remaining.remove(listener);
+		listeners = remaining.toArray(NO_LISTENERS);
+		return removed;
+	}
+
+	/**
+	 * @param method a method
+	 * @return the metrics recorded for this method, or {@code null} if none have been
+	 */
+	public static MethodMetrics getMethodMetrics(Method method) {
+		MethodStats stats = STATS.get(method.getDeclaringClass()).get(method);
+		return stats == null ? null : stats.snapshot();
+	}
+
+	/** @return the metrics of each method with recorded invocations */
+	public static List<MethodMetrics> getMethodMetrics() {
+		List<MethodMetrics> metrics = new ArrayList<>();
+		for (MethodStats stats : liveStats()) {
+			if (stats.latency.getCount() > 0) {
+				metrics.add(stats.snapshot());
+			}
+		}
+
+		return metrics;
+	}
+
+	/** @return the number of invocations recorded, over every method */
+	public static long getInvocations() {
+		long invocations = 0;
+		for (MethodStats stats : liveStats()) {
+			invocations += stats.latency.getCount();
+		}
+
+		return invocations;
+	}
+
+	/** @return the number of recorded invocations that threw, over every method */
+	public static long getErrors() {
+		long errors = 0;
+		for (MethodStats stats : liveStats()) {
+			errors += stats.errors.sum();
+		}
+
+		return errors;
+	}
+
+	/** @return the times taken by {@link ReflectorCache} to load classes it had not cached */
+	public static LatencyHistogram getClassLookups() {
+		return CLASS_LOOKUPS;
+	}
+
+	/**
+	 * @return the times taken by {@link ReflectorCache} to look up methods, constructors and
+	 *         fields it had not cached
+	 */
+	public static LatencyHistogram getMemberLookups() {
+		return MEMBER_LOOKUPS;
+	}
+
+	/** @return the times taken by {@link LoaderRegistry} to create class loaders */
+	public static LatencyHistogram getLoaderCreations() {
+		return LOADER_CREATIONS;
+	}
+
+	/** Forget every recorded metric.  The {@link ReflectorCache} counters are kept. */
+	public static void reset() {
+		for (MethodStats stats : liveStats()) {
+			stats.latency.reset();
+			stats.errors.reset();
+		}
+
+		CLASS_LOOKUPS.reset();
+		MEMBER_LOOKUPS.reset();
+		LOADER_CREATIONS.reset();
+	}
+
+	/**
+	 * Register the {@link ReflectorMetricsMXBean} with the platform MBean server, as
+	 * {@value #OBJECT_NAME}.  If it cannot be, the failure is reported to
+	 * {@link ReflectorListener#failed(String, Throwable)}.
+	 *
+	 * @return {@code true} if it was registered, {@code false} if it already was or could not
+	 *         be
+	 */
+	public static synchronized boolean registerMBean() {
+		try {
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			ObjectName name = new ObjectName(OBJECT_NAME);
+
+			if (server.isRegistered(name)) {
+				return false;
+			}
+
+			server.registerMBean(new MXBean(), name);
+			return true;
+		} catch (JMException | SecurityException e) {
+			failed("registerMBean", e);
+			return false;
+		}
+	}
+
+	/**
+	 * Unregister the MBean registered by {@link #registerMBean()}.  If it cannot be, the
+	 * failure is reported to {@link ReflectorListener#failed(String, Throwable)}.
+	 *
+	 * @return {@code true} if it was unregistered, {@code false} if it was not registered or
+	 *         could not be unregistered
+	 */
+	public static synchronized boolean unregisterMBean() {
+		try {
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			ObjectName name = new ObjectName(OBJECT_NAME);
+
+			if (!server.isRegistered(name)) {
+				return false;
+			}
+
+			server.unregisterMBean(name);
+			return true;
+		} catch (JMException | SecurityException e) {
+			failed("unregisterMBean", e);
+			return false;
+		}
+	}
+
+	/**
+	 * @param method a method about to be bound
+	 * @return the stats to record its invocations in, or {@code null} if metrics are off
+	 */
+	static MethodStats statsFor(Method method) {
+		if (!enabled) {
+			return null;
+		}
+
+		ConcurrentMap<Method, MethodStats> byMethod = STATS.get(method.getDeclaringClass());
+		MethodStats stats = byMethod.get(method);
+
+		if (stats == null) {
+			MethodStats created = new MethodStats(method);
+			stats = byMethod.putIfAbsent(method, created);
+
+			if (stats == null) {
+				stats = created;
+				ALL_STATS.add(new WeakReference<>(created));
+			}
+		}
+
+		return stats;
+	}
+
+	/**
+	 * Wrap a method handle so that each call through it is timed and counted.
+	 *
+	 * @param target the handle
+	 * @param stats where to record the calls, or {@code null} to return the handle as it is
+	 * @return a handle of the same type
+	 */
+	static MethodHandle instrument(MethodHandle target, MethodStats stats) {
+		if (target == null || stats == null) {
+			return target;
+		}
+
+		MethodType type = target.type();
+		Class<?> returnType = type.returnType();
+
+		// (long start, params...) -> exit(start, target(params...))
+		MethodHandle body = MethodHandles.collectArguments(exitFor(returnType).bindTo(stats), 1,
+				target);
+
+		// (Throwable, long start, params...) -> failed(failure, start), which rethrows
+		MethodHandle handler = FAILED.bindTo(stats)
+				.asType(MethodType.methodType(returnType, Throwable.class, long.class));
+		handler = MethodHandles.dropArguments(handler, 2, type.parameterList());
+
+		MethodHandle guarded = MethodHandles.catchException(body, Throwable.class, handler);
+		return MethodHandles.foldArguments(guarded, NANO_TIME);
+	}
+
+	/**
+	 * A class was loaded, because it was not cached.  Listeners are told even while metrics
+	 * are disabled.
+	 *
+	 * @param clazz the class
+	 * @param start when loading started, from {@link System#nanoTime()}
+	 */
+	static void classLoaded(Class<?> clazz, long start) {
+		ReflectorListener[] current = listeners;
+		if (!enabled && current.length == 0) {
+			return;
+		}
+
+		long nanos = System.nanoTime() - start;
+		if (enabled) {
+			CLASS_LOOKUPS.record(nanos);
+		}
+
+		for (ReflectorListener listener : current) {
+			try {
+				listener.classLoaded(clazz, nanos);
+			} catch (RuntimeException e) {
+				// Listeners cannot break lookups
+			}
+		}
+	}
+
+	/**
+	 * A member was looked up, because it was not cached.  Listeners are told even while
+	 * metrics are disabled.
+	 *
+	 * @param clazz the class searched, which may be a subclass of the declaring class
+	 * @param member the member
+	 * @param start when the lookup started, from {@link System#nanoTime()}
+	 */
+	static void memberResolved(Class<?> clazz, Member member, long start) {
+		ReflectorListener[] current = listeners;
+		if (!enabled && current.length == 0) {
+			return;
+		}
+
+		long nanos = System.nanoTime() - start;
+		if (enabled) {
+			MEMBER_LOOKUPS.record(nanos);
+		}
+
+		for (ReflectorListener listener : current) {
+			try {
+				listener.memberResolved(clazz, member, nanos);
+			} catch (RuntimeException e) {
+				// Listeners cannot break lookups
+			}
+		}
+	}
+
+	/**
+	 * A class loader was created.  Listeners are told even while metrics are disabled.
+	 *
+	 * @param loader the class loader
+	 * @param urls the URLs it loads from
+	 * @param start when creating it started, from {@link System#nanoTime()}
+	 */
+	static void loaderCreated(ClassLoader loader, URL[] urls, long start) {
+		ReflectorListener[] current = listeners;
+		if (!enabled && current.length == 0) {
+			return;
+		}
+
+		long nanos = System.nanoTime() - start;
+		if (enabled) {
+			LOADER_CREATIONS.record(nanos);
+		}
+
+		for (ReflectorListener listener : current) {
+			try {
+				listener.loaderCreated(loader, urls.clone(), nanos);
+			} catch (RuntimeException e) {
+				// Listeners cannot break class loading
+			}
+		}
+	}
+
+	/**
+	 * A class loader was closed.  Listeners are told even while metrics are disabled.
+	 *
+	 * @param loader the class loader
+	 */
+	static void loaderClosed(ClassLoader loader) {
+		for (ReflectorListener listener : listeners) {
+			try {
+				listener.loaderClosed(loader);
+			} catch (RuntimeException e) {
+				// Listeners cannot break class loading
+			}
+		}
+	}
+
+	private static MethodHandle exit(MethodHandles.Lookup lookup, Class<?> type)
+			throws ReflectiveOperationException {
+		return lookup.findStatic(ReflectorMetrics.class, "exit",
+				MethodType.methodType(type, MethodStats.class, long.class, type));
+	}
+
+	/** The exit handle for this return type, taking the stats, the start time and the result */
+	private static MethodHandle exitFor(Class<?> returnType) {
+		if (returnType == void.class) {
+			return EXIT_VOID;
+		} else if (returnType == int.class) {
+			return EXIT_INT;
+		} else if (returnType == long.class) {
+			return EXIT_LONG;
+		} else if (returnType == double.class) {
+			return EXIT_DOUBLE;
+		} else if (returnType == boolean.class) {
+			return EXIT_BOOLEAN;
+		}
+
+		return EXIT_OBJECT.asType(
+				MethodType.methodType(returnType, MethodStats.class, long.class, returnType));
+	}
+
+	private static Object exit(MethodStats stats, long start, Object result) {
+		stats.record(start, null);
+		return result;
+	}
+
+	private static int exit(MethodStats stats, long start, int result) {
+		stats.record(start, null);
+		return result;
+	}
+
+	private static long exit(MethodStats stats, long start, long result) {
+		stats.record(start, null);
+		return result;
+	}
+
+	private static double exit(MethodStats stats, long start, double result) {
+		stats.record(start, null);
+		return result;
+	}
+
+	private static boolean exit(MethodStats stats, long start, boolean result) {
+		stats.record(start, null);
+		return result;
+	}
+
+	private static void exit(MethodStats stats, long start) {
+		stats.record(start, null);
+	}
+
+	private static Object failed(MethodStats stats, Throwable failure, long start)
+			throws Throwable {
+		stats.record(start, failure);
+		throw failure;
+	}
+
+	/** The stats that are still reachable, dropping those of unloaded classes */
+	private static List<MethodStats> liveStats() {
+		List<MethodStats> live = new ArrayList<>();
+		for (Iterator<WeakReference<MethodStats>> i = ALL_STATS.iterator(); i.hasNext();) {
+			MethodStats stats = i.next().get();
+
+			if (stats == null) {
+				i.remove();
+			} else {
+				live.add(stats);
+			}
+		}
+
+		return live;
+	}
+
+	/**
+	 * Add the listeners named in {@code META-INF/services}.  A listener that cannot be loaded
+	 * is skipped, and the failure reported to the listeners that could be.
+	 */
+	private static void findListeners() {
+		List<Throwable> failures = new ArrayList<>();
+		Iterator<ReflectorListener> found = ServiceLoader.load(ReflectorListener.class).iterator();
+
+		while (true) {
+			try {
+				if (!found.hasNext()) {
+					break;
+				}
+			} catch (ServiceConfigurationError e) {
+				// A configuration file could not be read; the rest cannot be found either
+				failures.add(e);
+				break;
+			}
+
+			try {
+				addListener(found.next());
+			} catch (ServiceConfigurationError e) {
+				failures.add(e);
+			}
+		}
+
+		for (Throwable failure : failures) {
+			failed("findListeners", failure);
+		}
+	}
+
+	/** Report a failure with no caller to throw it to */
+	static void failed(String operation, Throwable failure) {
+		for (ReflectorListener listener : listeners) {
+			try {
+				listener.failed(operation, failure);
+			} catch (RuntimeException e) {
+				// Listeners cannot break what reported the failure
+			}
+		}
+	}
+
+	/** The invocation count, error count and latencies of one method */
+	static final class MethodStats {
+		private final Method method;
+		private final LatencyHistogram latency = new LatencyHistogram();
+		private final LongAdder errors = new LongAdder();
+
+		MethodStats(Method method) {
+			this.method = method;
+		}
+
+		/**
+		 * Record one invocation, if metrics are on.
+		 *
+		 * @param start when it started, from {@link System#nanoTime()}
+		 * @param failure what it threw, or {@code null} if it returned
+		 */
+		void record(long start, Throwable failure) {
+			if (!enabled) {
+				return;
+			}
+
+			long nanos = System.nanoTime() - start;
+			latency.record(nanos);
+
+			if (failure != null) {
+				errors.increment();
+			}
+
+			for (ReflectorListener listener : listeners) {
+				try {
+					listener.invoked(method, nanos, failure);
+				} catch (RuntimeException e) {
+					// Listeners cannot break invocations
+				}
+			}
+		}
+
+		MethodMetrics snapshot() {
+			return new MethodMetrics(method.toString(), errors.sum(), latency);
+		}
+	}
+
+	/** The MBean, which reads the static metrics */
+	private static final class MXBean implements ReflectorMetricsMXBean {
+
+		@Override
+		public boolean isEnabled() {
+			return ReflectorMetrics.isEnabled();
+		}
+
+		@Override
+		public void setEnabled(boolean enabled) {
+			ReflectorMetrics.setEnabled(enabled);
+		}
+
+		@Override
+		public long getInvocations() {
+			return ReflectorMetrics.getInvocations();
+		}
+
+		@Override
+		public long getErrors() {
+			return ReflectorMetrics.getErrors();
+		}
+
+		@Override
+		public List<MethodMetrics> getMethods() {
+			return getMethodMetrics();
+		}
+
+		@Override
+		public long getCacheHits() {
+			return ReflectorCache.getHits();
+		}
+
+		@Override
+		public long getCacheMisses() {
+			return ReflectorCache.getMisses();
+		}
+
+		@Override
+		public long getClassLookups() {
+			return CLASS_LOOKUPS.getCount();
+		}
+
+		@Override
+		public double getClassLookupMeanNanos() {
+			return CLASS_LOOKUPS.getMean();
+		}
+
+		@Override
+		public long getClassLookupP99Nanos() {
+			return CLASS_LOOKUPS.getPercentile(0.99);
+		}
+
+		@Override
+		public long getMemberLookups() {
+			return MEMBER_LOOKUPS.getCount();
+		}
+
+		@Override
+		public double getMemberLookupMeanNanos() {
+			return MEMBER_LOOKUPS.getMean();
+		}
+
+		@Override
+		public long getMemberLookupP99Nanos() {
+			return MEMBER_LOOKUPS.getPercentile(0.99);
+		}
+
+		@Override
+		public long getLoadersCreated() {
+			return LOADER_CREATIONS.getCount();
+		}
+
+		@Override
+		public double getLoaderCreationMeanNanos() {
+			return LOADER_CREATIONS.getMean();
+		}
+
+		@Override
+		public int getLiveLoaders() {
+			return LoaderRegistry.shared().getLiveLoaders();
+		}
+
+		@Override
+		public void reset() {
+			ReflectorMetrics.reset();
+			ReflectorCache.resetStatistics();
+		}
+	}
+
+}
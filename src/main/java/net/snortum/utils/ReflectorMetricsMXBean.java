@@ -0,0 +1,71 @@
+/*
+ * Licensed under the Creative Commons Attribution-ShareAlike 4.0 International
+ *
+ * https://creativecommons.org/licenses/by-sa/4.0/
+ */
+package net.snortum.utils;
+
+import java.util.List;
+
+/**
+ * <p>The management interface of {@link ReflectorMetrics}, registered with the platform MBean
+ * server as {@value ReflectorMetrics#OBJECT_NAME} by
+ * {@link ReflectorMetrics#registerMBean()}.  Times are in nanoseconds.</p>
+ *
+ * @author Knute Snortum
+ * @version 2026.10.17
+ */
+public interface ReflectorMetricsMXBean {
+
+	/** @return {@code true} if metrics are being recorded */
+	boolean isEnabled();
+
+	/** @param enabled whether to record metrics */
+	void setEnabled(boolean enabled);
+
+	/** @return the number of invocations recorded, over every method */
+	long getInvocations();
+
+	/** @return the number of recorded invocations that threw, over every method */
+	long getErrors();
+
+	/** @return the metrics of each method with recorded invocations */
+	List<MethodMetrics> getMethods();
+
+	/** @return the number of lookups {@link ReflectorCache} answered from the cache */
+	long getCacheHits();
+
+	/** @return the number of lookups {@link ReflectorCache} had to make */
+	long getCacheMisses();
+
+	/** @return the number of classes loaded by {@link ReflectorCache} while enabled */
+	long getClassLookups();
+
+	/** @return the mean time to load a class */
+	double getClassLookupMeanNanos();
+
+	/** @return the time 99% of class loads took no longer than */
+	long getClassLookupP99Nanos();
+
+	/** @return the number of members looked up by {@link ReflectorCache} while enabled */
+	long getMemberLookups();
+
+	/** @return the mean time to look up a method, constructor or field */
+	double getMemberLookupMeanNanos();
+
+	/** @return the time 99% of member lookups took no longer than */
+	long getMemberLookupP99Nanos();
+
+	/** @return the number of class loaders created by a {@link LoaderRegistry} while enabled */
+	long getLoadersCreated();
+
+	/** @return the mean time to create a class loader */
+	double getLoaderCreationMeanNanos();
+
+	/** @return the number of live class loaders in the shared {@link LoaderRegistry} */
+	int getLiveLoaders();
+
+	/** Forget every recorded metric, and reset the {@link ReflectorCache} counters. */
+	void reset();
+
+}
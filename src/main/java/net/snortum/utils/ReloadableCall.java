@@ -0,0 +1,121 @@
+/*
+ * Licensed under the Creative Commons Attribution-ShareAlike 4.0 International
+ *
+ * https://creativecommons.org/licenses/by-sa/4.0/
+ */
+package net.snortum.utils;
+
+import java.util.Arrays;
+
+/**
+ * <p>A method bound by a {@link HotReloader}, invoked in whichever generation of the jars is
+ * current when the invocation starts.  A reloadable call is thread-safe, and invoking it takes
+ * no locks.  It keeps the generation it was last resolved in, so invoking it does not look
+ * the generation or the method up.</p>
+ *
+ * @author Knute Snortum
+ * @version 2026.10.17
+ */
+public final class ReloadableCall {
+
+	private final HotReloader reloader;
+	final String className;
+	final String methodName;
+	final Class<?>[] paramTypes;
+
+	/** How the calls resolved in each generation report failed invocations */
+	final FailurePolicy failures;
+
+	/** The generation the call was last resolved in, set when generations are swapped */
+	private volatile Binding binding;
+
+	ReloadableCall(HotReloader reloader, String className, String methodName,
+			Class<?>[] paramTypes, FailurePolicy failures) {
+		this.reloader = reloader;
+		this.className = className;
+		this.methodName = methodName;
+		this.paramTypes = paramTypes;
+		this.failures = failures;
+	}
+
+	/** Invoke the call in this generation from now on; it must be resolved there */
+	void rebind(HotReloader.Generation generation) {
+		binding = new Binding(generation, generation.call(this));
+	}
+
+	/**
+	 * Invokes the method in the current generation, like {@link BoundCall#invoke(Object...)}.
+	 * A reload while the method runs does not affect it.
+	 *
+	 * @param <T> the type of the result of invoking the method
+	 * @param params zero or more parameters for the invoked method
+	 * @return the result of invoking the method, or {@code null} if the context is void or
+	 *         an error is encountered
+	 * @throws IllegalStateException if the reloader has been closed
+	 */
+	public <T> T invoke(Object... params) {
+		Binding current = binding;
+		HotReloader.Generation generation = current.generation;
+		BoundCall call = current.call;
+
+		if (!generation.enter()) {
+			// Swapped out since it was read
+			generation = reloader.acquire();
+			call = generation.call(this);
+		}
+
+		try {
+			return call.invoke(params);
+		} finally {
+			generation.exit();
+		}
+	}
+
+	/**
+	 * Invokes the method in the current generation, like
+	 * {@link BoundCall#tryInvoke(Object...)}.
+	 *
+	 * @param <T> the type of the result of invoking the method
+	 * @param params zero or more parameters for the invoked method
+	 * @return the result of invoking the method, or the failure
+	 * @throws IllegalStateException if the reloader has been closed
+	 */
+	public <T> Result<T> tryInvoke(Object... params) {
+		Binding current = binding;
+		HotReloader.Generation generation = current.generation;
+		BoundCall call = current.call;
+
+		if (!generation.enter()) {
+			generation = reloader.acquire();
+			call = generation.call(this);
+		}
+
+		try {
+			return call.tryInvoke(params);
+		} finally {
+			generation.exit();
+		}
+	}
+
+	/** @return how failed invocations are reported */
+	public FailureMode getFailureMode() {
+		return failures.mode;
+	}
+
+	@Override
+	public String toString() {
+		return className + "#" + methodName + Arrays.toString(paramTypes);
+	}
+
+	/** A generation, and the call resolved in it */
+	private static final class Binding {
+		final HotReloader.Generation generation;
+		final BoundCall call;
+
+		Binding(HotReloader.Generation generation, BoundCall call) {
+			this.generation = generation;
+			this.call = call;
+		}
+	}
+
+}
@@ -0,0 +1,532 @@
+/*
+ * Licensed under the Creative Commons Attribution-ShareAlike 4.0 International
+ *
+ * https://creativecommons.org/licenses/by-sa/4.0/
+ */
+package net.snortum.utils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.Buffer;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.zip.CRC32;
+
+/**
+ * <p>Remembers, across runs, the classes, methods and constructors that were resolved from
+ * plugin jars, so that the next start can warm them up straight away instead of finding them
+ * one miss at a time.  The store is a compact binary file, memory-mapped when it is
+ * opened:</p>
+ * <pre>
+ *     ResolutionStore store = ResolutionStore.open(Paths.get("reflector.cache"));
+ *     store.startRecording();
+ *
+ *     Reflector r = new Reflector();
+ *     r.loadClassLoader("file:///opt/plugins/joda-time.jar");
+ *     store.warm(r.getLoader());    // what the last run resolved, if the jar is unchanged
+ *     ...
+ *     store.save();</pre>
+ *
+ * <p>While recording, every class and member that {@link ReflectorCache} resolves for a
+ * class loader that loads only from jar files is remembered against those jars.  Each jar is
+ * fingerprinted by its size, its modification time and a checksum of its central directory,
+ * which changes whenever an entry does.  {@link #warm(ClassLoader)} checks the fingerprints
+ * first: when a jar has changed, what was remembered for it is dropped and recorded again
+ * during this run, so a stale store only costs the warm-up it could not do.  Signatures that
+ * no longer resolve are dropped the same way, and a file that cannot be read is treated as
+ * empty.</p>
+ *
+ * <p>Classes from directories, or from class loaders that are not {@link URLClassLoader}s or
+ * {@link JarClassLoader}s, are not recorded, because there is no cheap way to tell when they
+ * change.  Warming up runs static initializers, as {@link Warmup} does.  A store is
+ * thread-safe.</p>
+ *
+ * @author Knute Snortum
+ * @version 2026.10.17
+ */
+public final class ResolutionStore {
+
+	private static final int MAGIC = 0x52534C56;
+	private static final int VERSION = 1;
+
+	/** Marks a class signature in the file, where the member name would be */
+	private static final int NO_MEMBER = -1;
+
+	/** The entry of class loaders whose classes are not recorded */
+	private static final Entry NOT_RECORDED = new Entry(new Source[0]);
+
+	private final Path path;
+
+	/** Remembered signatures by the URLs of their class loader, in the order first seen */
+	private final Map<String, Entry> entries = new LinkedHashMap<>();
+
+	/** The entry of each class loader seen, or {@link #NOT_RECORDED} */
+	private final Map<ClassLoader, Entry> byLoader = new WeakHashMap<>();
+
+	private final ReflectorListener recorder = new ReflectorListener() {
+		@Override
+		public void classLoaded(Class<?> clazz, long nanos) {
+			record(clazz, new Signature(clazz.getName(), null, new String[0]));
+		}
+
+		@Override
+		public void memberResolved(Class<?> clazz, Member member, long nanos) {
+			if (member instanceof Method || member instanceof Constructor) {
+				record(clazz, Signature.of(clazz, (Executable) member));
+			}
+		}
+	};
+
+	private boolean recording;
+	private boolean modified;
+
+	private ResolutionStore(Path path) {
+		this.path = path;
+	}
+
+	/**
+	 * Open a store, reading what it remembers if the file exists.  A file that is not a
+	 * store, or is damaged, is ignored and will be replaced by {@link #save()}.
+	 *
+	 * @param path the path of the store file
+	 * @return the store
+	 * @throws IOException if the file exists but cannot be read
+	 */
+	public static ResolutionStore open(Path path) throws IOException {
+		if (path == null) {
+			throw new IllegalArgumentException("Path cannot be null");
+		}
+
+		ResolutionStore store = new ResolutionStore(path);
+		if (!Files.isRegularFile(path)) {
+			return store;
+		}
+
+		ByteBuffer file;
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			file = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		}
+
+		try {
+			store.read(file);
+		} catch (IOException | RuntimeException e) {
+			store.entries.clear();
+			store.modified = true;
+		}
+
+		return store;
+	}
+
+	private void read(ByteBuffer file) throws IOException {
+		int size = file.limit();
+		if (size < 12 || file.getInt(0) != MAGIC || file.getInt(4) != VERSION) {
+			throw new IOException(path + " is not a resolution store");
+		}
+
+		ByteBuffer body = file.duplicate();
+		((Buffer) body).limit(size - 4);
+		CRC32 crc = new CRC32();
+		crc.update(body);
+		if ((int) crc.getValue() != file.getInt(size - 4)) {
+			throw new IOException(path + " is damaged");
+		}
+
+		((Buffer) file).position(8).limit(size - 4);
+		String[] strings = new String[file.getInt()];
+		for (int i = 0; i < strings.length; i++) {
+			byte[] bytes = new byte[file.getShort() & 0xFFFF];
+			file.get(bytes);
+			strings[i] = new String(bytes, StandardCharsets.UTF_8);
+		}
+
+		int entryCount = file.getInt();
+		for (int i = 0; i < entryCount; i++) {
+			Source[] sources = new Source[file.getShort() & 0xFFFF];
+			for (int j = 0; j < sources.length; j++) {
+				sources[j] = new Source(strings[file.getInt()], file.getLong(), file.getLong(),
+						file.getLong());
+			}
+
+			Entry entry = new Entry(sources);
+			int signatureCount = file.getInt();
+			for (int j = 0; j < signatureCount; j++) {
+				String className = strings[file.getInt()];
+				int member = file.getInt();
+				String[] paramTypeNames = new String[file.get() & 0xFF];
+				for (int k = 0; k < paramTypeNames.length; k++) {
+					paramTypeNames[k] = strings[file.getInt()];
+				}
+
+				entry.signatures.add(new Signature(className,
+						member == NO_MEMBER ? null : strings[member], paramTypeNames));
+			}
+
+			entries.put(entry.key(), entry);
+		}
+
+		if (file.hasRemaining()) {
+			throw new BufferUnderflowException();
+		}
+	}
+
+	/** @return the path of the store file */
+	public Path getPath() {
+		return path;
+	}
+
+	/**
+	 * Start remembering what {@link ReflectorCache} resolves, until {@link #stopRecording()}
+	 * is called.
+	 */
+	public void startRecording() {
+		synchronized (this) {
+			if (recording) {
+				return;
+			}
+			recording = true;
+		}
+
+		ReflectorMetrics.addListener(recorder);
+	}
+
+	/** Stop remembering what {@link ReflectorCache} resolves. */
+	public void stopRecording() {
+		synchronized (this) {
+			if (!recording) {
+				return;
+			}
+			recording = false;
+		}
+
+		ReflectorMetrics.removeListener(recorder);
+	}
+
+	/**
+	 * Warm up what was remembered for this class loader's jars, if none of them has changed
+	 * since.  If one has, what was remembered is forgotten and the result is empty.
+	 *
+	 * @param loader a class loader, such as {@link Reflector#getLoader()}
+	 * @return the result of the warm-up; failed signatures are forgotten
+	 */
+	public Warmup.Result warm(ClassLoader loader) {
+		Warmup warmup = new Warmup(loader);
+		Entry entry;
+
+		synchronized (this) {
+			entry = entryFor(loader);
+			if (entry == null) {
+				return warmup.run();
+			}
+
+			for (Signature signature : entry.signatures) {
+				warmup.add(signature);
+			}
+		}
+
+		// Not under the lock: recording the lookups the warm-up makes needs it
+		Warmup.Result result = warmup.run();
+
+		if (!result.getFailures().isEmpty()) {
+			synchronized (this) {
+				if (entry.signatures.removeIf(s -> result.getFailures().containsKey(s.toString()))) {
+					modified = true;
+				}
+			}
+		}
+
+		return result;
+	}
+
+	/** @return the number of classes and members remembered */
+	public synchronized int size() {
+		int size = 0;
+		for (Entry entry : entries.values()) {
+			size += entry.signatures.size();
+		}
+		return size;
+	}
+
+	/** @return {@code true} if something has changed since the store was opened or saved */
+	public synchronized boolean isModified() {
+		return modified;
+	}
+
+	/** Forget everything, so that {@link #save()} writes an empty store. */
+	public synchronized void clear() {
+		entries.clear();
+		byLoader.clear();
+		modified = true;
+	}
+
+	/**
+	 * Write the store, if it has changed, to a temporary file that then replaces the store
+	 * file, so that a reader never sees half a store.
+	 *
+	 * @throws IOException if the store cannot be written
+	 */
+	public void save() throws IOException {
+		byte[] bytes;
+
+		synchronized (this) {
+			if (!modified && Files.exists(path)) {
+				return;
+			}
+
+			bytes = write(entries.values());
+			modified = false;
+		}
+
+		Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+		Files.write(temporary, bytes);
+
+		try {
+			Files.move(temporary, path, StandardCopyOption.ATOMIC_MOVE,
+					StandardCopyOption.REPLACE_EXISTING);
+		} catch (AtomicMoveNotSupportedException e) {
+			Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+	private static byte[] write(Collection<Entry> entries) throws IOException {
+		Map<String, Integer> strings = new LinkedHashMap<>();
+		ByteArrayOutputStream body = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(body);
+		int entryCount = 0;
+
+		for (Entry entry : entries) {
+			if (entry.signatures.isEmpty()) {
+				continue;
+			}
+
+			entryCount++;
+			out.writeShort(entry.sources.length);
+			for (Source source : entry.sources) {
+				out.writeInt(index(strings, source.url));
+				out.writeLong(source.size);
+				out.writeLong(source.modified);
+				out.writeLong(source.checksum);
+			}
+
+			out.writeInt(entry.signatures.size());
+			for (Signature signature : entry.signatures) {
+				out.writeInt(index(strings, signature.className));
+				out.writeInt(signature.isClass() ? NO_MEMBER : index(strings, signature.memberName));
+				out.writeByte(signature.paramTypeNames.length);
+				for (String name : signature.paramTypeNames) {
+					out.writeInt(index(strings, name));
+				}
+			}
+		}
+
+		ByteArrayOutputStream file = new ByteArrayOutputStream(body.size() + strings.size() * 32);
+		DataOutputStream header = new DataOutputStream(file);
+		header.writeInt(MAGIC);
+		header.writeInt(VERSION);
+		header.writeInt(strings.size());
+		for (String string : strings.keySet()) {
+			byte[] utf8 = string.getBytes(StandardCharsets.UTF_8);
+			if (utf8.length > 0xFFFF) {
+				throw new IOException("Name is too long for a resolution store: " + string);
+			}
+			header.writeShort(utf8.length);
+			header.write(utf8);
+		}
+		header.writeInt(entryCount);
+		body.writeTo(file);
+
+		CRC32 crc = new CRC32();
+		crc.update(file.toByteArray());
+		header.writeInt((int) crc.getValue());
+		return file.toByteArray();
+	}
+
+	private static int index(Map<String, Integer> strings, String string) {
+		Integer index = strings.get(string);
+		if (index == null) {
+			index = strings.size();
+			strings.put(string, index);
+		}
+		return index;
+	}
+
+	private synchronized void record(Class<?> clazz, Signature signature) {
+		Entry entry = entryFor(clazz.getClassLoader());
+		if (entry != null && entry.signatures.add(signature)) {
+			modified = true;
+		}
+	}
+
+	/**
+	 * The entry for this class loader, checked against its jars the first time it is asked
+	 * for.  Must be called holding the lock.
+	 *
+	 * @param loader a class loader
+	 * @return the entry, or {@code null} if the class loader's classes are not recorded
+	 */
+	private Entry entryFor(ClassLoader loader) {
+		if (loader == null) {
+			return null;
+		}
+
+		Entry entry = byLoader.get(loader);
+		if (entry != null) {
+			return entry == NOT_RECORDED ? null : entry;
+		}
+
+		Source[] sources = Source.of(loader);
+		if (sources == null) {
+			byLoader.put(loader, NOT_RECORDED);
+			return null;
+		}
+
+		Entry current = new Entry(sources);
+		entry = entries.get(current.key());
+
+		if (entry == null) {
+			entry = current;
+			entries.put(entry.key(), entry);
+		} else if (!entry.matches(sources)) {
+			entry.sources = sources;
+			entry.signatures.clear();
+			modified = true;
+		}
+
+		byLoader.put(loader, entry);
+		return entry;
+	}
+
+	@Override
+	public String toString() {
+		return "ResolutionStore[" + path + ", " + size() + " signatures]";
+	}
+
+	/** What is remembered for one set of jars */
+	private static final class Entry {
+		Source[] sources;
+		final Set<Signature> signatures = new LinkedHashSet<>();
+
+		Entry(Source[] sources) {
+			this.sources = sources;
+		}
+
+		String key() {
+			StringBuilder key = new StringBuilder();
+			for (Source source : sources) {
+				// URLs cannot contain spaces
+				key.append(source.url).append(' ');
+			}
+			return key.toString();
+		}
+
+		boolean matches(Source[] current) {
+			if (current.length != sources.length) {
+				return false;
+			}
+
+			for (int i = 0; i < current.length; i++) {
+				if (!current[i].equals(sources[i])) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+
+	/** A jar file, as it was when its classes were resolved */
+	private static final class Source {
+		final String url;
+		final long size;
+		final long modified;
+		final long checksum;
+
+		Source(String url, long size, long modified, long checksum) {
+			this.url = url;
+			this.size = size;
+			this.modified = modified;
+			this.checksum = checksum;
+		}
+
+		/**
+		 * @param loader a class loader
+		 * @return the jar files the class loader loads from, as they are now, or {@code null}
+		 *         if it is not a {@link URLClassLoader} or {@link JarClassLoader} loading only
+		 *         from jar files
+		 */
+		static Source[] of(ClassLoader loader) {
+			URL[] urls;
+			if (loader instanceof URLClassLoader) {
+				urls = ((URLClassLoader) loader).getURLs();
+			} else if (loader instanceof JarClassLoader) {
+				urls = ((JarClassLoader) loader).getURLs();
+			} else {
+				return null;
+			}
+
+			if (urls.length == 0 || urls.length > 0xFFFF) {
+				return null;
+			}
+
+			List<Source> sources = new ArrayList<>(urls.length);
+			try {
+				for (URL url : urls) {
+					if (!"file".equals(url.getProtocol())) {
+						return null;
+					}
+
+					Path jar = Paths.get(url.toURI());
+					if (!Files.isRegularFile(jar)) {
+						return null;
+					}
+
+					sources.add(new Source(url.toString(), Files.size(jar),
+							Files.getLastModifiedTime(jar).toMillis(), ZipDirectory.checksum(jar)));
+				}
+			} catch (IOException | URISyntaxException | IllegalArgumentException e) {
+				return null;
+			}
+
+			return sources.toArray(new Source[sources.size()]);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Source)) {
+				return false;
+			}
+
+			Source other = (Source) obj;
+			return url.equals(other.url) && size == other.size && modified == other.modified
+					&& checksum == other.checksum;
+		}
+
+		@Override
+		public int hashCode() {
+			return url.hashCode();
+		}
+	}
+
+}
@@ -0,0 +1,92 @@
+/*
+ * Licensed under the Creative Commons Attribution-ShareAlike 4.0 International
+ *
+ * https://creativecommons.org/licenses/by-sa/4.0/
+ */
+package net.snortum.utils;
+
+/**
+ * <p>The outcome of an invocation that may fail, from {@link Reflector#tryInvoke(Object...)}
+ * or {@link BoundCall#tryInvoke(Object...)}: either the value the method returned, or the
+ * failure.  Nothing is printed or thrown when the invocation fails, whatever the
+ * {@link FailureMode}:</p>
+ * <pre>
+ *     Result&lt;Integer&gt; month = r.tryInvoke();
+ *     if (month.isSuccess()) {
+ *         use(month.get());
+ *     } else {
+ *         log(month.getFailure().getKind());
+ *     }</pre>
+ *
+ * @param <T> the type of the value
+ * @author Knute Snortum
+ * @version 2026.10.17
+ */
+public final class Result<T> {
+
+	private final T value;
+	private final ReflectorException failure;
+
+	private Result(T value, ReflectorException failure) {
+		this.value = value;
+		this.failure = failure;
+	}
+
+	/**
+	 * @param <T> the type of the value
+	 * @param value the value, which may be {@code null}
+	 * @return a successful result
+	 */
+	public static <T> Result<T> success(T value) {
+		return new Result<>(value, null);
+	}
+
+	/**
+	 * @param <T> the type of the value
+	 * @param failure the failure
+	 * @return a failed result
+	 */
+	public static <T> Result<T> failure(ReflectorException failure) {
+		if (failure == null) {
+			throw new IllegalArgumentException("Failure cannot be null");
+		}
+
+		return new Result<>(null, failure);
+	}
+
+	/** @return {@code true} if the invocation returned */
+	public boolean isSuccess() {
+		return failure == null;
+	}
+
+	/**
+	 * @return the value the method returned, or {@code null} if it is void
+	 * @throws ReflectorException the failure, if the invocation failed
+	 */
+	public T get() {
+		if (failure != null) {
+			throw failure;
+		}
+
+		return value;
+	}
+
+	/**
+	 * @param other the value to return if the invocation failed
+	 * @return the value the method returned, or {@code other} if the invocation failed
+	 */
+	public T orElse(T other) {
+		return failure == null ? value : other;
+	}
+
+	/** @return the failure, or {@code null} if the invocation returned */
+	public ReflectorException getFailure() {
+		return failure;
+	}
+
+	@Override
+	public String toString() {
+		return failure == null ? "Success[" + value + "]" : "Failure[" + failure.getMessage() + "]";
+	}
+
+}
@@ -0,0 +1,224 @@
+/*
+ * Licensed under the Creative Commons Attribution-ShareAlike 4.0 International
+ *
+ * https://creativecommons.org/licenses/by-sa/4.0/
+ */
+package net.snortum.utils;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * <p>A textual class, method or constructor signature, such as</p>
+ * <pre>
+ *     net.snortum.hello.HelloWorld
+ *     net.snortum.utils.ReflectorPlay#add(int,int)
+ *     org.joda.time.DateTime#new(java.lang.Object)</pre>
+ *
+ * <p>A member is separated from its class by {@code #}; constructors are named {@code new}.
+ * Parameter types are primitive names or fully qualified class names, with {@code []} for
+ * arrays.</p>
+ *
+ * @author Knute Snortum
+ * @version 2026.10.17
+ */
+final class Signature {
+
+	/** Member name used for constructors */
+	static final String CONSTRUCTOR = "new";
+
+	private static final Class<?>[] PRIMITIVES = { boolean.class, byte.class, char.class,
+			short.class, int.class, long.class, float.class, double.class, void.class };
+
+	final String className;
+
+	/** The member name, {@link #CONSTRUCTOR}, or {@code null} for a class signature */
+	final String memberName;
+
+	/** Parameter type names, empty for a class signature */
+	final String[] paramTypeNames;
+
+	Signature(String className, String memberName, String[] paramTypeNames) {
+		this.className = className;
+		this.memberName = memberName;
+		this.paramTypeNames = paramTypeNames;
+	}
+
+	/**
+	 * Parse a signature.
+	 *
+	 * @param text the signature text
+	 * @return the signature
+	 * @throws IllegalArgumentException if the text is not a valid signature
+	 */
+	static Signature parse(String text) {
+		String trimmed = text.trim();
+		int hash = trimmed.indexOf('#');
+
+		if (hash < 0) {
+			return new Signature(trimmed, null, new String[0]);
+		}
+
+		int open = trimmed.indexOf('(', hash);
+		if (hash == 0 || open < 0 || !trimmed.endsWith(")")) {
+			throw new IllegalArgumentException("Not a valid signature: " + text);
+		}
+
+		String params = trimmed.substring(open + 1, trimmed.length() - 1).trim();
+		List<String> names = new ArrayList<>();
+
+		if (!params.isEmpty()) {
+			for (String name : params.split(",")) {
+				names.add(name.trim());
+			}
+		}
+
+		return new Signature(trimmed.substring(0, hash), trimmed.substring(hash + 1, open).trim(),
+				names.toArray(new String[names.size()]));
+	}
+
+	/**
+	 * @param member a method or constructor
+	 * @return the signature of the member
+	 */
+	static Signature of(Executable member) {
+		return of(member.getDeclaringClass(), member);
+	}
+
+	/**
+	 * @param clazz the class the member was looked up on, which may be a subclass of its
+	 *        declaring class
+	 * @param member a method or constructor
+	 * @return the signature of the member, as a member of the class
+	 */
+	static Signature of(Class<?> clazz, Executable member) {
+		Class<?>[] types = member.getParameterTypes();
+		String[] names = new String[types.length];
+
+		for (int i = 0; i < types.length; i++) {
+			names[i] = typeName(types[i]);
+		}
+
+		String memberName = member instanceof Constructor ? CONSTRUCTOR : member.getName();
+		return new Signature(clazz.getName(), memberName, names);
+	}
+
+	/** @return {@code true} if this is a class signature, without a member */
+	boolean isClass() {
+		return memberName == null;
+	}
+
+	/** @return {@code true} if this is a constructor signature */
+	boolean isConstructor() {
+		return CONSTRUCTOR.equals(memberName);
+	}
+
+	/**
+	 * Resolve the parameter types with this class loader.
+	 *
+	 * @param loader the class loader, or {@code null} for the bootstrap class loader
+	 * @return the parameter types
+	 * @throws ClassNotFoundException if a parameter type cannot be found
+	 */
+	Class<?>[] resolveParamTypes(ClassLoader loader) throws ClassNotFoundException {
+		Class<?>[] types = new Class<?>[paramTypeNames.length];
+
+		for (int i = 0; i < types.length; i++) {
+			types[i] = resolveType(paramTypeNames[i], loader);
+		}
+
+		return types;
+	}
+
+	/**
+	 * Resolve the member with this class, through the {@link ReflectorCache}.
+	 *
+	 * @param clazz the class, already resolved from {@link #className}
+	 * @return the method or constructor
+	 * @throws ClassNotFoundException if a parameter type cannot be found
+	 * @throws NoSuchMethodException if the member cannot be found
+	 * @throws IllegalStateException if this is a class signature
+	 */
+	Executable resolveMember(Class<?> clazz) throws ClassNotFoundException, NoSuchMethodException {
+		if (isClass()) {
+			throw new IllegalStateException(this + " is not a member signature");
+		}
+
+		Class<?>[] types = resolveParamTypes(clazz.getClassLoader());
+		if (isConstructor()) {
+			return ReflectorCache.getConstructor(clazz, types);
+		}
+
+		return ReflectorCache.getMethod(clazz, memberName, types);
+	}
+
+	/**
+	 * Resolve a type name, such as {@code int}, {@code java.lang.String} or {@code long[][]}.
+	 *
+	 * @param name the type name
+	 * @param loader the class loader, or {@code null} for the bootstrap class loader
+	 * @return the type
+	 * @throws ClassNotFoundException if the type cannot be found
+	 */
+	static Class<?> resolveType(String name, ClassLoader loader) throws ClassNotFoundException {
+		if (name.endsWith("[]")) {
+			Class<?> component = resolveType(name.substring(0, name.length() - 2).trim(), loader);
+			return Array.newInstance(component, 0).getClass();
+		}
+
+		for (Class<?> primitive : PRIMITIVES) {
+			if (primitive.getName().equals(name)) {
+				return primitive;
+			}
+		}
+
+		return ReflectorCache.loadClass(name, false, loader);
+	}
+
+	/**
+	 * @param type a type
+	 * @return the name used for the type in signatures
+	 */
+	static String typeName(Class<?> type) {
+		return type.isArray() ? typeName(type.getComponentType()) + "[]" : type.getName();
+	}
+
+	@Override
+	public String toString() {
+		if (isClass()) {
+			return className;
+		}
+
+		StringBuilder text = new StringBuilder(className).append('#').append(memberName).append('(');
+		for (int i = 0; i < paramTypeNames.length; i++) {
+			if (i > 0) {
+				text.append(',');
+			}
+			text.append(paramTypeNames[i]);
+		}
+
+		return text.append(')').toString();
+	}
+
+	@Override
+	public int hashCode() {
+		return toString().hashCode();
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (!(obj instanceof Signature)) {
+			return false;
+		}
+
+		Signature other = (Signature) obj;
+		return className.equals(other.className)
+				&& (memberName == null ? other.memberName == null : memberName.equals(other.memberName))
+				&& Arrays.equals(paramTypeNames, other.paramTypeNames);
+	}
+
+}
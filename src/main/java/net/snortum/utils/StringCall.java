@@ -0,0 +1,153 @@
+/*
+ * Licensed under the Creative Commons Attribution-ShareAlike 4.0 International
+ *
+ * https://creativecommons.org/licenses/by-sa/4.0/
+ */
+package net.snortum.utils;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.util.function.Function;
+
+/**
+ * <p>A {@link BoundCall} taking its arguments as strings, each converted to its parameter's
+ * type by a converter chosen once, when the call is created, from a
+ * {@link ConverterRegistry}.  Invoking it only converts and invokes:</p>
+ * <pre>
+ *     r.loadMethod("minusDays", int.class);
+ *     StringCall minusDays = r.bind().fromStrings(ConverterRegistry.getDefault());
+ *     Object date = minusDays.invoke(args[0]);</pre>
+ *
+ * <p>For a variable arity method, the strings after the fixed parameters are each converted
+ * to the element type and passed as the array.  A {@code null} string is passed as
+ * {@code null}, unless the parameter is primitive.  A string call is immutable and
+ * thread-safe.</p>
+ *
+ * @author Knute Snortum
+ * @version 2026.10.17
+ */
+public final class StringCall {
+
+	private final BoundCall call;
+	private final FailurePolicy failures;
+	private final Class<?>[] paramTypes;
+	private final Function<String, ?>[] converters;
+
+	/** The element type of a variable arity method's last parameter, or {@code null} */
+	private final Class<?> varargsType;
+	private final Function<String, ?> varargsConverter;
+
+	/**
+	 * @param call the call to invoke
+	 * @param failures how failed conversions and invocations are reported
+	 * @param registry the converters to choose from
+	 * @throws IllegalArgumentException if a parameter type has no converter
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" }) /* Generic arrays cannot be created */
+	StringCall(BoundCall call, FailurePolicy failures, ConverterRegistry registry) {
+		Method method = call.getMethod();
+		this.call = call;
+		this.failures = failures;
+		this.paramTypes = method.getParameterTypes();
+		this.converters = new Function[paramTypes.length];
+
+		for (int i = 0; i < paramTypes.length; i++) {
+			converters[i] = registry.converterFor(paramTypes[i]);
+		}
+
+		if (method.isVarArgs()) {
+			varargsType = paramTypes[paramTypes.length - 1].getComponentType();
+			varargsConverter = registry.converterFor(varargsType);
+		} else {
+			varargsType = null;
+			varargsConverter = null;
+		}
+	}
+
+	/**
+	 * Converts the strings to the method's parameter types and invokes the method, like
+	 * {@link BoundCall#invoke(Object...)}.
+	 *
+	 * @param <T> the type of the result of invoking the method
+	 * @param args a string for each parameter
+	 * @return the result of invoking the method, or {@code null} if the context is void or
+	 *         an error is encountered, including a string that cannot be converted
+	 * @throws ReflectorException if the conversion or invocation fails and the failure mode
+	 *         is {@link FailureMode#THROW}
+	 */
+	@SuppressWarnings("unchecked") /* We assume the caller knows what type is returned */
+	public <T> T invoke(String... args) {
+		try {
+			return (T) call.invokeOrThrow(convert(args));
+		} catch (Throwable e) {
+			failures.handle(e, ReflectorException.Kind.INVOCATION_FAILED);
+			return null;
+		}
+	}
+
+	/**
+	 * Converts the strings and invokes the method, like {@link #invoke(String...)}, and returns
+	 * what it returned or the failure.
+	 *
+	 * @param <T> the type of the result of invoking the method
+	 * @param args a string for each parameter
+	 * @return the result of invoking the method, or the failure
+	 */
+	@SuppressWarnings("unchecked") /* We assume the caller knows what type is returned */
+	public <T> Result<T> tryInvoke(String... args) {
+		try {
+			return Result.success((T) call.invokeOrThrow(convert(args)));
+		} catch (Throwable e) {
+			return Result.failure(failures.failure(e, ReflectorException.Kind.INVOCATION_FAILED));
+		}
+	}
+
+	/**
+	 * Convert the strings to the method's parameter types.
+	 *
+	 * @param args a string for each parameter
+	 * @return the arguments to invoke the method with
+	 * @throws IllegalArgumentException if there are too many or too few strings, or one cannot
+	 *         be converted
+	 */
+	public Object[] convert(String... args) {
+		int count = args == null ? 0 : args.length;
+		int fixed = varargsType == null ? paramTypes.length : paramTypes.length - 1;
+
+		if (varargsType == null ? count != fixed : count < fixed) {
+			throw new IllegalArgumentException(call.getMethod().getName() + " takes "
+					+ paramTypes.length + " arguments, not " + count);
+		}
+
+		Object[] params = new Object[paramTypes.length];
+		for (int i = 0; i < fixed; i++) {
+			params[i] = convert(args[i], paramTypes[i], converters[i]);
+		}
+
+		if (varargsType != null) {
+			Object rest = Array.newInstance(varargsType, count - fixed);
+			for (int i = fixed; i < count; i++) {
+				Array.set(rest, i - fixed, convert(args[i], varargsType, varargsConverter));
+			}
+			params[fixed] = rest;
+		}
+
+		return params;
+	}
+
+	private static Object convert(String text, Class<?> type, Function<String, ?> converter) {
+		if (text == null) {
+			if (type.isPrimitive()) {
+				throw new IllegalArgumentException("Cannot convert null to " + type);
+			}
+			return null;
+		}
+		return converter.apply(text);
+	}
+
+	/** @return the call the converted strings are passed to */
+	public BoundCall getCall() {
+		return call;
+	}
+
+}
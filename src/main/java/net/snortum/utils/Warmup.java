@@ -0,0 +1,184 @@
+/*
+ * Licensed under the Creative Commons Attribution-ShareAlike 4.0 International
+ *
+ * https://creativecommons.org/licenses/by-sa/4.0/
+ */
+package net.snortum.utils;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>Resolves, initializes and pre-links classes, methods and constructors in parallel, so
+ * that the {@link Reflector} calls made later find everything already in the
+ * {@link ReflectorCache} and only have to invoke.  This moves the cost of loading plugin
+ * classes, running their static initializers and building method handles off the first
+ * request and onto a fork-join pool at startup:</p>
+ * <pre>
+ *     Warmup.Result result = new Warmup(loader)
+ *             .add("org.joda.time.DateTime#new()")
+ *             .add("org.joda.time.DateTime#getMonthOfYear()")
+ *             .add("org.joda.time.DateTime#minus(long)")
+ *             .run();</pre>
+ *
+ * <p>Signatures name a class, or a member of a class after a {@code #}.  Constructors are
+ * named {@code new}, and parameter types are primitive names or fully qualified class names,
+ * with {@code []} for arrays.</p>
+ *
+ * @author Knute Snortum
+ * @version 2026.10.17
+ */
+public final class Warmup {
+
+	private final ClassLoader loader;
+	private final List<Signature> signatures = new ArrayList<>();
+
+	/**
+	 * Create a warm-up for classes of this class loader.
+	 *
+	 * @param loader the class loader, such as {@link Reflector#getLoader()}, or {@code null}
+	 *        for {@link Reflector}'s own class loader
+	 */
+	public Warmup(ClassLoader loader) {
+		this.loader = loader == null ? Reflector.class.getClassLoader() : loader;
+	}
+
+	/**
+	 * Add a class, method or constructor to warm up.
+	 *
+	 * @param signature a signature such as {@code net.snortum.utils.ReflectorPlay#add(int,int)}
+	 * @return this warm-up
+	 * @throws IllegalArgumentException if the signature is not valid
+	 */
+	public Warmup add(String signature) {
+		signatures.add(Signature.parse(signature));
+		return this;
+	}
+
+	/**
+	 * Add a parsed class, method or constructor signature to warm up.
+	 *
+	 * @param signature the signature
+	 * @return this warm-up
+	 */
+	Warmup add(Signature signature) {
+		signatures.add(signature);
+		return this;
+	}
+
+	/**
+	 * Add classes, methods or constructors to warm up.
+	 *
+	 * @param signatures signatures such as {@code net.snortum.hello.HelloWorld#printIt()}
+	 * @return this warm-up
+	 * @throws IllegalArgumentException if a signature is not valid
+	 */
+	public Warmup addAll(Iterable<String> signatures) {
+		for (String signature : signatures) {
+			add(signature);
+		}
+		return this;
+	}
+
+	/**
+	 * Warm up every signature on the common fork-join pool and wait for them to finish.
+	 *
+	 * @return the result
+	 */
+	public Result run() {
+		return run(ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Warm up every signature on this fork-join pool and wait for them to finish.  Each
+	 * class is loaded and initialized; each member is found and its method handles built.
+	 * A signature that fails is recorded in the result and does not stop the others.
+	 *
+	 * @param pool the pool to run on
+	 * @return the result
+	 */
+	public Result run(ForkJoinPool pool) {
+		long start = System.nanoTime();
+		AtomicInteger resolved = new AtomicInteger();
+		Map<String, Throwable> failures = new ConcurrentHashMap<>();
+		List<ForkJoinTask<?>> tasks = new ArrayList<>(signatures.size());
+
+		for (Signature signature : signatures) {
+			tasks.add(ForkJoinTask.adapt(() -> {
+				try {
+					warm(signature);
+					resolved.incrementAndGet();
+				} catch (Exception | LinkageError e) {
+					failures.put(signature.toString(), e);
+				}
+			}));
+		}
+
+		pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(tasks)));
+		return new Result(resolved.get(), failures, System.nanoTime() - start);
+	}
+
+	private void warm(Signature signature) throws ReflectiveOperationException {
+		Class<?> clazz = ReflectorCache.loadClass(signature.className, true, loader);
+
+		if (signature.isClass()) {
+			return;
+		}
+
+		Executable member = signature.resolveMember(clazz);
+		if (member instanceof Method) {
+			Method method = (Method) member;
+			Handles.invoker(method);
+			for (int kind = 0; kind < Handles.RETURN_KINDS.length; kind++) {
+				Handles.fixedOrNull(method, kind);
+			}
+		} else {
+			Handles.factory((Constructor<?>) member);
+		}
+	}
+
+	/** The outcome of a warm-up */
+	public static final class Result {
+		private final int resolved;
+		private final Map<String, Throwable> failures;
+		private final long elapsedNanos;
+
+		Result(int resolved, Map<String, Throwable> failures, long elapsedNanos) {
+			this.resolved = resolved;
+			this.failures = Collections.unmodifiableMap(new LinkedHashMap<>(failures));
+			this.elapsedNanos = elapsedNanos;
+		}
+
+		/** @return the number of signatures warmed up successfully */
+		public int getResolved() {
+			return resolved;
+		}
+
+		/** @return the failed signatures, with the exception each one raised */
+		public Map<String, Throwable> getFailures() {
+			return failures;
+		}
+
+		/** @return the wall-clock time the warm-up took, in nanoseconds */
+		public long getElapsedNanos() {
+			return elapsedNanos;
+		}
+
+		@Override
+		public String toString() {
+			return "Warmup resolved " + resolved + ", failed " + failures.size() + " in "
+					+ elapsedNanos / 1_000_000 + " ms";
+		}
+	}
+
+}
@@ -0,0 +1,253 @@
+/*
+ * Licensed under the Creative Commons Attribution-ShareAlike 4.0 International
+ *
+ * https://creativecommons.org/licenses/by-sa/4.0/
+ */
+package net.snortum.utils;
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * The central directory of a jar (zip) file, read from a memory-mapped view of the file.
+ * Entries can be read by index without going through {@link java.util.jar.JarFile} streams.
+ * Instances are immutable after construction and safe to share between threads.
+ *
+ * @author Knute Snortum
+ * @version 2026.10.17
+ */
+final class ZipDirectory {
+
+	private static final int END_SIGNATURE = 0x06054b50;
+	private static final int CENTRAL_SIGNATURE = 0x02014b50;
+	private static final int LOCAL_SIGNATURE = 0x04034b50;
+	private static final int END_SIZE = 22;
+	private static final int LOCAL_HEADER_SIZE = 30;
+	private static final int MAX_COMMENT = 0xFFFF;
+
+	private static final int STORED = 0;
+	private static final int DEFLATED = 8;
+
+	private final Path path;
+	private final ByteBuffer file;
+	private final String[] names;
+	private final int[] methods;
+	private final int[] compressedSizes;
+	private final int[] sizes;
+	private final int[] localOffsets;
+	private final Map<String, Integer> indexes;
+
+	private ZipDirectory(Path path, ByteBuffer file, int count) {
+		this.path = path;
+		this.file = file;
+		this.names = new String[count];
+		this.methods = new int[count];
+		this.compressedSizes = new int[count];
+		this.sizes = new int[count];
+		this.localOffsets = new int[count];
+		this.indexes = new HashMap<>(count * 2);
+	}
+
+	/**
+	 * Map this jar file and read its central directory.
+	 *
+	 * @param path the path of the jar file
+	 * @return the directory
+	 * @throws IOException if the file cannot be read, is not a zip file, or needs ZIP64
+	 */
+	static ZipDirectory open(Path path) throws IOException {
+		ByteBuffer file = map(path);
+		int end = findEnd(file, path);
+		int count = file.getShort(end + 10) & 0xFFFF;
+		int offset = file.getInt(end + 16);
+
+		if (count == 0xFFFF || offset == -1) {
+			throw new IOException(path + " needs ZIP64, which is not supported");
+		}
+
+		ZipDirectory directory = new ZipDirectory(path, file, count);
+		directory.readEntries(offset, count);
+		return directory;
+	}
+
+	/**
+	 * Checksum the central directory of this jar file, without reading its entries.  The
+	 * directory holds the name, size and CRC of every entry, so the checksum changes when any
+	 * entry is added, removed or changed.
+	 *
+	 * @param path the path of the jar file
+	 * @return the CRC-32 of the central directory and its end record
+	 * @throws IOException if the file cannot be read or is not a zip file
+	 */
+	static long checksum(Path path) throws IOException {
+		ByteBuffer file = map(path);
+		int end = findEnd(file, path);
+		int offset = file.getInt(end + 16);
+
+		if (offset < 0 || offset > end) {
+			throw new IOException(path + " has a corrupt central directory");
+		}
+
+		ByteBuffer directory = file.duplicate();
+		((Buffer) directory).position(offset).limit(end + END_SIZE);
+		CRC32 crc = new CRC32();
+		crc.update(directory);
+		return crc.getValue();
+	}
+
+	private static ByteBuffer map(Path path) throws IOException {
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			long size = channel.size();
+			if (size > Integer.MAX_VALUE) {
+				throw new IOException(path + " is too large; ZIP64 is not supported");
+			}
+
+			MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+			return mapped.order(ByteOrder.LITTLE_ENDIAN);
+		}
+	}
+
+	private static int findEnd(ByteBuffer file, Path path) throws IOException {
+		int last = file.limit() - END_SIZE;
+		int first = Math.max(0, last - MAX_COMMENT);
+
+		for (int i = last; i >= first; i--) {
+			if (file.getInt(i) == END_SIGNATURE) {
+				return i;
+			}
+		}
+
+		throw new IOException(path + " is not a zip file");
+	}
+
+	private void readEntries(int offset, int count) throws IOException {
+		int position = offset;
+
+		for (int i = 0; i < count; i++) {
+			if (file.getInt(position) != CENTRAL_SIGNATURE) {
+				throw new IOException(path + " has a corrupt central directory");
+			}
+
+			int nameLength = file.getShort(position + 28) & 0xFFFF;
+			int extraLength = file.getShort(position + 30) & 0xFFFF;
+			int commentLength = file.getShort(position + 32) & 0xFFFF;
+
+			methods[i] = file.getShort(position + 10) & 0xFFFF;
+			compressedSizes[i] = file.getInt(position + 20);
+			sizes[i] = file.getInt(position + 24);
+			localOffsets[i] = file.getInt(position + 42);
+			names[i] = utf8(position + 46, nameLength);
+			indexes.put(names[i], i);
+
+			position += 46 + nameLength + extraLength + commentLength;
+		}
+	}
+
+	private String utf8(int position, int length) {
+		byte[] bytes = new byte[length];
+		ByteBuffer view = file.duplicate();
+		((Buffer) view).position(position);
+		view.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	/** @return the path of the jar file */
+	Path getPath() {
+		return path;
+	}
+
+	/** @return the number of entries */
+	int size() {
+		return names.length;
+	}
+
+	/**
+	 * @param index an entry index
+	 * @return the name of the entry, such as {@code org/joda/time/DateTime.class}
+	 */
+	String getName(int index) {
+		return names[index];
+	}
+
+	/**
+	 * @param name an entry name
+	 * @return the index of the entry, or -1 if there is none
+	 */
+	int indexOf(String name) {
+		Integer index = indexes.get(name);
+		return index == null ? -1 : index;
+	}
+
+	/**
+	 * Read the uncompressed bytes of an entry.
+	 *
+	 * @param index an entry index
+	 * @param inflater an inflater to reuse, or {@code null} to use a new one
+	 * @return the bytes
+	 * @throws IOException if the entry is corrupt or uses an unsupported compression method
+	 */
+	byte[] read(int index, Inflater inflater) throws IOException {
+		int local = localOffsets[index];
+		if (file.getInt(local) != LOCAL_SIGNATURE) {
+			throw new IOException(path + " has a corrupt entry " + names[index]);
+		}
+
+		int data = local + LOCAL_HEADER_SIZE + (file.getShort(local + 26) & 0xFFFF)
+				+ (file.getShort(local + 28) & 0xFFFF);
+		ByteBuffer compressed = file.duplicate();
+		((Buffer) compressed).position(data).limit(data + compressedSizes[index]);
+		byte[] bytes = new byte[sizes[index]];
+
+		if (methods[index] == STORED) {
+			compressed.get(bytes);
+			return bytes;
+		}
+
+		if (methods[index] != DEFLATED) {
+			throw new IOException(path + " entry " + names[index] + " uses compression method "
+					+ methods[index]);
+		}
+
+		byte[] input = new byte[compressedSizes[index]];
+		compressed.get(input);
+		Inflater using = inflater == null ? new Inflater(true) : inflater;
+
+		try {
+			using.reset();
+			using.setInput(input);
+			int read = 0;
+			while (read < bytes.length && !using.finished()) {
+				int n = using.inflate(bytes, read, bytes.length - read);
+				if (n == 0 && (using.needsInput() || using.needsDictionary())) {
+					break;
+				}
+				read += n;
+			}
+
+			if (read != bytes.length) {
+				throw new IOException(path + " entry " + names[index] + " is truncated");
+			}
+		} catch (DataFormatException e) {
+			throw new IOException(path + " entry " + names[index] + " is corrupt", e);
+		} finally {
+			if (inflater == null) {
+				using.end();
+			}
+		}
+
+		return bytes;
+	}
+
+}